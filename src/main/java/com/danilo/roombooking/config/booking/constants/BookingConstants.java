@@ -0,0 +1,9 @@
+package com.danilo.roombooking.config.booking.constants;
+
+import java.time.Duration;
+
+public class BookingConstants {
+    // Lets overlap queries bound StartTime from below, so the Booking partitions before
+    // (start - MAX_BOOKING_DURATION) are pruned.
+    public static final Duration MAX_BOOKING_DURATION = Duration.ofDays(31);
+}
@@ -9,18 +9,26 @@ public final class ApiPaths {
         public static final String ROOT = BASE_API + "/user";
         public static final String CREATE = "";
         public static final String GET = "";
+        public static final String SCROLL = "/scroll";
         public static final String DELETE = "/{id}";
     }
 
     public static final class Room {
         public static final String ROOT = BASE_API + "/room";
         public static final String CREATE = "";
+        public static final String IMPORT = "/import";
         public static final String GET = "";
         public static final String GET_BY_ID = "/id/{id}";
         public static final String GET_BY_IDENTIFIER = "/identifier/{identifier}";
         public static final String GET_TYPES = "/type";
         public static final String GET_STATUS = "/status";
         public static final String GET_FILTER = "/filter";
+        public static final String SCROLL = "/scroll";
+        public static final String GET_AVAILABLE = "/available";
+        public static final String GET_UTILIZATION = "/utilization";
+        public static final String GET_UTILIZATION_BY_ID = "/id/{id}/utilization";
+        public static final String REBUILD_UTILIZATION = "/utilization/rebuild";
+        public static final String GET_HEATMAP = "/heatmap";
         public static final String UPDATE = "/{id}";
         public static final String DELETE = "/{id}";
     }
@@ -30,19 +38,42 @@ public final class ApiPaths {
         public static final String CREATE = "";
         public static final String GET = "";
         public static final String GET_BY_ID = "/id/{id}";
+        public static final String SCROLL = "/scroll";
         public static final String DELETE = "/{id}";
     }
 
     public static final class Booking {
         public static final String ROOT = BASE_API + "/booking";
         public static final String CREATE = "";
+        public static final String CREATE_BATCH = "/batch";
+        public static final String IMPORT = "/import";
+        public static final String CREATE_SERIES = "/series";
+        public static final String GET_SERIES_BY_ID = "/series/{id}";
+        public static final String UPDATE_SERIES = "/series/{id}";
+        public static final String DELETE_SERIES = "/series/{id}";
+        public static final String CREATE_OR_WAITLIST = "/waitlist";
+        public static final String GET_WAITLIST_ENTRY = "/waitlist/{id}";
+        public static final String DELETE_WAITLIST_ENTRY = "/waitlist/{id}";
+        public static final String CREATE_HOLD = "/hold";
+        public static final String CONFIRM_HOLD = "/hold/{id}/confirm";
+        public static final String DELETE_HOLD = "/hold/{id}";
         public static final String GET = "";
         public static final String GET_BY_ID = "/id/{id}";
         public static final String GET_BY_USERID = "/user/{userId}";
         public static final String GET_BY_ROOMID = "/room/{roomId}";
+        public static final String GET_ROOM_CALENDAR = "/room/{roomId}/calendar";
+        public static final String GET_ROOM_CHANGES = "/room/{roomId}/changes";
+        public static final String GET_ROOM_ICS = "/room/{roomId}.ics";
+        public static final String GET_USER_ICS = "/user/{userId}.ics";
+        public static final String GET_STREAM = "/stream";
         public static final String GET_FILTER = "/filter";
+        public static final String SCROLL = "/scroll";
+        public static final String GET_EXPORT = "/export";
+        public static final String GET_ARCHIVAL = "/archival";
+        public static final String GET_PENDING = "/pending";
         public static final String UPDATE = "/{id}";
         public static final String APPROVE = "/approve/{id}";
+        public static final String APPROVE_BULK = "/approve";
         public static final String DELETE = "/{id}";
     }
 }
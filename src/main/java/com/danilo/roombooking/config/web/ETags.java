@@ -0,0 +1,31 @@
+package com.danilo.roombooking.config.web;
+
+import com.danilo.roombooking.service.locking.StaleVersionException;
+
+// Entity tags are the quoted @Version of the resource, so If-Match can be checked without hashing the body.
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    // Returns the version an If-Match header requires, or null when any version will do. Weak tags never
+    // match for If-Match, and neither does anything that is not one of our tags.
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) return null;
+
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) return null;
+
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\""))
+            throw new StaleVersionException();
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new StaleVersionException();
+        }
+    }
+}
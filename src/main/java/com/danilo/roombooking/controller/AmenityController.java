@@ -4,6 +4,7 @@ import com.danilo.roombooking.config.web.ApiPaths;
 import com.danilo.roombooking.domain.Amenity;
 import com.danilo.roombooking.dto.AmenityRequestDTO;
 import com.danilo.roombooking.dto.AmenityResponseDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
 import com.danilo.roombooking.service.amenity.AmenityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -116,6 +117,41 @@ public class AmenityController {
         return ResponseEntity.ok(amenities.map(AmenityResponseDTO::new));
     }
 
+    @GetMapping(ApiPaths.Amenity.SCROLL)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Scroll amenities",
+        description = "Retrieves amenities, optionally only those starting with a prefix, using keyset " +
+            "pagination: pass the returned nextCursor as cursor to get the next page. nextCursor is null on the " +
+            "last page. No total is counted."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of amenities",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ScrollPageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or page size",
+            content = @Content)
+    })
+    public ResponseEntity<ScrollPageDTO<AmenityResponseDTO>> scroll(
+        @Parameter(
+            description = "Optional prefix to filter amenities by name",
+            example = "Proj"
+        )
+        @RequestParam(required = false) String prefix,
+
+        @Parameter(description = "Sort key and direction for the first page: name or id, optionally followed by " +
+            ",asc or ,desc. Later pages keep the sort of the cursor", example = "name,asc")
+        @RequestParam(required = false) String sort,
+
+        @Parameter(description = "nextCursor of the previous page; omit it for the first page")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Maximum number of amenities to return, up to 100", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(amenityService.scroll(prefix, sort, cursor, size).map(AmenityResponseDTO::new));
+    }
+
     @DeleteMapping(ApiPaths.Amenity.DELETE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(
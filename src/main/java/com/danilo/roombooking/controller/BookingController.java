@@ -2,11 +2,45 @@ package com.danilo.roombooking.controller;
 
 import com.danilo.roombooking.config.security.CustomUserDetails;
 import com.danilo.roombooking.config.web.ApiPaths;
+import com.danilo.roombooking.config.web.ETags;
 import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingHold;
+import com.danilo.roombooking.dto.BookingArchivalProgressDTO;
+import com.danilo.roombooking.dto.BookingBatchRequestDTO;
+import com.danilo.roombooking.dto.BookingBatchResponseDTO;
+import com.danilo.roombooking.dto.BookingBulkApprovalRequestDTO;
+import com.danilo.roombooking.dto.BookingBulkApprovalResponseDTO;
+import com.danilo.roombooking.dto.BookingChangesDTO;
+import com.danilo.roombooking.dto.BookingConflictDTO;
+import com.danilo.roombooking.dto.BookingEventDTO;
 import com.danilo.roombooking.dto.BookingFilterDTO;
+import com.danilo.roombooking.dto.BookingHoldRequestDTO;
+import com.danilo.roombooking.dto.BookingHoldResponseDTO;
 import com.danilo.roombooking.dto.BookingRequestDTO;
 import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.dto.BookingSeriesRequestDTO;
+import com.danilo.roombooking.dto.BookingSeriesResponseDTO;
+import com.danilo.roombooking.dto.BookingWaitlistEntryResponseDTO;
+import com.danilo.roombooking.dto.ImportReportDTO;
+import com.danilo.roombooking.dto.KeysetPageDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import com.danilo.roombooking.service.booking.BookingApprovalService;
+import com.danilo.roombooking.service.booking.BookingArchiver;
+import com.danilo.roombooking.service.booking.BookingBatchService;
+import com.danilo.roombooking.service.booking.BookingCalendarService;
+import com.danilo.roombooking.service.booking.BookingExportService;
+import com.danilo.roombooking.service.booking.BookingHistoryService;
+import com.danilo.roombooking.service.booking.BookingHoldService;
+import com.danilo.roombooking.service.booking.BookingIcsService;
+import com.danilo.roombooking.service.booking.BookingImportService;
+import com.danilo.roombooking.service.booking.BookingInsertService;
+import com.danilo.roombooking.service.booking.BookingSeriesService;
 import com.danilo.roombooking.service.booking.BookingService;
+import com.danilo.roombooking.service.booking.BookingSyncService;
+import com.danilo.roombooking.service.booking.BookingWaitlistService;
+import com.danilo.roombooking.service.idempotency.IdempotencyService;
+import com.danilo.roombooking.service.locking.VersionConflictRetry;
+import com.danilo.roombooking.service.outbox.BookingEventStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,15 +52,24 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping(ApiPaths.Booking.ROOT)
@@ -34,7 +77,28 @@ import java.sql.Timestamp;
 @Tag(name = "Bookings", description = "Operations related to room bookings")
 public class BookingController {
 
+    private static final String CREATE_IDEMPOTENCY_SCOPE = "booking.create";
+    private static final String TEXT_CALENDAR_VALUE = "text/calendar";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType(TEXT_CALENDAR_VALUE);
+
     private final BookingService bookingService;
+    private final BookingInsertService bookingInsertService;
+    private final BookingBatchService bookingBatchService;
+    private final BookingSeriesService bookingSeriesService;
+    private final BookingCalendarService bookingCalendarService;
+    private final BookingHistoryService bookingHistoryService;
+    private final BookingArchiver bookingArchiver;
+    private final BookingApprovalService bookingApprovalService;
+    private final BookingWaitlistService bookingWaitlistService;
+    private final BookingHoldService bookingHoldService;
+    private final BookingSyncService bookingSyncService;
+    private final BookingIcsService bookingIcsService;
+    private final BookingExportService bookingExportService;
+    private final BookingImportService bookingImportService;
+    private final IdempotencyService idempotencyService;
+    private final VersionConflictRetry versionConflictRetry;
+    private final BookingEventStream bookingEventStream;
 
     @PostMapping(ApiPaths.Booking.CREATE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -46,25 +110,342 @@ public class BookingController {
         @ApiResponse(responseCode = "201", description = "Booking successfully created",
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                 schema = @Schema(implementation = BookingResponseDTO.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid request body",
+        @ApiResponse(responseCode = "400", description = "Invalid request body or Idempotency-Key",
             content = @Content),
-        @ApiResponse(responseCode = "409", description = "Room is unavailable or occupied during the requested time slot.",
+        @ApiResponse(responseCode = "409", description = "Room is unavailable or occupied during the requested time " +
+            "slot, with the nearest free slots in the room and free rooms like it; or a request with the same " +
+            "Idempotency-Key is still in progress.",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingConflictDTO.class))),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request",
             content = @Content),
     })
     public ResponseEntity<BookingResponseDTO> create(
         @Parameter(description = "Booking details", required = true)
         @RequestBody BookingRequestDTO bookingRequestDTO,
+
+        @Parameter(description = "Client-generated key; retries with the same key get the first response back " +
+            "instead of creating the booking again", example = "5f0c1d3e-8a4b-4c1e-9a57-2b9f6f1c7d20")
+        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        return idempotencyService.execute(CREATE_IDEMPOTENCY_SCOPE, idempotencyKey, customUserDetails,
+            bookingRequestDTO, BookingResponseDTO.class, () -> {
+                Booking booking = bookingInsertService.create(bookingRequestDTO, customUserDetails);
+                URI loc = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .path(ApiPaths.Booking.GET_BY_ID)
+                    .buildAndExpand(booking.getId())
+                    .toUri();
+                return ResponseEntity.created(loc).body(new BookingResponseDTO(booking));
+            });
+    }
+
+    @PostMapping(ApiPaths.Booking.CREATE_OR_WAITLIST)
+    @Operation(
+        summary = "Create a booking or join the waitlist",
+        description = "Creates the booking like POST /api/booking. If the room is unavailable or occupied, the " +
+            "request is queued instead and booked automatically, in first come, first served order, as soon as " +
+            "the slot is freed by a deleted or shortened booking. Check the waitlist entry to see when it is promoted."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Booking successfully created",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingResponseDTO.class))),
+        @ApiResponse(responseCode = "202", description = "Slot is taken, request added to the waitlist",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingWaitlistEntryResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request body",
+            content = @Content),
+    })
+    public ResponseEntity<Object> createOrWaitlist(
+        @Parameter(description = "Booking details", required = true)
+        @RequestBody BookingRequestDTO bookingRequestDTO,
         @AuthenticationPrincipal CustomUserDetails customUserDetails
     ) {
-        Booking booking = bookingService.create(bookingRequestDTO, customUserDetails);
+        BookingWaitlistService.Outcome outcome = bookingWaitlistService.createOrEnqueue(bookingRequestDTO, customUserDetails);
+        if (outcome.booking() != null) {
+            URI loc = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path(ApiPaths.Booking.ROOT + ApiPaths.Booking.GET_BY_ID)
+                .buildAndExpand(outcome.booking().getId())
+                .toUri();
+            return ResponseEntity.created(loc).body(new BookingResponseDTO(outcome.booking()));
+        }
+
         URI loc = ServletUriComponentsBuilder
-            .fromCurrentRequest()
-            .path(ApiPaths.Booking.GET_BY_ID)
+            .fromCurrentContextPath()
+            .path(ApiPaths.Booking.ROOT + ApiPaths.Booking.GET_WAITLIST_ENTRY)
+            .buildAndExpand(outcome.entry().getId())
+            .toUri();
+        return ResponseEntity.accepted().location(loc).body(new BookingWaitlistEntryResponseDTO(outcome.entry()));
+    }
+
+    @GetMapping(ApiPaths.Booking.GET_WAITLIST_ENTRY)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a waitlist entry by its ID",
+        description = "Retrieves a waitlisted booking request. Once promoted, bookingId is the created booking."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Waitlist entry found",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingWaitlistEntryResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Waitlist entry not found",
+            content = @Content),
+    })
+    public ResponseEntity<BookingWaitlistEntryResponseDTO> getWaitlistEntry(
+        @Parameter(description = "ID of the waitlist entry", required = true, example = "1")
+        @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(new BookingWaitlistEntryResponseDTO(bookingWaitlistService.getById(id)));
+    }
+
+    @DeleteMapping(ApiPaths.Booking.DELETE_WAITLIST_ENTRY)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(
+        summary = "Leave the waitlist",
+        description = "Cancels a waitlisted booking request. Requests already promoted are not affected."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Waitlist entry cancelled",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Waitlist entry not found")
+    })
+    public ResponseEntity<Void> cancelWaitlistEntry(
+        @Parameter(description = "ID of the waitlist entry to cancel", required = true, example = "1")
+        @PathVariable Long id
+    ) {
+        bookingWaitlistService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(ApiPaths.Booking.CREATE_HOLD)
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+        summary = "Hold a time slot",
+        description = "Reserves a room's time slot for ttlSeconds (default and maximum set by the server) so it " +
+            "can be booked without racing other requests. While the hold lasts nobody else can book or hold the " +
+            "slot. Confirm it to create the booking; it is released automatically once it expires."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Slot held",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingHoldResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request body",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is unavailable, occupied or held during the requested " +
+            "time slot, with the nearest free slots in the room and free rooms like it.",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingConflictDTO.class))),
+    })
+    public ResponseEntity<BookingHoldResponseDTO> createHold(
+        @Parameter(description = "Slot to hold and for how long", required = true)
+        @RequestBody BookingHoldRequestDTO bookingHoldRequestDTO,
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        BookingHold hold = bookingHoldService.place(bookingHoldRequestDTO, customUserDetails);
+        URI loc = ServletUriComponentsBuilder
+            .fromCurrentContextPath()
+            .path(ApiPaths.Booking.ROOT + ApiPaths.Booking.DELETE_HOLD)
+            .buildAndExpand(hold.id())
+            .toUri();
+        return ResponseEntity.created(loc).body(new BookingHoldResponseDTO(hold));
+    }
+
+    @PostMapping(ApiPaths.Booking.CONFIRM_HOLD)
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+        summary = "Book a held time slot",
+        description = "Turns the caller's hold into a booking. The room and slot are checked again under the " +
+            "room lock, since writes that do not see holds may have taken the slot; the hold is kept if they did."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Booking successfully created",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Hold not found, expired or owned by another user",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room became unavailable or the slot was booked since the " +
+            "hold was placed, with the nearest free slots in the room and free rooms like it.",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingConflictDTO.class))),
+    })
+    public ResponseEntity<BookingResponseDTO> confirmHold(
+        @Parameter(description = "ID of the hold", required = true)
+        @PathVariable UUID id,
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        Booking booking = bookingHoldService.confirm(id, customUserDetails);
+        URI loc = ServletUriComponentsBuilder
+            .fromCurrentContextPath()
+            .path(ApiPaths.Booking.ROOT + ApiPaths.Booking.GET_BY_ID)
             .buildAndExpand(booking.getId())
             .toUri();
         return ResponseEntity.created(loc).body(new BookingResponseDTO(booking));
     }
 
+    @DeleteMapping(ApiPaths.Booking.DELETE_HOLD)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(
+        summary = "Release a hold",
+        description = "Frees the caller's held time slot before it expires."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Hold released",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Hold not found, expired or owned by another user")
+    })
+    public ResponseEntity<Void> releaseHold(
+        @Parameter(description = "ID of the hold to release", required = true)
+        @PathVariable UUID id,
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        bookingHoldService.release(id, customUserDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(ApiPaths.Booking.CREATE_BATCH)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Create bookings in batch",
+        description = "Creates many bookings at once and reports the outcome of each item. In ALL_OR_NOTHING mode " +
+            "(default) nothing is created if any item is invalid or conflicts; in BEST_EFFORT mode every valid, " +
+            "non-conflicting item is created. Items of the same batch conflict with each other in request order."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingBatchResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or too large batch",
+            content = @Content),
+    })
+    public ResponseEntity<BookingBatchResponseDTO> createBatch(
+        @Parameter(description = "Bookings to create and batch mode", required = true)
+        @RequestBody BookingBatchRequestDTO bookingBatchRequestDTO,
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        return ResponseEntity.ok(bookingBatchService.create(bookingBatchRequestDTO, customUserDetails));
+    }
+
+    @PostMapping(value = ApiPaths.Booking.IMPORT, consumes = TEXT_CSV_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Import bookings from CSV",
+        description = "Imports bookings, past ones included, from a CSV body with the header " +
+            "roomIdentifier,requestedBy,approvedBy,startTime,endTime. Users are given by username, approvedBy may " +
+            "be empty and times are ISO-8601 instants. Invalid and conflicting rows are skipped and reported with " +
+            "their line; the others are imported in chunks as the body is read."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "File processed, see the report",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ImportReportDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or unexpected header",
+            content = @Content),
+    })
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(bookingImportService.importCsv(body));
+    }
+
+    @PostMapping(ApiPaths.Booking.CREATE_SERIES)
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+        summary = "Create a recurring booking series",
+        description = "Books a room on the given days of the week, at the same time of day, from startDate until " +
+            "untilDate (inclusive). Nothing is created if any occurrence conflicts with an existing booking."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Series successfully created",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingSeriesResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request body",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is unavailable or occupied on some occurrences",
+            content = @Content),
+    })
+    public ResponseEntity<BookingSeriesResponseDTO> createSeries(
+        @Parameter(description = "Series details", required = true)
+        @RequestBody BookingSeriesRequestDTO bookingSeriesRequestDTO,
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        BookingSeriesResponseDTO series = bookingSeriesService.create(bookingSeriesRequestDTO, customUserDetails);
+        URI loc = ServletUriComponentsBuilder
+            .fromCurrentContextPath()
+            .path(ApiPaths.Booking.ROOT + ApiPaths.Booking.GET_SERIES_BY_ID)
+            .buildAndExpand(series.id())
+            .toUri();
+        return ResponseEntity.created(loc).body(series);
+    }
+
+    @GetMapping(ApiPaths.Booking.GET_SERIES_BY_ID)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a booking series by its ID",
+        description = "Retrieves a recurring booking series and its number of occurrences."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Series found",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingSeriesResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Series not found",
+            content = @Content),
+    })
+    public ResponseEntity<BookingSeriesResponseDTO> getSeriesById(
+        @Parameter(description = "ID of the series", required = true, example = "1")
+        @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(bookingSeriesService.getById(id));
+    }
+
+    @PutMapping(ApiPaths.Booking.UPDATE_SERIES)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Update a booking series",
+        description = "Changes the time of day of every upcoming occurrence and/or moves untilDate earlier. " +
+            "Past occurrences are not changed."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Series successfully updated",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingSeriesResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request body",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Series not found",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is unavailable or occupied on some occurrences",
+            content = @Content),
+    })
+    public ResponseEntity<BookingSeriesResponseDTO> updateSeries(
+        @Parameter(description = "ID of the series to update", required = true, example = "1")
+        @PathVariable Long id,
+
+        @Parameter(description = "Updated series details", required = true)
+        @RequestBody BookingSeriesRequestDTO bookingSeriesRequestDTO
+    ) {
+        return ResponseEntity.ok(bookingSeriesService.update(id, bookingSeriesRequestDTO));
+    }
+
+    @DeleteMapping(ApiPaths.Booking.DELETE_SERIES)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(
+        summary = "Cancel a booking series",
+        description = "Deletes every upcoming occurrence of the series. Past occurrences are kept."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Series successfully cancelled",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Series not found")
+    })
+    public ResponseEntity<Void> cancelSeries(
+        @Parameter(description = "ID of the series to cancel", required = true, example = "1")
+        @PathVariable Long id
+    ) {
+        bookingSeriesService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping(ApiPaths.Booking.GET)
     @ResponseStatus(HttpStatus.OK)
     @Operation(
@@ -77,9 +458,14 @@ public class BookingController {
     public ResponseEntity<Page<BookingResponseDTO>> getAll(
         @Parameter(description = "Pagination and sorting information",
             example = "?page=0&size=10&sort=startTime,desc")
-        @PageableDefault Pageable pageable
+        @PageableDefault Pageable pageable,
+
+        @Parameter(description = "Also return bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
-        Page<BookingResponseDTO> bookings = bookingService.getAll(pageable).map(BookingResponseDTO::new);
+        Page<BookingResponseDTO> bookings = includeHistory
+            ? bookingHistoryService.getAll(pageable)
+            : bookingService.getAll(pageable);
         return ResponseEntity.ok(bookings);
     }
 
@@ -98,10 +484,16 @@ public class BookingController {
     })
     public ResponseEntity<BookingResponseDTO> getById(
         @Parameter(description = "ID of the booking", required = true, example = "1")
-        @PathVariable Long id
+        @PathVariable Long id,
+
+        @Parameter(description = "Also return bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
-        BookingResponseDTO booking = new BookingResponseDTO(bookingService.getById(id));
-        return ResponseEntity.ok(booking);
+        if (includeHistory)
+            return ResponseEntity.ok(new BookingResponseDTO(bookingHistoryService.getById(id)));
+
+        Booking booking = bookingService.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(booking.getVersion())).body(new BookingResponseDTO(booking));
     }
 
     @GetMapping(ApiPaths.Booking.GET_BY_ROOMID)
@@ -119,13 +511,166 @@ public class BookingController {
 
         @Parameter(description = "Pagination and sorting information",
             example = "?page=0&size=10&sort=startTime,desc")
-        @PageableDefault Pageable pageable
+        @PageableDefault Pageable pageable,
+
+        @Parameter(description = "Also return bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
-        Page<BookingResponseDTO> bookings = bookingService.getByRoomId(roomId, pageable)
-            .map(BookingResponseDTO::new);
+        Page<BookingResponseDTO> bookings = includeHistory
+            ? bookingHistoryService.getByRoomId(roomId, pageable)
+            : bookingService.getByRoomId(roomId, pageable);
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping(value = ApiPaths.Booking.GET_ROOM_CALENDAR, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a room's busy intervals",
+        description = "Streams the busy intervals of a room within [from, to) as a JSON array of " +
+            "[start, end] pairs in epoch seconds, e.g. [[1741334400,1741341600]]. Overlapping and adjacent " +
+            "bookings are merged and intervals are clipped to the requested range."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Busy intervals, ordered by start",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "400", description = "Missing, inverted or too long range",
+            content = @Content),
+    })
+    public ResponseEntity<StreamingResponseBody> getRoomCalendar(
+        @Parameter(description = "ID of the room", required = true, example = "2")
+        @PathVariable Long roomId,
+
+        @Parameter(description = "Start of the range", required = true, example = "2025-03-01T00:00:00Z")
+        @RequestParam Timestamp from,
+
+        @Parameter(description = "End of the range", required = true, example = "2025-04-01T00:00:00Z")
+        @RequestParam Timestamp to
+    ) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(bookingCalendarService.busyIntervals(roomId, from, to));
+    }
+
+    @GetMapping(value = ApiPaths.Booking.GET_ROOM_ICS, produces = TEXT_CALENDAR_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a room's iCalendar feed",
+        description = "Streams the room's bookings as an iCalendar feed for calendar apps to subscribe to, " +
+            "leaving out bookings that started long ago. Send If-Modified-Since with the last Last-Modified " +
+            "to get 304 when nothing changed."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "The room's calendar",
+            content = @Content(mediaType = TEXT_CALENDAR_VALUE)),
+        @ApiResponse(responseCode = "304", description = "Unchanged since If-Modified-Since",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room not found",
+            content = @Content),
+    })
+    public ResponseEntity<StreamingResponseBody> getRoomIcs(
+        @Parameter(description = "ID of the room", required = true, example = "2")
+        @PathVariable Long roomId,
+
+        WebRequest webRequest
+    ) {
+        return calendarFeed(bookingIcsService.roomFeed(roomId), webRequest);
+    }
+
+    @GetMapping(value = ApiPaths.Booking.GET_USER_ICS, produces = TEXT_CALENDAR_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a user's iCalendar feed",
+        description = "Streams the bookings requested by a user as an iCalendar feed for calendar apps to " +
+            "subscribe to, leaving out bookings that started long ago. Send If-Modified-Since with the last " +
+            "Last-Modified to get 304 when nothing changed."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "The user's calendar",
+            content = @Content(mediaType = TEXT_CALENDAR_VALUE)),
+        @ApiResponse(responseCode = "304", description = "Unchanged since If-Modified-Since",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "User not found",
+            content = @Content),
+    })
+    public ResponseEntity<StreamingResponseBody> getUserIcs(
+        @Parameter(description = "ID of the user", required = true, example = "5")
+        @PathVariable Long userId,
+
+        WebRequest webRequest
+    ) {
+        return calendarFeed(bookingIcsService.userFeed(userId), webRequest);
+    }
+
+    // checkNotModified also sets Last-Modified on the response. The feed's query only runs when its body is
+    // written, so a 304 costs just the lookup of the latest change.
+    private static ResponseEntity<StreamingResponseBody> calendarFeed(BookingIcsService.Feed feed,
+                                                                      WebRequest webRequest) {
+        if (feed.lastModified() != null && webRequest.checkNotModified(feed.lastModified().toEpochMilli()))
+            return null;
+
+        return ResponseEntity.ok()
+            .contentType(TEXT_CALENDAR)
+            .body(feed.body());
+    }
+
+    @GetMapping(ApiPaths.Booking.GET_ROOM_CHANGES)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a room's booking changes since a sync token",
+        description = "Returns the bookings of a room created, updated or deleted since the given token, oldest " +
+            "change first, and the token to send next time. Without a token, all bookings of the room are " +
+            "returned. While hasMore is true, call again with nextToken to get the rest."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Changes since the token",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingChangesDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed token or limit out of bounds",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room not found",
+            content = @Content),
+        @ApiResponse(responseCode = "410", description = "Token too old, sync again without a token",
+            content = @Content),
+    })
+    public ResponseEntity<BookingChangesDTO> getRoomChanges(
+        @Parameter(description = "ID of the room", required = true, example = "2")
+        @PathVariable Long roomId,
+
+        @Parameter(description = "nextToken of the previous sync")
+        @RequestParam(required = false) String token,
+
+        @Parameter(description = "Maximum number of changes to return", example = "1000")
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(bookingSyncService.getChanges(roomId, token, limit));
+    }
+
+    @GetMapping(value = ApiPaths.Booking.GET_STREAM, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream booking changes of rooms",
+        description = "Server-Sent Events stream of the created, updated, approved and deleted events of the " +
+            "given rooms. Each event's id can be sent back as Last-Event-ID on reconnect to receive the recent " +
+            "events that were missed; events may be repeated and can be deduplicated by id."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                schema = @Schema(implementation = BookingEventDTO.class))),
+        @ApiResponse(responseCode = "400", description = "No rooms or too many rooms given",
+            content = @Content),
+        @ApiResponse(responseCode = "503", description = "Too many open streams",
+            content = @Content),
+    })
+    public SseEmitter getStream(
+        @Parameter(description = "IDs of the rooms to follow", required = true, example = "2")
+        @RequestParam Set<Long> roomId,
+
+        @Parameter(description = "ID of the last event received before reconnecting")
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return bookingEventStream.subscribe(roomId, lastEventId);
+    }
+
     @GetMapping(ApiPaths.Booking.GET_BY_USERID)
     @ResponseStatus(HttpStatus.OK)
     @Operation(
@@ -141,10 +686,14 @@ public class BookingController {
 
         @Parameter(description = "Pagination and sorting information",
             example = "?page=0&size=10&sort=startTime,desc")
-        @PageableDefault Pageable pageable
+        @PageableDefault Pageable pageable,
+
+        @Parameter(description = "Also return bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
-        Page<BookingResponseDTO> bookings = bookingService.getByUserId(userId, pageable)
-            .map(BookingResponseDTO::new);
+        Page<BookingResponseDTO> bookings = includeHistory
+            ? bookingHistoryService.getByUserId(userId, pageable)
+            : bookingService.getByUserId(userId, pageable);
         return ResponseEntity.ok(bookings);
     }
 
@@ -175,14 +724,175 @@ public class BookingController {
         @RequestParam(required = false) Timestamp minStartTime,
 
         @Parameter(description = "Filter by maximum end time", example = "2025-03-07T18:00:00Z")
-        @RequestParam(required = false) Timestamp maxEndTime
+        @RequestParam(required = false) Timestamp maxEndTime,
+
+        @Parameter(description = "Also return bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
+    ) {
+        BookingFilterDTO filter = new BookingFilterDTO(roomId, requestedBy, approvedBy, minStartTime, maxEndTime);
+        Page<BookingResponseDTO> bookings = includeHistory
+            ? bookingHistoryService.getFilter(filter, pageable)
+            : bookingService.getFilter(filter, pageable);
+        return ResponseEntity.ok(bookings);
+    }
+
+    @GetMapping(ApiPaths.Booking.SCROLL)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Scroll bookings",
+        description = "Retrieves bookings filtered by user, room, start time, and end time using keyset " +
+            "pagination: pass the returned nextCursor as cursor to get the next page. nextCursor is null on the " +
+            "last page. Unlike the paginated endpoints no total is counted and deep pages are as fast as the first."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of bookings",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ScrollPageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or page size",
+            content = @Content),
+    })
+    public ResponseEntity<ScrollPageDTO<BookingResponseDTO>> scroll(
+        @Parameter(description = "Sort key and direction for the first page: startTime or id, optionally followed by " +
+            ",asc or ,desc. Later pages keep the sort of the cursor", example = "startTime,desc")
+        @RequestParam(required = false) String sort,
+
+        @Parameter(description = "nextCursor of the previous page; omit it for the first page")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Maximum number of bookings to return, up to 100", example = "20")
+        @RequestParam(defaultValue = "20") int size,
+
+        @Parameter(description = "Filter by requestedBy", example = "5")
+        @RequestParam(required = false) Long requestedBy,
+
+        @Parameter(description = "Filter by approvedBy", example = "1")
+        @RequestParam(required = false) Long approvedBy,
+
+        @Parameter(description = "Filter by room ID", example = "2")
+        @RequestParam(required = false) Long roomId,
+
+        @Parameter(description = "Filter by minimum start time", example = "2025-03-07T08:00:00Z")
+        @RequestParam(required = false) Timestamp minStartTime,
+
+        @Parameter(description = "Filter by maximum end time", example = "2025-03-07T18:00:00Z")
+        @RequestParam(required = false) Timestamp maxEndTime,
+
+        @Parameter(description = "Also return bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
         BookingFilterDTO filter = new BookingFilterDTO(roomId, requestedBy, approvedBy, minStartTime, maxEndTime);
-        Page<BookingResponseDTO> bookings = bookingService.getFilter(filter, pageable)
-            .map(BookingResponseDTO::new);
+        ScrollPageDTO<BookingResponseDTO> bookings = includeHistory
+            ? bookingHistoryService.scroll(filter, sort, cursor, size).map(BookingResponseDTO::new)
+            : bookingService.scroll(filter, sort, cursor, size).map(BookingResponseDTO::new);
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping(ApiPaths.Booking.GET_EXPORT)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Export filtered bookings",
+        description = "Streams every booking matching the filters in one response, ordered by start time, as CSV " +
+            "with a header row or as newline-delimited JSON. Use it instead of paging through the filter " +
+            "endpoint to fetch large result sets."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "The matching bookings",
+            content = {@Content(mediaType = TEXT_CSV_VALUE), @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)}),
+        @ApiResponse(responseCode = "400", description = "Unknown format",
+            content = @Content),
+    })
+    public ResponseEntity<StreamingResponseBody> getExport(
+        @Parameter(description = "csv or ndjson", example = "csv")
+        @RequestParam(defaultValue = "csv") String format,
+
+        @Parameter(description = "Filter by requestedBy", example = "5")
+        @RequestParam(required = false) Long requestedBy,
+
+        @Parameter(description = "Filter by approvedBy", example = "1")
+        @RequestParam(required = false) Long approvedBy,
+
+        @Parameter(description = "Filter by room ID", example = "2")
+        @RequestParam(required = false) Long roomId,
+
+        @Parameter(description = "Filter by minimum start time", example = "2025-03-07T08:00:00Z")
+        @RequestParam(required = false) Timestamp minStartTime,
+
+        @Parameter(description = "Filter by maximum end time", example = "2025-03-07T18:00:00Z")
+        @RequestParam(required = false) Timestamp maxEndTime,
+
+        @Parameter(description = "Also export bookings moved to the history by archival", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeHistory
+    ) {
+        BookingExportService.Format exportFormat = bookingExportService.parseFormat(format);
+        BookingFilterDTO filter = new BookingFilterDTO(roomId, requestedBy, approvedBy, minStartTime, maxEndTime);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"bookings." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"")
+            .body(bookingExportService.export(filter, includeHistory, exportFormat));
+    }
+
+    @GetMapping(ApiPaths.Booking.GET_ARCHIVAL)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get booking archival progress",
+        description = "Reports the current or last run of the job moving old bookings to the history: its cutoff, " +
+            "bookings and batches archived so far, last archived ID and last error, plus the total since startup."
+    )
+    @ApiResponse(responseCode = "200", description = "Archival progress",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = BookingArchivalProgressDTO.class)))
+    public ResponseEntity<BookingArchivalProgressDTO> getArchivalProgress() {
+        return ResponseEntity.ok(bookingArchiver.getProgress());
+    }
+
+    @GetMapping(ApiPaths.Booking.GET_PENDING)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get bookings pending approval",
+        description = "Retrieves bookings awaiting approval in ID order, using keyset pagination: pass the " +
+            "returned nextAfterId as afterId to get the next page. nextAfterId is null on the last page."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of pending bookings",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = KeysetPageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page size",
+            content = @Content),
+    })
+    public ResponseEntity<KeysetPageDTO<BookingResponseDTO>> getPending(
+        @Parameter(description = "Return bookings with an ID greater than this one", example = "0")
+        @RequestParam(required = false) Long afterId,
+
+        @Parameter(description = "Maximum number of bookings to return, up to 100", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(bookingApprovalService.getPending(afterId, size));
+    }
+
+    @PostMapping(ApiPaths.Booking.APPROVE_BULK)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Approve booking requests in bulk",
+        description = "Approves every listed booking still pending confirmation in a single update. Bookings " +
+            "that do not exist or are already approved are skipped."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Bookings approved, see the counts",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BookingBulkApprovalResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or too large list of IDs",
+            content = @Content),
+    })
+    public ResponseEntity<BookingBulkApprovalResponseDTO> approveAll(
+        @Parameter(description = "IDs of the bookings to approve", required = true)
+        @RequestBody BookingBulkApprovalRequestDTO bookingBulkApprovalRequestDTO,
+
+        @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(bookingApprovalService.approveAll(bookingBulkApprovalRequestDTO, userDetails));
+    }
+
     @PostMapping(ApiPaths.Booking.APPROVE)
     @ResponseStatus(HttpStatus.OK)
     @Operation(
@@ -195,15 +905,21 @@ public class BookingController {
                 schema = @Schema(implementation = BookingResponseDTO.class))),
         @ApiResponse(responseCode = "404", description = "Booking not found",
             content = @Content),
+        @ApiResponse(responseCode = "412", description = "Booking changed since the given ETag was read",
+            content = @Content),
     })
     public ResponseEntity<BookingResponseDTO> approve(
         @Parameter(description = "ID of the booking to approve", required = true)
         @PathVariable Long id,
 
+        @Parameter(description = "ETag of the booking as last read, to approve it only if it is unchanged", example = "\"0\"")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
         @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
-        Booking booking = bookingService.approveBooking(id, userDetails);
-        return ResponseEntity.ok(new BookingResponseDTO(booking));
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        Booking booking = versionConflictRetry.run(() -> bookingService.approveBooking(id, userDetails, expectedVersion));
+        return ResponseEntity.ok().eTag(ETags.of(booking.getVersion())).body(new BookingResponseDTO(booking));
     }
 
     @PutMapping(ApiPaths.Booking.UPDATE)
@@ -218,16 +934,22 @@ public class BookingController {
                 schema = @Schema(implementation = BookingResponseDTO.class))),
         @ApiResponse(responseCode = "404", description = "Booking not found",
             content = @Content),
+        @ApiResponse(responseCode = "412", description = "Booking changed since the given ETag was read",
+            content = @Content),
     })
     public ResponseEntity<BookingResponseDTO> update(
         @Parameter(description = "ID of the booking to update", required = true, example = "1")
         @PathVariable Long id,
 
+        @Parameter(description = "ETag of the booking as last read, to update it only if it is unchanged", example = "\"0\"")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
         @Parameter(description = "Updated booking details", required = true)
         @RequestBody BookingRequestDTO bookingRequestDTO
     ) {
-        BookingResponseDTO updatedBooking = new BookingResponseDTO(bookingService.update(id, bookingRequestDTO));
-        return ResponseEntity.ok(updatedBooking);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        Booking updatedBooking = versionConflictRetry.run(() -> bookingService.update(id, bookingRequestDTO, expectedVersion));
+        return ResponseEntity.ok().eTag(ETags.of(updatedBooking.getVersion())).body(new BookingResponseDTO(updatedBooking));
     }
 
     @DeleteMapping(ApiPaths.Booking.DELETE)
@@ -245,7 +967,10 @@ public class BookingController {
         @Parameter(description = "ID of the booking to delete", required = true, example = "1")
         @PathVariable Long id
     ) {
-        bookingService.delete(id);
+        versionConflictRetry.run(() -> {
+            bookingService.delete(id);
+            return null;
+        });
         return ResponseEntity.noContent().build();
     }
 
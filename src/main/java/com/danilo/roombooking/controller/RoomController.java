@@ -1,13 +1,24 @@
 package com.danilo.roombooking.controller;
 
 import com.danilo.roombooking.config.web.ApiPaths;
+import com.danilo.roombooking.config.web.ETags;
 import com.danilo.roombooking.domain.room.Room;
 import com.danilo.roombooking.domain.room.RoomStatus;
 import com.danilo.roombooking.domain.room.RoomType;
+import com.danilo.roombooking.dto.ImportReportDTO;
 import com.danilo.roombooking.dto.RoomFilterDTO;
+import com.danilo.roombooking.dto.RoomHeatmapDTO;
 import com.danilo.roombooking.dto.RoomRequestDTO;
 import com.danilo.roombooking.dto.RoomResponseDTO;
+import com.danilo.roombooking.dto.RoomUtilizationDTO;
+import com.danilo.roombooking.dto.RoomUtilizationRebuildDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import com.danilo.roombooking.service.locking.VersionConflictRetry;
+import com.danilo.roombooking.service.room.RoomHeatmapService;
+import com.danilo.roombooking.service.room.RoomImportService;
 import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRebuilder;
+import com.danilo.roombooking.service.room.RoomUtilizationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,13 +30,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +54,11 @@ import java.util.Set;
 public class RoomController {
 
     private final RoomService roomService;
+    private final RoomImportService roomImportService;
+    private final RoomUtilizationService roomUtilizationService;
+    private final RoomUtilizationRebuilder roomUtilizationRebuilder;
+    private final RoomHeatmapService roomHeatmapService;
+    private final VersionConflictRetry versionConflictRetry;
 
     @PostMapping(ApiPaths.Room.CREATE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -80,6 +103,25 @@ public class RoomController {
         return ResponseEntity.ok(rooms.map(RoomResponseDTO::new));
     }
 
+    @PostMapping(value = ApiPaths.Room.IMPORT, consumes = "text/csv")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Import rooms from CSV",
+        description = "Imports rooms from a CSV body with the header identifier,name,description,capacity,status,type. " +
+            "Invalid rows and identifiers already taken are skipped and reported with their line; the others are " +
+            "imported in chunks as the body is read."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "File processed, see the report",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ImportReportDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or unexpected header",
+            content = @Content),
+    })
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(roomImportService.importCsv(body));
+    }
+
     @GetMapping(ApiPaths.Room.GET_BY_ID)
     @ResponseStatus(HttpStatus.OK)
     @Operation(
@@ -98,7 +140,7 @@ public class RoomController {
         @PathVariable Long id
     ) {
         Room room = roomService.getById(id);
-        return ResponseEntity.ok(new RoomResponseDTO(room));
+        return ResponseEntity.ok().eTag(ETags.of(room.getVersion())).body(new RoomResponseDTO(room));
     }
 
     @GetMapping(ApiPaths.Room.GET_BY_IDENTIFIER)
@@ -119,7 +161,7 @@ public class RoomController {
         @PathVariable String identifier
     ) {
         Room room = roomService.getByIdentifier(identifier);
-        return ResponseEntity.ok(new RoomResponseDTO(room));
+        return ResponseEntity.ok().eTag(ETags.of(room.getVersion())).body(new RoomResponseDTO(room));
     }
 
     @GetMapping(ApiPaths.Room.GET_FILTER)
@@ -159,6 +201,214 @@ public class RoomController {
         return ResponseEntity.ok(rooms.map(RoomResponseDTO::new));
     }
 
+    @GetMapping(ApiPaths.Room.SCROLL)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Scroll rooms",
+        description = "Retrieves rooms matching the filter criteria using keyset pagination: pass the returned " +
+            "nextCursor as cursor to get the next page. nextCursor is null on the last page. No total is counted."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of rooms",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ScrollPageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or page size",
+            content = @Content)
+    })
+    public ResponseEntity<ScrollPageDTO<RoomResponseDTO>> scroll(
+        @Parameter(description = "Sort key and direction for the first page: id or identifier, optionally followed by " +
+            ",asc or ,desc. Later pages keep the sort of the cursor", example = "identifier,asc")
+        @RequestParam(required = false) String sort,
+
+        @Parameter(description = "nextCursor of the previous page; omit it for the first page")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Maximum number of rooms to return, up to 100", example = "20")
+        @RequestParam(defaultValue = "20") int size,
+
+        @Parameter(description = "Filter by room name", example = "Computer Lab")
+        @RequestParam(required = false) String name,
+
+        @Parameter(description = "Minimum room capacity", example = "10")
+        @RequestParam(required = false) Integer minCapacity,
+
+        @Parameter(description = "Maximum room capacity", example = "50")
+        @RequestParam(required = false) Integer maxCapacity,
+
+        @Parameter(description = "Room status", example = "AVAILABLE")
+        @RequestParam(required = false) RoomStatus status,
+
+        @Parameter(description = "Room type", example = "CLASSROOM")
+        @RequestParam(required = false) RoomType type,
+
+        @Parameter(description = "Filter by amenities (list of amenity IDs)", example = "[1,2,3]")
+        @RequestParam(required = false) Set<Long> amenityIds
+    ) {
+        RoomFilterDTO roomFilterDTO = new RoomFilterDTO(name, minCapacity, maxCapacity, status, type, amenityIds);
+        return ResponseEntity.ok(roomService.scroll(roomFilterDTO, sort, cursor, size).map(RoomResponseDTO::new));
+    }
+
+    @GetMapping(ApiPaths.Room.GET_AVAILABLE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Find available rooms",
+        description = "Retrieves a paginated list of AVAILABLE rooms matching the filter criteria that have no " +
+            "booking overlapping [startTime, endTime)."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of available rooms",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = RoomResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid time window",
+            content = @Content)
+    })
+    public ResponseEntity<Page<RoomResponseDTO>> getAvailable(
+        @Parameter(description = "Start of the time window", required = true, example = "2025-03-07T08:00:00Z")
+        @RequestParam Timestamp startTime,
+
+        @Parameter(description = "End of the time window", required = true, example = "2025-03-07T10:00:00Z")
+        @RequestParam Timestamp endTime,
+
+        @Parameter(description = "Filter by room name", example = "Computer Lab")
+        @RequestParam(required = false) String name,
+
+        @Parameter(description = "Minimum room capacity", example = "10")
+        @RequestParam(required = false) Integer minCapacity,
+
+        @Parameter(description = "Maximum room capacity", example = "50")
+        @RequestParam(required = false) Integer maxCapacity,
+
+        @Parameter(description = "Room type", example = "CLASSROOM")
+        @RequestParam(required = false) RoomType type,
+
+        @Parameter(description = "Filter by amenities (list of amenity IDs)", example = "[1,2,3]")
+        @RequestParam(required = false) Set<Long> amenityIds,
+
+        @Parameter(description = "Pagination and sorting information",
+            example = "?page=0&size=10&sort=name,asc")
+        @PageableDefault Pageable pageable
+    ) {
+        RoomFilterDTO roomFilterDTO = new RoomFilterDTO(name, minCapacity, maxCapacity, null, type, amenityIds);
+        Page<Room> rooms = roomService.getAvailable(roomFilterDTO, startTime, endTime, pageable);
+        return ResponseEntity.ok(rooms.map(RoomResponseDTO::new));
+    }
+
+    @GetMapping(ApiPaths.Room.GET_UTILIZATION_BY_ID)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get a room's utilization",
+        description = "Reports the booked time, number of bookings and booked share of each day or ISO week of " +
+            "[from, to] in the room, from the daily rollup. Weeks are clipped to the range. Days are in the " +
+            "configured booking time zone; bookings count on the day they start."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of the room's utilization",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = RoomUtilizationDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing, reversed or too long range",
+            content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room not found",
+            content = @Content)
+    })
+    public ResponseEntity<List<RoomUtilizationDTO>> getUtilizationById(
+        @Parameter(description = "ID of the room", required = true, example = "1")
+        @PathVariable Long id,
+
+        @Parameter(description = "First day of the range", required = true, example = "2025-03-01")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+        @Parameter(description = "Last day of the range, inclusive", required = true, example = "2025-03-31")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+
+        @Parameter(description = "Length of each period", example = "WEEK")
+        @RequestParam(defaultValue = "DAY") RoomUtilizationService.Granularity granularity
+    ) {
+        return ResponseEntity.ok(roomUtilizationService.getByRoom(id, from, to, granularity));
+    }
+
+    @GetMapping(ApiPaths.Room.GET_UTILIZATION)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get the utilization of all rooms",
+        description = "Reports every room's booked time, number of bookings and booked share over [from, to], " +
+            "in room ID order, from the daily rollup. Rooms without bookings are included with zeros."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of the rooms' utilization",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = RoomUtilizationDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing, reversed or too long range",
+            content = @Content)
+    })
+    public ResponseEntity<List<RoomUtilizationDTO>> getUtilization(
+        @Parameter(description = "First day of the range", required = true, example = "2025-03-01")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+        @Parameter(description = "Last day of the range, inclusive", required = true, example = "2025-03-31")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(roomUtilizationService.getAll(from, to));
+    }
+
+    @PostMapping(ApiPaths.Room.REBUILD_UTILIZATION)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Rebuild room utilization",
+        description = "Recomputes the daily utilization rollup of every room for [from, to] from the bookings, " +
+            "archived ones included, rooms in parallel. Use it after changing the booking time zone or to " +
+            "repair the rollup."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Rollup rebuilt",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = RoomUtilizationRebuildDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or reversed range",
+            content = @Content)
+    })
+    public ResponseEntity<RoomUtilizationRebuildDTO> rebuildUtilization(
+        @Parameter(description = "First day to rebuild", required = true, example = "2025-03-01")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+        @Parameter(description = "Last day to rebuild, inclusive", required = true, example = "2025-03-31")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(roomUtilizationRebuilder.rebuild(from, to));
+    }
+
+    @GetMapping(ApiPaths.Room.GET_HEATMAP)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Get the peak-hour heatmap",
+        description = "Reports the booked time and booked share of each weekday and hour of day, Monday first " +
+            "and hours in the configured booking time zone, summed over the rooms matching the filter. Covers a " +
+            "window around now, from in-memory histograms refreshed as bookings are written."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of the heatmap",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = RoomHeatmapDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid capacity range",
+            content = @Content),
+        @ApiResponse(responseCode = "503", description = "Heatmap disabled or not loaded yet",
+            content = @Content)
+    })
+    public ResponseEntity<RoomHeatmapDTO> getHeatmap(
+        @Parameter(description = "Room type", example = "CLASSROOM")
+        @RequestParam(required = false) RoomType type,
+
+        @Parameter(description = "Minimum room capacity", example = "10")
+        @RequestParam(required = false) Integer minCapacity,
+
+        @Parameter(description = "Maximum room capacity", example = "50")
+        @RequestParam(required = false) Integer maxCapacity,
+
+        @Parameter(description = "Filter by amenities (list of amenity IDs)", example = "[1,2,3]")
+        @RequestParam(required = false) Set<Long> amenityIds
+    ) {
+        RoomFilterDTO roomFilterDTO = new RoomFilterDTO(null, minCapacity, maxCapacity, null, type, amenityIds);
+        return ResponseEntity.ok(roomHeatmapService.getHeatmap(roomFilterDTO));
+    }
+
     @PutMapping(ApiPaths.Room.UPDATE)
     @ResponseStatus(HttpStatus.OK)
     @Operation(
@@ -170,17 +420,23 @@ public class RoomController {
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                 schema = @Schema(implementation = RoomResponseDTO.class))),
         @ApiResponse(responseCode = "404", description = "Room not found",
+            content = @Content),
+        @ApiResponse(responseCode = "412", description = "Room changed since the given ETag was read",
             content = @Content)
     })
     public ResponseEntity<RoomResponseDTO> update(
         @Parameter(description = "ID of the room to update", required = true, example = "1")
         @PathVariable("id") Long id,
 
+        @Parameter(description = "ETag of the room as last read, to update it only if it is unchanged", example = "\"0\"")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
         @Parameter(description = "Updated room details", required = true)
         @RequestBody RoomRequestDTO roomRequestDTO
     ) {
-        Room updatedRoom = roomService.update(id, roomRequestDTO);
-        return ResponseEntity.ok(new RoomResponseDTO(updatedRoom));
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        Room updatedRoom = versionConflictRetry.run(() -> roomService.update(id, roomRequestDTO, expectedVersion));
+        return ResponseEntity.ok().eTag(ETags.of(updatedRoom.getVersion())).body(new RoomResponseDTO(updatedRoom));
     }
 
     @DeleteMapping(ApiPaths.Room.DELETE)
@@ -193,6 +449,8 @@ public class RoomController {
         @ApiResponse(responseCode = "204", description = "Room successfully deleted",
             content = @Content),
         @ApiResponse(responseCode = "404", description = "Room not found",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room still has bookings",
             content = @Content)
     })
     public ResponseEntity<Void> delete(
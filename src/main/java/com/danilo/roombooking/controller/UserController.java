@@ -1,9 +1,12 @@
 package com.danilo.roombooking.controller;
 
+import com.danilo.roombooking.config.security.CustomUserDetails;
 import com.danilo.roombooking.config.web.ApiPaths;
 import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.dto.ScrollPageDTO;
 import com.danilo.roombooking.dto.UserRequestDTO;
 import com.danilo.roombooking.dto.UserResponseDTO;
+import com.danilo.roombooking.service.idempotency.IdempotencyService;
 import com.danilo.roombooking.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -27,7 +31,10 @@ import java.net.URI;
 @Tag(name = "Users", description = "Operations related to user management")
 public class UserController {
 
+    private static final String CREATE_IDEMPOTENCY_SCOPE = "user.create";
+
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping(ApiPaths.User.CREATE)
     @ResponseStatus(HttpStatus.CREATED)
@@ -39,19 +46,32 @@ public class UserController {
         @ApiResponse(responseCode = "201", description = "User successfully created",
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                 schema = @Schema(implementation = UserResponseDTO.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid request data",
+        @ApiResponse(responseCode = "400", description = "Invalid request data or Idempotency-Key",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress",
+            content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request",
             content = @Content)
     })
     public ResponseEntity<UserResponseDTO> create(
         @Parameter(description = "User details", required = true)
-        @RequestBody UserRequestDTO userDTO
+        @RequestBody UserRequestDTO userDTO,
+
+        @Parameter(description = "Client-generated key; retries with the same key get the first response back " +
+            "instead of creating the user again", example = "5f0c1d3e-8a4b-4c1e-9a57-2b9f6f1c7d20")
+        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+
+        @AuthenticationPrincipal CustomUserDetails customUserDetails
     ) {
-        UserResponseDTO user = new UserResponseDTO(userService.create(userDTO));
-        URI loc = ServletUriComponentsBuilder.fromCurrentRequest()
-            .path(ApiPaths.User.GET)
-            .queryParam("id", user.id())
-            .build().toUri();
-        return ResponseEntity.created(loc).body(user);
+        return idempotencyService.execute(CREATE_IDEMPOTENCY_SCOPE, idempotencyKey, customUserDetails,
+            userDTO, UserResponseDTO.class, () -> {
+                UserResponseDTO user = new UserResponseDTO(userService.create(userDTO));
+                URI loc = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path(ApiPaths.User.GET)
+                    .queryParam("id", user.id())
+                    .build().toUri();
+                return ResponseEntity.created(loc).body(user);
+            });
     }
 
     @GetMapping(ApiPaths.User.GET)
@@ -92,6 +112,34 @@ public class UserController {
         return ResponseEntity.ok(new UserResponseDTO(user));
     }
 
+    @GetMapping(ApiPaths.User.SCROLL)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Scroll users",
+        description = "Retrieves all users using keyset pagination: pass the returned nextCursor as cursor to get " +
+            "the next page. nextCursor is null on the last page. No total is counted."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of users",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ScrollPageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or page size",
+            content = @Content)
+    })
+    public ResponseEntity<ScrollPageDTO<UserResponseDTO>> scroll(
+        @Parameter(description = "Sort key and direction for the first page: id or username, optionally followed " +
+            "by ,asc or ,desc. Later pages keep the sort of the cursor", example = "username,asc")
+        @RequestParam(required = false) String sort,
+
+        @Parameter(description = "nextCursor of the previous page; omit it for the first page")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Maximum number of users to return, up to 100", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(userService.scroll(sort, cursor, size).map(UserResponseDTO::new));
+    }
+
     @DeleteMapping(ApiPaths.User.DELETE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(
@@ -102,6 +150,8 @@ public class UserController {
         @ApiResponse(responseCode = "204", description = "User successfully deleted",
             content = @Content),
         @ApiResponse(responseCode = "404", description = "User not found",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "User still has bookings",
             content = @Content)
     })
     public ResponseEntity<Void> delete(
@@ -1,21 +1,45 @@
 package com.danilo.roombooking.controller.advice;
 
+import com.danilo.roombooking.dto.BookingConflictDTO;
 import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingHoldNotFoundException;
 import com.danilo.roombooking.service.booking.BookingNotFoundException;
+import com.danilo.roombooking.service.booking.BookingSeriesNotFoundException;
+import com.danilo.roombooking.service.booking.BookingSuggestionService;
+import com.danilo.roombooking.service.booking.BookingSyncTokenExpiredException;
+import com.danilo.roombooking.service.booking.BookingWaitlistEntryNotFoundException;
 import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.outbox.BookingStreamUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.List;
+
+@Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class BookingControllerExceptionHandler {
 
+    private final BookingSuggestionService bookingSuggestionService;
+
+    // Lists free slots and rooms near the requested one, or just the message if they cannot be looked up.
     @ExceptionHandler(BookingConflictException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
-    public ResponseEntity<String> handleBookingConflictException(BookingConflictException e) {
-        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    public ResponseEntity<BookingConflictDTO> handleBookingConflictException(BookingConflictException e) {
+        BookingConflictDTO body;
+        try {
+            body = bookingSuggestionService.suggest(e);
+        } catch (DataAccessException suggestionFailure) {
+            log.warn("Looking up alternatives to a conflicting booking failed", suggestionFailure);
+            body = new BookingConflictDTO(e.getMessage(), List.of(), List.of());
+        }
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(BookingNotFoundException.class)
@@ -24,10 +48,40 @@ public class BookingControllerExceptionHandler {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BookingSeriesNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleBookingSeriesNotFoundException(BookingSeriesNotFoundException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(BookingWaitlistEntryNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleBookingWaitlistEntryNotFoundException(BookingWaitlistEntryNotFoundException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(BookingHoldNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleBookingHoldNotFoundException(BookingHoldNotFoundException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(InvalidBookingException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleInvalidBookingException(InvalidBookingException e) {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BookingSyncTokenExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ResponseEntity<String> handleBookingSyncTokenExpiredException(BookingSyncTokenExpiredException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(BookingStreamUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleBookingStreamUnavailableException(BookingStreamUnavailableException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
 }
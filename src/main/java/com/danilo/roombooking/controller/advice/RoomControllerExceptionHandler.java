@@ -1,6 +1,8 @@
 package com.danilo.roombooking.controller.advice;
 
 import com.danilo.roombooking.service.room.InvalidRoomException;
+import com.danilo.roombooking.service.room.RoomHeatmapUnavailableException;
+import com.danilo.roombooking.service.room.RoomInUseException;
 import com.danilo.roombooking.service.room.RoomNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,4 +25,16 @@ public class RoomControllerExceptionHandler {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(RoomInUseException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleRoomInUseException(RoomInUseException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RoomHeatmapUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleRoomHeatmapUnavailableException(RoomHeatmapUnavailableException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
 }
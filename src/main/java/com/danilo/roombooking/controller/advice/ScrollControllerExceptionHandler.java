@@ -0,0 +1,19 @@
+package com.danilo.roombooking.controller.advice;
+
+import com.danilo.roombooking.service.scroll.InvalidScrollRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ScrollControllerExceptionHandler {
+
+    @ExceptionHandler(InvalidScrollRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handleInvalidScrollRequestException(InvalidScrollRequestException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.danilo.roombooking.controller.advice;
 
 import com.danilo.roombooking.service.user.InvalidUserException;
+import com.danilo.roombooking.service.user.UserInUseException;
 import com.danilo.roombooking.service.user.UserNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,4 +24,10 @@ public class UserControllerExceptionHandler {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(UserInUseException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleUserInUseException(UserInUseException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
 }
@@ -4,6 +4,7 @@ import com.danilo.roombooking.domain.room.Room;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.sql.Timestamp;
 
@@ -13,7 +14,10 @@ import java.sql.Timestamp;
     indexes = {
         @Index(name = "IX_Booking", columnList = "RoomId, StartTime, EndTime"),
         @Index(name = "IX_Booking_UserId", columnList = "UserId"),
-        @Index(name = "IX_Booking_Approved", columnList = "Approved")
+        @Index(name = "IX_Booking_Approved", columnList = "Approved"),
+        @Index(name = "IX_Booking_SeriesId", columnList = "SeriesId, StartTime"),
+        @Index(name = "IX_Booking_RoomId_UpdatedAt", columnList = "RoomId, UpdatedAt"),
+        @Index(name = "IX_Booking_RequestedBy_UpdatedAt", columnList = "RequestedBy, UpdatedAt")
     }
 )
 @Data
@@ -54,6 +58,14 @@ public class Booking {
     @Column(name = "CreatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
     private Timestamp createdAt;
 
+    @UpdateTimestamp
     @Column(name = "UpdatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
     private Timestamp updatedAt;
+
+    @Column(name = "SeriesId", columnDefinition = "BIGINT UNSIGNED")
+    private Long seriesId;
+
+    @Version
+    @Column(name = "Version", columnDefinition = "BIGINT UNSIGNED NOT NULL DEFAULT 0")
+    private Long version;
 }
@@ -0,0 +1,8 @@
+package com.danilo.roombooking.domain;
+
+public enum BookingEventType {
+    CREATED,
+    UPDATED,
+    APPROVED,
+    DELETED
+}
@@ -0,0 +1,17 @@
+package com.danilo.roombooking.domain;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookingHold(UUID id, Long roomId, Long userId, Timestamp startTime, Timestamp endTime,
+                          Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean overlaps(long start, long end) {
+        return startTime.getTime() < end && endTime.getTime() > start;
+    }
+}
@@ -0,0 +1,67 @@
+package com.danilo.roombooking.domain;
+
+import com.danilo.roombooking.domain.room.Room;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.sql.Timestamp;
+
+// Read-only view over current and archived bookings, used by the read endpoints when history is included.
+// Attributes are named like Booking's so BookingSpecification and sort parameters apply to both.
+@Entity
+@Immutable
+@Subselect("""
+    SELECT Id, RoomId, Approved, RequestedBy, ApprovedBy, SeriesId, StartTime, EndTime, CreatedAt, UpdatedAt,
+        FALSE AS Archived
+    FROM Booking
+    UNION ALL
+    SELECT Id, RoomId, Approved, RequestedBy, ApprovedBy, SeriesId, StartTime, EndTime, CreatedAt, UpdatedAt,
+        TRUE AS Archived
+    FROM Booking_History
+    """)
+@Synchronize({"Booking", "Booking_History"})
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class BookingRecord {
+    @Id
+    @Column(name = "Id")
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @JoinColumn(name = "RoomId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Room room;
+
+    @Column(name = "Approved")
+    private Boolean approved;
+
+    @JoinColumn(name = "RequestedBy")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User requestedBy;
+
+    @JoinColumn(name = "ApprovedBy")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User approvedBy;
+
+    @Column(name = "SeriesId")
+    private Long seriesId;
+
+    @Column(name = "StartTime")
+    private Timestamp startTime;
+
+    @Column(name = "EndTime")
+    private Timestamp endTime;
+
+    @Column(name = "CreatedAt")
+    private Timestamp createdAt;
+
+    @Column(name = "UpdatedAt")
+    private Timestamp updatedAt;
+
+    @Column(name = "Archived")
+    private Boolean archived;
+}
@@ -0,0 +1,69 @@
+package com.danilo.roombooking.domain;
+
+import com.danilo.roombooking.domain.room.Room;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Entity
+@Table(name = "Booking_Series")
+@Data
+@Builder
+@DynamicInsert
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@SequenceGenerator(name = "booking_series_seq", sequenceName = "booking_series_sequence", allocationSize = 1)
+public class BookingSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_series_seq")
+    @Column(name = "Id", columnDefinition = "BIGINT UNSIGNED")
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @JoinColumn(name = "RoomId", columnDefinition = "BIGINT UNSIGNED NOT NULL")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Room room;
+
+    @JoinColumn(name = "RequestedBy", columnDefinition = "BIGINT UNSIGNED NOT NULL")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User requestedBy;
+
+    @Convert(converter = DaysOfWeekConverter.class)
+    @Column(name = "DaysOfWeek", columnDefinition = "VARCHAR(70) NOT NULL")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @Column(name = "StartTimeOfDay", columnDefinition = "TIME NOT NULL")
+    private LocalTime startTimeOfDay;
+
+    @Column(name = "EndTimeOfDay", columnDefinition = "TIME NOT NULL")
+    private LocalTime endTimeOfDay;
+
+    @Column(name = "ZoneId", columnDefinition = "VARCHAR(50) NOT NULL")
+    private String zoneId;
+
+    @Column(name = "StartDate", columnDefinition = "DATE NOT NULL")
+    private LocalDate startDate;
+
+    @Column(name = "UntilDate", columnDefinition = "DATE NOT NULL")
+    private LocalDate untilDate;
+
+    @Column(name = "CancelledAt", columnDefinition = "TIMESTAMP")
+    private Timestamp cancelledAt;
+
+    @CreationTimestamp
+    @Column(name = "CreatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
+    private Timestamp createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "UpdatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
+    private Timestamp updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.danilo.roombooking.domain;
+
+import com.danilo.roombooking.domain.room.Room;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "Booking_Waitlist")
+@Data
+@Builder
+@DynamicInsert
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@SequenceGenerator(name = "booking_waitlist_seq", sequenceName = "booking_waitlist_sequence", allocationSize = 1)
+public class BookingWaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_waitlist_seq")
+    @Column(name = "Id", columnDefinition = "BIGINT UNSIGNED")
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @JoinColumn(name = "RoomId", columnDefinition = "BIGINT UNSIGNED NOT NULL")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Room room;
+
+    @JoinColumn(name = "RequestedBy", columnDefinition = "BIGINT UNSIGNED NOT NULL")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User requestedBy;
+
+    // whether the booking is approved by its requester when promoted
+    @Column(name = "AutoApprove", columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private Boolean autoApprove;
+
+    @Column(name = "StartTime", columnDefinition = "TIMESTAMP NOT NULL")
+    private Timestamp startTime;
+
+    @Column(name = "EndTime", columnDefinition = "TIMESTAMP NOT NULL")
+    private Timestamp endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Status", columnDefinition = "VARCHAR(20) NOT NULL")
+    private BookingWaitlistStatus status;
+
+    @Column(name = "BookingId", columnDefinition = "BIGINT UNSIGNED")
+    private Long bookingId;
+
+    @CreationTimestamp
+    @Column(name = "CreatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
+    private Timestamp createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "UpdatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
+    private Timestamp updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.danilo.roombooking.domain;
+
+public enum BookingWaitlistStatus {
+    WAITING,
+    PROMOTED,
+    CANCELLED,
+    EXPIRED
+}
@@ -67,4 +67,8 @@ public class Room {
     @UpdateTimestamp
     @Column(name = "UpdatedAt", columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
     private Timestamp updatedAt;
+
+    @Version
+    @Column(name = "Version", columnDefinition = "BIGINT UNSIGNED NOT NULL DEFAULT 0")
+    private Long version;
 }
@@ -0,0 +1,8 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+public record BookingArchivalProgressDTO(boolean running, Timestamp cutoff, Timestamp runStartedAt,
+                                         Timestamp runFinishedAt, long runArchived, long runBatches,
+                                         Long lastArchivedId, long totalArchived, String lastError) {
+}
@@ -0,0 +1,10 @@
+package com.danilo.roombooking.dto;
+
+public record BookingBatchItemResultDTO(int index, Status status, Long bookingId, String message) {
+    public enum Status {
+        CREATED,
+        INVALID,
+        CONFLICT,
+        NOT_CREATED
+    }
+}
@@ -0,0 +1,10 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+
+public record BookingBatchRequestDTO(List<BookingRequestDTO> bookings, Mode mode) {
+    public enum Mode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT
+    }
+}
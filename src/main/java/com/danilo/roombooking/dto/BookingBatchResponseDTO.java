@@ -0,0 +1,6 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+
+public record BookingBatchResponseDTO(int created, int failed, List<BookingBatchItemResultDTO> results) {
+}
@@ -0,0 +1,4 @@
+package com.danilo.roombooking.dto;
+
+public record BookingBulkApprovalResponseDTO(int requested, int approved, int skipped) {
+}
@@ -0,0 +1,8 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+// What an iCalendar feed shows of a booking.
+public record BookingCalendarEventDTO(Long id, String roomIdentifier, String roomName, Boolean approved,
+                                      Timestamp startTime, Timestamp endTime, Timestamp updatedAt, Long version) {
+}
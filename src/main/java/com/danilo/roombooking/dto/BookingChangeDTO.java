@@ -0,0 +1,8 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+// A booking as of its last change, or the last known state of a deleted one, with requestedBy and approved null.
+public record BookingChangeDTO(Long id, Long roomId, Long requestedBy, Boolean approved, Timestamp startTime,
+                               Timestamp endTime, boolean deleted, Timestamp changedAt) {
+}
@@ -0,0 +1,6 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+
+public record BookingChangesDTO(List<BookingChangeDTO> changes, String nextToken, boolean hasMore) {
+}
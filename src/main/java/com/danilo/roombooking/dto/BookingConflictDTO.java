@@ -0,0 +1,10 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+
+// freeSlots are in the same room, nearest to the requested start first; freeRooms are free for the requested slot.
+public record BookingConflictDTO(
+    String message,
+    List<BookingSlotDTO> freeSlots,
+    List<BookingRoomSuggestionDTO> freeRooms
+) {}
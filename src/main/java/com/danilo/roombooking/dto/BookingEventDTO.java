@@ -0,0 +1,19 @@
+package com.danilo.roombooking.dto;
+
+import com.danilo.roombooking.domain.BookingEventType;
+
+import java.sql.Timestamp;
+
+// A booking lifecycle event as delivered to the outbox sinks; id increases in the order events were recorded.
+public record BookingEventDTO(
+    Long id,
+    BookingEventType type,
+    Long bookingId,
+    Long roomId,
+    Long requestedBy,
+    Boolean approved,
+    Timestamp startTime,
+    Timestamp endTime,
+    Timestamp occurredAt
+) {
+}
@@ -0,0 +1,6 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+public record BookingHoldRequestDTO(Long roomId, Timestamp startTime, Timestamp endTime, Integer ttlSeconds) {
+}
@@ -0,0 +1,19 @@
+package com.danilo.roombooking.dto;
+
+import com.danilo.roombooking.domain.BookingHold;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+public record BookingHoldResponseDTO(UUID id, Long roomId, Timestamp startTime, Timestamp endTime,
+                                     Timestamp expiresAt) {
+    public BookingHoldResponseDTO(BookingHold hold) {
+        this(
+            hold.id(),
+            hold.roomId(),
+            hold.startTime(),
+            hold.endTime(),
+            Timestamp.from(hold.expiresAt())
+        );
+    }
+}
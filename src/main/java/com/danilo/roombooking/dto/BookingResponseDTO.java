@@ -1,21 +1,42 @@
 package com.danilo.roombooking.dto;
 
 import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingRecord;
+import com.danilo.roombooking.domain.User;
 
 import java.sql.Timestamp;
 
 public record BookingResponseDTO(Long id, Long roomId, Long requestedBy, Long approvedBy, Timestamp startTime,
-                                 Timestamp endTime, Timestamp createdAt, Timestamp updatedAt) {
+                                 Timestamp endTime, Timestamp createdAt, Timestamp updatedAt, boolean archived) {
     public BookingResponseDTO(Booking booking) {
         this(
             booking.getId(),
             booking.getRoom().getId(),
             booking.getRequestedBy().getId(),
-            booking.getApprovedBy().getId(),
+            idOf(booking.getApprovedBy()),
             booking.getStartTime(),
             booking.getEndTime(),
             booking.getCreatedAt(),
-            booking.getUpdatedAt()
+            booking.getUpdatedAt(),
+            false
         );
     }
+
+    public BookingResponseDTO(BookingRecord booking) {
+        this(
+            booking.getId(),
+            booking.getRoom().getId(),
+            booking.getRequestedBy().getId(),
+            idOf(booking.getApprovedBy()),
+            booking.getStartTime(),
+            booking.getEndTime(),
+            booking.getCreatedAt(),
+            booking.getUpdatedAt(),
+            Boolean.TRUE.equals(booking.getArchived())
+        );
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
 }
@@ -0,0 +1,16 @@
+package com.danilo.roombooking.dto;
+
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomType;
+
+public record BookingRoomSuggestionDTO(
+    Long id,
+    String identifier,
+    String name,
+    Integer capacity,
+    RoomType type
+) {
+    public BookingRoomSuggestionDTO(Room room) {
+        this(room.getId(), room.getIdentifier(), room.getName(), room.getCapacity(), room.getType());
+    }
+}
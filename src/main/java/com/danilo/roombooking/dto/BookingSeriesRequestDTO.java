@@ -0,0 +1,10 @@
+package com.danilo.roombooking.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record BookingSeriesRequestDTO(Long roomId, Set<DayOfWeek> daysOfWeek, LocalTime startTime,
+                                      LocalTime endTime, LocalDate startDate, LocalDate untilDate) {
+}
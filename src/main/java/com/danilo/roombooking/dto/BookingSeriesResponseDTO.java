@@ -0,0 +1,29 @@
+package com.danilo.roombooking.dto;
+
+import com.danilo.roombooking.domain.BookingSeries;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record BookingSeriesResponseDTO(Long id, Long roomId, Long requestedBy, Set<DayOfWeek> daysOfWeek,
+                                       LocalTime startTime, LocalTime endTime, String zoneId, LocalDate startDate,
+                                       LocalDate untilDate, Timestamp cancelledAt, long occurrences) {
+    public BookingSeriesResponseDTO(BookingSeries series, long occurrences) {
+        this(
+            series.getId(),
+            series.getRoom().getId(),
+            series.getRequestedBy().getId(),
+            series.getDaysOfWeek(),
+            series.getStartTimeOfDay(),
+            series.getEndTimeOfDay(),
+            series.getZoneId(),
+            series.getStartDate(),
+            series.getUntilDate(),
+            series.getCancelledAt(),
+            occurrences
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+public record BookingSlotDTO(
+    Timestamp startTime,
+    Timestamp endTime
+) {}
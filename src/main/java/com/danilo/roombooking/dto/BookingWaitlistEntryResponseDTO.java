@@ -0,0 +1,23 @@
+package com.danilo.roombooking.dto;
+
+import com.danilo.roombooking.domain.BookingWaitlistEntry;
+import com.danilo.roombooking.domain.BookingWaitlistStatus;
+
+import java.sql.Timestamp;
+
+public record BookingWaitlistEntryResponseDTO(Long id, Long roomId, Long requestedBy, Timestamp startTime,
+                                              Timestamp endTime, BookingWaitlistStatus status, Long bookingId,
+                                              Timestamp createdAt) {
+    public BookingWaitlistEntryResponseDTO(BookingWaitlistEntry entry) {
+        this(
+            entry.getId(),
+            entry.getRoom().getId(),
+            entry.getRequestedBy().getId(),
+            entry.getStartTime(),
+            entry.getEndTime(),
+            entry.getStatus(),
+            entry.getBookingId(),
+            entry.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+// Status is null while the first request with the key is still running.
+public record IdempotentResponseDTO(String requestHash, Integer status, String location, String body,
+                                    Timestamp expiresAt) {
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
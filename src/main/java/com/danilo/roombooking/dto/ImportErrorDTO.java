@@ -0,0 +1,4 @@
+package com.danilo.roombooking.dto;
+
+public record ImportErrorDTO(long line, String message) {
+}
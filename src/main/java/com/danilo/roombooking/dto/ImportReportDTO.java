@@ -0,0 +1,7 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+
+// errors lists the first rejected rows only; errorsTruncated tells whether more were rejected than listed.
+public record ImportReportDTO(int imported, int failed, List<ImportErrorDTO> errors, boolean errorsTruncated) {
+}
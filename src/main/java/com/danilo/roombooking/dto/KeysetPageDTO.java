@@ -0,0 +1,8 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+
+// A page of a keyset-paginated list. Pass nextAfterId back as afterId to fetch the following page;
+// it is null on the last page.
+public record KeysetPageDTO<T>(List<T> content, Long nextAfterId) {
+}
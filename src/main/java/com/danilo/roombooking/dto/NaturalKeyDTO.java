@@ -0,0 +1,5 @@
+package com.danilo.roombooking.dto;
+
+// The id behind a natural key, such as a room's identifier or a user's username.
+public record NaturalKeyDTO(String key, Long id) {
+}
@@ -0,0 +1,13 @@
+package com.danilo.roombooking.dto;
+
+import java.sql.Timestamp;
+
+// Cells are indexed [weekday][hour], Monday first and hours in the booking time zone.
+public record RoomHeatmapDTO(
+    Timestamp from,
+    Timestamp to,
+    String timeZone,
+    int rooms,
+    long[][] bookedSeconds,
+    double[][] occupancy
+) {}
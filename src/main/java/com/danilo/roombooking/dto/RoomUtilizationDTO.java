@@ -0,0 +1,8 @@
+package com.danilo.roombooking.dto;
+
+import java.time.LocalDate;
+
+// utilization is the booked share of the period, from 0 to 1; from and to are inclusive.
+public record RoomUtilizationDTO(Long roomId, LocalDate from, LocalDate to, long bookedSeconds, long bookings,
+                                 double utilization) {
+}
@@ -0,0 +1,6 @@
+package com.danilo.roombooking.dto;
+
+import java.time.LocalDate;
+
+public record RoomUtilizationDayDTO(Long roomId, LocalDate day, long bookedSeconds, long bookings) {
+}
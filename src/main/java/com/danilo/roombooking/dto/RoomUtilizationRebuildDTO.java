@@ -0,0 +1,6 @@
+package com.danilo.roombooking.dto;
+
+import java.time.LocalDate;
+
+public record RoomUtilizationRebuildDTO(LocalDate from, LocalDate to, int rooms, long elapsedMillis) {
+}
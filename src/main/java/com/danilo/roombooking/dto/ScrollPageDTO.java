@@ -0,0 +1,13 @@
+package com.danilo.roombooking.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// A page of a cursor-paginated list. Pass nextCursor back as cursor to fetch the following page; it is null on
+// the last page. There is no total, counting it would cost as much as reading every page.
+public record ScrollPageDTO<T>(List<T> content, String nextCursor) {
+
+    public <R> ScrollPageDTO<R> map(Function<? super T, ? extends R> mapper) {
+        return new ScrollPageDTO<>(content.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
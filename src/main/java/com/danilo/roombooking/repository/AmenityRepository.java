@@ -4,11 +4,12 @@ import com.danilo.roombooking.domain.Amenity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.Collection;
 import java.util.List;
 
-public interface AmenityRepository extends JpaRepository<Amenity, Long> {
+public interface AmenityRepository extends JpaRepository<Amenity, Long>, JpaSpecificationExecutor<Amenity> {
     List<Amenity> findByIdIn(Collection<Long> ids);
     Page<Amenity> findByNameStartingWithIgnoreCase(String prefix, Pageable pageable);
 }
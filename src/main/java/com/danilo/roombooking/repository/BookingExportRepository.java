@@ -0,0 +1,57 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingRecord;
+import com.danilo.roombooking.dto.BookingFilterDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.specification.BookingSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Repository
+@RequiredArgsConstructor
+public class BookingExportRepository {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Streams every booking matching the filter in (startTime, id) order from a forward-only cursor. A stateless
+    // session keeps no persistence context, so each row is garbage once handled and memory stays flat however
+    // many rows match. Lazy associations stay uninitialized proxies, only their ids are read.
+    public void forEachMatching(BookingFilterDTO filter, boolean includeHistory, Consumer<BookingResponseDTO> handler) {
+        if (includeHistory) forEachMatching(BookingRecord.class, filter, BookingResponseDTO::new, handler);
+        else forEachMatching(Booking.class, filter, BookingResponseDTO::new, handler);
+    }
+
+    private <T> void forEachMatching(Class<T> type, BookingFilterDTO filter, Function<T, BookingResponseDTO> mapper,
+                                     Consumer<BookingResponseDTO> handler) {
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaQuery<T> query = builder.createQuery(type);
+            Root<T> root = query.from(type);
+            Predicate predicate = BookingSpecification.<T>matches(filter).toPredicate(root, query, builder);
+            if (predicate != null) query.where(predicate);
+            query.orderBy(builder.asc(root.get("startTime")), builder.asc(root.get("id")));
+
+            try (ScrollableResults<T> rows = session.createQuery(query)
+                .setReadOnly(true)
+                .setFetchSize(FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) handler.accept(mapper.apply(rows.get()));
+            }
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingCalendarEventDTO;
+import com.danilo.roombooking.dto.BookingChangeDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+
+    // Must match the sequence of Booking's @SequenceGenerator.
+    private static final String ID_SEQUENCE = "amenity_sequence";
+    private static final int ID_BLOCK_SIZE = 500;
+    private static final String ID_BLOCK_QUERY =
+        "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) "
+            + "SELECT NEXT VALUE FOR " + ID_SEQUENCE + " FROM seq";
+    private static final String INSERT_IF_ROOM_AVAILABLE = """
+        INSERT INTO Booking (Id, RoomId, Approved, RequestedBy, ApprovedBy, StartTime, EndTime)
+        SELECT NEXT VALUE FOR %s, r.Id, ?, ?, ?, ?, ?
+        FROM Room r
+        WHERE r.Id = ? AND r.Status = ?
+        AND NOT EXISTS (
+            SELECT 1 FROM Booking b
+            WHERE b.RoomId = r.Id AND b.StartTime > ? AND b.StartTime < ? AND b.EndTime > ?
+        )
+        RETURNING Id, CreatedAt, UpdatedAt
+        """.formatted(ID_SEQUENCE);
+    private static final int BATCH_SIZE = 500;
+    private static final int INTERVAL_FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> nextIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int block = Math.min(ID_BLOCK_SIZE, count - ids.size());
+            ids.addAll(jdbcTemplate.queryForList(ID_BLOCK_QUERY, Long.class, block));
+        }
+        return ids;
+    }
+
+    public void insertAll(Collection<Booking> bookings) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Booking (Id, RoomId, Approved, RequestedBy, ApprovedBy, SeriesId, StartTime, EndTime)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """, bookings, BATCH_SIZE, (ps, booking) -> {
+            ps.setLong(1, booking.getId());
+            ps.setLong(2, booking.getRoom().getId());
+            ps.setBoolean(3, Boolean.TRUE.equals(booking.getApproved()));
+            ps.setLong(4, booking.getRequestedBy().getId());
+            if (booking.getApprovedBy() != null) ps.setLong(5, booking.getApprovedBy().getId());
+            else ps.setNull(5, Types.BIGINT);
+            if (booking.getSeriesId() != null) ps.setLong(6, booking.getSeriesId());
+            else ps.setNull(6, Types.BIGINT);
+            ps.setTimestamp(7, booking.getStartTime());
+            ps.setTimestamp(8, booking.getEndTime());
+        });
+    }
+
+    // Inserts the booking only if its room is AVAILABLE and free during [startTime, endTime), in a single
+    // statement, and fills in the generated columns. InnoDB share-locks the room row and the scanned range of
+    // IX_Booking, so a concurrent insert into the same range deadlocks instead of overlapping.
+    public boolean insertIfRoomAvailable(Booking booking) {
+        Long approvedBy = booking.getApprovedBy() != null ? booking.getApprovedBy().getId() : null;
+        List<Booking> inserted = jdbcTemplate.query(INSERT_IF_ROOM_AVAILABLE, (rs, rowNum) -> {
+                booking.setId(rs.getLong(1));
+                booking.setCreatedAt(rs.getTimestamp(2));
+                booking.setUpdatedAt(rs.getTimestamp(3));
+                return booking;
+            },
+            Boolean.TRUE.equals(booking.getApproved()), booking.getRequestedBy().getId(), approvedBy,
+            booking.getStartTime(), booking.getEndTime(),
+            booking.getRoom().getId(), RoomStatus.AVAILABLE.name(),
+            BookingRepository.earliestOverlappingStart(booking.getStartTime()), booking.getEndTime(),
+            booking.getStartTime());
+        return !inserted.isEmpty();
+    }
+
+    // Locks the bookings among ids that are still pending, so they stay pending until approveAll.
+    public List<Long> lockPendingIds(Collection<Long> ids) {
+        return jdbcTemplate.queryForList("SELECT Id FROM Booking WHERE Id IN ("
+            + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") AND Approved = FALSE ORDER BY Id FOR UPDATE",
+            Long.class, ids.toArray());
+    }
+
+    public int approveAll(Collection<Long> ids, Long approvedBy) {
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(approvedBy);
+        args.addAll(ids);
+        return jdbcTemplate.update("UPDATE Booking SET Approved = TRUE, ApprovedBy = ?, Version = Version + 1 WHERE Id IN ("
+            + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") AND Approved = FALSE", args.toArray());
+    }
+
+    public int shiftSeriesOccurrences(Long seriesId, Timestamp from, Timestamp until,
+                                      long startShiftSeconds, long endShiftSeconds) {
+        return jdbcTemplate.update("""
+            UPDATE Booking
+            SET StartTime = StartTime + INTERVAL ? SECOND, EndTime = EndTime + INTERVAL ? SECOND,
+                Version = Version + 1
+            WHERE SeriesId = ? AND StartTime >= ? AND StartTime < ?
+            """, startShiftSeconds, endShiftSeconds, seriesId, from, until);
+    }
+
+    public int deleteSeriesOccurrences(Long seriesId, Timestamp from) {
+        jdbcTemplate.update("""
+            INSERT INTO Booking_Tombstone (BookingId, RoomId, RequestedBy, StartTime, EndTime)
+            SELECT Id, RoomId, RequestedBy, StartTime, EndTime FROM Booking
+            WHERE SeriesId = ? AND StartTime >= ?
+            """, seriesId, from);
+        return jdbcTemplate.update("DELETE FROM Booking WHERE SeriesId = ? AND StartTime >= ?", seriesId, from);
+    }
+
+    // Remembers a booking about to be deleted so incremental sync clients and calendar feeds learn about
+    // the delete. Must run before the booking's row is gone.
+    public void insertTombstone(BookingIntervalDTO deleted) {
+        jdbcTemplate.update("""
+            INSERT INTO Booking_Tombstone (BookingId, RoomId, RequestedBy, StartTime, EndTime)
+            SELECT Id, RoomId, RequestedBy, StartTime, EndTime FROM Booking
+            WHERE Id = ? AND StartTime = ?
+            """, deleted.id(), deleted.startTime());
+    }
+
+    public int deleteTombstonesBefore(Timestamp before) {
+        return jdbcTemplate.update("DELETE FROM Booking_Tombstone WHERE DeletedAt < ?", before);
+    }
+
+    // The next changes of a room's bookings in [since, until), past (since, afterId) in (changedAt, id) order,
+    // deletes included from the tombstones. Each branch is ordered and limited on its (RoomId, time) index.
+    public List<BookingChangeDTO> findChanges(Long roomId, Timestamp since, long afterId, Timestamp until, int limit) {
+        return jdbcTemplate.query("""
+                (SELECT Id, RoomId, RequestedBy, Approved, StartTime, EndTime, FALSE AS Deleted, UpdatedAt AS ChangedAt
+                FROM Booking
+                WHERE RoomId = ? AND UpdatedAt < ? AND (UpdatedAt > ? OR (UpdatedAt = ? AND Id > ?))
+                ORDER BY UpdatedAt, Id
+                LIMIT ?)
+                UNION ALL
+                (SELECT BookingId, RoomId, NULL, NULL, StartTime, EndTime, TRUE, DeletedAt
+                FROM Booking_Tombstone
+                WHERE RoomId = ? AND DeletedAt < ? AND (DeletedAt > ? OR (DeletedAt = ? AND BookingId > ?))
+                ORDER BY DeletedAt, BookingId
+                LIMIT ?)
+                ORDER BY ChangedAt, Id
+                LIMIT ?
+                """, (rs, rowNum) -> new BookingChangeDTO(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getObject(3, Long.class),
+                rs.getObject(4, Boolean.class),
+                rs.getTimestamp(5),
+                rs.getTimestamp(6),
+                rs.getBoolean(7),
+                rs.getTimestamp(8)),
+            roomId, until, since, since, afterId, limit,
+            roomId, until, since, since, afterId, limit,
+            limit);
+    }
+
+    // Locks the next keyset batch of bookings that ended before the cutoff; the redundant bound on
+    // StartTime prunes the partitions holding current bookings.
+    public List<Long> lockArchivableIds(long afterId, Timestamp cutoff, int limit) {
+        return jdbcTemplate.queryForList("""
+            SELECT Id FROM Booking
+            WHERE Id > ? AND StartTime < ? AND EndTime < ?
+            ORDER BY Id
+            LIMIT ?
+            FOR UPDATE
+            """, Long.class, afterId, cutoff, cutoff, limit);
+    }
+
+    // Moves the batch locked by lockArchivableIds, i.e. the archivable bookings in (afterId, lastId].
+    public void moveToHistory(long afterId, long lastId, Timestamp cutoff, int expected) {
+        String copy = """
+            INSERT INTO Booking_History
+                (Id, RoomId, Approved, RequestedBy, ApprovedBy, SeriesId, StartTime, EndTime, CreatedAt, UpdatedAt)
+            SELECT Id, RoomId, Approved, RequestedBy, ApprovedBy, SeriesId, StartTime, EndTime, CreatedAt, UpdatedAt
+            FROM Booking
+            WHERE Id > ? AND Id <= ? AND StartTime < ? AND EndTime < ?
+            """;
+        String delete = "DELETE FROM Booking WHERE Id > ? AND Id <= ? AND StartTime < ? AND EndTime < ?";
+
+        int copied = jdbcTemplate.update(copy, afterId, lastId, cutoff, cutoff);
+        if (copied != expected)
+            throw new JdbcUpdateAffectedIncorrectNumberOfRowsException(copy, expected, copied);
+
+        int deleted = jdbcTemplate.update(delete, afterId, lastId, cutoff, cutoff);
+        if (deleted != expected)
+            throw new JdbcUpdateAffectedIncorrectNumberOfRowsException(delete, expected, deleted);
+    }
+
+    // Reads only StartTime/EndTime, covered by IX_Booking (RoomId, StartTime, EndTime), in start order.
+    public void forEachInterval(Long roomId, Timestamp from, Timestamp to, IntervalHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                SELECT StartTime, EndTime FROM Booking
+                WHERE RoomId = ? AND StartTime > ? AND StartTime < ? AND EndTime > ?
+                ORDER BY StartTime
+                """, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(INTERVAL_FETCH_SIZE);
+            ps.setLong(1, roomId);
+            ps.setTimestamp(2, BookingRepository.earliestOverlappingStart(from));
+            ps.setTimestamp(3, to);
+            ps.setTimestamp(4, from);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.handle(rs.getTimestamp(1).getTime(), rs.getTimestamp(2).getTime()));
+    }
+
+    // Like forEachInterval, archived bookings included and in no particular order.
+    public void forEachRecordedInterval(Long roomId, Timestamp from, Timestamp to, IntervalHandler handler) {
+        Timestamp minStart = BookingRepository.earliestOverlappingStart(from);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                SELECT StartTime, EndTime FROM Booking
+                WHERE RoomId = ? AND StartTime > ? AND StartTime < ? AND EndTime > ?
+                UNION ALL
+                SELECT StartTime, EndTime FROM Booking_History
+                WHERE RoomId = ? AND StartTime > ? AND StartTime < ? AND EndTime > ?
+                """, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(INTERVAL_FETCH_SIZE);
+            for (int offset = 0; offset <= 4; offset += 4) {
+                ps.setLong(offset + 1, roomId);
+                ps.setTimestamp(offset + 2, minStart);
+                ps.setTimestamp(offset + 3, to);
+                ps.setTimestamp(offset + 4, from);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.handle(rs.getTimestamp(1).getTime(), rs.getTimestamp(2).getTime()));
+    }
+
+    // Every live booking overlapping [from, to) with its room, in no particular order. One range scan on
+    // StartTime, so only the partitions the range covers are read; archived bookings are not.
+    public void forEachRoomIntervalBetween(Timestamp from, Timestamp to, RoomIntervalHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                SELECT RoomId, StartTime, EndTime FROM Booking
+                WHERE StartTime > ? AND StartTime < ? AND EndTime > ?
+                """, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(INTERVAL_FETCH_SIZE);
+            ps.setTimestamp(1, BookingRepository.earliestOverlappingStart(from));
+            ps.setTimestamp(2, to);
+            ps.setTimestamp(3, from);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.handle(rs.getLong(1), rs.getTimestamp(2).getTime(),
+            rs.getTimestamp(3).getTime()));
+    }
+
+    // From the first start to the last end of all bookings, archived included, or null if there are none.
+    // Scans both tables.
+    public BookingIntervalDTO findBookedSpan() {
+        return jdbcTemplate.queryForObject("""
+            SELECT MIN(StartTime), MAX(EndTime) FROM (
+                SELECT StartTime, EndTime FROM Booking
+                UNION ALL
+                SELECT StartTime, EndTime FROM Booking_History
+            ) b
+            """, (rs, rowNum) -> rs.getTimestamp(1) == null ? null
+            : new BookingIntervalDTO(null, null, rs.getTimestamp(1), rs.getTimestamp(2)));
+    }
+
+    // The latest change to a room's bookings or to the room itself, deletes included, or null if there is none.
+    public Timestamp findRoomLastModified(Long roomId) {
+        return jdbcTemplate.queryForObject("""
+            SELECT (SELECT MAX(UpdatedAt) FROM Booking WHERE RoomId = ?),
+                (SELECT MAX(DeletedAt) FROM Booking_Tombstone WHERE RoomId = ?),
+                (SELECT UpdatedAt FROM Room WHERE Id = ?)
+            """, (rs, rowNum) -> latest(rs.getTimestamp(1), rs.getTimestamp(2), rs.getTimestamp(3)),
+            roomId, roomId, roomId);
+    }
+
+    // The latest change to a user's bookings, deletes included, or null if there is none.
+    public Timestamp findUserLastModified(Long userId) {
+        return jdbcTemplate.queryForObject("""
+            SELECT (SELECT MAX(UpdatedAt) FROM Booking WHERE RequestedBy = ?),
+                (SELECT MAX(DeletedAt) FROM Booking_Tombstone WHERE RequestedBy = ?)
+            """, (rs, rowNum) -> latest(rs.getTimestamp(1), rs.getTimestamp(2)), userId, userId);
+    }
+
+    // Streams a room's bookings starting at or after from in start order, from a forward-only cursor.
+    public void forEachRoomCalendarEvent(Long roomId, Timestamp from, Consumer<BookingCalendarEventDTO> handler) {
+        forEachCalendarEvent("b.RoomId = ?", roomId, from, handler);
+    }
+
+    // Streams a user's bookings starting at or after from in start order, from a forward-only cursor.
+    public void forEachUserCalendarEvent(Long userId, Timestamp from, Consumer<BookingCalendarEventDTO> handler) {
+        forEachCalendarEvent("b.RequestedBy = ?", userId, from, handler);
+    }
+
+    private void forEachCalendarEvent(String condition, Long id, Timestamp from,
+                                      Consumer<BookingCalendarEventDTO> handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                SELECT b.Id, r.Identifier, r.Name, b.Approved, b.StartTime, b.EndTime, b.UpdatedAt, b.Version
+                FROM Booking b
+                JOIN Room r ON r.Id = b.RoomId
+                WHERE %s AND b.StartTime >= ?
+                ORDER BY b.StartTime
+                """.formatted(condition), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(INTERVAL_FETCH_SIZE);
+            ps.setLong(1, id);
+            ps.setTimestamp(2, from);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(new BookingCalendarEventDTO(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getBoolean(4),
+            rs.getTimestamp(5),
+            rs.getTimestamp(6),
+            rs.getTimestamp(7),
+            rs.getLong(8))));
+    }
+
+    private static Timestamp latest(Timestamp... timestamps) {
+        Timestamp latest = null;
+        for (Timestamp timestamp : timestamps)
+            if (timestamp != null && (latest == null || timestamp.after(latest))) latest = timestamp;
+        return latest;
+    }
+
+    @FunctionalInterface
+    public interface IntervalHandler {
+        void handle(long startMillis, long endMillis);
+    }
+
+    @FunctionalInterface
+    public interface RoomIntervalHandler {
+        void handle(long roomId, long startMillis, long endMillis);
+    }
+}
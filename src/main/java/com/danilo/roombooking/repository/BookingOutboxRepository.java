@@ -0,0 +1,115 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.dto.BookingEventDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BookingOutboxRepository {
+
+    private static final String RELAY_LOCK = "booking_outbox_relay";
+    private static final int BATCH_SIZE = 500;
+    private static final RowMapper<BookingEventDTO> EVENT = (rs, rowNum) -> new BookingEventDTO(
+        rs.getLong(1),
+        BookingEventType.valueOf(rs.getString(2)),
+        rs.getLong(3),
+        rs.getLong(4),
+        rs.getObject(5, Long.class),
+        rs.getObject(6, Boolean.class),
+        rs.getTimestamp(7),
+        rs.getTimestamp(8),
+        rs.getTimestamp(9));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(BookingEventType type, Long bookingId, Long roomId, Long requestedBy, Boolean approved,
+                       Timestamp startTime, Timestamp endTime) {
+        jdbcTemplate.update("""
+            INSERT INTO Booking_Outbox (Id, EventType, BookingId, RoomId, RequestedBy, Approved, StartTime, EndTime)
+            VALUES (NEXT VALUE FOR booking_outbox_sequence, ?, ?, ?, ?, ?, ?, ?)
+            """, type.name(), bookingId, roomId, requestedBy, approved, startTime, endTime);
+    }
+
+    // Id and OccurredAt of the events are ignored, both are generated.
+    public void appendAll(Collection<BookingEventDTO> events) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Booking_Outbox (Id, EventType, BookingId, RoomId, RequestedBy, Approved, StartTime, EndTime)
+            VALUES (NEXT VALUE FOR booking_outbox_sequence, ?, ?, ?, ?, ?, ?, ?)
+            """, events, BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, event.type().name());
+            ps.setLong(2, event.bookingId());
+            ps.setLong(3, event.roomId());
+            ps.setObject(4, event.requestedBy(), Types.BIGINT);
+            ps.setObject(5, event.approved(), Types.BOOLEAN);
+            ps.setTimestamp(6, event.startTime());
+            ps.setTimestamp(7, event.endTime());
+        });
+    }
+
+    // One event per booking as it is now, for bookings changed in place by a single UPDATE.
+    public void appendFromBookings(BookingEventType type, Collection<Long> bookingIds) {
+        List<Object> args = new ArrayList<>(bookingIds.size() + 1);
+        args.add(type.name());
+        args.addAll(bookingIds);
+        jdbcTemplate.update("""
+            INSERT INTO Booking_Outbox (Id, EventType, BookingId, RoomId, RequestedBy, Approved, StartTime, EndTime)
+            SELECT NEXT VALUE FOR booking_outbox_sequence, ?, Id, RoomId, RequestedBy, Approved, StartTime, EndTime
+            FROM Booking
+            WHERE Id IN (%s)
+            ORDER BY Id
+            """.formatted(String.join(", ", Collections.nCopies(bookingIds.size(), "?"))), args.toArray());
+    }
+
+    // Plain reads see committed events only, so an event still being written is picked up on a later run.
+    public List<BookingEventDTO> findOldest(int limit) {
+        return jdbcTemplate.query("""
+                SELECT Id, EventType, BookingId, RoomId, RequestedBy, Approved, StartTime, EndTime, OccurredAt
+                FROM Booking_Outbox
+                WHERE DeliveredAt IS NULL
+                ORDER BY Id
+                LIMIT ?
+                """, EVENT, limit);
+    }
+
+    // Delivered or not, for tailing the table by id.
+    public List<BookingEventDTO> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT Id, EventType, BookingId, RoomId, RequestedBy, Approved, StartTime, EndTime, OccurredAt
+                FROM Booking_Outbox
+                WHERE Id > ?
+                ORDER BY Id
+                LIMIT ?
+                """, EVENT, afterId, limit);
+    }
+
+    public int markDelivered(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        return jdbcTemplate.update("UPDATE Booking_Outbox SET DeliveredAt = CURRENT_TIMESTAMP WHERE Id IN ("
+            + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+    }
+
+    public int deleteDeliveredBefore(Timestamp before) {
+        return jdbcTemplate.update("DELETE FROM Booking_Outbox WHERE DeliveredAt < ?", before);
+    }
+
+    // Session-level lock, so only one instance relays at a time; must be released on the same connection.
+    public boolean tryLockRelay() {
+        Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, RELAY_LOCK);
+        return locked != null && locked == 1;
+    }
+
+    public void unlockRelay() {
+        jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, RELAY_LOCK);
+    }
+}
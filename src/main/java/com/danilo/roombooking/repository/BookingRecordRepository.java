@@ -0,0 +1,8 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.BookingRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface BookingRecordRepository extends JpaRepository<BookingRecord, Long>, JpaSpecificationExecutor<BookingRecord> {
+}
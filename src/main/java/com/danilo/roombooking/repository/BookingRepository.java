@@ -1,32 +1,54 @@
 package com.danilo.roombooking.repository;
 
+import com.danilo.roombooking.config.booking.constants.BookingConstants;
 import com.danilo.roombooking.domain.Booking;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
-    Page<Booking> findByRequestedById(Long userId, Pageable pageable);
-    Page<Booking> findByRoomId(Long roomId, Pageable pageable);
+    // Walks IX_Booking_Approved, which InnoDB orders by (Approved, Id).
+    List<Booking> findByApprovedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Bookings are never longer than MAX_BOOKING_DURATION, so one overlapping [startTime, endTime) must
+    // start after startTime - MAX_BOOKING_DURATION. The bound lets MariaDB prune older partitions.
+    static Timestamp earliestOverlappingStart(Timestamp startTime) {
+        return new Timestamp(startTime.getTime() - BookingConstants.MAX_BOOKING_DURATION.toMillis());
+    }
+
+    default boolean isRoomBookedDuringTimeRange(Long roomId, Timestamp startTime, Timestamp endTime) {
+        return isRoomBookedDuringTimeRange(roomId, startTime, endTime, earliestOverlappingStart(startTime));
+    }
 
     @Query("""
     SELECT COUNT(b) > 0 FROM Booking b
     WHERE b.room.id = :roomId
+    AND b.startTime > :minStartTime
     AND b.startTime < :endTime
     AND b.endTime > :startTime
     """)
     boolean isRoomBookedDuringTimeRange(@Param("roomId") Long roomId,
                                         @Param("startTime") Timestamp startTime,
-                                        @Param("endTime") Timestamp endTime);
+                                        @Param("endTime") Timestamp endTime,
+                                        @Param("minStartTime") Timestamp minStartTime);
+
+    default boolean isRoomBookedDuringTimeRangeExcludingCurrentBooking(Long roomId, Long bookingId,
+                                                                       Timestamp startTime, Timestamp endTime) {
+        return isRoomBookedDuringTimeRangeExcludingCurrentBooking(roomId, bookingId, startTime, endTime,
+            earliestOverlappingStart(startTime));
+    }
 
     @Query("""
     SELECT COUNT(b) > 0 FROM Booking b
     WHERE b.room.id = :roomId
+    AND b.startTime > :minStartTime
     AND b.startTime < :endTime
     AND b.endTime > :startTime
     AND b.id != :bookingId
@@ -34,5 +56,67 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     boolean isRoomBookedDuringTimeRangeExcludingCurrentBooking(@Param("roomId") Long roomId,
                                        @Param("bookingId") Long bookingId,
                                        @Param("startTime") Timestamp startTime,
-                                       @Param("endTime") Timestamp endTime);
+                                       @Param("endTime") Timestamp endTime,
+                                       @Param("minStartTime") Timestamp minStartTime);
+
+    @Query("""
+    SELECT new com.danilo.roombooking.dto.BookingIntervalDTO(b.id, b.room.id, b.startTime, b.endTime)
+    FROM Booking b
+    WHERE b.id = :id
+    """)
+    Optional<BookingIntervalDTO> findIntervalById(@Param("id") Long id);
+
+    default List<BookingIntervalDTO> findIntervalsEndingAfter(Timestamp after) {
+        return findIntervalsEndingAfter(after, earliestOverlappingStart(after));
+    }
+
+    @Query("""
+    SELECT new com.danilo.roombooking.dto.BookingIntervalDTO(b.id, b.room.id, b.startTime, b.endTime)
+    FROM Booking b
+    WHERE b.startTime > :minStartTime
+    AND b.endTime > :after
+    """)
+    List<BookingIntervalDTO> findIntervalsEndingAfter(@Param("after") Timestamp after,
+                                                      @Param("minStartTime") Timestamp minStartTime);
+
+    default List<BookingIntervalDTO> findIntervalsByRoomIdDuringTimeRange(Long roomId, Timestamp startTime,
+                                                                          Timestamp endTime) {
+        return findIntervalsByRoomIdDuringTimeRange(roomId, startTime, endTime, earliestOverlappingStart(startTime));
+    }
+
+    @Query("""
+    SELECT new com.danilo.roombooking.dto.BookingIntervalDTO(b.id, b.room.id, b.startTime, b.endTime)
+    FROM Booking b
+    WHERE b.room.id = :roomId
+    AND b.startTime > :minStartTime
+    AND b.startTime < :endTime
+    AND b.endTime > :startTime
+    ORDER BY b.startTime
+    """)
+    List<BookingIntervalDTO> findIntervalsByRoomIdDuringTimeRange(@Param("roomId") Long roomId,
+                                                                  @Param("startTime") Timestamp startTime,
+                                                                  @Param("endTime") Timestamp endTime,
+                                                                  @Param("minStartTime") Timestamp minStartTime);
+
+    @Query("""
+    SELECT new com.danilo.roombooking.dto.BookingIntervalDTO(b.id, b.room.id, b.startTime, b.endTime)
+    FROM Booking b
+    WHERE b.seriesId = :seriesId
+    AND b.startTime >= :from
+    ORDER BY b.startTime
+    """)
+    List<BookingIntervalDTO> findIntervalsBySeriesIdStartingFrom(@Param("seriesId") Long seriesId,
+                                                                 @Param("from") Timestamp from);
+
+    long countBySeriesId(Long seriesId);
+
+    // Booking is partitioned and has no foreign keys, so deleting a room or user checks these instead.
+    boolean existsByRoomId(Long roomId);
+
+    @Query("""
+    SELECT COUNT(b) > 0 FROM Booking b
+    WHERE b.requestedBy.id = :userId
+    OR b.approvedBy.id = :userId
+    """)
+    boolean existsByUserId(@Param("userId") Long userId);
 }
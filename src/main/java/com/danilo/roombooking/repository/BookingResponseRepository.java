@@ -0,0 +1,83 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingRecord;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Pages of bookings selected straight into BookingResponseDTO, so listing never hydrates Booking entities or
+// puts them in the persistence context. A path to an association's id is read from the foreign key column,
+// so no Room or User is joined and a pending booking's ApprovedBy stays null.
+@Repository
+@RequiredArgsConstructor
+public class BookingResponseRepository {
+
+    private final EntityManager entityManager;
+
+    public Page<BookingResponseDTO> findAll(Specification<Booking> specification, Pageable pageable) {
+        return find(Booking.class, specification, pageable);
+    }
+
+    public Page<BookingResponseDTO> findAllRecords(Specification<BookingRecord> specification, Pageable pageable) {
+        return find(BookingRecord.class, specification, pageable);
+    }
+
+    private <T> Page<BookingResponseDTO> find(Class<T> type, Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDTO> query = builder.createQuery(BookingResponseDTO.class);
+        Root<T> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) query.where(predicate);
+
+        Expression<Boolean> archived = type == BookingRecord.class
+            ? builder.coalesce(root.<Boolean>get("archived"), false)
+            : builder.literal(false);
+        query.select(builder.construct(BookingResponseDTO.class,
+                root.get("id"),
+                root.get("room").get("id"),
+                root.get("requestedBy").get("id"),
+                root.get("approvedBy").get("id"),
+                root.get("startTime"),
+                root.get("endTime"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                archived))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        TypedQuery<BookingResponseDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<BookingResponseDTO> content = typedQuery.getResultList();
+
+        // skipped when the page shows the total already, e.g. a first page that is not full
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(type, specification));
+    }
+
+    private <T> long count(Class<T> type, Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) query.where(predicate);
+        query.select(builder.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
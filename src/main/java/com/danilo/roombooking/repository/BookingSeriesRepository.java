@@ -0,0 +1,7 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+}
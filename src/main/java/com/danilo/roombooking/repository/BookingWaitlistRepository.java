@@ -0,0 +1,24 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.BookingWaitlistEntry;
+import com.danilo.roombooking.domain.BookingWaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface BookingWaitlistRepository extends JpaRepository<BookingWaitlistEntry, Long> {
+    List<BookingWaitlistEntry> findByStatusOrderByIdAsc(BookingWaitlistStatus status);
+
+    @Modifying
+    @Query("""
+    UPDATE BookingWaitlistEntry e
+    SET e.status = com.danilo.roombooking.domain.BookingWaitlistStatus.EXPIRED
+    WHERE e.status = com.danilo.roombooking.domain.BookingWaitlistStatus.WAITING
+    AND e.startTime < :now
+    """)
+    int expireStartedBefore(@Param("now") Timestamp now);
+}
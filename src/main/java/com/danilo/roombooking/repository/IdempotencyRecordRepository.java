@@ -0,0 +1,64 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.dto.IdempotentResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRecordRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotentResponseDTO> find(String scope, String owner, String key) {
+        return jdbcTemplate.query("""
+                SELECT RequestHash, Status, Location, Body, ExpiresAt FROM Idempotency_Record
+                WHERE Scope = ? AND Owner = ? AND IdempotencyKey = ?
+                """, (rs, rowNum) -> new IdempotentResponseDTO(
+                rs.getString(1),
+                rs.getObject(2, Integer.class),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getTimestamp(5)),
+            scope, owner, key).stream().findFirst();
+    }
+
+    // Inserts an in-progress record for the key, first dropping it if it expired or its request was
+    // abandoned while running. Returns false when another request already holds the key.
+    public boolean claim(String scope, String owner, String key, String requestHash, Timestamp now,
+                         Timestamp abandonedBefore, Timestamp expiresAt) {
+        jdbcTemplate.update("""
+            DELETE FROM Idempotency_Record
+            WHERE Scope = ? AND Owner = ? AND IdempotencyKey = ?
+            AND (ExpiresAt <= ? OR (Status IS NULL AND CreatedAt < ?))
+            """, scope, owner, key, now, abandonedBefore);
+
+        return jdbcTemplate.update("""
+            INSERT IGNORE INTO Idempotency_Record (Scope, Owner, IdempotencyKey, RequestHash, CreatedAt, ExpiresAt)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, scope, owner, key, requestHash, now, expiresAt) == 1;
+    }
+
+    public void complete(String scope, String owner, String key, int status, String location, String body) {
+        jdbcTemplate.update("""
+            UPDATE Idempotency_Record SET Status = ?, Location = ?, Body = ?
+            WHERE Scope = ? AND Owner = ? AND IdempotencyKey = ?
+            """, status, location, body, scope, owner, key);
+    }
+
+    // Frees a key whose request failed, so it can be retried.
+    public void release(String scope, String owner, String key) {
+        jdbcTemplate.update("""
+            DELETE FROM Idempotency_Record
+            WHERE Scope = ? AND Owner = ? AND IdempotencyKey = ? AND Status IS NULL
+            """, scope, owner, key);
+    }
+
+    public int deleteExpired(Timestamp now) {
+        return jdbcTemplate.update("DELETE FROM Idempotency_Record WHERE ExpiresAt <= ?", now);
+    }
+}
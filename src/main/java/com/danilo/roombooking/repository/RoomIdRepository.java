@@ -0,0 +1,32 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.domain.room.Room;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RoomIdRepository {
+
+    private final EntityManager entityManager;
+
+    // Only the ids of the rooms matching the specification, so no entity or amenity is loaded.
+    public List<Long> findIds(Specification<Room> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Room> root = query.from(Room.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) query.where(predicate);
+        query.select(root.get("id")).orderBy(builder.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
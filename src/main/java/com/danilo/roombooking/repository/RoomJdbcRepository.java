@@ -0,0 +1,36 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.dto.RoomRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+
+@Repository
+@RequiredArgsConstructor
+public class RoomJdbcRepository {
+
+    // Must match the sequence of Room's @SequenceGenerator.
+    private static final String ID_SEQUENCE = "room_sequence";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Ids come from the sequence inside the statement, so the batch needs no round trips to fetch them.
+    public void insertAll(Collection<RoomRequestDTO> rooms) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Room (Id, Identifier, Name, Description, Capacity, Status, Type)
+            VALUES (NEXT VALUE FOR %s, ?, ?, ?, ?, ?, ?)
+            """.formatted(ID_SEQUENCE), rooms, BATCH_SIZE, (ps, room) -> {
+            ps.setString(1, room.identifier());
+            ps.setString(2, room.name());
+            if (room.description() != null) ps.setString(3, room.description());
+            else ps.setNull(3, Types.VARCHAR);
+            ps.setInt(4, room.capacity());
+            ps.setString(5, room.status().name());
+            ps.setString(6, room.type().name());
+        });
+    }
+}
@@ -1,11 +1,36 @@
 package com.danilo.roombooking.repository;
 
 import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.NaturalKeyDTO;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
     Optional<Room> findByIdentifier(String identifier);
+
+    @Query("""
+    SELECT new com.danilo.roombooking.dto.NaturalKeyDTO(r.identifier, r.id)
+    FROM Room r
+    WHERE r.identifier IN :identifiers
+    """)
+    List<NaturalKeyDTO> findKeysByIdentifierIn(@Param("identifiers") Collection<String> identifiers);
+
+    @Query("SELECT r.id FROM Room r ORDER BY r.id")
+    List<Long> findAllIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
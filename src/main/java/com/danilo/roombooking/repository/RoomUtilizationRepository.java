@@ -0,0 +1,84 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.dto.RoomUtilizationDayDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RoomUtilizationRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final RowMapper<RoomUtilizationDayDTO> DAY_MAPPER = (rs, rowNum) -> new RoomUtilizationDayDTO(
+        rs.getLong(1),
+        rs.getDate(2).toLocalDate(),
+        rs.getLong(3),
+        rs.getLong(4));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Adds the deltas to the stored days, creating the days not stored yet. Deltas should come in (RoomId, Day)
+    // order, so concurrent transactions lock the rows in the same order.
+    public void addAll(Collection<RoomUtilizationDayDTO> deltas) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Room_Utilization_Daily (RoomId, Day, BookedSeconds, Bookings)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE BookedSeconds = BookedSeconds + VALUES(BookedSeconds),
+                Bookings = Bookings + VALUES(Bookings)
+            """, deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.roomId());
+            ps.setDate(2, Date.valueOf(delta.day()));
+            ps.setLong(3, delta.bookedSeconds());
+            ps.setLong(4, delta.bookings());
+        });
+    }
+
+    // Replaces a room's days in [from, to] with the given ones.
+    public void replace(Long roomId, LocalDate from, LocalDate to, Collection<RoomUtilizationDayDTO> days) {
+        jdbcTemplate.update("DELETE FROM Room_Utilization_Daily WHERE RoomId = ? AND Day >= ? AND Day <= ?",
+            roomId, Date.valueOf(from), Date.valueOf(to));
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Room_Utilization_Daily (RoomId, Day, BookedSeconds, Bookings)
+            VALUES (?, ?, ?, ?)
+            """, days, BATCH_SIZE, (ps, day) -> {
+            ps.setLong(1, day.roomId());
+            ps.setDate(2, Date.valueOf(day.day()));
+            ps.setLong(3, day.bookedSeconds());
+            ps.setLong(4, day.bookings());
+        });
+    }
+
+    // A room's stored days in [from, to], in day order. Days without bookings may be missing.
+    public List<RoomUtilizationDayDTO> findDays(Long roomId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+            SELECT RoomId, Day, BookedSeconds, Bookings
+            FROM Room_Utilization_Daily
+            WHERE RoomId = ? AND Day >= ? AND Day <= ?
+            ORDER BY Day
+            """, DAY_MAPPER, roomId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    // Every room's totals over [from, to] in room order, zero for the rooms without bookings, as days dated from.
+    public List<RoomUtilizationDayDTO> findTotals(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+            SELECT r.Id, COALESCE(SUM(u.BookedSeconds), 0), COALESCE(SUM(u.Bookings), 0)
+            FROM Room r
+            LEFT JOIN Room_Utilization_Daily u ON u.RoomId = r.Id AND u.Day >= ? AND u.Day <= ?
+            GROUP BY r.Id
+            ORDER BY r.Id
+            """, (rs, rowNum) -> new RoomUtilizationDayDTO(rs.getLong(1), from, rs.getLong(2), rs.getLong(3)),
+            Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM Room_Utilization_Daily)", Boolean.class));
+    }
+}
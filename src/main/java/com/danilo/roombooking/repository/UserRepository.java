@@ -1,11 +1,24 @@
 package com.danilo.roombooking.repository;
 
 import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.dto.NaturalKeyDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    @Query("""
+    SELECT new com.danilo.roombooking.dto.NaturalKeyDTO(u.username, u.id)
+    FROM User u
+    WHERE u.username IN :usernames
+    """)
+    List<NaturalKeyDTO> findKeysByUsernameIn(@Param("usernames") Collection<String> usernames);
 }
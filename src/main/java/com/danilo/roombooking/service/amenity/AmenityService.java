@@ -2,14 +2,19 @@ package com.danilo.roombooking.service.amenity;
 
 import com.danilo.roombooking.domain.Amenity;
 import com.danilo.roombooking.dto.AmenityRequestDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
 import com.danilo.roombooking.repository.AmenityRepository;
+import com.danilo.roombooking.service.scroll.KeysetScroll;
+import com.danilo.roombooking.specification.AmenitySpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,6 +22,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AmenityService {
 
+    private static final KeysetScroll<Amenity> SCROLL = new KeysetScroll<>("name", Map.of("name", String.class));
+
     private final AmenityRepository amenityRepository;
 
     public Amenity create(AmenityRequestDTO amenityRequestDTO) {
@@ -41,6 +48,11 @@ public class AmenityService {
         return amenityRepository.findByNameStartingWithIgnoreCase(prefix, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public ScrollPageDTO<Amenity> scroll(String prefix, String sort, String cursor, int size) {
+        return SCROLL.scroll(amenityRepository, AmenitySpecification.nameStartsWith(prefix), sort, cursor, size);
+    }
+
     public List<Amenity> getByIdIn(Collection<Long> ids) {
         List<Amenity> amenities = amenityRepository.findByIdIn(ids);
         if (amenities.size() == ids.size())
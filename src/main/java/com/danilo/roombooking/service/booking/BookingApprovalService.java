@@ -0,0 +1,77 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.dto.BookingBulkApprovalRequestDTO;
+import com.danilo.roombooking.dto.BookingBulkApprovalResponseDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.dto.KeysetPageDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+@RequiredArgsConstructor
+public class BookingApprovalService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final BookingRepository bookingRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingOutbox outbox;
+
+    @Value("${booking.approval.max-bulk-size:1000}")
+    private int maxBulkSize;
+
+    // Pending bookings in id order, fetching one extra row to know whether another page follows.
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<BookingResponseDTO> getPending(Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new InvalidBookingException("size must be between 1 and " + MAX_PAGE_SIZE + ".");
+
+        List<Booking> bookings = bookingRepository.findByApprovedFalseAndIdGreaterThanOrderByIdAsc(
+            afterId != null ? afterId : 0L, Limit.of(size + 1));
+
+        boolean hasNext = bookings.size() > size;
+        List<BookingResponseDTO> content = bookings.stream()
+            .limit(size)
+            .map(BookingResponseDTO::new)
+            .toList();
+
+        return new KeysetPageDTO<>(content, hasNext ? content.get(content.size() - 1).id() : null);
+    }
+
+    // The pending bookings are locked, approved with a single UPDATE and recorded in the outbox with a single
+    // INSERT ... SELECT; bookings that do not exist or are already approved are counted as skipped.
+    @Transactional
+    public BookingBulkApprovalResponseDTO approveAll(BookingBulkApprovalRequestDTO requestDTO, CustomUserDetails userDetails) {
+        if (requestDTO == null || requestDTO.ids() == null || requestDTO.ids().isEmpty())
+            throw new InvalidBookingException("ids are required.");
+
+        if (requestDTO.ids().stream().anyMatch(Objects::isNull))
+            throw new InvalidBookingException("ids cannot contain null.");
+
+        Set<Long> ids = new TreeSet<>(requestDTO.ids());
+        if (ids.size() > maxBulkSize)
+            throw new InvalidBookingException("cannot approve more than " + maxBulkSize + " bookings at once.");
+
+        List<Long> pending = bookingJdbcRepository.lockPendingIds(ids);
+        if (pending.isEmpty())
+            return new BookingBulkApprovalResponseDTO(ids.size(), 0, ids.size());
+
+        int approved = bookingJdbcRepository.approveAll(pending, userDetails.getUserId());
+        outbox.recordChanged(BookingEventType.APPROVED, pending);
+        return new BookingBulkApprovalResponseDTO(ids.size(), approved, ids.size() - approved);
+    }
+}
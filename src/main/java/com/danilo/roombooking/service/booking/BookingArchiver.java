@@ -0,0 +1,127 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.dto.BookingArchivalProgressDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Moves bookings that ended before now - horizon from Booking to Booking_History, in Id-ordered batches of
+// one short transaction each, pausing between batches so the job never hogs the database.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingArchiver {
+
+    // The availability index and overlap checks only look at bookings that ended less than a day ago,
+    // so never archive those.
+    private static final Duration MIN_HORIZON = Duration.ofDays(1);
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.archival.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.archival.horizon:P180D}")
+    private Duration horizon;
+
+    @Value("${booking.archival.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${booking.archival.pause:PT0.5S}")
+    private Duration pause;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runArchived = new AtomicLong();
+    private final AtomicLong runBatches = new AtomicLong();
+    private final AtomicLong totalArchived = new AtomicLong();
+    private volatile Instant cutoff;
+    private volatile Instant runStartedAt;
+    private volatile Instant runFinishedAt;
+    private volatile Long lastArchivedId;
+    private volatile String lastError;
+
+    @Scheduled(cron = "${booking.archival.cron:0 0 4 * * *}")
+    public void archive() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+
+        Instant now = clock.instant();
+        cutoff = now.minus(horizon.compareTo(MIN_HORIZON) < 0 ? MIN_HORIZON : horizon);
+        runStartedAt = now;
+        runFinishedAt = null;
+        runArchived.set(0);
+        runBatches.set(0);
+        lastError = null;
+
+        try {
+            Timestamp before = Timestamp.from(cutoff);
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = archiveBatch(afterId, before);
+                if (ids.isEmpty()) break;
+
+                afterId = ids.get(ids.size() - 1);
+                lastArchivedId = afterId;
+                runArchived.addAndGet(ids.size());
+                totalArchived.addAndGet(ids.size());
+                runBatches.incrementAndGet();
+                if (ids.size() < batchSize) break;
+
+                Thread.sleep(pause.toMillis());
+            }
+            log.info("Archived {} bookings that ended before {} in {} batch(es)", runArchived.get(), cutoff,
+                runBatches.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastError = "interrupted";
+        } catch (DataAccessException e) {
+            lastError = e.getMessage();
+            log.error("Booking archival failed after {} bookings", runArchived.get(), e);
+        } finally {
+            runFinishedAt = clock.instant();
+            running.set(false);
+        }
+    }
+
+    public BookingArchivalProgressDTO getProgress() {
+        return new BookingArchivalProgressDTO(
+            running.get(),
+            toTimestamp(cutoff),
+            toTimestamp(runStartedAt),
+            toTimestamp(runFinishedAt),
+            runArchived.get(),
+            runBatches.get(),
+            lastArchivedId,
+            totalArchived.get(),
+            lastError
+        );
+    }
+
+    private List<Long> archiveBatch(long afterId, Timestamp before) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = bookingJdbcRepository.lockArchivableIds(afterId, before, batchSize);
+            if (!ids.isEmpty())
+                bookingJdbcRepository.moveToHistory(afterId, ids.get(ids.size() - 1), before, ids.size());
+            return ids;
+        });
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
@@ -0,0 +1,272 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of each room's booked intervals for overlap checks. The database stays the
+ * source of truth: the index is loaded on startup, follows writes and is periodically rebuilt.
+ * Checks starting before the load horizon are not covered and must go to the database.
+ * Only this instance's writes reach the index, so it must be disabled with
+ * booking.availability-index.enabled=false when more than one instance serves bookings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex {
+
+    private static final Duration HORIZON_MARGIN = Duration.ofDays(1);
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${booking.availability-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Map<Long, RoomIntervals> rooms = new ConcurrentHashMap<>();
+    private volatile Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long horizon = Long.MAX_VALUE;
+    private volatile boolean ready = false;
+
+    private volatile List<Runnable> mutationsDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.availability-index.verify-interval:PT15M}",
+        initialDelayString = "${booking.availability-index.verify-interval:PT15M}")
+    public void verify() {
+        if (!enabled || !ready) return;
+
+        int differences = rebuild();
+        if (differences > 0)
+            log.warn("Booking availability index was out of sync with the database ({} bookings differed), rebuilt.",
+                differences);
+    }
+
+    // Writes registered while the snapshot is read are replayed on top of it.
+    public int rebuild() {
+        synchronized (this) {
+            mutationsDuringRebuild = new ArrayList<>();
+        }
+
+        long newHorizon = System.currentTimeMillis() - HORIZON_MARGIN.toMillis();
+        List<BookingIntervalDTO> intervals = bookingRepository.findIntervalsEndingAfter(new Timestamp(newHorizon));
+
+        Map<Long, RoomIntervals> newRooms = new ConcurrentHashMap<>();
+        Map<Long, Entry> newEntries = new ConcurrentHashMap<>(Math.max(16, intervals.size() * 2));
+        for (BookingIntervalDTO interval : intervals) {
+            Entry entry = new Entry(interval.roomId(), interval.startTime().getTime(), interval.endTime().getTime());
+            newEntries.put(interval.id(), entry);
+            newRooms.computeIfAbsent(entry.roomId(), id -> new RoomIntervals()).add(interval.id(), entry.start(), entry.end());
+        }
+
+        synchronized (this) {
+            int differences = ready ? countDifferences(entries, newEntries, newHorizon) : 0;
+
+            rooms = newRooms;
+            entries = newEntries;
+            horizon = newHorizon;
+            mutationsDuringRebuild.forEach(Runnable::run);
+            mutationsDuringRebuild = null;
+            ready = true;
+
+            log.info("Booking availability index loaded with {} bookings across {} rooms.",
+                entries.size(), rooms.size());
+            return differences;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean covers(Timestamp startTime) {
+        return ready && startTime.getTime() >= horizon;
+    }
+
+    public boolean overlaps(Long roomId, Timestamp startTime, Timestamp endTime) {
+        return overlaps(roomId, null, startTime, endTime);
+    }
+
+    public boolean overlaps(Long roomId, Long excludedBookingId, Timestamp startTime, Timestamp endTime) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals == null) return false;
+
+        long excluded = excludedBookingId != null ? excludedBookingId : Long.MIN_VALUE;
+        return intervals.overlaps(startTime.getTime(), endTime.getTime(), excluded);
+    }
+
+    // Applied right before commit so the index never lags behind the table, undone on rollback.
+    public void registerSaved(Booking booking) {
+        if (booking.getId() == null || booking.getRoom() == null) return;
+        registerSaved(booking.getId(), booking.getRoom().getId(), booking.getStartTime(), booking.getEndTime());
+    }
+
+    public void registerSaved(Long bookingId, Long roomId, Timestamp startTime, Timestamp endTime) {
+        if (!isTracking() || bookingId == null || roomId == null) return;
+
+        Entry entry = new Entry(roomId, startTime.getTime(), endTime.getTime());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mutate(() -> put(bookingId, entry));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean applied = false;
+            private Entry previous;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                previous = entries.get(bookingId);
+                mutate(() -> put(bookingId, entry));
+                applied = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED || !applied) return;
+
+                if (previous != null) mutate(() -> put(bookingId, previous));
+                else mutate(() -> remove(bookingId));
+            }
+        });
+    }
+
+    // Applied after commit so a rolled back delete never makes its slot look free.
+    public void registerDeleted(Long bookingId) {
+        if (!isTracking() || bookingId == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mutate(() -> remove(bookingId));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mutate(() -> remove(bookingId));
+            }
+        });
+    }
+
+    private boolean isTracking() {
+        return ready || mutationsDuringRebuild != null;
+    }
+
+    private synchronized void mutate(Runnable mutation) {
+        mutation.run();
+        if (mutationsDuringRebuild != null)
+            mutationsDuringRebuild.add(mutation);
+    }
+
+    private void put(Long bookingId, Entry entry) {
+        remove(bookingId);
+        entries.put(bookingId, entry);
+        rooms.computeIfAbsent(entry.roomId(), id -> new RoomIntervals()).add(bookingId, entry.start(), entry.end());
+    }
+
+    private void remove(Long bookingId) {
+        Entry entry = entries.remove(bookingId);
+        if (entry == null) return;
+
+        RoomIntervals intervals = rooms.get(entry.roomId());
+        if (intervals != null) intervals.remove(bookingId, entry.start());
+    }
+
+    private static int countDifferences(Map<Long, Entry> current, Map<Long, Entry> loaded, long horizon) {
+        int differences = 0;
+        for (Map.Entry<Long, Entry> e : loaded.entrySet()) {
+            if (!Objects.equals(current.get(e.getKey()), e.getValue())) differences++;
+        }
+        for (Map.Entry<Long, Entry> e : current.entrySet()) {
+            if (e.getValue().end() > horizon && !loaded.containsKey(e.getKey())) differences++;
+        }
+        return differences;
+    }
+
+    private record Entry(long roomId, long start, long end) {
+    }
+
+    // Parallel arrays sorted by start; a lookup walks back from the probe's end only as far
+    // as the room's longest booking can reach.
+    static final class RoomIntervals {
+        private long[] starts = new long[8];
+        private long[] ends = new long[8];
+        private long[] ids = new long[8];
+        private int size = 0;
+        private long maxLength = 0;
+
+        synchronized void add(long id, long start, long end) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+
+            int i = lowerBound(start);
+            System.arraycopy(starts, i, starts, i + 1, size - i);
+            System.arraycopy(ends, i, ends, i + 1, size - i);
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            starts[i] = start;
+            ends[i] = end;
+            ids[i] = id;
+            size++;
+            maxLength = Math.max(maxLength, end - start);
+        }
+
+        synchronized boolean remove(long id, long start) {
+            for (int i = lowerBound(start); i < size && starts[i] == start; i++) {
+                if (ids[i] != id) continue;
+
+                int moved = size - i - 1;
+                System.arraycopy(starts, i + 1, starts, i, moved);
+                System.arraycopy(ends, i + 1, ends, i, moved);
+                System.arraycopy(ids, i + 1, ids, i, moved);
+                size--;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean overlaps(long start, long end, long excludedId) {
+            long earliestRelevantStart = start - maxLength;
+            for (int i = lowerBound(end) - 1; i >= 0 && starts[i] > earliestRelevantStart; i--) {
+                if (ends[i] > start && ids[i] != excludedId) return true;
+            }
+            return false;
+        }
+
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < value) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingBatchItemResultDTO;
+import com.danilo.roombooking.dto.BookingBatchRequestDTO;
+import com.danilo.roombooking.dto.BookingBatchResponseDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookingBatchService {
+
+    private final UserService userService;
+    private final RoomService roomService;
+    private final BookingRepository bookingRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final RoomUtilizationRollup utilizationRollup;
+    private final BookingOutbox outbox;
+
+    @Value("${booking.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Transactional
+    public BookingBatchResponseDTO create(BookingBatchRequestDTO batchRequestDTO, CustomUserDetails userDetails) {
+        validateBatchRequest(batchRequestDTO);
+
+        List<BookingRequestDTO> items = batchRequestDTO.bookings();
+        BookingBatchRequestDTO.Mode mode = batchRequestDTO.mode() != null
+            ? batchRequestDTO.mode() : BookingBatchRequestDTO.Mode.ALL_OR_NOTHING;
+        BookingBatchItemResultDTO[] results = new BookingBatchItemResultDTO[items.size()];
+
+        Map<Long, List<Integer>> itemsByRoom = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                BookingRequestValidator.validate(items.get(i));
+                itemsByRoom.computeIfAbsent(items.get(i).roomId(), id -> new ArrayList<>()).add(i);
+            } catch (InvalidBookingException e) {
+                results[i] = result(i, BookingBatchItemResultDTO.Status.INVALID, e.getMessage());
+            }
+        }
+
+        Map<Long, Room> rooms = itemsByRoom.isEmpty() ? Map.of() : roomService.lockAllForBooking(itemsByRoom.keySet())
+            .stream().collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> roomItems : itemsByRoom.entrySet()) {
+            Room room = rooms.get(roomItems.getKey());
+            if (room == null) {
+                roomItems.getValue().forEach(i ->
+                    results[i] = result(i, BookingBatchItemResultDTO.Status.INVALID, "room not found."));
+            } else if (room.getStatus() != RoomStatus.AVAILABLE) {
+                roomItems.getValue().forEach(i ->
+                    results[i] = result(i, BookingBatchItemResultDTO.Status.CONFLICT, new BookingConflictException().getMessage()));
+            } else {
+                accepted.addAll(acceptNonOverlapping(room.getId(), items, roomItems.getValue(), results));
+            }
+        }
+
+        if (mode == BookingBatchRequestDTO.Mode.ALL_OR_NOTHING && accepted.size() < items.size()) {
+            accepted.forEach(i -> results[i] = result(i, BookingBatchItemResultDTO.Status.NOT_CREATED,
+                "batch rejected because other bookings failed."));
+            return response(results);
+        }
+
+        if (!accepted.isEmpty())
+            insertAccepted(items, accepted, rooms, userDetails, results);
+
+        return response(results);
+    }
+
+    // Checks the room's items against existing bookings fetched in one range query, against held
+    // slots, and against each other in request order.
+    private List<Integer> acceptNonOverlapping(Long roomId, List<BookingRequestDTO> items, List<Integer> indexes,
+                                               BookingBatchItemResultDTO[] results) {
+        Timestamp from = indexes.stream().map(i -> items.get(i).startTime()).min(Timestamp::compareTo).orElseThrow();
+        Timestamp to = indexes.stream().map(i -> items.get(i).endTime()).max(Timestamp::compareTo).orElseThrow();
+
+        BookingAvailabilityIndex.RoomIntervals taken = new BookingAvailabilityIndex.RoomIntervals();
+        for (BookingIntervalDTO existing : bookingRepository.findIntervalsByRoomIdDuringTimeRange(roomId, from, to))
+            taken.add(existing.id(), existing.startTime().getTime(), existing.endTime().getTime());
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : indexes) {
+            long start = items.get(i).startTime().getTime();
+            long end = items.get(i).endTime().getTime();
+
+            if (taken.overlaps(start, end, Long.MIN_VALUE)
+                || holdIndex.overlaps(roomId, items.get(i).startTime(), items.get(i).endTime())) {
+                results[i] = result(i, BookingBatchItemResultDTO.Status.CONFLICT, new BookingConflictException().getMessage());
+                continue;
+            }
+
+            taken.add(-1L - i, start, end);
+            accepted.add(i);
+        }
+        return accepted;
+    }
+
+    private void insertAccepted(List<BookingRequestDTO> items, List<Integer> accepted, Map<Long, Room> rooms,
+                                CustomUserDetails userDetails, BookingBatchItemResultDTO[] results) {
+        User requestedBy = userService.getById(userDetails.getUserId());
+        User approvedBy = userDetails.getAuthorities()
+            .contains(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name()))
+            ? requestedBy : null;
+
+        List<Long> ids = bookingJdbcRepository.nextIds(accepted.size());
+        List<Booking> bookings = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            BookingRequestDTO item = items.get(accepted.get(n));
+            bookings.add(Booking.builder()
+                .id(ids.get(n))
+                .room(rooms.get(item.roomId()))
+                .requestedBy(requestedBy)
+                .approvedBy(approvedBy)
+                .approved(approvedBy != null)
+                .startTime(item.startTime())
+                .endTime(item.endTime())
+                .build());
+        }
+
+        bookingJdbcRepository.insertAll(bookings);
+        utilizationRollup.recordAdded(bookings);
+        outbox.recordAll(BookingEventType.CREATED, bookings);
+
+        for (int n = 0; n < accepted.size(); n++) {
+            Booking booking = bookings.get(n);
+            availabilityIndex.registerSaved(booking);
+            results[accepted.get(n)] = new BookingBatchItemResultDTO(accepted.get(n),
+                BookingBatchItemResultDTO.Status.CREATED, booking.getId(), null);
+        }
+    }
+
+    private void validateBatchRequest(BookingBatchRequestDTO batchRequestDTO) {
+        if (batchRequestDTO == null || batchRequestDTO.bookings() == null || batchRequestDTO.bookings().isEmpty())
+            throw new InvalidBookingException("bookings are required.");
+
+        if (batchRequestDTO.bookings().size() > maxBatchSize)
+            throw new InvalidBookingException("a batch cannot have more than " + maxBatchSize + " bookings.");
+    }
+
+    private static BookingBatchItemResultDTO result(int index, BookingBatchItemResultDTO.Status status, String message) {
+        return new BookingBatchItemResultDTO(index, status, null, message);
+    }
+
+    private static BookingBatchResponseDTO response(BookingBatchItemResultDTO[] results) {
+        int created = (int) Arrays.stream(results)
+            .filter(result -> result.status() == BookingBatchItemResultDTO.Status.CREATED)
+            .count();
+        return new BookingBatchResponseDTO(created, results.length - created, List.of(results));
+    }
+}
@@ -0,0 +1,101 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+
+@Service
+@RequiredArgsConstructor
+public class BookingCalendarService {
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+
+    @Value("${booking.calendar.max-range:P366D}")
+    private Duration maxRange;
+
+    // Validates eagerly so errors are reported before the response starts, then streams the room's busy
+    // intervals in [from, to) as a JSON array of [start, end] epoch second pairs. Overlapping and adjacent
+    // bookings are merged and the result is clipped to the requested range.
+    public StreamingResponseBody busyIntervals(Long roomId, Timestamp from, Timestamp to) {
+        validateRange(from, to);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            IntervalMerger merger = new IntervalMerger(writer, from.getTime(), to.getTime());
+
+            writer.write('[');
+            try {
+                bookingJdbcRepository.forEachInterval(roomId, from, to, merger::add);
+                merger.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.write(']');
+            writer.flush();
+        };
+    }
+
+    private void validateRange(Timestamp from, Timestamp to) {
+        if (from == null || to == null)
+            throw new InvalidBookingException("from and to are required.");
+
+        if (!from.before(to))
+            throw new InvalidBookingException("from must be before to.");
+
+        if (to.getTime() - from.getTime() > maxRange.toMillis())
+            throw new InvalidBookingException("calendar range cannot be longer than " + maxRange.toDays() + " days.");
+    }
+
+    private static final class IntervalMerger {
+        private final Writer writer;
+        private final long from;
+        private final long to;
+        private long start = Long.MIN_VALUE;
+        private long end = Long.MIN_VALUE;
+        private boolean first = true;
+
+        IntervalMerger(Writer writer, long from, long to) {
+            this.writer = writer;
+            this.from = from;
+            this.to = to;
+        }
+
+        // Intervals arrive ordered by start.
+        void add(long intervalStart, long intervalEnd) {
+            if (start != Long.MIN_VALUE && intervalStart <= end) {
+                end = Math.max(end, intervalEnd);
+                return;
+            }
+            flush();
+            start = intervalStart;
+            end = intervalEnd;
+        }
+
+        void flush() {
+            if (start == Long.MIN_VALUE) return;
+            try {
+                if (!first) writer.write(',');
+                writer.write('[');
+                writer.write(Long.toString(Math.floorDiv(Math.max(start, from), 1000L)));
+                writer.write(',');
+                writer.write(Long.toString(-Math.floorDiv(-Math.min(end, to), 1000L)));
+                writer.write(']');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            first = false;
+            start = Long.MIN_VALUE;
+        }
+    }
+}
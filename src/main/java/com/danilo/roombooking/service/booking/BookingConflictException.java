@@ -1,7 +1,40 @@
 package com.danilo.roombooking.service.booking;
 
+import java.sql.Timestamp;
+
 public class BookingConflictException extends RuntimeException {
+    // the slot that was asked for, when there is one to suggest alternatives to
+    private final Long roomId;
+    private final Timestamp startTime;
+    private final Timestamp endTime;
+
     public BookingConflictException() {
+        this(null, null, null);
+    }
+
+    public BookingConflictException(Long roomId, Timestamp startTime, Timestamp endTime) {
         super("Room is unavailable or occupied during the requested time slot.");
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    protected BookingConflictException(String message) {
+        super(message);
+        this.roomId = null;
+        this.startTime = null;
+        this.endTime = null;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Timestamp getStartTime() {
+        return startTime;
+    }
+
+    public Timestamp getEndTime() {
+        return endTime;
     }
 }
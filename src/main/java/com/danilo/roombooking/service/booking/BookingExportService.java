@@ -0,0 +1,105 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.dto.BookingFilterDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.repository.BookingExportRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Locale;
+
+/**
+ * Exports every booking matching a filter as CSV or NDJSON in one response, for reports that would otherwise
+ * page through the filter endpoint with ever slower offset scans. Rows are written as they are read, in
+ * constant memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingExportService {
+
+    private static final String CSV_HEADER =
+        "id,roomId,requestedBy,approvedBy,startTime,endTime,createdAt,updatedAt,archived";
+
+    private final BookingExportRepository bookingExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "\r\n"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "\n");
+
+        private final MediaType mediaType;
+        private final String lineEnd;
+
+        Format(MediaType mediaType, String lineEnd) {
+            this.mediaType = mediaType;
+            this.lineEnd = lineEnd;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+    }
+
+    public Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBookingException("format must be csv or ndjson.");
+        }
+    }
+
+    public StreamingResponseBody export(BookingFilterDTO filter, boolean includeHistory, Format format) {
+        ObjectWriter jsonWriter = objectMapper.writerFor(BookingResponseDTO.class);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == Format.CSV) writer.write(CSV_HEADER + format.lineEnd);
+
+            try {
+                bookingExportRepository.forEachMatching(filter, includeHistory, booking -> {
+                    try {
+                        writer.write(format == Format.CSV ? csv(booking) : jsonWriter.writeValueAsString(booking));
+                        writer.write(format.lineEnd);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Could not serialize the booking.", e);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    // Every column is a number, a boolean or an ISO-8601 instant, so nothing needs quoting.
+    private static String csv(BookingResponseDTO booking) {
+        return String.join(",",
+            String.valueOf(booking.id()),
+            String.valueOf(booking.roomId()),
+            String.valueOf(booking.requestedBy()),
+            booking.approvedBy() != null ? booking.approvedBy().toString() : "",
+            instant(booking.startTime()),
+            instant(booking.endTime()),
+            instant(booking.createdAt()),
+            instant(booking.updatedAt()),
+            String.valueOf(booking.archived()));
+    }
+
+    private static String instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant().toString() : "";
+    }
+}
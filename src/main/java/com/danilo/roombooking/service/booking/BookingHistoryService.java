@@ -0,0 +1,61 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.domain.BookingRecord;
+import com.danilo.roombooking.dto.BookingFilterDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import com.danilo.roombooking.repository.BookingRecordRepository;
+import com.danilo.roombooking.repository.BookingResponseRepository;
+import com.danilo.roombooking.service.scroll.KeysetScroll;
+import com.danilo.roombooking.specification.BookingSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+// Reads over both current and archived bookings, see BookingArchiver.
+@Service
+@RequiredArgsConstructor
+public class BookingHistoryService {
+
+    private static final KeysetScroll<BookingRecord> SCROLL =
+        new KeysetScroll<>("startTime", Map.of("startTime", Timestamp.class));
+
+    private final BookingRecordRepository bookingRecordRepository;
+    private final BookingResponseRepository bookingResponseRepository;
+
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getAll(Pageable pageable) {
+        return bookingResponseRepository.findAllRecords(Specification.where(null), pageable);
+    }
+
+    public BookingRecord getById(Long bookingId) {
+        return bookingRecordRepository.findById(bookingId).orElseThrow(BookingNotFoundException::new);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getByUserId(Long userId, Pageable pageable) {
+        return bookingResponseRepository.findAllRecords(BookingSpecification.hasRequestedByEquals(userId), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getByRoomId(Long roomId, Pageable pageable) {
+        return bookingResponseRepository.findAllRecords(BookingSpecification.hasRoomId(roomId), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getFilter(BookingFilterDTO bookingFilterDTO, Pageable pageable) {
+        return bookingResponseRepository.findAllRecords(BookingSpecification.matches(bookingFilterDTO), pageable);
+    }
+
+    // The seek condition is pushed into both sides of the union, each with its own start time index.
+    @Transactional(readOnly = true)
+    public ScrollPageDTO<BookingRecord> scroll(BookingFilterDTO bookingFilterDTO, String sort, String cursor, int size) {
+        return SCROLL.scroll(bookingRecordRepository, BookingSpecification.matches(bookingFilterDTO), sort, cursor, size);
+    }
+}
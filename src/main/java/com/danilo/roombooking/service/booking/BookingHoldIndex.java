@@ -0,0 +1,175 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.domain.BookingHold;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Short-lived reservations of a room interval, kept per room ordered by start and swept once expired.
+ * Holds only live in this instance's memory: they are lost on restart and not seen by other instances.
+ */
+@Slf4j
+@Component
+public class BookingHoldIndex {
+
+    private static final Comparator<BookingHold> BY_START = Comparator
+        .comparingLong((BookingHold hold) -> hold.startTime().getTime())
+        .thenComparing(BookingHold::id);
+    private static final Comparator<BookingHold> BY_EXPIRY = Comparator
+        .comparing(BookingHold::expiresAt)
+        .thenComparing(BookingHold::id);
+
+    private final Map<UUID, BookingHold> holds = new HashMap<>();
+    private final Map<Long, NavigableSet<BookingHold>> rooms = new HashMap<>();
+    private final NavigableSet<BookingHold> byExpiry = new TreeSet<>(BY_EXPIRY);
+    // holds being converted into bookings, which keep blocking their slot even past expiry
+    private final Set<UUID> claimed = new HashSet<>();
+
+    private Clock clock = Clock.systemUTC();
+
+    public synchronized boolean overlaps(Long roomId, Timestamp startTime, Timestamp endTime) {
+        long start = startTime.getTime();
+        long end = endTime.getTime();
+        Instant now = clock.instant();
+
+        for (BookingHold hold : rooms.getOrDefault(roomId, Collections.emptyNavigableSet())) {
+            if (hold.startTime().getTime() >= end) break;
+            if (hold.overlaps(start, end) && isLive(hold, now)) return true;
+        }
+        return false;
+    }
+
+    // The room's live holds overlapping [startTime, endTime), in start order.
+    public synchronized List<BookingHold> findLive(Long roomId, Timestamp startTime, Timestamp endTime) {
+        long start = startTime.getTime();
+        long end = endTime.getTime();
+        Instant now = clock.instant();
+
+        List<BookingHold> live = new ArrayList<>();
+        for (BookingHold hold : rooms.getOrDefault(roomId, Collections.emptyNavigableSet())) {
+            if (hold.startTime().getTime() >= end) break;
+            if (hold.overlaps(start, end) && isLive(hold, now)) live.add(hold);
+        }
+        return live;
+    }
+
+    // Rooms with a live hold overlapping [startTime, endTime).
+    public synchronized Set<Long> findHeldRoomIds(Timestamp startTime, Timestamp endTime) {
+        Set<Long> held = new HashSet<>();
+        for (Long roomId : rooms.keySet()) {
+            if (overlaps(roomId, startTime, endTime)) held.add(roomId);
+        }
+        return held;
+    }
+
+    // Adds the hold unless another live hold overlaps it.
+    public synchronized boolean tryPlace(BookingHold hold) {
+        if (overlaps(hold.roomId(), hold.startTime(), hold.endTime())) return false;
+
+        holds.put(hold.id(), hold);
+        rooms.computeIfAbsent(hold.roomId(), id -> new TreeSet<>(BY_START)).add(hold);
+        byExpiry.add(hold);
+        return true;
+    }
+
+    // Takes the user's live hold to turn it into a booking. Inside a transaction the hold keeps blocking its
+    // slot until the booking is committed, and is handed back to its owner if the transaction rolls back.
+    public BookingHold claim(UUID holdId, Long userId) {
+        BookingHold hold;
+        synchronized (this) {
+            hold = holds.get(holdId);
+            if (hold == null || !hold.userId().equals(userId) || !isLive(hold, clock.instant())
+                || !claimed.add(holdId)) return null;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(holdId);
+            return hold;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) remove(holdId);
+                else unclaim(holdId);
+            }
+        });
+        return hold;
+    }
+
+    public synchronized boolean release(UUID holdId, Long userId) {
+        BookingHold hold = holds.get(holdId);
+        if (hold == null || !hold.userId().equals(userId) || claimed.contains(holdId)) return false;
+
+        remove(holdId);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval:PT1S}")
+    public synchronized void sweep() {
+        Instant now = clock.instant();
+        int swept = 0;
+
+        Iterator<BookingHold> expiring = byExpiry.iterator();
+        while (expiring.hasNext()) {
+            BookingHold hold = expiring.next();
+            if (!hold.isExpired(now)) break;
+            if (claimed.contains(hold.id())) continue;
+
+            expiring.remove();
+            holds.remove(hold.id());
+            removeFromRoom(hold);
+            swept++;
+        }
+
+        if (swept > 0) log.debug("Swept {} expired booking holds", swept);
+    }
+
+    public synchronized int size() {
+        return holds.size();
+    }
+
+    private synchronized void unclaim(UUID holdId) {
+        claimed.remove(holdId);
+    }
+
+    private synchronized void remove(UUID holdId) {
+        claimed.remove(holdId);
+        BookingHold hold = holds.remove(holdId);
+        if (hold == null) return;
+
+        byExpiry.remove(hold);
+        removeFromRoom(hold);
+    }
+
+    private void removeFromRoom(BookingHold hold) {
+        NavigableSet<BookingHold> roomHolds = rooms.get(hold.roomId());
+        if (roomHolds == null) return;
+
+        roomHolds.remove(hold);
+        if (roomHolds.isEmpty()) rooms.remove(hold.roomId());
+    }
+
+    private boolean isLive(BookingHold hold, Instant now) {
+        return claimed.contains(hold.id()) || !hold.isExpired(now);
+    }
+}
@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.booking;
+
+public class BookingHoldNotFoundException extends RuntimeException {
+    public BookingHoldNotFoundException() {
+        super("Hold not found or expired.");
+    }
+}
@@ -0,0 +1,118 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.BookingHold;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingHoldRequestDTO;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BookingHoldService {
+
+    private final BookingService bookingService;
+    private final RoomService roomService;
+    private final UserService userService;
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final BookingOutbox outbox;
+    private final RoomUtilizationRollup utilizationRollup;
+
+    @Value("${booking.hold.default-ttl:PT2M}")
+    private Duration defaultTtl;
+
+    @Value("${booking.hold.max-ttl:PT15M}")
+    private Duration maxTtl;
+
+    private Clock clock = Clock.systemUTC();
+
+    // Placed under the room lock, like a booking, so it cannot race a create or update that checks holds.
+    @Transactional
+    public BookingHold place(BookingHoldRequestDTO holdRequestDTO, CustomUserDetails userDetails) {
+        if (holdRequestDTO == null)
+            throw new InvalidBookingException("hold is required.");
+
+        BookingRequestDTO slot = new BookingRequestDTO(
+            holdRequestDTO.roomId(), holdRequestDTO.startTime(), holdRequestDTO.endTime());
+        BookingRequestValidator.validate(slot);
+        Duration ttl = ttl(holdRequestDTO.ttlSeconds());
+
+        Room room = roomService.lockForBooking(slot.roomId());
+        if (room.getStatus() != RoomStatus.AVAILABLE)
+            throw new BookingConflictException(room.getId(), slot.startTime(), slot.endTime());
+        bookingService.checkRoomAvailabilityInTimeInterval(slot);
+
+        BookingHold hold = new BookingHold(UUID.randomUUID(), room.getId(), userDetails.getUserId(),
+            slot.startTime(), slot.endTime(), clock.instant().plus(ttl));
+        if (!holdIndex.tryPlace(hold))
+            throw new BookingConflictException(room.getId(), slot.startTime(), slot.endTime());
+
+        return hold;
+    }
+
+    // Holds are only seen by this instance and a single-statement create checks them without the room lock,
+    // so the room's status and the table are checked again under the lock. The claimed hold keeps blocking its
+    // slot until commit and is handed back to its owner if the slot turned out to be taken.
+    @Transactional
+    public Booking confirm(UUID holdId, CustomUserDetails userDetails) {
+        BookingHold hold = holdIndex.claim(holdId, userDetails.getUserId());
+        if (hold == null)
+            throw new BookingHoldNotFoundException();
+
+        Room room = roomService.lockForBooking(hold.roomId());
+        if (room.getStatus() != RoomStatus.AVAILABLE
+            || bookingRepository.isRoomBookedDuringTimeRange(room.getId(), hold.startTime(), hold.endTime()))
+            throw new BookingConflictException(room.getId(), hold.startTime(), hold.endTime());
+        User requestedBy = userService.getById(userDetails.getUserId());
+        User approvedBy = userDetails.getAuthorities()
+            .contains(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name()))
+            ? requestedBy : null;
+
+        Booking saved = bookingRepository.save(Booking.builder()
+            .room(room)
+            .requestedBy(requestedBy)
+            .approvedBy(approvedBy)
+            .approved(approvedBy != null)
+            .startTime(hold.startTime())
+            .endTime(hold.endTime())
+            .build());
+        availabilityIndex.registerSaved(saved);
+        utilizationRollup.recordAdded(saved);
+        outbox.record(BookingEventType.CREATED, saved);
+        return saved;
+    }
+
+    public void release(UUID holdId, CustomUserDetails userDetails) {
+        if (!holdIndex.release(holdId, userDetails.getUserId()))
+            throw new BookingHoldNotFoundException();
+    }
+
+    private Duration ttl(Integer ttlSeconds) {
+        if (ttlSeconds == null) return defaultTtl;
+
+        if (ttlSeconds < 1 || ttlSeconds > maxTtl.toSeconds())
+            throw new InvalidBookingException("ttlSeconds must be between 1 and " + maxTtl.toSeconds() + ".");
+
+        return Duration.ofSeconds(ttlSeconds);
+    }
+}
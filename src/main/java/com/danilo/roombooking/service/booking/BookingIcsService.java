@@ -0,0 +1,184 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.BookingCalendarEventDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * iCalendar (RFC 5545) feeds of a room's and of a user's bookings, for calendar apps to subscribe to. Feeds are
+ * written to the response as rows come off a forward-only cursor, and carry the time of the latest change so
+ * the frequent refreshes of subscribed calendars can be answered with 304 Not Modified.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingIcsService {
+
+    private static final String PRODID = "-//room-booking//Room Booking//EN";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_DATE_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final RoomService roomService;
+    private final UserService userService;
+
+    // bookings that started longer ago than this are left out of the feeds
+    @Value("${booking.ics.past-window:P90D}")
+    private Duration pastWindow;
+
+    // a change this recent may share its second with one still committing, so it is not used for Last-Modified
+    @Value("${booking.ics.last-modified-lag:PT5S}")
+    private Duration lastModifiedLag;
+
+    private Clock clock = Clock.systemUTC();
+
+    // lastModified is null when it cannot be used to answer conditional requests.
+    public record Feed(Instant lastModified, StreamingResponseBody body) {}
+
+    public Feed roomFeed(Long roomId) {
+        Room room = roomService.getById(roomId);
+        Instant lastModified = usable(bookingJdbcRepository.findRoomLastModified(roomId));
+        Timestamp from = windowStart();
+
+        return new Feed(lastModified, outputStream -> write(outputStream, "Room " + room.getIdentifier(),
+            handler -> bookingJdbcRepository.forEachRoomCalendarEvent(roomId, from, handler),
+            event -> "Booked"));
+    }
+
+    public Feed userFeed(Long userId) {
+        User user = userService.getById(userId);
+        Instant lastModified = usable(bookingJdbcRepository.findUserLastModified(userId));
+        Timestamp from = windowStart();
+
+        return new Feed(lastModified, outputStream -> write(outputStream, "Bookings of " + user.getUsername(),
+            handler -> bookingJdbcRepository.forEachUserCalendarEvent(userId, from, handler),
+            event -> "Room " + event.roomIdentifier()));
+    }
+
+    private Timestamp windowStart() {
+        return Timestamp.from(clock.instant().minus(pastWindow));
+    }
+
+    private Instant usable(Timestamp lastModified) {
+        if (lastModified == null) return null;
+        Instant instant = lastModified.toInstant();
+        return instant.isAfter(clock.instant().minus(lastModifiedLag)) ? null : instant;
+    }
+
+    private static void write(OutputStream outputStream, String calendarName,
+                              Consumer<Consumer<BookingCalendarEventDTO>> events,
+                              Function<BookingCalendarEventDTO, String> summary) throws IOException {
+        IcsWriter ics = new IcsWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        try {
+            ics.line("BEGIN", "VCALENDAR");
+            ics.line("VERSION", "2.0");
+            ics.line("PRODID", PRODID);
+            ics.line("CALSCALE", "GREGORIAN");
+            ics.line("METHOD", "PUBLISH");
+            ics.line("X-WR-CALNAME", escape(calendarName));
+
+            events.accept(event -> {
+                ics.line("BEGIN", "VEVENT");
+                ics.line("UID", "booking-" + event.id() + "@room-booking");
+                ics.line("DTSTAMP", format(event.updatedAt()));
+                ics.line("LAST-MODIFIED", format(event.updatedAt()));
+                ics.line("SEQUENCE", String.valueOf(event.version()));
+                ics.line("DTSTART", format(event.startTime()));
+                ics.line("DTEND", format(event.endTime()));
+                ics.line("SUMMARY", escape(summary.apply(event)));
+                ics.line("LOCATION", escape(event.roomIdentifier()));
+                ics.line("STATUS", Boolean.TRUE.equals(event.approved()) ? "CONFIRMED" : "TENTATIVE");
+                ics.line("END", "VEVENT");
+            });
+
+            ics.line("END", "VCALENDAR");
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ics.flush();
+    }
+
+    private static String format(Timestamp timestamp) {
+        return UTC_DATE_TIME.format(timestamp.toInstant());
+    }
+
+    // TEXT values escape backslashes, semicolons, commas and line breaks.
+    private static String escape(String text) {
+        if (text == null) return "";
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Writes CRLF-terminated content lines, folding them at 75 octets without splitting a character.
+    private static final class IcsWriter {
+        private final Writer writer;
+
+        IcsWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void line(String name, String value) {
+            try {
+                String line = name + ":" + value;
+                int octets = 0;
+                for (int i = 0; i < line.length(); ) {
+                    int codePoint = line.codePointAt(i);
+                    int length = utf8Length(codePoint);
+                    if (octets + length > MAX_LINE_OCTETS) {
+                        writer.write("\r\n ");
+                        octets = 1;
+                    }
+                    writer.write(line, i, Character.charCount(codePoint));
+                    octets += length;
+                    i += Character.charCount(codePoint);
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static int utf8Length(int codePoint) {
+            if (codePoint < 0x80) return 1;
+            if (codePoint < 0x800) return 2;
+            if (codePoint < 0x10000) return 3;
+            return 4;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.ImportReportDTO;
+import com.danilo.roombooking.dto.NaturalKeyDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.RoomRepository;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.imports.CsvReader;
+import com.danilo.roombooking.service.imports.ImportReport;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Imports bookings, past ones included, from CSV with the columns roomIdentifier, requestedBy, approvedBy,
+ * startTime and endTime, users given by username and times as ISO-8601 instants. The file is parsed as it is
+ * read and written in chunks: each chunk resolves its rooms and users in bulk, checks its bookings against
+ * existing ones and each other, and inserts them with JDBC batch inserts in one transaction. Rejected rows are
+ * skipped and listed in the report. Imported bookings are recorded in the outbox in the same transaction, as
+ * batch creates are.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingImportService {
+
+    private static final List<String> COLUMNS =
+        List.of("roomIdentifier", "requestedBy", "approvedBy", "startTime", "endTime");
+
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final RoomService roomService;
+    private final BookingRepository bookingRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final RoomUtilizationRollup utilizationRollup;
+    private final BookingOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record Row(long line, String roomIdentifier, String requestedBy, String approvedBy,
+                       Timestamp startTime, Timestamp endTime) {}
+
+    private record Resolved(Row row, Long roomId, Long requestedById, Long approvedById) {}
+
+    public ImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        CsvReader csv = new CsvReader(inputStream);
+        List<String> header = csv.next();
+        if (header == null || !COLUMNS.equals(header.stream().map(String::strip).toList()))
+            throw new InvalidBookingException("the first line must be the header " + String.join(",", COLUMNS) + ".");
+
+        ImportReport report = new ImportReport(maxReportedErrors);
+        // usernames and identifiers already looked up, null for the ones that do not exist
+        Map<String, Long> roomIds = naturalKeyMap();
+        Map<String, Long> userIds = naturalKeyMap();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        List<String> fields;
+        while ((fields = next(csv, report)) != null) {
+            Row row = parse(csv.recordLine(), fields, report);
+            if (row == null) continue;
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                write(chunk, roomIds, userIds, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) write(chunk, roomIds, userIds, report);
+
+        return report.toDTO();
+    }
+
+    // Keys are compared like the columns' collation does, ignoring case.
+    private static Map<String, Long> naturalKeyMap() {
+        return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    private static List<String> next(CsvReader csv, ImportReport report) throws IOException {
+        try {
+            return csv.next();
+        } catch (CsvReader.MalformedCsvException e) {
+            report.failed(csv.recordLine(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Row parse(long line, List<String> fields, ImportReport report) {
+        if (fields.size() != COLUMNS.size()) {
+            report.failed(line, "expected " + COLUMNS.size() + " columns, found " + fields.size() + ".");
+            return null;
+        }
+
+        try {
+            String roomIdentifier = required(fields.get(0), "roomIdentifier");
+            String requestedBy = required(fields.get(1), "requestedBy");
+            String approvedBy = fields.get(2).isBlank() ? null : fields.get(2).strip();
+            Timestamp startTime = instant(required(fields.get(3), "startTime"), "startTime");
+            Timestamp endTime = instant(required(fields.get(4), "endTime"), "endTime");
+            BookingRequestValidator.validateTimeRange(startTime, endTime);
+            return new Row(line, roomIdentifier, requestedBy, approvedBy, startTime, endTime);
+        } catch (InvalidBookingException e) {
+            report.failed(line, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String required(String value, String column) {
+        if (value.isBlank()) throw new InvalidBookingException(column + " is required.");
+        return value.strip();
+    }
+
+    private static Timestamp instant(String value, String column) {
+        try {
+            return Timestamp.from(Instant.parse(value));
+        } catch (DateTimeParseException e) {
+            throw new InvalidBookingException(column + " must be an ISO-8601 instant, e.g. 2025-03-07T08:00:00Z.");
+        }
+    }
+
+    private void write(List<Row> chunk, Map<String, Long> roomIds, Map<String, Long> userIds, ImportReport report) {
+        Set<String> rooms = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Set<String> users = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Row row : chunk) {
+            rooms.add(row.roomIdentifier());
+            users.add(row.requestedBy());
+            if (row.approvedBy() != null) users.add(row.approvedBy());
+        }
+        resolve(roomIds, rooms, roomRepository::findKeysByIdentifierIn);
+        resolve(userIds, users, userRepository::findKeysByUsernameIn);
+
+        Map<Long, List<Resolved>> byRoom = new TreeMap<>();
+        for (Row row : chunk) {
+            Long roomId = roomIds.get(row.roomIdentifier());
+            Long requestedById = userIds.get(row.requestedBy());
+            Long approvedById = row.approvedBy() != null ? userIds.get(row.approvedBy()) : null;
+
+            if (roomId == null)
+                report.failed(row.line(), "room " + row.roomIdentifier() + " not found.");
+            else if (requestedById == null)
+                report.failed(row.line(), "user " + row.requestedBy() + " not found.");
+            else if (row.approvedBy() != null && approvedById == null)
+                report.failed(row.line(), "user " + row.approvedBy() + " not found.");
+            else
+                byRoom.computeIfAbsent(roomId, id -> new ArrayList<>())
+                    .add(new Resolved(row, roomId, requestedById, approvedById));
+        }
+        if (byRoom.isEmpty()) return;
+
+        List<Resolved> conflicts = new ArrayList<>();
+        try {
+            Integer inserted = transactionTemplate.execute(status -> insert(byRoom, conflicts));
+            conflicts.forEach(resolved -> report.failed(resolved.row().line(), new BookingConflictException().getMessage()));
+            report.imported(inserted != null ? inserted : 0);
+        } catch (DataAccessException e) {
+            String message = "not imported: " + e.getMostSpecificCause().getMessage();
+            byRoom.values().forEach(resolved -> resolved.forEach(r -> report.failed(r.row().line(), message)));
+        }
+    }
+
+    private static void resolve(Map<String, Long> ids, Set<String> keys,
+                                Function<Collection<String>, List<NaturalKeyDTO>> finder) {
+        List<String> missing = keys.stream().filter(key -> !ids.containsKey(key)).toList();
+        if (missing.isEmpty()) return;
+
+        missing.forEach(key -> ids.put(key, null));
+        finder.apply(missing).forEach(found -> ids.put(found.key(), found.id()));
+    }
+
+    // Locks the chunk's rooms like a batch create does, then keeps the bookings overlapping neither an existing
+    // booking, fetched in one range query per room, a live hold, nor an earlier row of the chunk.
+    private int insert(Map<Long, List<Resolved>> byRoom, List<Resolved> conflicts) {
+        roomService.lockAllForBooking(byRoom.keySet());
+
+        List<Resolved> accepted = new ArrayList<>();
+        for (Map.Entry<Long, List<Resolved>> roomRows : byRoom.entrySet()) {
+            List<Resolved> rows = roomRows.getValue();
+            Timestamp from = rows.stream().map(r -> r.row().startTime()).min(Timestamp::compareTo).orElseThrow();
+            Timestamp to = rows.stream().map(r -> r.row().endTime()).max(Timestamp::compareTo).orElseThrow();
+
+            BookingAvailabilityIndex.RoomIntervals taken = new BookingAvailabilityIndex.RoomIntervals();
+            for (BookingIntervalDTO existing : bookingRepository.findIntervalsByRoomIdDuringTimeRange(roomRows.getKey(), from, to))
+                taken.add(existing.id(), existing.startTime().getTime(), existing.endTime().getTime());
+
+            for (Resolved resolved : rows) {
+                long start = resolved.row().startTime().getTime();
+                long end = resolved.row().endTime().getTime();
+                if (taken.overlaps(start, end, Long.MIN_VALUE)
+                    || holdIndex.overlaps(resolved.roomId(), resolved.row().startTime(), resolved.row().endTime())) {
+                    conflicts.add(resolved);
+                    continue;
+                }
+                taken.add(-1L - accepted.size(), start, end);
+                accepted.add(resolved);
+            }
+        }
+        if (accepted.isEmpty()) return 0;
+
+        List<Long> ids = bookingJdbcRepository.nextIds(accepted.size());
+        List<Booking> bookings = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            Resolved resolved = accepted.get(n);
+            bookings.add(Booking.builder()
+                .id(ids.get(n))
+                .room(Room.builder().id(resolved.roomId()).build())
+                .requestedBy(User.builder().id(resolved.requestedById()).build())
+                .approvedBy(resolved.approvedById() != null ? User.builder().id(resolved.approvedById()).build() : null)
+                .approved(resolved.approvedById() != null)
+                .startTime(resolved.row().startTime())
+                .endTime(resolved.row().endTime())
+                .build());
+        }
+
+        bookingJdbcRepository.insertAll(bookings);
+        utilizationRollup.recordAdded(bookings);
+        outbox.recordAll(BookingEventType.CREATED, bookings);
+        bookings.forEach(availabilityIndex::registerSaved);
+        return bookings.size();
+    }
+}
@@ -0,0 +1,102 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class BookingInsertService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final BookingService bookingService;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final RoomUtilizationRollup utilizationRollup;
+    private final BookingOutbox outbox;
+    private final RoomService roomService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.create.single-statement:false}")
+    private boolean singleStatement;
+
+    public Booking create(BookingRequestDTO bookingRequestDTO, CustomUserDetails userDetails) {
+        return singleStatement
+            ? createInSingleStatement(bookingRequestDTO, userDetails)
+            : bookingService.create(bookingRequestDTO, userDetails);
+    }
+
+    // One statement instead of BookingService.create's lock, overlap check, lookups, sequence fetch and
+    // insert, in a short transaction of its own so a deadlock victim can simply retry. The INSERT ... SELECT
+    // share-locks the room row until commit, and the index and rollup are updated before that commit, so a
+    // BookingService.create waiting on the room lock sees this booking. Holds are checked before the insert
+    // but, without the room lock, a hold placed while the statement runs is not seen.
+    public Booking createInSingleStatement(BookingRequestDTO bookingRequestDTO, CustomUserDetails userDetails) {
+        BookingRequestValidator.validate(bookingRequestDTO);
+        if (holdIndex.overlaps(bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime()))
+            throw conflict(bookingRequestDTO);
+
+        // only the ids are needed to insert and to build the response
+        User requestedBy = User.builder().id(userDetails.getUserId()).build();
+        User approvedBy = userDetails.getAuthorities()
+            .contains(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name()))
+            ? requestedBy : null;
+
+        Booking booking = Booking.builder()
+            .room(Room.builder().id(bookingRequestDTO.roomId()).build())
+            .requestedBy(requestedBy)
+            .approvedBy(approvedBy)
+            .approved(approvedBy != null)
+            .startTime(bookingRequestDTO.startTime())
+            .endTime(bookingRequestDTO.endTime())
+            .build();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> insert(booking))))
+                    return booking;
+                break;
+            } catch (DuplicateKeyException e) {
+                throw conflict(bookingRequestDTO);
+            } catch (PessimisticLockingFailureException e) {
+                // lost a deadlock against a concurrent insert into the same room and time range
+                if (attempt == MAX_ATTEMPTS) throw conflict(bookingRequestDTO);
+            }
+        }
+
+        // nothing was inserted, only now is it worth telling a missing room from a taken slot
+        roomService.getById(bookingRequestDTO.roomId());
+        throw conflict(bookingRequestDTO);
+    }
+
+    private boolean insert(Booking booking) {
+        if (!bookingJdbcRepository.insertIfRoomAvailable(booking)) return false;
+
+        availabilityIndex.registerSaved(booking);
+        utilizationRollup.recordAdded(booking);
+        outbox.record(BookingEventType.CREATED, booking);
+        return true;
+    }
+
+    private static BookingConflictException conflict(BookingRequestDTO bookingRequestDTO) {
+        return new BookingConflictException(
+            bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
+    }
+}
@@ -0,0 +1,137 @@
+package com.danilo.roombooking.service.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps monthly RANGE partitions of Booking (see V2026.10.18.2) ahead of time by splitting p_future,
+// and optionally drops or exchanges out the partitions older than the retention.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingPartitionMaintainer {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    public enum ExpiredPartitionAction { NONE, DROP, EXCHANGE }
+
+    public record Partition(String name, Long lessThan, long rows) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.partitions.maintenance-enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${booking.partitions.expired-action:NONE}")
+    private ExpiredPartitionAction expiredAction;
+
+    @Value("${booking.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${booking.time-zone:UTC}")
+    private String timeZone;
+
+    private Clock clock = Clock.systemUTC();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            maintain();
+        } catch (DataAccessException e) {
+            log.error("Booking partition maintenance failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${booking.partitions.maintenance-cron:0 30 3 * * *}")
+    public synchronized void maintain() {
+        if (!enabled) return;
+
+        List<Partition> partitions = getPartitions();
+        if (partitions.stream().noneMatch(partition -> FUTURE_PARTITION.equals(partition.name()))) {
+            log.warn("Booking is not partitioned by month, skipping partition maintenance");
+            return;
+        }
+
+        createAhead(partitions);
+        if (expiredAction != ExpiredPartitionAction.NONE)
+            removeExpired(partitions);
+    }
+
+    public List<Partition> getPartitions() {
+        return jdbcTemplate.query("""
+            SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS
+            FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Booking' AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """, (rs, rowNum) -> new Partition(
+            rs.getString(1),
+            "MAXVALUE".equals(rs.getString(2)) ? null : Long.valueOf(rs.getString(2)),
+            rs.getLong(3)));
+    }
+
+    private void createAhead(List<Partition> partitions) {
+        ZoneId zone = ZoneId.of(timeZone);
+        long lastBoundary = partitions.stream()
+            .map(Partition::lessThan)
+            .filter(lessThan -> lessThan != null)
+            .max(Long::compare)
+            .orElseThrow();
+        long target = monthStart(YearMonth.now(clock.withZone(zone)).plusMonths(monthsAhead + 1L), zone);
+
+        List<String> definitions = new ArrayList<>();
+        while (lastBoundary < target) {
+            YearMonth month = YearMonth.from(Instant.ofEpochSecond(lastBoundary).atZone(zone));
+            lastBoundary = monthStart(month.plusMonths(1), zone);
+            definitions.add("PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN (" + lastBoundary + ")");
+        }
+        if (definitions.isEmpty()) return;
+
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE");
+        jdbcTemplate.execute("ALTER TABLE Booking REORGANIZE PARTITION " + FUTURE_PARTITION
+            + " INTO (" + String.join(", ", definitions) + ")");
+        log.info("Created {} Booking partition(s) up to {}", definitions.size() - 1, Instant.ofEpochSecond(lastBoundary));
+    }
+
+    private void removeExpired(List<Partition> partitions) {
+        ZoneId zone = ZoneId.of(timeZone);
+        long cutoff = monthStart(YearMonth.now(clock.withZone(zone)).minusMonths(retentionMonths), zone);
+
+        for (Partition partition : partitions) {
+            if (partition.lessThan() == null || partition.lessThan() > cutoff) continue;
+
+            if (expiredAction == ExpiredPartitionAction.EXCHANGE) {
+                // the archive table must match Booking without partitioning before the exchange
+                String archive = "Booking_Archive_" + partition.name();
+                jdbcTemplate.execute("CREATE TABLE " + archive + " LIKE Booking");
+                jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+                jdbcTemplate.execute("ALTER TABLE Booking EXCHANGE PARTITION " + partition.name() + " WITH TABLE " + archive);
+                log.info("Moved {} bookings of partition {} to {}", partition.rows(), partition.name(), archive);
+            }
+
+            jdbcTemplate.execute("ALTER TABLE Booking DROP PARTITION " + partition.name());
+            log.info("Dropped Booking partition {}", partition.name());
+        }
+    }
+
+    private static long monthStart(YearMonth month, ZoneId zone) {
+        return month.atDay(1).atStartOfDay(zone).toEpochSecond();
+    }
+}
@@ -0,0 +1,42 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.booking.constants.BookingConstants;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+final class BookingRequestValidator {
+
+    private BookingRequestValidator() {}
+
+    static void validate(BookingRequestDTO bookingRequestDTO) {
+        if (bookingRequestDTO == null)
+            throw new InvalidBookingException("booking is required.");
+
+        if (bookingRequestDTO.startTime() == null)
+            throw new InvalidBookingException("startTime is required.");
+
+        if (bookingRequestDTO.endTime() == null)
+            throw new InvalidBookingException("endTime is required.");
+
+        if (bookingRequestDTO.roomId() == null)
+            throw new InvalidBookingException("roomId is required.");
+
+        validateTimeRange(bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
+
+        Timestamp secondsAgo = Timestamp.from(Instant.now().minus(10, ChronoUnit.SECONDS));
+        if (bookingRequestDTO.startTime().before(secondsAgo))
+            throw new InvalidBookingException("startTime cannot be in the past.");
+    }
+
+    static void validateTimeRange(Timestamp startTime, Timestamp endTime) {
+        if (startTime.after(endTime))
+            throw new InvalidBookingException("startTime cannot be after endTime.");
+
+        if (endTime.getTime() - startTime.getTime() > BookingConstants.MAX_BOOKING_DURATION.toMillis())
+            throw new InvalidBookingException("a booking cannot be longer than "
+                + BookingConstants.MAX_BOOKING_DURATION.toDays() + " days.");
+    }
+}
@@ -0,0 +1,15 @@
+package com.danilo.roombooking.service.booking;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BookingSeriesConflictException extends BookingConflictException {
+    private static final int MAX_LISTED_DATES = 10;
+
+    public BookingSeriesConflictException(List<LocalDate> dates) {
+        super("Room is unavailable or occupied on " + dates.size() + " occurrence(s) of the series: "
+            + dates.stream().limit(MAX_LISTED_DATES).map(LocalDate::toString).collect(Collectors.joining(", "))
+            + (dates.size() > MAX_LISTED_DATES ? ", ..." : "."));
+    }
+}
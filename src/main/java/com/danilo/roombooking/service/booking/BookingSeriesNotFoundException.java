@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.booking;
+
+public class BookingSeriesNotFoundException extends RuntimeException {
+    public BookingSeriesNotFoundException() {
+        super("Booking series not found.");
+    }
+}
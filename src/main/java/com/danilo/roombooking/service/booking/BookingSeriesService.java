@@ -0,0 +1,330 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.BookingSeries;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.BookingSeriesRequestDTO;
+import com.danilo.roombooking.dto.BookingSeriesResponseDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.BookingSeriesRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class BookingSeriesService {
+
+    private final UserService userService;
+    private final RoomService roomService;
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final RoomUtilizationRollup utilizationRollup;
+    private final BookingOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${booking.series.max-occurrences:1000}")
+    private int maxOccurrences;
+
+    @Value("${booking.time-zone:UTC}")
+    private String timeZone;
+
+    @Transactional
+    public BookingSeriesResponseDTO create(BookingSeriesRequestDTO seriesRequestDTO, CustomUserDetails userDetails) {
+        validateSeriesRequest(seriesRequestDTO);
+
+        Room room = roomService.lockForBooking(seriesRequestDTO.roomId());
+        if (room.getStatus() != RoomStatus.AVAILABLE)
+            throw new BookingConflictException();
+
+        ZoneId zone = ZoneId.of(timeZone);
+        LocalTime startTime = seriesRequestDTO.startTime().truncatedTo(ChronoUnit.SECONDS);
+        LocalTime endTime = seriesRequestDTO.endTime().truncatedTo(ChronoUnit.SECONDS);
+        List<Occurrence> occurrences = expand(seriesRequestDTO.daysOfWeek(), startTime, endTime,
+            seriesRequestDTO.startDate(), seriesRequestDTO.untilDate(), zone, Instant.now());
+        if (occurrences.isEmpty())
+            throw new InvalidBookingException("series has no occurrences in the future.");
+
+        checkConflicts(room.getId(), occurrences, Set.of(), zone);
+
+        User requestedBy = userService.getById(userDetails.getUserId());
+        User approvedBy = userDetails.getAuthorities()
+            .contains(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name()))
+            ? requestedBy : null;
+
+        BookingSeries series = bookingSeriesRepository.saveAndFlush(BookingSeries.builder()
+            .room(room)
+            .requestedBy(requestedBy)
+            .daysOfWeek(EnumSet.copyOf(seriesRequestDTO.daysOfWeek()))
+            .startTimeOfDay(startTime)
+            .endTimeOfDay(endTime)
+            .zoneId(zone.getId())
+            .startDate(seriesRequestDTO.startDate())
+            .untilDate(seriesRequestDTO.untilDate())
+            .build());
+
+        List<Long> ids = bookingJdbcRepository.nextIds(occurrences.size());
+        List<Booking> bookings = new ArrayList<>(occurrences.size());
+        for (int i = 0; i < occurrences.size(); i++) {
+            bookings.add(Booking.builder()
+                .id(ids.get(i))
+                .room(room)
+                .requestedBy(requestedBy)
+                .approvedBy(approvedBy)
+                .approved(approvedBy != null)
+                .seriesId(series.getId())
+                .startTime(new Timestamp(occurrences.get(i).start()))
+                .endTime(new Timestamp(occurrences.get(i).end()))
+                .build());
+        }
+
+        bookingJdbcRepository.insertAll(bookings);
+        utilizationRollup.recordAdded(bookings);
+        outbox.recordAll(BookingEventType.CREATED, bookings);
+        bookings.forEach(availabilityIndex::registerSaved);
+
+        return new BookingSeriesResponseDTO(series, bookings.size());
+    }
+
+    public BookingSeriesResponseDTO getById(Long seriesId) {
+        BookingSeries series = getSeries(seriesId);
+        return new BookingSeriesResponseDTO(series, bookingRepository.countBySeriesId(seriesId));
+    }
+
+    // Changes the time of day or shortens the series. Upcoming occurrences are shifted with one UPDATE
+    // and the ones past the new untilDate are removed with one DELETE; past occurrences are kept as they are.
+    @Transactional
+    public BookingSeriesResponseDTO update(Long seriesId, BookingSeriesRequestDTO seriesRequestDTO) {
+        BookingSeries series = getSeries(seriesId);
+        if (series.getCancelledAt() != null)
+            throw new InvalidBookingException("series is cancelled.");
+
+        LocalTime startTime = seriesRequestDTO.startTime() != null
+            ? seriesRequestDTO.startTime().truncatedTo(ChronoUnit.SECONDS) : series.getStartTimeOfDay();
+        LocalTime endTime = seriesRequestDTO.endTime() != null
+            ? seriesRequestDTO.endTime().truncatedTo(ChronoUnit.SECONDS) : series.getEndTimeOfDay();
+        LocalDate untilDate = seriesRequestDTO.untilDate() != null ? seriesRequestDTO.untilDate() : series.getUntilDate();
+        validateSeriesUpdate(series, seriesRequestDTO, startTime, endTime, untilDate);
+
+        Long roomId = series.getRoom().getId();
+        roomService.lockForBooking(roomId);
+
+        ZoneId zone = ZoneId.of(series.getZoneId());
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp cutoff = Timestamp.from(untilDate.plusDays(1).atStartOfDay(zone).toInstant());
+        long startShift = Duration.between(series.getStartTimeOfDay(), startTime).toSeconds();
+        long endShift = Duration.between(series.getEndTimeOfDay(), endTime).toSeconds();
+
+        List<BookingIntervalDTO> upcoming = bookingRepository.findIntervalsBySeriesIdStartingFrom(seriesId, now);
+        List<BookingIntervalDTO> kept = new ArrayList<>();
+        List<BookingIntervalDTO> dropped = new ArrayList<>();
+        Set<Long> upcomingIds = new HashSet<>();
+        for (BookingIntervalDTO occurrence : upcoming) {
+            upcomingIds.add(occurrence.id());
+            (occurrence.startTime().before(cutoff) ? kept : dropped).add(occurrence);
+        }
+
+        List<Occurrence> shifted = kept.stream()
+            .map(occurrence -> new Occurrence(
+                occurrence.startTime().getTime() + startShift * 1000,
+                occurrence.endTime().getTime() + endShift * 1000))
+            .toList();
+        if (!shifted.isEmpty() && shifted.get(0).start() < now.getTime())
+            throw new InvalidBookingException("startTime cannot be in the past.");
+
+        if (startShift != 0 || endShift != 0)
+            checkConflicts(roomId, shifted, upcomingIds, zone);
+
+        if (!dropped.isEmpty())
+            bookingJdbcRepository.deleteSeriesOccurrences(seriesId, cutoff);
+        if (!kept.isEmpty() && (startShift != 0 || endShift != 0))
+            bookingJdbcRepository.shiftSeriesOccurrences(seriesId, now, cutoff, startShift, endShift);
+
+        List<BookingIntervalDTO> removed = new ArrayList<>(dropped);
+        List<BookingIntervalDTO> added = new ArrayList<>();
+        if (startShift != 0 || endShift != 0) {
+            removed.addAll(kept);
+            for (int i = 0; i < kept.size(); i++)
+                added.add(new BookingIntervalDTO(kept.get(i).id(), roomId,
+                    new Timestamp(shifted.get(i).start()), new Timestamp(shifted.get(i).end())));
+        }
+        utilizationRollup.recordChanged(removed, added);
+        outbox.recordAllDeleted(dropped);
+        if (startShift != 0 || endShift != 0)
+            outbox.recordChanged(BookingEventType.UPDATED, kept.stream().map(BookingIntervalDTO::id).toList());
+
+        for (int i = 0; i < kept.size(); i++) {
+            availabilityIndex.registerSaved(kept.get(i).id(), roomId,
+                new Timestamp(shifted.get(i).start()), new Timestamp(shifted.get(i).end()));
+        }
+        dropped.forEach(occurrence -> availabilityIndex.registerDeleted(occurrence.id()));
+        publishFreed(roomId, removed);
+
+        series.setStartTimeOfDay(startTime);
+        series.setEndTimeOfDay(endTime);
+        series.setUntilDate(untilDate);
+
+        return new BookingSeriesResponseDTO(series, kept.size());
+    }
+
+    // Removes every upcoming occurrence with one DELETE. Past occurrences are kept for history.
+    @Transactional
+    public void cancel(Long seriesId) {
+        BookingSeries series = getSeries(seriesId);
+        if (series.getCancelledAt() != null) return;
+
+        roomService.lockForBooking(series.getRoom().getId());
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<BookingIntervalDTO> upcoming = bookingRepository.findIntervalsBySeriesIdStartingFrom(seriesId, now);
+        if (!upcoming.isEmpty()) {
+            bookingJdbcRepository.deleteSeriesOccurrences(seriesId, now);
+            utilizationRollup.recordRemoved(upcoming);
+            outbox.recordAllDeleted(upcoming);
+            upcoming.forEach(occurrence -> availabilityIndex.registerDeleted(occurrence.id()));
+            publishFreed(series.getRoom().getId(), upcoming);
+        }
+
+        series.setCancelledAt(now);
+    }
+
+    // One event over the whole span of the freed occurrences rather than one per occurrence: the waitlist
+    // checks every request it promotes against the table, so requests in the gaps are simply not booked.
+    private void publishFreed(Long roomId, List<BookingIntervalDTO> freed) {
+        if (freed.isEmpty()) return;
+
+        Timestamp start = freed.stream().map(BookingIntervalDTO::startTime).min(Timestamp::compareTo).orElseThrow();
+        Timestamp end = freed.stream().map(BookingIntervalDTO::endTime).max(Timestamp::compareTo).orElseThrow();
+        eventPublisher.publishEvent(new BookingSlotFreedEvent(roomId, start, end));
+    }
+
+    private BookingSeries getSeries(Long seriesId) {
+        return bookingSeriesRepository.findById(seriesId).orElseThrow(BookingSeriesNotFoundException::new);
+    }
+
+    private List<Occurrence> expand(Set<DayOfWeek> daysOfWeek, LocalTime startTime, LocalTime endTime,
+                                    LocalDate startDate, LocalDate untilDate, ZoneId zone, Instant now) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(untilDate); date = date.plusDays(1)) {
+            if (!daysOfWeek.contains(date.getDayOfWeek())) continue;
+
+            long start = date.atTime(startTime).atZone(zone).toInstant().toEpochMilli();
+            if (start < now.toEpochMilli()) continue;
+
+            if (occurrences.size() == maxOccurrences)
+                throw new InvalidBookingException("a series cannot have more than " + maxOccurrences + " occurrences.");
+            occurrences.add(new Occurrence(start, date.atTime(endTime).atZone(zone).toInstant().toEpochMilli()));
+        }
+        return occurrences;
+    }
+
+    // Fetches the room's bookings over the whole span of the series in one range query and sweeps both
+    // lists once. Occurrences are sorted and never overlap each other, so their end times grow as well:
+    // an occurrence conflicts when the latest end among the bookings starting before it ends is after
+    // its start, or when it overlaps a live hold.
+    private void checkConflicts(Long roomId, List<Occurrence> occurrences, Set<Long> ignoredIds, ZoneId zone) {
+        if (occurrences.isEmpty()) return;
+
+        List<BookingIntervalDTO> existing = bookingRepository.findIntervalsByRoomIdDuringTimeRange(roomId,
+            new Timestamp(occurrences.get(0).start()), new Timestamp(occurrences.get(occurrences.size() - 1).end()));
+
+        List<LocalDate> conflicts = new ArrayList<>();
+        int next = 0;
+        long maxEnd = Long.MIN_VALUE;
+        for (Occurrence occurrence : occurrences) {
+            while (next < existing.size() && existing.get(next).startTime().getTime() < occurrence.end()) {
+                BookingIntervalDTO booking = existing.get(next++);
+                if (!ignoredIds.contains(booking.id()))
+                    maxEnd = Math.max(maxEnd, booking.endTime().getTime());
+            }
+            if (maxEnd > occurrence.start()
+                || holdIndex.overlaps(roomId, new Timestamp(occurrence.start()), new Timestamp(occurrence.end())))
+                conflicts.add(Instant.ofEpochMilli(occurrence.start()).atZone(zone).toLocalDate());
+        }
+
+        if (!conflicts.isEmpty()) throw new BookingSeriesConflictException(conflicts);
+    }
+
+    private void validateSeriesRequest(BookingSeriesRequestDTO seriesRequestDTO) {
+        if (seriesRequestDTO == null)
+            throw new InvalidBookingException("series is required.");
+
+        if (seriesRequestDTO.roomId() == null)
+            throw new InvalidBookingException("roomId is required.");
+
+        if (seriesRequestDTO.daysOfWeek() == null || seriesRequestDTO.daysOfWeek().isEmpty())
+            throw new InvalidBookingException("daysOfWeek is required.");
+
+        if (seriesRequestDTO.startTime() == null)
+            throw new InvalidBookingException("startTime is required.");
+
+        if (seriesRequestDTO.endTime() == null)
+            throw new InvalidBookingException("endTime is required.");
+
+        if (seriesRequestDTO.startDate() == null)
+            throw new InvalidBookingException("startDate is required.");
+
+        if (seriesRequestDTO.untilDate() == null)
+            throw new InvalidBookingException("untilDate is required.");
+
+        if (!seriesRequestDTO.startTime().isBefore(seriesRequestDTO.endTime()))
+            throw new InvalidBookingException("startTime must be before endTime.");
+
+        if (seriesRequestDTO.untilDate().isBefore(seriesRequestDTO.startDate()))
+            throw new InvalidBookingException("untilDate cannot be before startDate.");
+    }
+
+    private void validateSeriesUpdate(BookingSeries series, BookingSeriesRequestDTO seriesRequestDTO,
+                                      LocalTime startTime, LocalTime endTime, LocalDate untilDate) {
+        if (seriesRequestDTO.roomId() != null && !seriesRequestDTO.roomId().equals(series.getRoom().getId()))
+            throw new InvalidBookingException("roomId of a series cannot be changed.");
+
+        if (seriesRequestDTO.daysOfWeek() != null && !seriesRequestDTO.daysOfWeek().equals(series.getDaysOfWeek()))
+            throw new InvalidBookingException("daysOfWeek of a series cannot be changed.");
+
+        if (seriesRequestDTO.startDate() != null && !seriesRequestDTO.startDate().equals(series.getStartDate()))
+            throw new InvalidBookingException("startDate of a series cannot be changed.");
+
+        if (!startTime.isBefore(endTime))
+            throw new InvalidBookingException("startTime must be before endTime.");
+
+        if (untilDate.isAfter(series.getUntilDate()))
+            throw new InvalidBookingException("untilDate can only be moved earlier, create a new series to extend it.");
+
+        if (untilDate.isBefore(series.getStartDate()))
+            throw new InvalidBookingException("untilDate cannot be before startDate.");
+    }
+
+    private record Occurrence(long start, long end) {}
+}
@@ -2,17 +2,28 @@ package com.danilo.roombooking.service.booking;
 
 import com.danilo.roombooking.config.security.CustomUserDetails;
 import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
 import com.danilo.roombooking.domain.User;
 import com.danilo.roombooking.domain.privilege.PrivilegeType;
 import com.danilo.roombooking.domain.room.Room;
 import com.danilo.roombooking.domain.room.RoomStatus;
 import com.danilo.roombooking.dto.BookingFilterDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
 import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
 import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.BookingResponseRepository;
+import com.danilo.roombooking.service.locking.VersionCheck;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
 import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.scroll.KeysetScroll;
 import com.danilo.roombooking.service.user.UserService;
 import com.danilo.roombooking.specification.BookingSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,25 +32,37 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final KeysetScroll<Booking> SCROLL =
+        new KeysetScroll<>("startTime", Map.of("startTime", Timestamp.class));
+
     private final UserService userService;
     private final RoomService roomService;
     private final BookingRepository bookingRepository;
+    private final BookingResponseRepository bookingResponseRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingOutbox outbox;
+    private final RoomUtilizationRollup utilizationRollup;
 
     @Transactional
     public Booking create(BookingRequestDTO bookingRequestDTO, CustomUserDetails userDetails) {
-        validateBookingRequest(bookingRequestDTO);
+        BookingRequestValidator.validate(bookingRequestDTO);
+        roomService.lockForBooking(bookingRequestDTO.roomId());
         checkRoomAvailabilityInTimeInterval(bookingRequestDTO);
 
+        // served from the persistence context, the row was loaded by the lock above
         Room room = roomService.getById(bookingRequestDTO.roomId());
         if (room.getStatus() != RoomStatus.AVAILABLE)
-            throw new BookingConflictException();
+            throw new BookingConflictException(room.getId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
 
         User requestedBy = userService.getById(userDetails.getUserId());
         User approvedBy = userDetails.getAuthorities()
@@ -55,39 +78,49 @@ public class BookingService {
             .endTime(bookingRequestDTO.endTime())
             .build();
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.registerSaved(saved);
+        utilizationRollup.recordAdded(saved);
+        outbox.record(BookingEventType.CREATED, saved);
+        return saved;
     }
 
-    public Page<Booking> getAll(Pageable pageable) {
-        return bookingRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getAll(Pageable pageable) {
+        return bookingResponseRepository.findAll(Specification.where(null), pageable);
     }
 
     public Booking getById(Long bookingId) {
         return bookingRepository.findById(bookingId).orElseThrow(BookingNotFoundException::new);
     }
 
-    public Page<Booking> getByUserId(Long userId, Pageable pageable) {
-        return bookingRepository.findByRequestedById(userId, pageable);
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getByUserId(Long userId, Pageable pageable) {
+        return bookingResponseRepository.findAll(BookingSpecification.hasRequestedByEquals(userId), pageable);
     }
 
-    public Page<Booking> getByRoomId(Long roomId, Pageable pageable) {
-        return bookingRepository.findByRoomId(roomId, pageable);
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getByRoomId(Long roomId, Pageable pageable) {
+        return bookingResponseRepository.findAll(BookingSpecification.hasRoomId(roomId), pageable);
     }
 
-    public Page<Booking> getFilter(BookingFilterDTO bookingFilterDTO, Pageable pageable) {
-        Specification<Booking> spec = Specification
-            .where(BookingSpecification.hasRoomId(bookingFilterDTO.roomId()))
-            .and(BookingSpecification.hasRequestedByEquals(bookingFilterDTO.requestedBy()))
-            .and(BookingSpecification.hasApprovedByEquals(bookingFilterDTO.approvedBy()))
-            .and(BookingSpecification.hasStartTimeGreaterThanOrEqualTo(bookingFilterDTO.minStartTime()))
-            .and(BookingSpecification.hasEndTimeLessThanOrEqualTo(bookingFilterDTO.maxEndTime()));
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> getFilter(BookingFilterDTO bookingFilterDTO, Pageable pageable) {
+        Specification<Booking> spec = BookingSpecification.matches(bookingFilterDTO);
+
+        return bookingResponseRepository.findAll(spec, pageable);
+    }
 
-        return bookingRepository.findAll(spec, pageable);
+    // Sorted by start time through IX_Booking_StartTime, or IX_Booking when filtered by room.
+    @Transactional(readOnly = true)
+    public ScrollPageDTO<Booking> scroll(BookingFilterDTO bookingFilterDTO, String sort, String cursor, int size) {
+        return SCROLL.scroll(bookingRepository, BookingSpecification.matches(bookingFilterDTO), sort, cursor, size);
     }
 
     @Transactional
-    public Booking update(Long bookingId, BookingRequestDTO bookingRequestDTO) {
+    public Booking update(Long bookingId, BookingRequestDTO bookingRequestDTO, Long expectedVersion) {
         Booking booking = getById(bookingId);
+        VersionCheck.require(expectedVersion, booking.getVersion());
 
         Timestamp startTime = bookingRequestDTO.startTime();
         Timestamp endTime = bookingRequestDTO.endTime();
@@ -98,62 +131,87 @@ public class BookingService {
             endTime != null ? endTime : booking.getEndTime()
         );
 
+        BookingRequestValidator.validateTimeRange(updateDTO.startTime(), updateDTO.endTime());
+        roomService.lockForBooking(updateDTO.roomId());
         checkRoomUpdateAvailabilityInTimeInterval(bookingId, updateDTO);
 
+        boolean freesTime = updateDTO.startTime().after(booking.getStartTime())
+            || updateDTO.endTime().before(booking.getEndTime());
+        BookingSlotFreedEvent freed = new BookingSlotFreedEvent(
+            updateDTO.roomId(), booking.getStartTime(), booking.getEndTime());
+
+        utilizationRollup.recordMoved(updateDTO.roomId(), booking.getStartTime(), booking.getEndTime(),
+            updateDTO.startTime(), updateDTO.endTime());
         booking.setStartTime(updateDTO.startTime());
         booking.setEndTime(updateDTO.endTime());
+        availabilityIndex.registerSaved(booking);
+        outbox.record(BookingEventType.UPDATED, booking);
+        if (freesTime) eventPublisher.publishEvent(freed);
 
         return booking;
     }
 
     @Transactional
-    public Booking approveBooking(Long bookingId, CustomUserDetails userDetails) {
+    public Booking approveBooking(Long bookingId, CustomUserDetails userDetails, Long expectedVersion) {
         Booking booking = getById(bookingId);
+        VersionCheck.require(expectedVersion, booking.getVersion());
         User approvedBy = userService.getById(userDetails.getUserId());
 
         booking.setApproved(true);
         booking.setApprovedBy(approvedBy);
+        outbox.record(BookingEventType.APPROVED, booking);
 
         return booking;
     }
 
+    // The room lock keeps a utilization rebuild of the room from counting this booking after it is gone.
+    @Transactional
     public void delete(Long bookingId) {
         if (!bookingRepository.existsById(bookingId)) {
             throw new BookingNotFoundException();
         }
+        Optional<BookingIntervalDTO> interval = bookingRepository.findIntervalById(bookingId);
+        interval.ifPresent(freed -> roomService.lockForBooking(freed.roomId()));
+        interval.ifPresent(bookingJdbcRepository::insertTombstone);
         bookingRepository.deleteById(bookingId);
+        availabilityIndex.registerDeleted(bookingId);
+        interval.ifPresent(freed -> {
+            utilizationRollup.recordRemoved(freed);
+            outbox.recordDeleted(freed);
+            eventPublisher.publishEvent(new BookingSlotFreedEvent(freed.roomId(), freed.startTime(), freed.endTime()));
+        });
     }
 
-    private void validateBookingRequest(BookingRequestDTO bookingRequestDTO) {
-        if (bookingRequestDTO.startTime() == null)
-            throw new InvalidBookingException("startTime is required.");
-
-        if (bookingRequestDTO.endTime() == null)
-            throw new InvalidBookingException("endTime is required.");
-
-        if (bookingRequestDTO.roomId() == null)
-            throw new InvalidBookingException("roomId is required.");
+    // A held slot counts as taken, its holder books it by confirming the hold. Also used when placing holds.
+    // The index answers only while it is enabled, which is safe for a single instance: another instance's
+    // commits never reach it, so multi-instance deployments disable it and the check reads the table.
+    void checkRoomAvailabilityInTimeInterval(BookingRequestDTO bookingRequestDTO) {
+        if (holdIndex.overlaps(bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime()))
+            throw conflict(bookingRequestDTO);
 
-        if (bookingRequestDTO.startTime().after(bookingRequestDTO.endTime()))
-            throw new InvalidBookingException("startTime cannot be after endTime.");
+        boolean isUnavailable = availabilityIndex.covers(bookingRequestDTO.startTime())
+            ? availabilityIndex.overlaps(bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime())
+            : bookingRepository.isRoomBookedDuringTimeRange(
+                bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
 
-        Timestamp secondsAgo = Timestamp.from(Instant.now().minus(10, ChronoUnit.SECONDS));
-        if (bookingRequestDTO.startTime().before(secondsAgo))
-            throw new InvalidBookingException("startTime cannot be in the past.");
+        if (isUnavailable) throw conflict(bookingRequestDTO);
     }
 
-    private void checkRoomAvailabilityInTimeInterval(BookingRequestDTO bookingRequestDTO) {
-        boolean isUnavailable = bookingRepository.isRoomBookedDuringTimeRange(
-            bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
+    private void checkRoomUpdateAvailabilityInTimeInterval(Long bookingId, BookingRequestDTO bookingRequestDTO) {
+        if (holdIndex.overlaps(bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime()))
+            throw conflict(bookingRequestDTO);
 
-        if (isUnavailable) throw new BookingConflictException();
-    }
+        boolean conflicts = availabilityIndex.covers(bookingRequestDTO.startTime())
+            ? availabilityIndex.overlaps(bookingRequestDTO.roomId(), bookingId, bookingRequestDTO.startTime(), bookingRequestDTO.endTime())
+            : bookingRepository.isRoomBookedDuringTimeRangeExcludingCurrentBooking(
+                bookingRequestDTO.roomId(), bookingId, bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
 
-    private void checkRoomUpdateAvailabilityInTimeInterval(Long bookingId, BookingRequestDTO bookingRequestDTO) {
-        boolean conflicts = bookingRepository.isRoomBookedDuringTimeRangeExcludingCurrentBooking(
-            bookingRequestDTO.roomId(), bookingId, bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
+        if (conflicts) throw conflict(bookingRequestDTO);
+    }
 
-        if (conflicts) throw new BookingConflictException();
+    private static BookingConflictException conflict(BookingRequestDTO bookingRequestDTO) {
+        return new BookingConflictException(
+            bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime());
     }
 
 }
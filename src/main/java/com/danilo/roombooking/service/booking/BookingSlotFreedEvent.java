@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.booking;
+
+import java.sql.Timestamp;
+
+// Published when a booking is deleted or no longer covers [startTime, endTime) of its room.
+public record BookingSlotFreedEvent(Long roomId, Timestamp startTime, Timestamp endTime) {
+}
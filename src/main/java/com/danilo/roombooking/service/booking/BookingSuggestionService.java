@@ -0,0 +1,129 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.domain.BookingHold;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingConflictDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.BookingRoomSuggestionDTO;
+import com.danilo.roombooking.dto.BookingSlotDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.RoomRepository;
+import com.danilo.roombooking.specification.RoomSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Alternatives to a slot that could not be booked: the nearest free slots of the same length in the same room
+ * within booking.suggestions.search-window either side, found by walking the gaps between the bookings and
+ * holds of one bounded range query, and rooms of the same type and at least the same capacity that are free
+ * for the slot, smallest first, from one limited query.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingSuggestionService {
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHoldIndex holdIndex;
+
+    @Value("${booking.suggestions.search-window:PT4H}")
+    private Duration searchWindow;
+
+    @Value("${booking.suggestions.max-slots:3}")
+    private int maxSlots;
+
+    @Value("${booking.suggestions.max-rooms:5}")
+    private int maxRooms;
+
+    private Clock clock = Clock.systemUTC();
+
+    @Transactional(readOnly = true)
+    public BookingConflictDTO suggest(BookingConflictException conflict) {
+        Long roomId = conflict.getRoomId();
+        Timestamp startTime = conflict.getStartTime();
+        Timestamp endTime = conflict.getEndTime();
+        if (roomId == null || startTime == null || endTime == null || !startTime.before(endTime))
+            return new BookingConflictDTO(conflict.getMessage(), List.of(), List.of());
+
+        Room room = roomRepository.findById(roomId).orElse(null);
+        if (room == null)
+            return new BookingConflictDTO(conflict.getMessage(), List.of(), List.of());
+
+        List<BookingSlotDTO> freeSlots = room.getStatus() == RoomStatus.AVAILABLE
+            ? findFreeSlots(roomId, startTime, endTime) : List.of();
+        return new BookingConflictDTO(conflict.getMessage(), freeSlots, findFreeRooms(room, startTime, endTime));
+    }
+
+    private List<BookingSlotDTO> findFreeSlots(Long roomId, Timestamp startTime, Timestamp endTime) {
+        long from = Math.max(startTime.getTime() - searchWindow.toMillis(), clock.millis());
+        long to = endTime.getTime() + searchWindow.toMillis();
+        if (to - from < endTime.getTime() - startTime.getTime()) return List.of();
+
+        Timestamp windowStart = new Timestamp(from);
+        Timestamp windowEnd = new Timestamp(to);
+        List<long[]> taken = new ArrayList<>();
+        for (BookingIntervalDTO booking : bookingRepository.findIntervalsByRoomIdDuringTimeRange(roomId, windowStart, windowEnd))
+            taken.add(new long[]{booking.startTime().getTime(), booking.endTime().getTime()});
+        for (BookingHold hold : holdIndex.findLive(roomId, windowStart, windowEnd))
+            taken.add(new long[]{hold.startTime().getTime(), hold.endTime().getTime()});
+        taken.sort(Comparator.comparingLong(interval -> interval[0]));
+
+        return nearestFreeSlots(taken, startTime.getTime(), endTime.getTime(), from, to, maxSlots);
+    }
+
+    // Holds are not in the query, so a room with a hold over the slot is dropped and the list can come up short.
+    private List<BookingRoomSuggestionDTO> findFreeRooms(Room room, Timestamp startTime, Timestamp endTime) {
+        Specification<Room> spec = Specification
+            .where(RoomSpecification.isNot(room.getId()))
+            .and(RoomSpecification.hasType(room.getType()))
+            .and(RoomSpecification.hasCapacityGreaterThanOrEqualTo(room.getCapacity()))
+            .and(RoomSpecification.hasStatus(RoomStatus.AVAILABLE))
+            .and(RoomSpecification.isFreeBetween(startTime, endTime));
+
+        return roomRepository.findBy(spec, query -> query.sortBy(Sort.by("capacity", "id")).limit(maxRooms).all())
+            .stream()
+            .filter(candidate -> !holdIndex.overlaps(candidate.getId(), startTime, endTime))
+            .map(BookingRoomSuggestionDTO::new)
+            .toList();
+    }
+
+    // Places the slot in each gap between the taken intervals, sorted by start, of [from, to) that fits it, as
+    // close to the requested start as the gap allows, and keeps the closest ones.
+    static List<BookingSlotDTO> nearestFreeSlots(List<long[]> taken, long start, long end, long from, long to,
+                                                 int limit) {
+        long length = end - start;
+        List<long[]> candidates = new ArrayList<>();
+
+        long gapStart = from;
+        for (long[] interval : taken) {
+            if (interval[0] - gapStart >= length)
+                candidates.add(place(gapStart, interval[0], start, length));
+            gapStart = Math.max(gapStart, interval[1]);
+        }
+        if (to - gapStart >= length)
+            candidates.add(place(gapStart, to, start, length));
+
+        return candidates.stream()
+            .sorted(Comparator.comparingLong((long[] slot) -> Math.abs(slot[0] - start)).thenComparingLong(slot -> slot[0]))
+            .limit(limit)
+            .map(slot -> new BookingSlotDTO(new Timestamp(slot[0]), new Timestamp(slot[1])))
+            .toList();
+    }
+
+    private static long[] place(long gapStart, long gapEnd, long start, long length) {
+        long slotStart = Math.min(Math.max(start, gapStart), gapEnd - length);
+        return new long[]{slotStart, slotStart + length};
+    }
+}
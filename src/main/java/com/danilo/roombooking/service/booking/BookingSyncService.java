@@ -0,0 +1,78 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.dto.BookingChangeDTO;
+import com.danilo.roombooking.dto.BookingChangesDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.room.RoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Incremental sync of a room's bookings: a client sends the token it got last time and receives only the
+ * bookings whose UpdatedAt moved since, plus tombstones of the deleted ones. Each sync reads the window
+ * [since, until), where until trails the clock by a lag so that a transaction still open when the window closes
+ * does not commit a change inside it afterwards. Tombstones are kept for the retention period; an older token
+ * may have missed deletes and is rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingSyncService {
+
+    private final RoomService roomService;
+    private final BookingJdbcRepository bookingJdbcRepository;
+
+    @Value("${booking.sync.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${booking.sync.lag:PT5S}")
+    private Duration lag;
+
+    @Value("${booking.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    private Clock clock = Clock.systemUTC();
+
+    public BookingChangesDTO getChanges(Long roomId, String token, Integer limit) {
+        int pageSize = limit != null ? limit : maxPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize)
+            throw new InvalidBookingException("limit must be between 1 and " + maxPageSize + ".");
+
+        roomService.getById(roomId);
+
+        Instant now = clock.instant();
+        BookingSyncToken from = token != null ? BookingSyncToken.parse(token) : BookingSyncToken.initial();
+        if (token != null && (from.until() != null ? from.until() : from.since()).isBefore(now.minus(tombstoneRetention)))
+            throw new BookingSyncTokenExpiredException();
+
+        Instant until = from.until() != null ? from.until() : now.minus(lag).truncatedTo(ChronoUnit.SECONDS);
+        if (!until.isAfter(from.since()))
+            return new BookingChangesDTO(List.of(), from.encode(), false);
+
+        List<BookingChangeDTO> changes = bookingJdbcRepository.findChanges(roomId, Timestamp.from(from.since()),
+            from.afterId(), Timestamp.from(until), pageSize + 1);
+        if (changes.size() <= pageSize)
+            return new BookingChangesDTO(changes, new BookingSyncToken(until, 0, null).encode(), false);
+
+        changes = changes.subList(0, pageSize);
+        BookingChangeDTO last = changes.get(pageSize - 1);
+        BookingSyncToken next = new BookingSyncToken(last.changedAt().toInstant(), last.id(), until);
+        return new BookingChangesDTO(List.copyOf(changes), next.encode(), true);
+    }
+
+    @Scheduled(cron = "${booking.sync.tombstone-purge-cron:0 15 4 * * *}")
+    public void purgeTombstones() {
+        int purged = bookingJdbcRepository.deleteTombstonesBefore(Timestamp.from(clock.instant().minus(tombstoneRetention)));
+        if (purged > 0) log.info("Purged {} booking tombstones", purged);
+    }
+}
@@ -0,0 +1,36 @@
+package com.danilo.roombooking.service.booking;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Position in a room's change feed: changes at or after since, past (since, afterId) in (changedAt, id) order.
+// until is set while paging through a window, so every page of it sees the same upper bound.
+record BookingSyncToken(Instant since, long afterId, Instant until) {
+
+    private static final String VERSION = "1";
+
+    static BookingSyncToken initial() {
+        return new BookingSyncToken(Instant.EPOCH, 0, null);
+    }
+
+    static BookingSyncToken parse(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 4 || !parts[0].equals(VERSION)) throw new IllegalArgumentException();
+
+            return new BookingSyncToken(
+                Instant.ofEpochSecond(Long.parseLong(parts[1])),
+                Long.parseLong(parts[2]),
+                parts[3].isEmpty() ? null : Instant.ofEpochSecond(Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBookingException("Invalid sync token.");
+        }
+    }
+
+    String encode() {
+        String value = VERSION + ":" + since.getEpochSecond() + ":" + afterId + ":"
+            + (until != null ? until.getEpochSecond() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
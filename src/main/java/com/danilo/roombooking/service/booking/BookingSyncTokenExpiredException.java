@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.booking;
+
+public class BookingSyncTokenExpiredException extends RuntimeException {
+    public BookingSyncTokenExpiredException() {
+        super("Sync token expired, sync again without a token.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.booking;
+
+public class BookingWaitlistEntryNotFoundException extends RuntimeException {
+    public BookingWaitlistEntryNotFoundException() {
+        super("Waitlist entry not found.");
+    }
+}
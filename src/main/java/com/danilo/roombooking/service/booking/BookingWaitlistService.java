@@ -0,0 +1,233 @@
+package com.danilo.roombooking.service.booking;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.BookingWaitlistEntry;
+import com.danilo.roombooking.domain.BookingWaitlistStatus;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.BookingWaitlistRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Queues booking requests that conflicted and books them as soon as their slot frees up. Waiting requests
+ * are kept per room in memory, so deleting or shortening a booking only touches the database when someone
+ * is actually waiting for that room and time. The Booking_Waitlist table stays the source of truth and the
+ * queues are reloaded from it periodically.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingWaitlistService {
+
+    private final RoomService roomService;
+    private final UserService userService;
+    private final BookingRepository bookingRepository;
+    private final BookingWaitlistRepository waitlistRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingHoldIndex holdIndex;
+    private final BookingInsertService bookingInsertService;
+    private final BookingOutbox outbox;
+    private final RoomUtilizationRollup utilizationRollup;
+    private final TransactionTemplate transactionTemplate;
+
+    // waiting requests by room, in priority (first come, first served) order
+    private Map<Long, NavigableMap<Long, Waiting>> queues = new HashMap<>();
+
+    public record Outcome(Booking booking, BookingWaitlistEntry entry) {}
+
+    private record Waiting(Long id, long start, long end) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    // Expires requests whose slot has started and picks up requests queued by other instances.
+    @Scheduled(fixedDelayString = "${booking.waitlist.refresh-interval:PT5M}",
+        initialDelayString = "${booking.waitlist.refresh-interval:PT5M}")
+    @Transactional
+    public void refresh() {
+        int expired = waitlistRepository.expireStartedBefore(new Timestamp(System.currentTimeMillis()));
+        if (expired > 0) log.info("Expired {} waitlisted booking requests", expired);
+        reload();
+    }
+
+    // Not transactional: a conflicting create rolls back its own transaction before the request is queued.
+    public Outcome createOrEnqueue(BookingRequestDTO bookingRequestDTO, CustomUserDetails userDetails) {
+        try {
+            return new Outcome(bookingInsertService.create(bookingRequestDTO, userDetails), null);
+        } catch (BookingConflictException e) {
+            return new Outcome(null, enqueue(bookingRequestDTO, userDetails));
+        }
+    }
+
+    public BookingWaitlistEntry enqueue(BookingRequestDTO bookingRequestDTO, CustomUserDetails userDetails) {
+        BookingRequestValidator.validate(bookingRequestDTO);
+        Room room = roomService.getById(bookingRequestDTO.roomId());
+        User requestedBy = userService.getById(userDetails.getUserId());
+
+        BookingWaitlistEntry entry = waitlistRepository.save(BookingWaitlistEntry.builder()
+            .room(room)
+            .requestedBy(requestedBy)
+            .autoApprove(userDetails.getAuthorities()
+                .contains(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name())))
+            .startTime(bookingRequestDTO.startTime())
+            .endTime(bookingRequestDTO.endTime())
+            .status(BookingWaitlistStatus.WAITING)
+            .build());
+
+        Waiting waiting = new Waiting(entry.getId(), entry.getStartTime().getTime(), entry.getEndTime().getTime());
+        afterCommit(() -> add(room.getId(), waiting));
+
+        // a slot freed after the conflicting create but before the add above found nobody waiting for it
+        if (holdIndex.overlaps(room.getId(), entry.getStartTime(), entry.getEndTime())
+            || bookingRepository.isRoomBookedDuringTimeRange(room.getId(), entry.getStartTime(), entry.getEndTime()))
+            return entry;
+
+        BookingSlotFreedEvent freed = new BookingSlotFreedEvent(room.getId(), entry.getStartTime(), entry.getEndTime());
+        transactionTemplate.execute(status -> {
+            onSlotFreed(freed);
+            return null;
+        });
+        return waitlistRepository.findById(entry.getId()).orElse(entry);
+    }
+
+    public BookingWaitlistEntry getById(Long id) {
+        return waitlistRepository.findById(id).orElseThrow(BookingWaitlistEntryNotFoundException::new);
+    }
+
+    @Transactional
+    public void cancel(Long id) {
+        BookingWaitlistEntry entry = getById(id);
+        if (entry.getStatus() != BookingWaitlistStatus.WAITING) return;
+
+        entry.setStatus(BookingWaitlistStatus.CANCELLED);
+        Long roomId = entry.getRoom().getId();
+        afterCommit(() -> remove(roomId, id));
+    }
+
+    // Runs after the freeing transaction commits, in a new one. Requests are tried in priority order and
+    // each one that fits is booked, so later requests are checked against the ones promoted before them.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSlotFreed(BookingSlotFreedEvent event) {
+        List<Waiting> candidates = candidates(event.roomId(), event.startTime().getTime(), event.endTime().getTime());
+        if (candidates.isEmpty()) return;
+
+        Room room = roomService.lockForBooking(event.roomId());
+        if (room.getStatus() != RoomStatus.AVAILABLE) return;
+
+        Map<Long, BookingWaitlistEntry> entries = waitlistRepository
+            .findAllById(candidates.stream().map(Waiting::id).toList()).stream()
+            .collect(Collectors.toMap(BookingWaitlistEntry::getId, Function.identity()));
+        long now = System.currentTimeMillis();
+
+        for (Waiting waiting : candidates) {
+            BookingWaitlistEntry entry = entries.get(waiting.id());
+            if (entry == null || entry.getStatus() != BookingWaitlistStatus.WAITING) {
+                afterCommit(() -> remove(room.getId(), waiting.id()));
+                continue;
+            }
+            if (waiting.start() < now) {
+                entry.setStatus(BookingWaitlistStatus.EXPIRED);
+                afterCommit(() -> remove(room.getId(), waiting.id()));
+                continue;
+            }
+            if (holdIndex.overlaps(room.getId(), entry.getStartTime(), entry.getEndTime())
+                || bookingRepository.isRoomBookedDuringTimeRange(room.getId(), entry.getStartTime(), entry.getEndTime()))
+                continue;
+
+            Booking booking = bookingRepository.save(Booking.builder()
+                .room(room)
+                .requestedBy(entry.getRequestedBy())
+                .approvedBy(Boolean.TRUE.equals(entry.getAutoApprove()) ? entry.getRequestedBy() : null)
+                .approved(Boolean.TRUE.equals(entry.getAutoApprove()))
+                .startTime(entry.getStartTime())
+                .endTime(entry.getEndTime())
+                .build());
+            availabilityIndex.registerSaved(booking);
+            utilizationRollup.recordAdded(booking);
+            outbox.record(BookingEventType.CREATED, booking);
+
+            entry.setStatus(BookingWaitlistStatus.PROMOTED);
+            entry.setBookingId(booking.getId());
+            afterCommit(() -> remove(room.getId(), waiting.id()));
+            log.debug("Promoted waitlisted request {} to booking {}", entry.getId(), booking.getId());
+        }
+    }
+
+    private synchronized void reload() {
+        Map<Long, NavigableMap<Long, Waiting>> loaded = new HashMap<>();
+        for (BookingWaitlistEntry entry : waitlistRepository.findByStatusOrderByIdAsc(BookingWaitlistStatus.WAITING)) {
+            loaded.computeIfAbsent(entry.getRoom().getId(), roomId -> new TreeMap<>())
+                .put(entry.getId(), new Waiting(entry.getId(), entry.getStartTime().getTime(), entry.getEndTime().getTime()));
+        }
+        queues = loaded;
+    }
+
+    private synchronized void add(Long roomId, Waiting waiting) {
+        queues.computeIfAbsent(roomId, id -> new TreeMap<>()).put(waiting.id(), waiting);
+    }
+
+    private synchronized void remove(Long roomId, Long id) {
+        NavigableMap<Long, Waiting> queue = queues.get(roomId);
+        if (queue == null) return;
+
+        queue.remove(id);
+        if (queue.isEmpty()) queues.remove(roomId);
+    }
+
+    private synchronized List<Waiting> candidates(Long roomId, long start, long end) {
+        NavigableMap<Long, Waiting> queue = queues.get(roomId);
+        if (queue == null) return List.of();
+
+        return queue.values().stream()
+            .filter(waiting -> waiting.start() < end && waiting.end() > start)
+            .toList();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
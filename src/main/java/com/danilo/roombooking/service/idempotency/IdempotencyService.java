@@ -0,0 +1,217 @@
+package com.danilo.roombooking.service.idempotency;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.dto.IdempotentResponseDTO;
+import com.danilo.roombooking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes create endpoints safe to retry. The first response for an Idempotency-Key is stored in the
+ * Idempotency_Record table, and in a bounded in-memory cache in front of it, and replayed to later requests
+ * with the same key. Concurrent requests with a key are collapsed onto the first one, so the action runs
+ * once. Keys are scoped per endpoint and per caller, and expire after the configured TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:P1D}")
+    private Duration ttl;
+
+    @Value("${idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    // a request still running after this long is assumed lost and its key can be claimed again
+    @Value("${idempotency.abandon-after:PT1M}")
+    private Duration abandonAfter;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final Map<Key, CompletableFuture<IdempotentResponseDTO>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Key, IdempotentResponseDTO> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, IdempotentResponseDTO> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    private record Key(String scope, String owner, String value) {}
+
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, CustomUserDetails caller, Object request,
+                                         Class<T> bodyType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) return action.get();
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH)
+            throw new InvalidIdempotencyKeyException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+
+        Key key = new Key(scope, caller != null ? String.valueOf(caller.getUserId()) : "", idempotencyKey);
+        String requestHash = hash(request);
+
+        IdempotentResponseDTO cached = cached(key);
+        if (cached != null) return replay(cached, requestHash, bodyType);
+
+        CompletableFuture<IdempotentResponseDTO> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponseDTO> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) return replay(await(running), requestHash, bodyType);
+
+        try {
+            IdempotentResponseDTO stored = claimOrFind(key, requestHash);
+            if (stored != null) {
+                remember(key, stored);
+                mine.complete(stored);
+                return replay(stored, requestHash, bodyType);
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                idempotencyRecordRepository.release(key.scope(), key.owner(), key.value());
+                throw e;
+            }
+
+            mine.complete(store(key, requestHash, response));
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}",
+        initialDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(Timestamp.from(clock.instant()));
+        if (purged > 0) log.info("Purged {} expired idempotency records", purged);
+    }
+
+    // Returns null once this request owns the key, or the response of the request that used it before.
+    private IdempotentResponseDTO claimOrFind(Key key, String requestHash) {
+        Instant now = clock.instant();
+        boolean claimed = idempotencyRecordRepository.claim(key.scope(), key.owner(), key.value(), requestHash,
+            Timestamp.from(now), Timestamp.from(now.minus(abandonAfter)), Timestamp.from(now.plus(ttl)));
+        if (claimed) return null;
+
+        // held by a request running on another instance
+        IdempotentResponseDTO stored = idempotencyRecordRepository.find(key.scope(), key.owner(), key.value())
+            .orElse(null);
+        if (stored == null || !stored.isCompleted())
+            throw new IdempotencyKeyInProgressException();
+
+        return stored;
+    }
+
+    private IdempotentResponseDTO store(Key key, String requestHash, ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        IdempotentResponseDTO stored = new IdempotentResponseDTO(
+            requestHash,
+            response.getStatusCode().value(),
+            location != null ? location.toString() : null,
+            response.getBody() != null ? write(response.getBody()) : null,
+            Timestamp.from(clock.instant().plus(ttl)));
+
+        // the action already ran, a failure here must not turn its response into an error
+        try {
+            idempotencyRecordRepository.complete(key.scope(), key.owner(), key.value(),
+                stored.status(), stored.location(), stored.body());
+        } catch (DataAccessException e) {
+            log.warn("Could not store the response for idempotency key {}", key.value(), e);
+        }
+
+        remember(key, stored);
+        return stored;
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponseDTO stored, String requestHash, Class<T> bodyType) {
+        if (!stored.requestHash().equals(requestHash))
+            throw new IdempotencyKeyReusedException();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) response.location(URI.create(stored.location()));
+        return response.body(stored.body() != null ? read(stored.body(), bodyType) : null);
+    }
+
+    private IdempotentResponseDTO cached(Key key) {
+        synchronized (cache) {
+            IdempotentResponseDTO cached = cache.get(key);
+            if (cached == null || cached.expiresAt().toInstant().isAfter(clock.instant())) return cached;
+
+            cache.remove(key);
+            return null;
+        }
+    }
+
+    private void remember(Key key, IdempotentResponseDTO stored) {
+        synchronized (cache) {
+            cache.put(key, stored);
+        }
+    }
+
+    // Waiters get the first request's response, or the exception it failed with.
+    private static IdempotentResponseDTO await(CompletableFuture<IdempotentResponseDTO> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the request.", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the response.", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> bodyType) {
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not deserialize the stored response.", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.idempotency;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,115 @@
+package com.danilo.roombooking.service.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so files of any size are parsed in constant memory. Fields may be
+ * quoted, with "" standing for a quote and line breaks allowed inside quotes. Blank lines are skipped.
+ */
+public final class CsvReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    private int pending = -2;
+
+    public CsvReader(InputStream inputStream) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    // The line the last record returned by next() started on, counting from 1.
+    public long recordLine() {
+        return recordLine;
+    }
+
+    // Returns the next record's fields, or null at the end of the input.
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') c = skipLineBreak(c);
+        if (c == -1) return null;
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+
+        while (true) {
+            if (c == '"' && field.isEmpty()) {
+                c = readQuoted(field);
+            }
+
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                c = read();
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) unread(skipLineBreak(c));
+                return fields;
+            } else {
+                field.append((char) c);
+                c = read();
+            }
+        }
+    }
+
+    // Reads a quoted field after its opening quote and returns the character following the closing one.
+    private int readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1)
+                throw new MalformedCsvException("unterminated quoted field starting at line " + recordLine + ".");
+
+            if (c == '"') {
+                int next = read();
+                if (next != '"') return next;
+            } else if (c == '\n') {
+                line++;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') unread(next);
+                field.append('\n');
+                line++;
+                continue;
+            }
+            field.append((char) c);
+        }
+    }
+
+    // Consumes a line break starting with c and returns the character after it.
+    private int skipLineBreak(int c) throws IOException {
+        line++;
+        int next = read();
+        if (c == '\r' && next == '\n') next = read();
+        return next;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+
+    public static final class MalformedCsvException extends IOException {
+        public MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
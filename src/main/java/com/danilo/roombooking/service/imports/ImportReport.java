@@ -0,0 +1,34 @@
+package com.danilo.roombooking.service.imports;
+
+import com.danilo.roombooking.dto.ImportErrorDTO;
+import com.danilo.roombooking.dto.ImportReportDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Counts imported and rejected rows, keeping the errors of the first maxErrors rejected ones so a file with
+// millions of bad rows does not build a report of the same size.
+public final class ImportReport {
+
+    private final int maxErrors;
+    private final List<ImportErrorDTO> errors = new ArrayList<>();
+    private int imported;
+    private int failed;
+
+    public ImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void failed(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) errors.add(new ImportErrorDTO(line, message));
+    }
+
+    public ImportReportDTO toDTO() {
+        return new ImportReportDTO(imported, failed, List.copyOf(errors), failed > errors.size());
+    }
+}
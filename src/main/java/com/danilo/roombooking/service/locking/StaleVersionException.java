@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.locking;
+
+public class StaleVersionException extends RuntimeException {
+    public StaleVersionException() {
+        super("The resource was modified since it was read.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.danilo.roombooking.service.locking;
+
+public final class VersionCheck {
+
+    private VersionCheck() {
+    }
+
+    // A null expected version means the caller did not send If-Match and accepts whatever is current.
+    public static void require(Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion))
+            throw new StaleVersionException();
+    }
+}
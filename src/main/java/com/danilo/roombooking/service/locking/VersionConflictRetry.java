@@ -0,0 +1,46 @@
+package com.danilo.roombooking.service.locking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write again when it loses a race with a concurrent update of the same versioned row. The action must
+ * start its own transaction, so every attempt reloads the entity and sees the committed version. Callers that
+ * sent If-Match fail with {@link StaleVersionException} on the next attempt instead of overwriting the change.
+ */
+@Slf4j
+@Component
+public class VersionConflictRetry {
+
+    @Value("${optimistic-locking.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${optimistic-locking.backoff:PT0.05S}")
+    private Duration backoff;
+
+    public <T> T run(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) throw e;
+                log.debug("Version conflict on attempt {} of {}, retrying", attempt, maxAttempts);
+                pause(backoff.multipliedBy(attempt));
+            }
+        }
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry.", e);
+        }
+    }
+}
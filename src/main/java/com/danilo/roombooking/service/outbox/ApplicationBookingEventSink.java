@@ -0,0 +1,24 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hands each event to in-process listeners of BookingEventDTO, synchronously on the relay thread, so a slow
+// listener slows the relay down instead of queueing events in memory.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "application", matchIfMissing = true)
+public class ApplicationBookingEventSink implements BookingEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<BookingEventDTO> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,11 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+
+import java.util.List;
+
+// Where BookingOutboxRelay delivers booking events, chosen with booking.outbox.sink. Events arrive in outbox
+// order. Returning means the whole batch was accepted; throwing makes the relay send the batch again later.
+public interface BookingEventSink {
+    void publish(List<BookingEventDTO> events);
+}
@@ -0,0 +1,219 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events fan-out of the booking events read by this instance's {@link BookingEventTail}, the single
+ * source for every subscriber. Subscribers are async servlet requests, so an idle one costs no thread. Events are
+ * queued per subscriber and written by a small shared sender pool, so a slow client never holds up the relay
+ * or the other subscribers. A subscriber whose queue fills up is dropped; its EventSource reconnects with
+ * Last-Event-ID and gets what it missed from the recent events kept in memory.
+ */
+@Slf4j
+@Component
+public class BookingEventStream {
+
+    private final int maxSubscribers;
+    private final int maxRooms;
+    private final int queueCapacity;
+    private final int retained;
+    private final Duration timeout;
+    private final ExecutorService sender;
+
+    // all guarded by this
+    private final Map<Long, Set<Subscriber>> byRoom = new HashMap<>();
+    private final Set<Subscriber> subscribers = new HashSet<>();
+    private final LinkedHashMap<Long, BookingEventDTO> recent = new LinkedHashMap<>();
+    // ids sent above settledId, apart from recent so a burst larger than the replay buffer is not sent again
+    private final NavigableSet<Long> sent = new TreeSet<>();
+    private long settledId;
+
+    public BookingEventStream(@Value("${booking.stream.max-subscribers:10000}") int maxSubscribers,
+                              @Value("${booking.stream.max-rooms:100}") int maxRooms,
+                              @Value("${booking.stream.queue-capacity:256}") int queueCapacity,
+                              @Value("${booking.stream.retained-events:1000}") int retained,
+                              @Value("${booking.stream.timeout:PT30M}") Duration timeout,
+                              @Value("${booking.stream.sender-threads:4}") int senderThreads) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxRooms = maxRooms;
+        this.queueCapacity = queueCapacity;
+        this.retained = retained;
+        this.timeout = timeout;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "booking-stream-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Subscribes to the events of the given rooms. With lastEventId, the retained events recorded after it are
+    // sent first; all retained ones if it is too old to be known.
+    public SseEmitter subscribe(Set<Long> roomIds, String lastEventId) {
+        if (roomIds == null || roomIds.isEmpty() || roomIds.size() > maxRooms)
+            throw new InvalidBookingException("Between 1 and " + maxRooms + " roomIds must be given.");
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(roomIds));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        synchronized (this) {
+            if (subscribers.size() >= maxSubscribers)
+                throw new BookingStreamUnavailableException();
+
+            subscribers.add(subscriber);
+            for (Long roomId : subscriber.roomIds)
+                byRoom.computeIfAbsent(roomId, id -> new HashSet<>()).add(subscriber);
+            if (lastEventId != null) replay(subscriber, lastEventId);
+        }
+        return emitter;
+    }
+
+    // The tail reads recent events again until they settle, events already sent are skipped. Returns how
+    // many events were new.
+    public synchronized int publish(List<BookingEventDTO> events) {
+        int published = 0;
+        for (BookingEventDTO event : events) {
+            if (event.id() <= settledId || !sent.add(event.id())) continue;
+
+            recent.put(event.id(), event);
+            published++;
+
+            Set<Subscriber> listening = byRoom.get(event.roomId());
+            if (listening != null)
+                for (Subscriber subscriber : List.copyOf(listening)) subscriber.offer(toSse(event));
+        }
+
+        Iterator<Long> oldest = recent.keySet().iterator();
+        while (recent.size() > retained) {
+            oldest.next();
+            oldest.remove();
+        }
+        return published;
+    }
+
+    // Forgets the sent ids the tail no longer reads, everything up to settledId.
+    public synchronized void settle(long settledId) {
+        if (settledId <= this.settledId) return;
+
+        this.settledId = settledId;
+        sent.headSet(settledId, true).clear();
+    }
+
+    // Keeps idle connections from being closed by proxies and finds clients that went away.
+    @Scheduled(fixedDelayString = "${booking.stream.heartbeat-interval:PT15S}")
+    public synchronized void heartbeat() {
+        for (Subscriber subscriber : List.copyOf(subscribers))
+            subscriber.offer(SseEmitter.event().comment("keepalive"));
+    }
+
+    public synchronized int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        boolean after = !recent.containsKey(parseId(lastEventId));
+        for (BookingEventDTO event : recent.values()) {
+            if (after && subscriber.roomIds.contains(event.roomId())) subscriber.offer(toSse(event));
+            if (event.id().toString().equals(lastEventId)) after = true;
+        }
+    }
+
+    private synchronized void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) return;
+
+        for (Long roomId : subscriber.roomIds) {
+            Set<Subscriber> listening = byRoom.get(roomId);
+            if (listening == null) continue;
+            listening.remove(subscriber);
+            if (listening.isEmpty()) byRoom.remove(roomId);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(BookingEventDTO event) {
+        return SseEmitter.event()
+            .id(event.id().toString())
+            .name(event.type().name().toLowerCase(Locale.ROOT))
+            .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> roomIds;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<Long> roomIds) {
+            this.emitter = emitter;
+            this.roomIds = roomIds;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                log.debug("Dropping booking stream subscriber that fell {} events behind", queueCapacity);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) sender.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // the client went away, the container completes the emitter
+                remove(this);
+                pending.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) sender.execute(this::drain);
+        }
+    }
+}
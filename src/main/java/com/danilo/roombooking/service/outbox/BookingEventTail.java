@@ -0,0 +1,71 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.repository.BookingOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Feeds this instance's {@link BookingEventStream} by reading Booking_Outbox in id order, so every instance
+ * streams every event whichever instance relays it. Ids are taken in insert order but committed in any order,
+ * so events younger than a lag are read again on the next run in case an older id commits behind them; the
+ * stream skips the ones it already sent until told they settled. Like incremental sync, a transaction that
+ * stays open for longer than the lag after writing its event is not streamed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingEventTail {
+
+    private final BookingOutboxRepository outboxRepository;
+    private final BookingEventStream stream;
+
+    @Value("${booking.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.stream.lag:PT5S}")
+    private Duration lag;
+
+    private Clock clock = Clock.systemUTC();
+
+    // every event up to this id is settled and has been streamed
+    private long settledId;
+
+    @Scheduled(fixedDelayString = "${booking.stream.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (!enabled) return;
+
+        try {
+            Instant settledBefore = clock.instant().minus(lag);
+            boolean settled = true;
+            long afterId = settledId;
+            List<BookingEventDTO> events;
+            do {
+                events = outboxRepository.findAfter(afterId, batchSize);
+                if (events.isEmpty()) break;
+
+                stream.publish(events);
+                for (BookingEventDTO event : events) {
+                    settled = settled && event.occurredAt().toInstant().isBefore(settledBefore);
+                    if (settled) settledId = event.id();
+                }
+                afterId = events.get(events.size() - 1).id();
+            } while (events.size() == batchSize);
+            stream.settle(settledId);
+        } catch (DataAccessException e) {
+            log.warn("Reading booking events for the stream failed", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.repository.BookingOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+// Records booking lifecycle events in Booking_Outbox as part of the transaction that changes the booking,
+// so an event exists if and only if its change committed. BookingOutboxRelay delivers them.
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    private final BookingOutboxRepository outboxRepository;
+
+    @Value("${booking.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType type, Booking booking) {
+        if (!enabled) return;
+
+        outboxRepository.append(type, booking.getId(), booking.getRoom().getId(),
+            booking.getRequestedBy() != null ? booking.getRequestedBy().getId() : null,
+            booking.getApproved(), booking.getStartTime(), booking.getEndTime());
+    }
+
+    // One batched insert for bookings written together, e.g. by a batch create or a series.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(BookingEventType type, Collection<Booking> bookings) {
+        if (!enabled || bookings.isEmpty()) return;
+
+        outboxRepository.appendAll(bookings.stream()
+            .map(booking -> new BookingEventDTO(null, type, booking.getId(), booking.getRoom().getId(),
+                booking.getRequestedBy() != null ? booking.getRequestedBy().getId() : null,
+                booking.getApproved(), booking.getStartTime(), booking.getEndTime(), null))
+            .toList());
+    }
+
+    // For bookings changed by a set-based UPDATE, whose new state is only known to the database.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(BookingEventType type, Collection<Long> bookingIds) {
+        if (!enabled || bookingIds.isEmpty()) return;
+
+        outboxRepository.appendFromBookings(type, bookingIds);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAllDeleted(Collection<BookingIntervalDTO> deleted) {
+        if (!enabled || deleted.isEmpty()) return;
+
+        outboxRepository.appendAll(deleted.stream()
+            .map(interval -> new BookingEventDTO(null, BookingEventType.DELETED, interval.id(), interval.roomId(),
+                null, null, interval.startTime(), interval.endTime(), null))
+            .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(BookingIntervalDTO deleted) {
+        if (!enabled) return;
+
+        outboxRepository.append(BookingEventType.DELETED, deleted.id(), deleted.roomId(), null, null,
+            deleted.startTime(), deleted.endTime());
+    }
+}
@@ -0,0 +1,112 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.repository.BookingOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the events in Booking_Outbox to the {@link BookingEventSink}, oldest first, in batches that are
+ * marked delivered once the sink accepted them. Delivery is at least once: a batch is sent again if the sink or
+ * the update fails. A failed batch is retried with exponential backoff before anything newer is read, so later
+ * events never overtake earlier ones and a struggling sink makes events wait in the table, not in memory. Only
+ * one instance relays at a time, under a database lock. Delivered events are kept for a while so that
+ * {@link BookingEventTail} on every instance reads them too.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingOutboxRelay {
+
+    private final BookingOutboxRepository outboxRepository;
+    private final BookingEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.outbox.batch-size:500}")
+    private int batchSize;
+
+    // bounds how long one run holds the relay lock when there is a backlog
+    @Value("${booking.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${booking.outbox.retry-backoff:PT1S}")
+    private Duration retryBackoff;
+
+    @Value("${booking.outbox.max-retry-backoff:PT5M}")
+    private Duration maxRetryBackoff;
+
+    // must outlast booking.stream.lag, or an instance may never see an event
+    @Value("${booking.outbox.retention:PT10M}")
+    private Duration retention;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile int failures;
+    private volatile Instant retryAt = Instant.MIN;
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-interval:PT1S}")
+    public void relay() {
+        if (!enabled || clock.instant().isBefore(retryAt) || !running.compareAndSet(false, true)) return;
+
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer delivered = transactionTemplate.execute(status -> relayBatch());
+                if (delivered == null || delivered < batchSize) break;
+            }
+            failures = 0;
+        } catch (RuntimeException e) {
+            int failed = ++failures;
+            Duration backoff = backoff(failed);
+            retryAt = clock.instant().plus(backoff);
+            log.warn("Delivering booking events failed {} time(s) in a row, retrying in {}", failed, backoff, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Runs in one transaction so the relay lock, read and delete share a connection. Returns how many events
+    // were delivered, 0 also when another instance holds the lock.
+    private int relayBatch() {
+        if (!outboxRepository.tryLockRelay()) return 0;
+
+        try {
+            List<BookingEventDTO> events = outboxRepository.findOldest(batchSize);
+            if (events.isEmpty()) return 0;
+
+            sink.publish(events);
+            outboxRepository.markDelivered(events.stream().map(BookingEventDTO::id).toList());
+            return events.size();
+        } finally {
+            outboxRepository.unlockRelay();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.purge-interval:PT1M}",
+        initialDelayString = "${booking.outbox.purge-interval:PT1M}")
+    public void purgeDelivered() {
+        if (!enabled) return;
+
+        int purged = outboxRepository.deleteDeliveredBefore(Timestamp.from(clock.instant().minus(retention)));
+        if (purged > 0) log.debug("Purged {} delivered booking events", purged);
+    }
+
+    private Duration backoff(int failures) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(failures - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+}
@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.outbox;
+
+public class BookingStreamUnavailableException extends RuntimeException {
+    public BookingStreamUnavailableException() {
+        super("Too many open booking streams, try again later.");
+    }
+}
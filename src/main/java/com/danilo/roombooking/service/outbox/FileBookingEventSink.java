@@ -0,0 +1,52 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends events to a file as JSON lines, e.g. for a log shipper to tail. A batch counts as delivered only
+// once it reached the disk.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "file")
+public class FileBookingEventSink implements BookingEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${booking.outbox.file.path:booking-events.jsonl}")
+    private String path;
+
+    @Override
+    public void publish(List<BookingEventDTO> events) {
+        StringBuilder lines = new StringBuilder();
+        for (BookingEventDTO event : events) {
+            try {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize booking event " + event.id() + ".", e);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(path),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append booking events to " + path + ".", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.danilo.roombooking.service.outbox;
+
+import com.danilo.roombooking.dto.BookingEventDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+// POSTs each batch as one JSON array. A timeout or a non-2xx response fails the batch, so the receiver must
+// tolerate getting events again, and can deduplicate them by id.
+@Component
+@ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "webhook")
+public class WebhookBookingEventSink implements BookingEventSink {
+
+    private final RestClient restClient;
+
+    public WebhookBookingEventSink(RestClient.Builder restClientBuilder,
+                                   @Value("${booking.outbox.webhook.url}") String url,
+                                   @Value("${booking.outbox.webhook.timeout:PT10S}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void publish(List<BookingEventDTO> events) {
+        restClient.post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(events)
+            .retrieve()
+            .toBodilessEntity();
+    }
+}
@@ -0,0 +1,172 @@
+package com.danilo.roombooking.service.room;
+
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Booked seconds of each room by weekday and hour of day, hours in booking.time-zone, over a window around
+ * now: the past booking.heatmap.window and the next booking.heatmap.lookahead. A room is one int[7][24],
+ * Monday first, so a heatmap over any set of rooms is merged in memory and requests never read Booking.
+ * Writes are applied once committed; the window slides, and whatever a write committing during a reload
+ * left off, is repaired when the histograms are reloaded every booking.heatmap.refresh-interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomHeatmapIndex {
+
+    static final int DAYS = 7;
+    static final int HOURS = 24;
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+
+    @Value("${booking.heatmap.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.heatmap.window:P90D}")
+    private Duration window;
+
+    @Value("${booking.heatmap.lookahead:P30D}")
+    private Duration lookahead;
+
+    @Value("${booking.time-zone:UTC}")
+    private String timeZone;
+
+    private Clock clock = Clock.systemUTC();
+
+    private volatile Snapshot snapshot;
+
+    // Histograms of [from, to), in epoch millis; windowSeconds holds how much of each cell the window spans.
+    private record Snapshot(long from, long to, ZoneId zone, int[][] windowSeconds, Map<Long, int[][]> rooms) {}
+
+    public record Heatmap(Instant from, Instant to, ZoneId zone, int rooms, long[][] bookedSeconds,
+                          int[][] windowSeconds) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) reload();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.heatmap.refresh-interval:PT1H}",
+        initialDelayString = "${booking.heatmap.refresh-interval:PT1H}")
+    public void refresh() {
+        if (enabled && snapshot != null) reload();
+    }
+
+    // One range scan of Booking over the window. Archived bookings are not read, so the window should stay
+    // shorter than booking.archival.horizon.
+    public void reload() {
+        Instant now = clock.instant();
+        long from = now.minus(window).toEpochMilli();
+        long to = now.plus(lookahead).toEpochMilli();
+        ZoneId zone = ZoneId.of(timeZone);
+
+        int[][] windowSeconds = new int[DAYS][HOURS];
+        accumulate(windowSeconds, from, to, from, to, 1, zone);
+
+        Map<Long, int[][]> rooms = new ConcurrentHashMap<>();
+        bookingJdbcRepository.forEachRoomIntervalBetween(new Timestamp(from), new Timestamp(to), (roomId, start, end) ->
+            accumulate(rooms.computeIfAbsent(roomId, id -> new int[DAYS][HOURS]), start, end, from, to, 1, zone));
+
+        synchronized (this) {
+            snapshot = new Snapshot(from, to, zone, windowSeconds, rooms);
+        }
+        log.info("Room heatmap loaded for {} rooms from {} to {}.", rooms.size(), Instant.ofEpochMilli(from),
+            Instant.ofEpochMilli(to));
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    // Sums the rooms' histograms. Rooms without bookings in the window count towards rooms but add nothing.
+    public Heatmap merge(Collection<Long> roomIds) {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) throw new RoomHeatmapUnavailableException();
+
+        long[][] booked = new long[DAYS][HOURS];
+        for (Long roomId : roomIds) {
+            int[][] cells = current.rooms().get(roomId);
+            if (cells == null) continue;
+
+            for (int day = 0; day < DAYS; day++)
+                for (int hour = 0; hour < HOURS; hour++)
+                    booked[day][hour] += cells[day][hour];
+        }
+        return new Heatmap(Instant.ofEpochMilli(current.from()), Instant.ofEpochMilli(current.to()), current.zone(),
+            roomIds.size(), booked, current.windowSeconds());
+    }
+
+    // Applied after commit so rolled back writes never show; immediately when there is no transaction.
+    public void recordChanged(Collection<BookingIntervalDTO> removed, Collection<BookingIntervalDTO> added) {
+        if (!enabled || snapshot == null || (removed.isEmpty() && added.isEmpty())) return;
+
+        List<BookingIntervalDTO> removedIntervals = List.copyOf(removed);
+        List<BookingIntervalDTO> addedIntervals = List.copyOf(added);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(removedIntervals, addedIntervals);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(removedIntervals, addedIntervals);
+            }
+        });
+    }
+
+    private synchronized void apply(List<BookingIntervalDTO> removed, List<BookingIntervalDTO> added) {
+        Snapshot current = snapshot;
+        removed.forEach(interval -> apply(current, interval, -1));
+        added.forEach(interval -> apply(current, interval, 1));
+    }
+
+    private static void apply(Snapshot snapshot, BookingIntervalDTO interval, int sign) {
+        accumulate(snapshot.rooms().computeIfAbsent(interval.roomId(), id -> new int[DAYS][HOURS]),
+            interval.startTime().getTime(), interval.endTime().getTime(), snapshot.from(), snapshot.to(), sign,
+            snapshot.zone());
+    }
+
+    // Adds sign times the seconds of [startMillis, endMillis) inside [from, to) to the weekday and hour each
+    // falls in. Hours are stepped on the instant timeline, so an hour repeated when clocks go back counts twice
+    // in its cell and a skipped one never does. Seconds are counted between whole-second marks.
+    static void accumulate(int[][] cells, long startMillis, long endMillis, long from, long to, int sign,
+                           ZoneId zone) {
+        long at = Math.max(startMillis, from);
+        long end = Math.min(endMillis, to);
+
+        ZonedDateTime hour = Instant.ofEpochMilli(at).atZone(zone).truncatedTo(ChronoUnit.HOURS);
+        while (at < end) {
+            ZonedDateTime nextHour = hour.plusHours(1);
+            long next = Math.min(end, nextHour.toInstant().toEpochMilli());
+
+            cells[hour.getDayOfWeek().getValue() - 1][hour.getHour()] +=
+                sign * (int) (Math.floorDiv(next, 1000L) - Math.floorDiv(at, 1000L));
+
+            at = next;
+            hour = nextHour;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.danilo.roombooking.service.room;
+
+import com.danilo.roombooking.dto.RoomFilterDTO;
+import com.danilo.roombooking.dto.RoomHeatmapDTO;
+import com.danilo.roombooking.repository.RoomIdRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Peak hours of the rooms matching a filter. The only query is for the matching room ids; the booked time
+// comes from RoomHeatmapIndex. A cell's occupancy is its booked seconds over the seconds the rooms had in it.
+@Service
+@RequiredArgsConstructor
+public class RoomHeatmapService {
+
+    private final RoomIdRepository roomIdRepository;
+    private final RoomHeatmapIndex heatmapIndex;
+
+    public RoomHeatmapDTO getHeatmap(RoomFilterDTO filterDTO) {
+        if (filterDTO.minCapacity() != null && filterDTO.maxCapacity() != null
+            && filterDTO.minCapacity() > filterDTO.maxCapacity())
+            throw new InvalidRoomException("minCapacity cannot be greater than maxCapacity.");
+
+        List<Long> roomIds = roomIdRepository.findIds(RoomService.filterSpecification(filterDTO));
+        RoomHeatmapIndex.Heatmap heatmap = heatmapIndex.merge(roomIds);
+
+        double[][] occupancy = new double[RoomHeatmapIndex.DAYS][RoomHeatmapIndex.HOURS];
+        for (int day = 0; day < RoomHeatmapIndex.DAYS; day++) {
+            for (int hour = 0; hour < RoomHeatmapIndex.HOURS; hour++) {
+                long available = (long) heatmap.windowSeconds()[day][hour] * heatmap.rooms();
+                occupancy[day][hour] = available == 0 ? 0 : (double) heatmap.bookedSeconds()[day][hour] / available;
+            }
+        }
+
+        return new RoomHeatmapDTO(Timestamp.from(heatmap.from()), Timestamp.from(heatmap.to()),
+            heatmap.zone().getId(), heatmap.rooms(), heatmap.bookedSeconds(), occupancy);
+    }
+}
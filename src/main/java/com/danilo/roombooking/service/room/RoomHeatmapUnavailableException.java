@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.room;
+
+public class RoomHeatmapUnavailableException extends RuntimeException {
+    public RoomHeatmapUnavailableException() {
+        super("Room heatmap is not available, try again later.");
+    }
+}
@@ -0,0 +1,166 @@
+package com.danilo.roombooking.service.room;
+
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.domain.room.RoomType;
+import com.danilo.roombooking.dto.ImportReportDTO;
+import com.danilo.roombooking.dto.NaturalKeyDTO;
+import com.danilo.roombooking.dto.RoomRequestDTO;
+import com.danilo.roombooking.repository.RoomJdbcRepository;
+import com.danilo.roombooking.repository.RoomRepository;
+import com.danilo.roombooking.service.imports.CsvReader;
+import com.danilo.roombooking.service.imports.ImportReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Imports rooms from CSV with the columns identifier, name, description, capacity, status and type. Rows are
+ * validated like single creates and written with JDBC batch inserts, one transaction per chunk. Invalid rows
+ * and rooms whose identifier is taken are skipped and listed in the report.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomImportService {
+
+    private static final List<String> COLUMNS = List.of("identifier", "name", "description", "capacity", "status", "type");
+
+    private final RoomRepository roomRepository;
+    private final RoomJdbcRepository roomJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record Row(long line, RoomRequestDTO room) {}
+
+    public ImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        CsvReader csv = new CsvReader(inputStream);
+        List<String> header = csv.next();
+        if (header == null || !COLUMNS.equals(header.stream().map(String::strip).toList()))
+            throw new InvalidRoomException("the first line must be the header " + String.join(",", COLUMNS) + ".");
+
+        ImportReport report = new ImportReport(maxReportedErrors);
+        Set<String> seen = identifierSet();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        List<String> fields;
+        while ((fields = next(csv, report)) != null) {
+            Row row = parse(csv.recordLine(), fields, report);
+            if (row == null) continue;
+
+            if (!seen.add(row.room().identifier())) {
+                report.failed(row.line(), "identifier " + row.room().identifier() + " appears earlier in the file.");
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                write(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) write(chunk, report);
+
+        return report.toDTO();
+    }
+
+    // Identifiers are compared like the column's collation does, ignoring case.
+    private static Set<String> identifierSet() {
+        return new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    private static List<String> next(CsvReader csv, ImportReport report) throws IOException {
+        try {
+            return csv.next();
+        } catch (CsvReader.MalformedCsvException e) {
+            report.failed(csv.recordLine(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Row parse(long line, List<String> fields, ImportReport report) {
+        if (fields.size() != COLUMNS.size()) {
+            report.failed(line, "expected " + COLUMNS.size() + " columns, found " + fields.size() + ".");
+            return null;
+        }
+
+        try {
+            RoomRequestDTO room = new RoomRequestDTO(
+                fields.get(0).strip(),
+                fields.get(1).strip(),
+                fields.get(2).isBlank() ? null : fields.get(2).strip(),
+                parseCapacity(fields.get(3)),
+                fields.get(4).isBlank() ? null : RoomStatus.valueOf(fields.get(4).strip()),
+                fields.get(5).isBlank() ? null : RoomType.valueOf(fields.get(5).strip()),
+                List.of());
+            RoomService.validateRoomRequest(room);
+            validateLengths(room);
+            return new Row(line, room);
+        } catch (InvalidRoomException e) {
+            report.failed(line, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            report.failed(line, "unknown status or type.");
+        }
+        return null;
+    }
+
+    private static Integer parseCapacity(String capacity) {
+        if (capacity.isBlank()) return null;
+        try {
+            return Integer.valueOf(capacity.strip());
+        } catch (NumberFormatException e) {
+            throw new InvalidRoomException("capacity must be a number.");
+        }
+    }
+
+    // The column sizes, so a long value fails its row instead of the chunk's insert.
+    private static void validateLengths(RoomRequestDTO room) {
+        if (room.identifier().length() > 50)
+            throw new InvalidRoomException("identifier cannot be longer than 50 characters.");
+
+        if (room.name().length() > 50)
+            throw new InvalidRoomException("name cannot be longer than 50 characters.");
+
+        if (room.description() != null && room.description().length() > 100)
+            throw new InvalidRoomException("description cannot be longer than 100 characters.");
+    }
+
+    private void write(List<Row> chunk, ImportReport report) {
+        Set<String> taken = roomRepository.findKeysByIdentifierIn(
+                chunk.stream().map(row -> row.room().identifier()).toList())
+            .stream().map(NaturalKeyDTO::key).collect(Collectors.toCollection(RoomImportService::identifierSet));
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (taken.contains(row.room().identifier()))
+                report.failed(row.line(), "a room with identifier " + row.room().identifier() + " already exists.");
+            else
+                accepted.add(row);
+        }
+        if (accepted.isEmpty()) return;
+
+        try {
+            transactionTemplate.execute(status -> {
+                roomJdbcRepository.insertAll(accepted.stream().map(Row::room).toList());
+                return null;
+            });
+            report.imported(accepted.size());
+        } catch (DataAccessException e) {
+            String message = "not imported: " + e.getMostSpecificCause().getMessage();
+            accepted.forEach(row -> report.failed(row.line(), message));
+        }
+    }
+}
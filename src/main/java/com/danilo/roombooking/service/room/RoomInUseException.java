@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.room;
+
+public class RoomInUseException extends RuntimeException {
+    public RoomInUseException() {
+        super("room has bookings and cannot be deleted.");
+    }
+}
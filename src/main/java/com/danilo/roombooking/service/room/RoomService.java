@@ -3,27 +3,41 @@ package com.danilo.roombooking.service.room;
 import com.danilo.roombooking.config.web.ApiPaths;
 import com.danilo.roombooking.domain.Amenity;
 import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
 import com.danilo.roombooking.dto.RoomFilterDTO;
 import com.danilo.roombooking.dto.RoomRequestDTO;
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import com.danilo.roombooking.repository.BookingRepository;
 import com.danilo.roombooking.repository.RoomRepository;
 import com.danilo.roombooking.service.amenity.AmenityService;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.locking.VersionCheck;
+import com.danilo.roombooking.service.scroll.KeysetScroll;
 import com.danilo.roombooking.specification.RoomSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class RoomService {
 
+    private static final KeysetScroll<Room> SCROLL = new KeysetScroll<>("id", Map.of("identifier", String.class));
+
     private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
     private final AmenityService amenityService;
+    private final BookingHoldIndex holdIndex;
 
     @Transactional
     public Room create(RoomRequestDTO roomRequestDTO) {
@@ -52,26 +66,65 @@ public class RoomService {
         return roomRepository.findById(id).orElseThrow(RoomNotFoundException::new);
     }
 
+    // Holds the room row lock until the caller's transaction ends, serializing writes per room. Across
+    // instances this only helps when the overlap check under it reads the table, which BookingService does
+    // with booking.availability-index.enabled=false; the index only sees its own instance's writes.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Room lockForBooking(Long id) {
+        return roomRepository.findByIdForUpdate(id).orElseThrow(RoomNotFoundException::new);
+    }
+
+    // Locks rooms in id order so concurrent batches cannot deadlock each other.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Room> lockAllForBooking(Collection<Long> ids) {
+        return roomRepository.findAllByIdForUpdate(ids);
+    }
+
     public Room getByIdentifier(String identifier) {
         return roomRepository.findByIdentifier(identifier).orElseThrow(RoomNotFoundException::new);
     }
 
     @Transactional(readOnly = true)
     public Page<Room> getFilter(RoomFilterDTO filterDTO, Pageable pageable) {
-        Specification<Room> spec = Specification
+        return roomRepository.findAll(filterSpecification(filterDTO), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public ScrollPageDTO<Room> scroll(RoomFilterDTO filterDTO, String sort, String cursor, int size) {
+        return SCROLL.scroll(roomRepository, filterSpecification(filterDTO), sort, cursor, size);
+    }
+
+    // A room with a live hold over the interval is left out, like one with a booking.
+    @Transactional(readOnly = true)
+    public Page<Room> getAvailable(RoomFilterDTO filterDTO, Timestamp startTime, Timestamp endTime, Pageable pageable) {
+        if (startTime == null || endTime == null)
+            throw new InvalidRoomException("startTime and endTime are required.");
+
+        if (!startTime.before(endTime))
+            throw new InvalidRoomException("startTime must be before endTime.");
+
+        Specification<Room> spec = filterSpecification(filterDTO)
+            .and(RoomSpecification.hasStatus(RoomStatus.AVAILABLE))
+            .and(RoomSpecification.isFreeBetween(startTime, endTime))
+            .and(RoomSpecification.isNotIn(holdIndex.findHeldRoomIds(startTime, endTime)));
+
+        return roomRepository.findAll(spec, pageable);
+    }
+
+    static Specification<Room> filterSpecification(RoomFilterDTO filterDTO) {
+        return Specification
             .where(RoomSpecification.hasCapacityGreaterThanOrEqualTo(filterDTO.minCapacity()))
             .and(RoomSpecification.hasCapacityLessThanOrEqualTo(filterDTO.maxCapacity()))
             .and(RoomSpecification.nameContains(filterDTO.name()))
             .and(RoomSpecification.hasStatus(filterDTO.status()))
             .and(RoomSpecification.hasType(filterDTO.type()))
             .and(RoomSpecification.hasAmenities(filterDTO.amenityIds()));
-
-        return roomRepository.findAll(spec, pageable);
     }
 
     @Transactional
-    public Room update(Long roomId, RoomRequestDTO roomRequestDTO) {
+    public Room update(Long roomId, RoomRequestDTO roomRequestDTO, Long expectedVersion) {
         Room room = roomRepository.findById(roomId).orElseThrow(RoomNotFoundException::new);
+        VersionCheck.require(expectedVersion, room.getVersion());
 
         if (roomRequestDTO.identifier() != null && !roomRequestDTO.identifier().isBlank())
             room.setIdentifier(roomRequestDTO.identifier());
@@ -99,15 +152,19 @@ public class RoomService {
         return room;
     }
 
+    // Takes the room lock first, so no booking can be written to the room between the check and the delete.
     @Transactional
     public void delete(Long id) {
-        if (!roomRepository.existsById(id))
+        if (roomRepository.findByIdForUpdate(id).isEmpty())
             throw new RoomNotFoundException();
 
+        if (bookingRepository.existsByRoomId(id))
+            throw new RoomInUseException();
+
         roomRepository.deleteById(id);
     }
 
-    private void validateRoomRequest(RoomRequestDTO roomRequestDTO) {
+    static void validateRoomRequest(RoomRequestDTO roomRequestDTO) {
         if (roomRequestDTO.identifier() == null || roomRequestDTO.identifier().isBlank())
             throw new InvalidRoomException("identifier is required.");
 
@@ -0,0 +1,143 @@
+package com.danilo.roombooking.service.room;
+
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.RoomUtilizationDayDTO;
+import com.danilo.roombooking.dto.RoomUtilizationRebuildDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.RoomRepository;
+import com.danilo.roombooking.repository.RoomUtilizationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Recomputes Room_Utilization_Daily over a range of days from Booking and Booking_History, to repair it and
+// to fill it the first time. The rooms are split across a fork/join pool and each one is recomputed in its
+// own short transaction holding the room's row lock. Every path that adds, moves or removes a booking and
+// its rollup row locks the room first, the single-statement create through the share lock its INSERT ...
+// SELECT takes, so those writes wait for the rebuild instead of being counted twice or lost.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomUtilizationRebuilder {
+
+    private static final int ROOMS_PER_TASK = 16;
+
+    private final RoomRepository roomRepository;
+    private final RoomUtilizationRepository utilizationRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.utilization.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.utilization.rebuild-parallelism:4}")
+    private int parallelism;
+
+    @Value("${booking.time-zone:UTC}")
+    private String timeZone;
+
+    // Fills the rollup from the bookings written before it existed.
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) return;
+
+        try {
+            if (!utilizationRepository.isEmpty()) return;
+
+            BookingIntervalDTO span = bookingJdbcRepository.findBookedSpan();
+            if (span == null) return;
+
+            ZoneId zone = ZoneId.of(timeZone);
+            RoomUtilizationRebuildDTO rebuilt = rebuild(span.startTime().toInstant().atZone(zone).toLocalDate(),
+                span.endTime().toInstant().atZone(zone).toLocalDate());
+            log.info("Filled room utilization of {} rooms from {} to {} in {} ms", rebuilt.rooms(), rebuilt.from(),
+                rebuilt.to(), rebuilt.elapsedMillis());
+        } catch (DataAccessException e) {
+            log.error("Filling room utilization failed", e);
+        }
+    }
+
+    public synchronized RoomUtilizationRebuildDTO rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null)
+            throw new InvalidRoomException("from and to are required.");
+
+        if (to.isBefore(from))
+            throw new InvalidRoomException("to cannot be before from.");
+
+        long started = System.nanoTime();
+        List<Long> roomIds = roomRepository.findAllIds();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RebuildTask(roomIds, from, to, ZoneId.of(timeZone)));
+        } finally {
+            pool.shutdown();
+        }
+        return new RoomUtilizationRebuildDTO(from, to, roomIds.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void rebuildRoom(Long roomId, LocalDate from, LocalDate to, ZoneId zone) {
+        Timestamp rangeStart = Timestamp.from(from.atStartOfDay(zone).toInstant());
+        Timestamp rangeEnd = Timestamp.from(to.plusDays(1).atStartOfDay(zone).toInstant());
+
+        transactionTemplate.execute(status -> {
+            // deleted since the ids were read
+            if (roomRepository.findByIdForUpdate(roomId).isEmpty()) return null;
+
+            Map<RoomUtilizationRollup.RoomDay, long[]> days = new TreeMap<>(
+                Comparator.comparing(RoomUtilizationRollup.RoomDay::day));
+            bookingJdbcRepository.forEachRecordedInterval(roomId, rangeStart, rangeEnd, (start, end) ->
+                RoomUtilizationRollup.accumulate(days, roomId, start, end, 1, zone));
+
+            List<RoomUtilizationDayDTO> rows = new ArrayList<>(days.size());
+            days.forEach((roomDay, totals) -> {
+                if (!roomDay.day().isBefore(from) && !roomDay.day().isAfter(to))
+                    rows.add(new RoomUtilizationDayDTO(roomId, roomDay.day(), totals[0], totals[1]));
+            });
+            utilizationRepository.replace(roomId, from, to, rows);
+            return null;
+        });
+    }
+
+    // Halves the rooms until a task has few enough to recompute one after the other.
+    private final class RebuildTask extends RecursiveAction {
+        private final List<Long> roomIds;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final ZoneId zone;
+
+        RebuildTask(List<Long> roomIds, LocalDate from, LocalDate to, ZoneId zone) {
+            this.roomIds = roomIds;
+            this.from = from;
+            this.to = to;
+            this.zone = zone;
+        }
+
+        @Override
+        protected void compute() {
+            if (roomIds.size() <= ROOMS_PER_TASK) {
+                roomIds.forEach(roomId -> rebuildRoom(roomId, from, to, zone));
+                return;
+            }
+
+            int middle = roomIds.size() / 2;
+            invokeAll(new RebuildTask(roomIds.subList(0, middle), from, to, zone),
+                new RebuildTask(roomIds.subList(middle, roomIds.size()), from, to, zone));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.danilo.roombooking.service.room;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.RoomUtilizationDayDTO;
+import com.danilo.roombooking.repository.RoomUtilizationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Keeps Room_Utilization_Daily in step with Booking. Write paths report the intervals they add and remove,
+// and the days those cover are adjusted in the caller's transaction with one batched upsert, so reading the
+// rollup never scans Booking. RoomUtilizationRebuilder recomputes it from scratch. The same changes are passed
+// on to RoomHeatmapIndex.
+@Component
+@RequiredArgsConstructor
+public class RoomUtilizationRollup {
+
+    private static final Comparator<RoomDay> ROOM_DAY_ORDER =
+        Comparator.comparing(RoomDay::roomId).thenComparing(RoomDay::day);
+
+    private final RoomUtilizationRepository utilizationRepository;
+    private final RoomHeatmapIndex heatmapIndex;
+
+    @Value("${booking.utilization.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.time-zone:UTC}")
+    private String timeZone;
+
+    record RoomDay(Long roomId, LocalDate day) {}
+
+    @Transactional
+    public void recordAdded(Booking booking) {
+        recordChanged(List.of(), List.of(interval(booking)));
+    }
+
+    @Transactional
+    public void recordAdded(Collection<Booking> bookings) {
+        recordChanged(List.of(), bookings.stream().map(RoomUtilizationRollup::interval).toList());
+    }
+
+    @Transactional
+    public void recordRemoved(BookingIntervalDTO removed) {
+        recordChanged(List.of(removed), List.of());
+    }
+
+    @Transactional
+    public void recordRemoved(Collection<BookingIntervalDTO> removed) {
+        recordChanged(removed, List.of());
+    }
+
+    @Transactional
+    public void recordMoved(Long roomId, Timestamp oldStart, Timestamp oldEnd, Timestamp newStart, Timestamp newEnd) {
+        recordChanged(List.of(new BookingIntervalDTO(null, roomId, oldStart, oldEnd)),
+            List.of(new BookingIntervalDTO(null, roomId, newStart, newEnd)));
+    }
+
+    // Nets the removed and added intervals per room and day first, so a booking moved within a day touches
+    // only that day's row, or none when its length did not change.
+    @Transactional
+    public void recordChanged(Collection<BookingIntervalDTO> removed, Collection<BookingIntervalDTO> added) {
+        heatmapIndex.recordChanged(removed, added);
+        if (!enabled) return;
+
+        ZoneId zone = ZoneId.of(timeZone);
+        Map<RoomDay, long[]> deltas = new TreeMap<>(ROOM_DAY_ORDER);
+        removed.forEach(interval -> accumulate(deltas, interval.roomId(),
+            interval.startTime().getTime(), interval.endTime().getTime(), -1, zone));
+        added.forEach(interval -> accumulate(deltas, interval.roomId(),
+            interval.startTime().getTime(), interval.endTime().getTime(), 1, zone));
+
+        List<RoomUtilizationDayDTO> changed = new ArrayList<>(deltas.size());
+        deltas.forEach((roomDay, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0)
+                changed.add(new RoomUtilizationDayDTO(roomDay.roomId(), roomDay.day(), delta[0], delta[1]));
+        });
+        if (!changed.isEmpty()) utilizationRepository.addAll(changed);
+    }
+
+    // Adds sign times the booking's seconds to each day it covers, and sign to the bookings of the day it
+    // starts on. Seconds are counted between whole-second marks so splitting never loses or adds any.
+    static void accumulate(Map<RoomDay, long[]> deltas, Long roomId, long startMillis, long endMillis, int sign,
+                           ZoneId zone) {
+        LocalDate day = Instant.ofEpochMilli(startMillis).atZone(zone).toLocalDate();
+        long from = startMillis;
+        boolean first = true;
+        while (from < endMillis) {
+            long nextDay = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            long to = Math.min(endMillis, nextDay);
+
+            long[] delta = deltas.computeIfAbsent(new RoomDay(roomId, day), key -> new long[2]);
+            delta[0] += sign * (Math.floorDiv(to, 1000L) - Math.floorDiv(from, 1000L));
+            if (first) delta[1] += sign;
+
+            first = false;
+            from = to;
+            day = day.plusDays(1);
+        }
+    }
+
+    private static BookingIntervalDTO interval(Booking booking) {
+        return new BookingIntervalDTO(booking.getId(), booking.getRoom().getId(),
+            booking.getStartTime(), booking.getEndTime());
+    }
+}
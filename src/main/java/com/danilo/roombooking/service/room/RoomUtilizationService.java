@@ -0,0 +1,93 @@
+package com.danilo.roombooking.service.room;
+
+import com.danilo.roombooking.dto.RoomUtilizationDTO;
+import com.danilo.roombooking.dto.RoomUtilizationDayDTO;
+import com.danilo.roombooking.repository.RoomUtilizationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+// Occupancy of rooms, answered from Room_Utilization_Daily alone. A period's utilization is its booked
+// seconds over its length, days in booking.time-zone, so a day shortened or lengthened by a DST change
+// counts with its real length.
+@Service
+@RequiredArgsConstructor
+public class RoomUtilizationService {
+
+    public enum Granularity { DAY, WEEK }
+
+    private final RoomService roomService;
+    private final RoomUtilizationRepository utilizationRepository;
+
+    @Value("${booking.utilization.max-range:P366D}")
+    private Duration maxRange;
+
+    @Value("${booking.time-zone:UTC}")
+    private String timeZone;
+
+    // One entry per day, or per ISO week (Monday to Sunday) clipped to the range, in date order.
+    public List<RoomUtilizationDTO> getByRoom(Long roomId, LocalDate from, LocalDate to, Granularity granularity) {
+        validateRange(from, to);
+        roomService.getById(roomId);
+
+        List<RoomUtilizationDayDTO> days = utilizationRepository.findDays(roomId, from, to);
+        ZoneId zone = ZoneId.of(timeZone);
+
+        List<RoomUtilizationDTO> periods = new ArrayList<>();
+        int next = 0;
+        for (LocalDate start = from; !start.isAfter(to); ) {
+            LocalDate end = granularity == Granularity.WEEK
+                ? start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)) : start;
+            if (end.isAfter(to)) end = to;
+
+            long bookedSeconds = 0;
+            long bookings = 0;
+            while (next < days.size() && !days.get(next).day().isAfter(end)) {
+                bookedSeconds += days.get(next).bookedSeconds();
+                bookings += days.get(next).bookings();
+                next++;
+            }
+            periods.add(new RoomUtilizationDTO(roomId, start, end, bookedSeconds, bookings,
+                utilization(bookedSeconds, start, end, zone)));
+
+            start = end.plusDays(1);
+        }
+        return periods;
+    }
+
+    // Every room's totals over the range, in room id order.
+    public List<RoomUtilizationDTO> getAll(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        ZoneId zone = ZoneId.of(timeZone);
+
+        return utilizationRepository.findTotals(from, to).stream()
+            .map(totals -> new RoomUtilizationDTO(totals.roomId(), from, to, totals.bookedSeconds(),
+                totals.bookings(), utilization(totals.bookedSeconds(), from, to, zone)))
+            .toList();
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null)
+            throw new InvalidRoomException("from and to are required.");
+
+        if (to.isBefore(from))
+            throw new InvalidRoomException("to cannot be before from.");
+
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxRange.toDays())
+            throw new InvalidRoomException("utilization range cannot be longer than " + maxRange.toDays() + " days.");
+    }
+
+    private static double utilization(long bookedSeconds, LocalDate from, LocalDate to, ZoneId zone) {
+        long periodSeconds = Duration.between(from.atStartOfDay(zone), to.plusDays(1).atStartOfDay(zone)).toSeconds();
+        return (double) bookedSeconds / periodSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.scroll;
+
+public class InvalidScrollRequestException extends RuntimeException {
+    public InvalidScrollRequestException(String message) {
+        super(message);
+    }
+}
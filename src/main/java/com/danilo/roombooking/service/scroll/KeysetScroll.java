@@ -0,0 +1,128 @@
+package com.danilo.roombooking.service.scroll;
+
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keyset pagination over a specification. Each page seeks past the last row of the previous one on (sort key,
+ * id) instead of skipping an offset, so deep pages cost the same as the first, and no total is counted. The
+ * cursor handed out is opaque: the sort, its direction and the last row's keys, Base64url-encoded, so later
+ * pages keep the sort of the first. Only the sorts a listing has an index for are accepted, each mapped to its
+ * attribute's type to decode cursors with.
+ */
+public final class KeysetScroll<T> {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = ":";
+
+    private final String defaultSort;
+    private final Map<String, Class<?>> sortKeys;
+
+    // Keys must be non-null attributes; id, a Long, is always accepted.
+    public KeysetScroll(String defaultSort, Map<String, Class<?>> sortKeys) {
+        this.defaultSort = defaultSort;
+        this.sortKeys = new LinkedHashMap<>(sortKeys);
+        this.sortKeys.put(ID, Long.class);
+    }
+
+    private record Position(String property, Sort.Direction direction, Map<String, Object> keys) {
+        Sort sort() {
+            return property.equals(ID) ? Sort.by(direction, ID) : Sort.by(direction, property, ID);
+        }
+
+        ScrollPosition scrollPosition() {
+            return keys == null ? ScrollPosition.keyset() : ScrollPosition.forward(keys);
+        }
+    }
+
+    // sort is "property" or "property,asc|desc", used for the first page only.
+    public ScrollPageDTO<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                   String sort, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new InvalidScrollRequestException("size must be between 1 and " + MAX_PAGE_SIZE + ".");
+
+        Position position = cursor != null ? decode(cursor) : first(sort != null ? sort : defaultSort);
+        Window<T> window = repository.findBy(specification, query -> query
+            .sortBy(position.sort())
+            .limit(size)
+            .scroll(position.scrollPosition()));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+            ? encode(position, ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys())
+            : null;
+        return new ScrollPageDTO<>(window.getContent(), nextCursor);
+    }
+
+    private Position first(String sort) {
+        String[] parts = sort.split(",", -1);
+        String property = parts[0].strip();
+        if (!sortKeys.containsKey(property) || parts.length > 2)
+            throw new InvalidScrollRequestException("sort must be one of " + new TreeSet<>(sortKeys.keySet())
+                + ", optionally followed by ,asc or ,desc.");
+
+        Sort.Direction direction = parts.length == 2
+            ? Sort.Direction.fromOptionalString(parts[1].strip()).orElseThrow(() ->
+                new InvalidScrollRequestException("sort direction must be asc or desc."))
+            : Sort.Direction.ASC;
+        return new Position(property, direction, null);
+    }
+
+    // property:direction:id[:value], the value last so a string key may contain the separator.
+    private static String encode(Position position, Map<String, ?> keys) {
+        StringBuilder cursor = new StringBuilder()
+            .append(position.property()).append(SEPARATOR)
+            .append(position.direction()).append(SEPARATOR)
+            .append(keys.get(ID));
+        if (!position.property().equals(ID))
+            cursor.append(SEPARATOR).append(encodeValue(keys.get(position.property())));
+
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Position decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                .split(SEPARATOR, 4);
+            String property = parts[0];
+            Class<?> type = sortKeys.get(property);
+            if (type == null || parts.length != (property.equals(ID) ? 3 : 4))
+                throw new InvalidScrollRequestException("cursor is invalid.");
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!property.equals(ID)) keys.put(property, decodeValue(parts[3], type));
+            keys.put(ID, Long.valueOf(parts[2]));
+            return new Position(property, Sort.Direction.valueOf(parts[1]), keys);
+        } catch (IllegalArgumentException e) {
+            // also thrown for bad Base64, numbers and directions
+            throw new InvalidScrollRequestException("cursor is invalid.");
+        }
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof Timestamp timestamp) return Long.toString(timestamp.getTime());
+        return String.valueOf(value);
+    }
+
+    private static Object decodeValue(String value, Class<?> type) {
+        if (type == Timestamp.class) return new Timestamp(Long.parseLong(value));
+        if (type == Long.class) return Long.valueOf(value);
+        if (type == Integer.class) return Integer.valueOf(value);
+        if (type == String.class) return value;
+        throw new IllegalStateException("Unsupported sort key type " + type.getName());
+    }
+}
@@ -0,0 +1,7 @@
+package com.danilo.roombooking.service.user;
+
+public class UserInUseException extends RuntimeException {
+    public UserInUseException() {
+        super("user has bookings and cannot be deleted.");
+    }
+}
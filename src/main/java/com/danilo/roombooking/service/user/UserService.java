@@ -5,11 +5,15 @@ import com.danilo.roombooking.domain.User;
 import com.danilo.roombooking.domain.privilege.PrivilegeType;
 import com.danilo.roombooking.domain.role.Role;
 import com.danilo.roombooking.domain.role.RoleType;
+import com.danilo.roombooking.dto.ScrollPageDTO;
 import com.danilo.roombooking.dto.UserRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
 import com.danilo.roombooking.repository.UserRepository;
 import com.danilo.roombooking.service.role.RoleService;
+import com.danilo.roombooking.service.scroll.KeysetScroll;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,13 +21,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final KeysetScroll<User> SCROLL = new KeysetScroll<>("id", Map.of("username", String.class));
+
     private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleService roleService;
 
@@ -68,6 +76,11 @@ public class UserService {
         return userRepository.findByEmail(email).orElseThrow(UserNotFoundException::new);
     }
 
+    @Transactional(readOnly = true)
+    public ScrollPageDTO<User> scroll(String sort, String cursor, int size) {
+        return SCROLL.scroll(userRepository, Specification.where(null), sort, cursor, size);
+    }
+
     @Transactional
     public User update(
         Long userId,
@@ -105,11 +118,16 @@ public class UserService {
         return user;
     }
 
+    // Booking has no foreign keys since it was partitioned, so its references are checked here. Archived
+    // bookings in Booking_History never blocked deletes and still do not.
     @Transactional
     public void delete(Long id) {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException();
         }
+        if (bookingRepository.existsByUserId(id)) {
+            throw new UserInUseException();
+        }
         userRepository.deleteById(id);
     }
 
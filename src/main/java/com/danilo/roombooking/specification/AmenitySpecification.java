@@ -0,0 +1,14 @@
+package com.danilo.roombooking.specification;
+
+import com.danilo.roombooking.domain.Amenity;
+import org.springframework.data.jpa.domain.Specification;
+
+public class AmenitySpecification {
+
+    // Ignores case like findByNameStartingWithIgnoreCase.
+    public static Specification<Amenity> nameStartsWith(String prefix) {
+        return (root, query, builder) ->
+            prefix == null ? null : builder.like(builder.upper(root.get("name")), prefix.toUpperCase() + "%");
+    }
+
+}
@@ -1,35 +1,48 @@
 package com.danilo.roombooking.specification;
 
-import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.dto.BookingFilterDTO;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.sql.Timestamp;
 
+// Generic so the same filters apply to Booking and to BookingRecord, which share attribute names.
 public class BookingSpecification {
 
-    public static Specification<Booking> hasRoomId(Long roomId) {
+    public static <T> Specification<T> matches(BookingFilterDTO filter) {
+        return Specification
+            .<T>where(hasRoomId(filter.roomId()))
+            .and(hasRequestedByEquals(filter.requestedBy()))
+            .and(hasApprovedByEquals(filter.approvedBy()))
+            .and(hasStartTimeGreaterThanOrEqualTo(filter.minStartTime()))
+            .and(hasEndTimeLessThanOrEqualTo(filter.maxEndTime()));
+    }
+
+    public static <T> Specification<T> hasRoomId(Long roomId) {
         return ((root, query, builder) ->
-            roomId == null ? null : builder.equal(root.get("roomId"), roomId));
+            roomId == null ? null : builder.equal(root.get("room").get("id"), roomId));
     }
 
-    public static Specification<Booking> hasRequestedByEquals(Long requestedBy) {
+    public static <T> Specification<T> hasRequestedByEquals(Long requestedBy) {
         return ((root, query, builder) ->
-            requestedBy == null ? null : builder.equal(root.get("requestedBy"), requestedBy));
+            requestedBy == null ? null : builder.equal(root.get("requestedBy").get("id"), requestedBy));
     }
 
-    public static Specification<Booking> hasApprovedByEquals(Long approvedBy) {
+    public static <T> Specification<T> hasApprovedByEquals(Long approvedBy) {
         return ((root, query, builder) ->
-            approvedBy == null ? null : builder.equal(root.get("approvedBy"), approvedBy));
+            approvedBy == null ? null : builder.equal(root.get("approvedBy").get("id"), approvedBy));
     }
 
-    public static Specification<Booking> hasStartTimeGreaterThanOrEqualTo(Timestamp minStartTime) {
+    public static <T> Specification<T> hasStartTimeGreaterThanOrEqualTo(Timestamp minStartTime) {
         return ((root, query, builder) ->
             minStartTime == null ? null : builder.greaterThanOrEqualTo(root.get("startTime"), minStartTime));
     }
 
-    public static Specification<Booking> hasEndTimeLessThanOrEqualTo(Timestamp maxEndTime) {
+    // startTime <= endTime, so the redundant bound on startTime lets MariaDB prune later partitions.
+    public static <T> Specification<T> hasEndTimeLessThanOrEqualTo(Timestamp maxEndTime) {
         return ((root, query, builder) ->
-            maxEndTime == null ? null : builder.lessThanOrEqualTo(root.get("endTime"), maxEndTime));
+            maxEndTime == null ? null : builder.and(
+                builder.lessThanOrEqualTo(root.get("endTime"), maxEndTime),
+                builder.lessThanOrEqualTo(root.get("startTime"), maxEndTime)));
     }
 
 }
@@ -1,12 +1,17 @@
 package com.danilo.roombooking.specification;
 
 import com.danilo.roombooking.domain.Amenity;
+import com.danilo.roombooking.domain.Booking;
 import com.danilo.roombooking.domain.room.Room;
 import com.danilo.roombooking.domain.room.RoomStatus;
 import com.danilo.roombooking.domain.room.RoomType;
+import com.danilo.roombooking.repository.BookingRepository;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.sql.Timestamp;
 import java.util.Collection;
 
 public class RoomSpecification {
@@ -36,20 +41,48 @@ public class RoomSpecification {
             type == null ? null : builder.equal(root.get("type"), type);
     }
 
+    public static Specification<Room> isNot(Long id) {
+        return (root, query, builder) ->
+            id == null ? null : builder.notEqual(root.get("id"), id);
+    }
+
+    public static Specification<Room> isNotIn(Collection<Long> ids) {
+        return (root, query, builder) ->
+            ids == null || ids.isEmpty() ? null : builder.not(root.get("id").in(ids));
+    }
+
     public static Specification<Room> hasAmenities(Collection<Long> amenityIds) {
         return (root, query, builder) -> {
-            if (amenityIds == null || amenityIds.isEmpty())
+            if (amenityIds == null || amenityIds.isEmpty() || query == null)
                 return null;
 
-            Join<Room, Amenity> roomAmenities = root.join("amenities");
+            Subquery<Long> matching = query.subquery(Long.class);
+            Root<Amenity> amenity = matching.from(Amenity.class);
+            Join<Amenity, Room> rooms = amenity.join("rooms");
+            matching.select(builder.countDistinct(amenity.get("id")))
+                .where(builder.equal(rooms.get("id"), root.get("id")), amenity.get("id").in(amenityIds));
+
+            return builder.equal(matching, (long) amenityIds.size());
+        };
+    }
+
+    // NOT EXISTS over the room's bookings overlapping [startTime, endTime), resolved through IX_Booking.
+    public static Specification<Room> isFreeBetween(Timestamp startTime, Timestamp endTime) {
+        return (root, query, builder) -> {
+            if (startTime == null || endTime == null || query == null)
+                return null;
 
-            if (query != null) {
-                query.groupBy(root.get("id"));
-                query.having(builder.equal(builder.countDistinct(roomAmenities
-                    .get("amenity").get("id")), amenityIds.size()));
-            }
+            Subquery<Long> overlapping = query.subquery(Long.class);
+            Root<Booking> booking = overlapping.from(Booking.class);
+            overlapping.select(booking.get("id"))
+                .where(
+                    builder.equal(booking.get("room").get("id"), root.get("id")),
+                    builder.greaterThan(booking.get("startTime"), BookingRepository.earliestOverlappingStart(startTime)),
+                    builder.lessThan(booking.get("startTime"), endTime),
+                    builder.greaterThan(booking.get("endTime"), startTime)
+                );
 
-            return roomAmenities.get("amenity").get("id").in(amenityIds);
+            return builder.not(builder.exists(overlapping));
         };
     }
 
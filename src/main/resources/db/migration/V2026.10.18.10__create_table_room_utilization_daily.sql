@@ -0,0 +1,13 @@
+-- Booked time per room and day, days in booking.time-zone. Kept up to date by RoomUtilizationRollup as
+-- bookings are written, recomputed by RoomUtilizationRebuilder. Archived bookings keep counting. Bookings
+-- counts each booking once, on the day it starts; its booked seconds are split over the days it covers.
+CREATE TABLE Room_Utilization_Daily
+(
+    RoomId          BIGINT UNSIGNED NOT NULL,
+    Day             DATE            NOT NULL,
+    BookedSeconds   INT             NOT NULL DEFAULT 0,
+    Bookings        INT             NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (RoomId, Day),
+    CONSTRAINT FK_RoomUtilizationDaily_Room FOREIGN KEY (RoomId) REFERENCES Room(Id) ON DELETE CASCADE
+);
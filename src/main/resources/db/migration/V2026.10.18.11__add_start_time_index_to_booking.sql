@@ -0,0 +1,5 @@
+-- Lets keyset pages sorted by start time seek instead of sorting. InnoDB appends the primary key to secondary
+-- indexes, so both are ordered by (StartTime, Id).
+CREATE INDEX IX_Booking_StartTime ON Booking (StartTime);
+
+CREATE INDEX IX_BookingHistory_StartTime ON Booking_History (StartTime);
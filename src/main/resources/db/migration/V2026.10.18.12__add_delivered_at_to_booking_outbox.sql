@@ -0,0 +1,3 @@
+ALTER TABLE Booking_Outbox ADD COLUMN DeliveredAt TIMESTAMP NULL AFTER OccurredAt;
+
+CREATE INDEX IX_BookingOutbox_DeliveredAt ON Booking_Outbox (DeliveredAt, Id);
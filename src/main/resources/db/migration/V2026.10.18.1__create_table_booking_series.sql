@@ -0,0 +1,26 @@
+CREATE TABLE Booking_Series
+(
+    Id              BIGINT UNSIGNED PRIMARY KEY,
+    RoomId          BIGINT UNSIGNED NOT NULL,
+    RequestedBy     BIGINT UNSIGNED NOT NULL,
+    DaysOfWeek      VARCHAR(70)     NOT NULL,
+    StartTimeOfDay  TIME            NOT NULL,
+    EndTimeOfDay    TIME            NOT NULL,
+    ZoneId          VARCHAR(50)     NOT NULL,
+    StartDate       DATE            NOT NULL,
+    UntilDate       DATE            NOT NULL,
+    CancelledAt     TIMESTAMP       NULL,
+    CreatedAt       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UpdatedAt       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT FK_BookingSeries_Room FOREIGN KEY (RoomId) REFERENCES Room(Id) ON DELETE CASCADE,
+    CONSTRAINT FK_BookingSeries_UserRequested FOREIGN KEY (RequestedBy) REFERENCES Users(Id)
+);
+
+CREATE SEQUENCE booking_series_sequence AS BIGINT INCREMENT BY 1 START WITH 1;
+
+ALTER TABLE Booking
+    ADD COLUMN SeriesId BIGINT UNSIGNED NULL AFTER ApprovedBy,
+    ADD CONSTRAINT FK_Booking_Series FOREIGN KEY (SeriesId) REFERENCES Booking_Series(Id);
+
+CREATE INDEX IX_Booking_SeriesId ON Booking (SeriesId, StartTime);
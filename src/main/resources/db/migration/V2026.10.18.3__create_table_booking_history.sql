@@ -0,0 +1,20 @@
+-- Bookings moved out of Booking by BookingArchiver. No foreign keys, so archived rows never block deleting
+-- a room or a user.
+CREATE TABLE Booking_History
+(
+    Id              BIGINT UNSIGNED PRIMARY KEY,
+    RoomId          BIGINT UNSIGNED NOT NULL,
+    Approved        BOOLEAN NOT NULL DEFAULT FALSE,
+    RequestedBy     BIGINT UNSIGNED NOT NULL,
+    ApprovedBy      BIGINT UNSIGNED,
+    SeriesId        BIGINT UNSIGNED,
+    StartTime       TIMESTAMP NOT NULL,
+    EndTime         TIMESTAMP NOT NULL,
+    CreatedAt       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UpdatedAt       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ArchivedAt      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IX_BookingHistory ON Booking_History (RoomId, StartTime);
+CREATE INDEX IX_BookingHistory_RequestedBy ON Booking_History (RequestedBy);
+CREATE INDEX IX_BookingHistory_ApprovedBy ON Booking_History (ApprovedBy);
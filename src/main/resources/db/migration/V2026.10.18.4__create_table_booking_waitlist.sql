@@ -0,0 +1,20 @@
+CREATE TABLE Booking_Waitlist
+(
+    Id              BIGINT UNSIGNED PRIMARY KEY,
+    RoomId          BIGINT UNSIGNED NOT NULL,
+    RequestedBy     BIGINT UNSIGNED NOT NULL,
+    AutoApprove     BOOLEAN         NOT NULL DEFAULT FALSE,
+    StartTime       TIMESTAMP       NOT NULL,
+    EndTime         TIMESTAMP       NOT NULL,
+    Status          VARCHAR(20)     NOT NULL,
+    BookingId       BIGINT UNSIGNED NULL,
+    CreatedAt       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UpdatedAt       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT FK_BookingWaitlist_Room FOREIGN KEY (RoomId) REFERENCES Room(Id) ON DELETE CASCADE,
+    CONSTRAINT FK_BookingWaitlist_UserRequested FOREIGN KEY (RequestedBy) REFERENCES Users(Id)
+);
+
+CREATE INDEX IX_BookingWaitlist_Status ON Booking_Waitlist (Status, StartTime);
+
+CREATE SEQUENCE booking_waitlist_sequence AS BIGINT INCREMENT BY 1 START WITH 1;
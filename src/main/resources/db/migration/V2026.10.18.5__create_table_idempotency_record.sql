@@ -0,0 +1,16 @@
+CREATE TABLE Idempotency_Record
+(
+    Scope           VARCHAR(50)     NOT NULL,
+    Owner           VARCHAR(50)     NOT NULL,
+    IdempotencyKey  VARCHAR(255)    NOT NULL,
+    RequestHash     CHAR(64)        NOT NULL,
+    Status          SMALLINT        NULL,
+    Location        VARCHAR(2048)   NULL,
+    Body            MEDIUMTEXT      NULL,
+    CreatedAt       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ExpiresAt       TIMESTAMP       NOT NULL,
+
+    PRIMARY KEY (Scope, Owner, IdempotencyKey)
+);
+
+CREATE INDEX IX_IdempotencyRecord_ExpiresAt ON Idempotency_Record (ExpiresAt);
@@ -0,0 +1,3 @@
+ALTER TABLE Booking ADD COLUMN Version BIGINT UNSIGNED NOT NULL DEFAULT 0;
+
+ALTER TABLE Room ADD COLUMN Version BIGINT UNSIGNED NOT NULL DEFAULT 0;
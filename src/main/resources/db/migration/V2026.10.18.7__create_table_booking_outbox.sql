@@ -0,0 +1,14 @@
+CREATE TABLE Booking_Outbox
+(
+    Id              BIGINT UNSIGNED PRIMARY KEY,
+    EventType       VARCHAR(20)     NOT NULL,
+    BookingId       BIGINT UNSIGNED NOT NULL,
+    RoomId          BIGINT UNSIGNED NOT NULL,
+    RequestedBy     BIGINT UNSIGNED NULL,
+    Approved        BOOLEAN         NULL,
+    StartTime       TIMESTAMP       NOT NULL,
+    EndTime         TIMESTAMP       NOT NULL,
+    OccurredAt      TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE SEQUENCE booking_outbox_sequence AS BIGINT INCREMENT BY 1 START WITH 1;
@@ -0,0 +1,13 @@
+CREATE TABLE Booking_Tombstone
+(
+    BookingId       BIGINT UNSIGNED PRIMARY KEY,
+    RoomId          BIGINT UNSIGNED NOT NULL,
+    StartTime       TIMESTAMP       NOT NULL,
+    EndTime         TIMESTAMP       NOT NULL,
+    DeletedAt       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IX_BookingTombstone_RoomId_DeletedAt ON Booking_Tombstone (RoomId, DeletedAt);
+CREATE INDEX IX_BookingTombstone_DeletedAt ON Booking_Tombstone (DeletedAt);
+
+CREATE INDEX IX_Booking_RoomId_UpdatedAt ON Booking (RoomId, UpdatedAt);
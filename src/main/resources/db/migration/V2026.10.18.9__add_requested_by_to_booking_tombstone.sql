@@ -0,0 +1,5 @@
+ALTER TABLE Booking_Tombstone ADD COLUMN RequestedBy BIGINT UNSIGNED AFTER RoomId;
+
+CREATE INDEX IX_BookingTombstone_RequestedBy_DeletedAt ON Booking_Tombstone (RequestedBy, DeletedAt);
+
+CREATE INDEX IX_Booking_RequestedBy_UpdatedAt ON Booking (RequestedBy, UpdatedAt);
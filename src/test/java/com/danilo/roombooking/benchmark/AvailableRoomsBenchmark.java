@@ -0,0 +1,141 @@
+package com.danilo.roombooking.benchmark;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.RoomFilterDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.room.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+class AvailableRoomsBenchmark {
+
+    private static final int ROOMS = 10_000;
+    private static final int BOOKINGS_PER_ROOM = 100;
+    private static final int PAGE_SIZE = 20;
+    private static final int PROBE_PAGE_SIZE = 100;
+    private static final Duration BOOKING_LENGTH = Duration.ofHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${default-admin-username}")
+    private String adminUsername;
+
+    private Timestamp windowStart;
+    private Timestamp windowEnd;
+    private RoomFilterDTO filter;
+
+    @BeforeEach
+    void setUp() {
+        Instant start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        long adminId = userRepository.findByUsername(adminUsername).orElseThrow().getId();
+
+        BenchmarkData.insertRooms(jdbcTemplate, ROOMS);
+        BenchmarkData.insertBookings(jdbcTemplate, ROOMS, BOOKINGS_PER_ROOM, adminId,
+            start, BOOKING_LENGTH, BOOKING_LENGTH);
+
+        // a window in the middle of the schedule, left free in every third room
+        Instant window = start.plus(BOOKING_LENGTH.multipliedBy(BOOKINGS_PER_ROOM));
+        windowStart = Timestamp.from(window);
+        windowEnd = Timestamp.from(window.plus(BOOKING_LENGTH));
+        jdbcTemplate.update("""
+            DELETE FROM Booking
+            WHERE Id >= ? AND MOD(RoomId, 3) = 0 AND StartTime < ? AND EndTime > ?
+            """, BenchmarkData.FIRST_BOOKING_ID, windowEnd, windowStart);
+
+        filter = new RoomFilterDTO("Bench room", null, null, null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BenchmarkData.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void compareAntiJoinWithProbingEveryRoom() {
+        // warm-up
+        roomService.getAvailable(filter, windowStart, windowEnd, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+        firstFreePageByProbing();
+
+        long antiJoinStarted = System.nanoTime();
+        Page<Room> page = roomService.getAvailable(filter, windowStart, windowEnd,
+            PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+        long antiJoinNanos = System.nanoTime() - antiJoinStarted;
+
+        long probingStarted = System.nanoTime();
+        ProbeResult probed = firstFreePageByProbing();
+        long probingNanos = System.nanoTime() - probingStarted;
+
+        System.out.printf("First page of %d free rooms among %d rooms / %d bookings:%n",
+            PAGE_SIZE, ROOMS, ROOMS * BOOKINGS_PER_ROOM);
+        System.out.printf("  anti-join : %,8d us, 2 queries (page + count), %d free rooms in total%n",
+            antiJoinNanos / 1_000, page.getTotalElements());
+        System.out.printf("  probing   : %,8d us, %d queries%n", probingNanos / 1_000, probed.queries());
+
+        assertEquals(probed.roomIds(), page.map(Room::getId).getContent());
+        assertEquals(ROOMS / 3, page.getTotalElements());
+    }
+
+    // What clients do today: page through the room filter and check each room's availability.
+    private ProbeResult firstFreePageByProbing() {
+        RoomFilterDTO probeFilter = new RoomFilterDTO(filter.name(), null, null, RoomStatus.AVAILABLE, null, null);
+        List<Long> free = new ArrayList<>();
+        int queries = 0;
+
+        for (int pageNumber = 0; free.size() < PAGE_SIZE; pageNumber++) {
+            Page<Room> rooms = roomService.getFilter(probeFilter,
+                PageRequest.of(pageNumber, PROBE_PAGE_SIZE, Sort.by("id")));
+            queries += 2;
+
+            for (Room room : rooms) {
+                queries++;
+                if (!bookingRepository.isRoomBookedDuringTimeRange(room.getId(), windowStart, windowEnd)) {
+                    free.add(room.getId());
+                    if (free.size() == PAGE_SIZE) break;
+                }
+            }
+
+            if (!rooms.hasNext()) break;
+        }
+
+        return new ProbeResult(free, queries);
+    }
+
+    private record ProbeResult(List<Long> roomIds, int queries) {}
+}
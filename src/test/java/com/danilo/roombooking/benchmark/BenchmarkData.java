@@ -0,0 +1,77 @@
+package com.danilo.roombooking.benchmark;
+
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.domain.room.RoomType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    static final long FIRST_ROOM_ID = 1_000_000L;
+    static final long FIRST_BOOKING_ID = 1_000_000_000L;
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private BenchmarkData() {}
+
+    static void insertRooms(JdbcTemplate jdbcTemplate, int rooms) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rooms; i++) {
+            long id = FIRST_ROOM_ID + i;
+            batch.add(new Object[]{id, "BENCH-" + id, "Bench room " + i, 10 + (i % 200),
+                RoomStatus.AVAILABLE.name(), ROOM_TYPES[i % ROOM_TYPES.length].name()});
+            if (batch.size() == BATCH_SIZE) flushRooms(jdbcTemplate, batch);
+        }
+        flushRooms(jdbcTemplate, batch);
+    }
+
+    /**
+     * Inserts {@code bookingsPerRoom} back-to-back bookings of {@code length} in every room,
+     * separated by {@code gap}, starting at {@code start}.
+     */
+    static void insertBookings(JdbcTemplate jdbcTemplate, int rooms, int bookingsPerRoom, long requestedBy,
+                               Instant start, Duration length, Duration gap) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long id = FIRST_BOOKING_ID;
+        for (int room = 0; room < rooms; room++) {
+            Instant cursor = start;
+            for (int i = 0; i < bookingsPerRoom; i++) {
+                Instant end = cursor.plus(length);
+                batch.add(new Object[]{id++, FIRST_ROOM_ID + room, requestedBy,
+                    Timestamp.from(cursor), Timestamp.from(end)});
+                if (batch.size() == BATCH_SIZE) flushBookings(jdbcTemplate, batch);
+                cursor = end.plus(gap);
+            }
+        }
+        flushBookings(jdbcTemplate, batch);
+    }
+
+    static void deleteAll(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM Booking WHERE Id >= ? OR RoomId >= ?", FIRST_BOOKING_ID, FIRST_ROOM_ID);
+        jdbcTemplate.update("DELETE FROM Room WHERE Id >= ?", FIRST_ROOM_ID);
+    }
+
+    private static void flushRooms(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Room (Id, Identifier, Name, Capacity, Status, Type)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, batch);
+        batch.clear();
+    }
+
+    private static void flushBookings(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO Booking (Id, RoomId, Approved, RequestedBy, StartTime, EndTime)
+            VALUES (?, ?, TRUE, ?, ?, ?)
+            """, batch);
+        batch.clear();
+    }
+}
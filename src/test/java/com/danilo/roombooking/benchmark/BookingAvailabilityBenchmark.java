@@ -0,0 +1,123 @@
+package com.danilo.roombooking.benchmark;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+class BookingAvailabilityBenchmark {
+
+    private static final int ROOMS = 200;
+    private static final int BOOKINGS_PER_ROOM = 500;
+    private static final int PROBES = 20_000;
+    private static final Duration BOOKING_LENGTH = Duration.ofHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Value("${default-admin-username}")
+    private String adminUsername;
+
+    private Instant start;
+
+    @BeforeEach
+    void setUp() {
+        start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        long adminId = userRepository.findByUsername(adminUsername).orElseThrow().getId();
+
+        BenchmarkData.insertRooms(jdbcTemplate, ROOMS);
+        BenchmarkData.insertBookings(jdbcTemplate, ROOMS, BOOKINGS_PER_ROOM, adminId,
+            start, BOOKING_LENGTH, BOOKING_LENGTH);
+        availabilityIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        BenchmarkData.deleteAll(jdbcTemplate);
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void compareIndexWithSqlOverlapCheck() {
+        long[][] probes = probes(new Random(42));
+
+        // warm-up
+        runSql(probes);
+        runIndex(probes);
+
+        long sqlStarted = System.nanoTime();
+        boolean[] sqlAnswers = runSql(probes);
+        long sqlNanos = System.nanoTime() - sqlStarted;
+
+        long indexStarted = System.nanoTime();
+        boolean[] indexAnswers = runIndex(probes);
+        long indexNanos = System.nanoTime() - indexStarted;
+
+        System.out.printf("Overlap check over %d bookings, %d probes:%n", ROOMS * BOOKINGS_PER_ROOM, PROBES);
+        System.out.printf("  SQL   : %,10d ns/op%n", sqlNanos / PROBES);
+        System.out.printf("  index : %,10d ns/op%n", indexNanos / PROBES);
+
+        assertArrayEquals(sqlAnswers, indexAnswers);
+    }
+
+    private long[][] probes(Random random) {
+        long span = BOOKING_LENGTH.multipliedBy(2L * BOOKINGS_PER_ROOM).toMillis();
+        long[][] probes = new long[PROBES][];
+        for (int i = 0; i < PROBES; i++) {
+            long roomId = BenchmarkData.FIRST_ROOM_ID + random.nextInt(ROOMS);
+            long probeStart = start.toEpochMilli() + (long) (random.nextDouble() * span);
+            long probeEnd = probeStart + 1 + random.nextInt((int) BOOKING_LENGTH.toMillis());
+            probes[i] = new long[]{roomId, probeStart, probeEnd};
+        }
+        return probes;
+    }
+
+    private boolean[] runSql(long[][] probes) {
+        boolean[] answers = new boolean[probes.length];
+        for (int i = 0; i < probes.length; i++) {
+            answers[i] = bookingRepository.isRoomBookedDuringTimeRange(
+                probes[i][0], new Timestamp(probes[i][1]), new Timestamp(probes[i][2]));
+        }
+        return answers;
+    }
+
+    private boolean[] runIndex(long[][] probes) {
+        boolean[] answers = new boolean[probes.length];
+        for (int i = 0; i < probes.length; i++) {
+            answers[i] = availabilityIndex.overlaps(
+                probes[i][0], new Timestamp(probes[i][1]), new Timestamp(probes[i][2]));
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,131 @@
+package com.danilo.roombooking.benchmark;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingInsertService;
+import com.danilo.roombooking.service.booking.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+class BookingCreateLatencyBenchmark {
+
+    private static final int ROOMS = 500;
+    private static final int BOOKINGS_PER_ROOM = 200;
+    private static final int WARM_UP = 500;
+    private static final int CREATES = 5_000;
+    private static final Duration BOOKING_LENGTH = Duration.ofHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingInsertService bookingInsertService;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${default-admin-username}")
+    private String adminUsername;
+
+    private Instant freeFrom;
+    private CustomUserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        Instant start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        long adminId = userRepository.findByUsername(adminUsername).orElseThrow().getId();
+
+        BenchmarkData.insertRooms(jdbcTemplate, ROOMS);
+        BenchmarkData.insertBookings(jdbcTemplate, ROOMS, BOOKINGS_PER_ROOM, adminId,
+            start, BOOKING_LENGTH, BOOKING_LENGTH);
+        availabilityIndex.rebuild();
+
+        freeFrom = start.plus(BOOKING_LENGTH.multipliedBy(2L * BOOKINGS_PER_ROOM));
+        admin = new CustomUserDetails(adminId, adminUsername, "", true, false,
+            List.of(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        BenchmarkData.deleteAll(jdbcTemplate);
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void compareSingleStatementWithCurrentCreate() {
+        // every request targets a free slot, each path in its own range of slots
+        run(0, WARM_UP, request -> bookingService.create(request, admin));
+        run(WARM_UP, WARM_UP, request -> bookingInsertService.createInSingleStatement(request, admin));
+
+        long[] current = run(2 * WARM_UP, CREATES, request -> bookingService.create(request, admin));
+        long[] singleStatement = run(2 * WARM_UP + CREATES, CREATES,
+            request -> bookingInsertService.createInSingleStatement(request, admin));
+
+        System.out.printf("Booking creation latency, %d creates over %d rooms / %d bookings:%n",
+            CREATES, ROOMS, ROOMS * BOOKINGS_PER_ROOM);
+        print("current         ", current);
+        print("single statement", singleStatement);
+
+        Integer created = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM Booking WHERE RoomId >= ? AND StartTime >= ?", Integer.class,
+            BenchmarkData.FIRST_ROOM_ID, Timestamp.from(freeFrom));
+        assertEquals(2 * (WARM_UP + CREATES), created);
+    }
+
+    private long[] run(int firstSlot, int count, Consumer<BookingRequestDTO> create) {
+        long[] nanos = new long[count];
+        for (int i = 0; i < count; i++) {
+            int slot = firstSlot + i;
+            Instant slotStart = freeFrom.plus(BOOKING_LENGTH.multipliedBy(slot / ROOMS));
+            BookingRequestDTO request = new BookingRequestDTO(BenchmarkData.FIRST_ROOM_ID + slot % ROOMS,
+                Timestamp.from(slotStart), Timestamp.from(slotStart.plus(BOOKING_LENGTH)));
+
+            long started = System.nanoTime();
+            create.accept(request);
+            nanos[i] = System.nanoTime() - started;
+        }
+        return nanos;
+    }
+
+    private static void print(String label, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %s : mean %,7d us, p50 %,7d us, p99 %,7d us%n", label,
+            Arrays.stream(sorted).sum() / sorted.length / 1_000,
+            sorted[sorted.length / 2] / 1_000,
+            sorted[(int) (sorted.length * 0.99)] / 1_000);
+    }
+}
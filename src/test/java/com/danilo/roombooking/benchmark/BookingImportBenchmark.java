@@ -0,0 +1,133 @@
+package com.danilo.roombooking.benchmark;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.dto.ImportReportDTO;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingImportService;
+import com.danilo.roombooking.service.booking.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+class BookingImportBenchmark {
+
+    private static final int ROOMS = 1_000;
+    private static final int IMPORTED_PER_ROOM = 200;
+    private static final int CREATES = 2_000;
+    private static final Duration BOOKING_LENGTH = Duration.ofHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${default-admin-username}")
+    private String adminUsername;
+
+    private Instant start;
+    private CustomUserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        long adminId = userRepository.findByUsername(adminUsername).orElseThrow().getId();
+
+        BenchmarkData.insertRooms(jdbcTemplate, ROOMS);
+        admin = new CustomUserDetails(adminId, adminUsername, "", true, false,
+            List.of(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        BenchmarkData.deleteAll(jdbcTemplate);
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void compareCsvImportWithSingleCreates() throws Exception {
+        byte[] csv = csv(ROOMS * IMPORTED_PER_ROOM);
+
+        long started = System.nanoTime();
+        ImportReportDTO report = bookingImportService.importCsv(new ByteArrayInputStream(csv));
+        long importNanos = System.nanoTime() - started;
+
+        // single creates go after the imported bookings, so both paths write to free slots
+        Instant createsFrom = start.plus(BOOKING_LENGTH.multipliedBy(2L * IMPORTED_PER_ROOM));
+        started = System.nanoTime();
+        for (int i = 0; i < CREATES; i++) {
+            Instant slotStart = createsFrom.plus(BOOKING_LENGTH.multipliedBy(i / ROOMS));
+            bookingService.create(new BookingRequestDTO(BenchmarkData.FIRST_ROOM_ID + i % ROOMS,
+                Timestamp.from(slotStart), Timestamp.from(slotStart.plus(BOOKING_LENGTH))), admin);
+        }
+        long createNanos = System.nanoTime() - started;
+
+        System.out.printf("Booking import throughput, %d rows over %d rooms (%,d bytes of CSV):%n",
+            ROOMS * IMPORTED_PER_ROOM, ROOMS, csv.length);
+        print("CSV import   ", ROOMS * IMPORTED_PER_ROOM, importNanos);
+        print("single create", CREATES, createNanos);
+
+        assertEquals(ROOMS * IMPORTED_PER_ROOM, report.imported());
+        assertEquals(0, report.failed());
+        Integer stored = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM Booking WHERE RoomId >= ?", Integer.class, BenchmarkData.FIRST_ROOM_ID);
+        assertEquals(ROOMS * IMPORTED_PER_ROOM + CREATES, stored);
+    }
+
+    // Rows go room by room like an export from another system would, every other hour of each room.
+    private byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 100);
+        csv.append("roomIdentifier,requestedBy,approvedBy,startTime,endTime\n");
+        for (int room = 0; room < ROOMS; room++) {
+            Instant cursor = start;
+            for (int i = 0; i < IMPORTED_PER_ROOM; i++) {
+                Instant end = cursor.plus(BOOKING_LENGTH);
+                csv.append("BENCH-").append(BenchmarkData.FIRST_ROOM_ID + room).append(',')
+                    .append(adminUsername).append(',').append(adminUsername).append(',')
+                    .append(cursor).append(',').append(end).append('\n');
+                cursor = end.plus(BOOKING_LENGTH);
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void print(String label, int rows, long nanos) {
+        System.out.printf("  %s : %,9d rows in %,7d ms, %,9d rows/s%n", label, rows,
+            nanos / 1_000_000, rows * 1_000_000_000L / nanos);
+    }
+}
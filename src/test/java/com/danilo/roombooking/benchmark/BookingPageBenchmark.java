@@ -0,0 +1,115 @@
+package com.danilo.roombooking.benchmark;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.booking.BookingService;
+import com.danilo.roombooking.specification.BookingSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+class BookingPageBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int RUNS = 200;
+    private static final Duration BOOKING_LENGTH = Duration.ofMinutes(30);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${default-admin-username}")
+    private String adminUsername;
+
+    @BeforeEach
+    void setUp() {
+        Instant start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        long adminId = userRepository.findByUsername(adminUsername).orElseThrow().getId();
+
+        // approved without an approver, so every row has a null ApprovedBy
+        BenchmarkData.insertRooms(jdbcTemplate, 1);
+        BenchmarkData.insertBookings(jdbcTemplate, 1, PAGE_SIZE, adminId, start, BOOKING_LENGTH, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BenchmarkData.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void compareProjectionWithEntityHydration() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("startTime", "id"));
+
+        // what the controller did before, open-in-view keeping the session open while mapping
+        Supplier<List<BookingResponseDTO>> hydrated = () -> transactionTemplate.execute(status ->
+            bookingRepository.findAll(BookingSpecification.<Booking>hasRoomId(BenchmarkData.FIRST_ROOM_ID), pageable)
+                .map(BookingResponseDTO::new).getContent());
+        Supplier<List<BookingResponseDTO>> projected = () ->
+            bookingService.getByRoomId(BenchmarkData.FIRST_ROOM_ID, pageable).getContent();
+
+        // warm-up
+        run(hydrated);
+        run(projected);
+
+        long[] hydratedCost = run(hydrated);
+        long[] projectedCost = run(projected);
+
+        System.out.printf("Page of %d bookings, %d runs:%n", PAGE_SIZE, RUNS);
+        System.out.printf("  entities   : %,10d us/op %,12d bytes/op%n", hydratedCost[0] / 1_000, hydratedCost[1]);
+        System.out.printf("  projection : %,10d us/op %,12d bytes/op%n", projectedCost[0] / 1_000, projectedCost[1]);
+
+        assertEquals(hydrated.get(), projected.get());
+    }
+
+    // Mean nanoseconds and bytes allocated by this thread per page.
+    private static long[] run(Supplier<List<BookingResponseDTO>> page) {
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            if (page.get().size() != PAGE_SIZE) throw new IllegalStateException("Short page");
+        }
+        long nanos = System.nanoTime() - started;
+        return new long[]{nanos / RUNS, (THREADS.getCurrentThreadAllocatedBytes() - allocated) / RUNS};
+    }
+}
@@ -0,0 +1,127 @@
+package com.danilo.roombooking.repository;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.service.booking.BookingPartitionMaintainer;
+import com.danilo.roombooking.specification.BookingSpecification;
+import com.danilo.roombooking.specification.RoomSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.danilo.roombooking.repository.SqlStatementCapture")
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+public class BookingPartitionPruningTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Timestamp start;
+    private Timestamp end;
+
+    @BeforeEach
+    void setUp() {
+        start = Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS));
+        end = Timestamp.from(start.toInstant().plus(1, ChronoUnit.HOURS));
+        SqlStatementCapture.clear();
+    }
+
+    @Test
+    public void BookingRepository_IsRoomBookedDuringTimeRange_PrunesPartitions() {
+        bookingRepository.isRoomBookedDuringTimeRange(ROOM_ID, start, end);
+
+        assertPruned(SqlStatementCapture.first("Booking"),
+            ROOM_ID, BookingRepository.earliestOverlappingStart(start), end, start);
+    }
+
+    @Test
+    public void BookingRepository_IsRoomBookedDuringTimeRangeExcludingCurrentBooking_PrunesPartitions() {
+        bookingRepository.isRoomBookedDuringTimeRangeExcludingCurrentBooking(ROOM_ID, 1L, start, end);
+
+        assertPruned(SqlStatementCapture.first("Booking"),
+            ROOM_ID, BookingRepository.earliestOverlappingStart(start), end, start, 1L);
+    }
+
+    @Test
+    public void BookingRepository_FindIntervalsByRoomIdDuringTimeRange_PrunesPartitions() {
+        bookingRepository.findIntervalsByRoomIdDuringTimeRange(ROOM_ID, start, end);
+
+        assertPruned(SqlStatementCapture.first("Booking"),
+            ROOM_ID, BookingRepository.earliestOverlappingStart(start), end, start);
+    }
+
+    @Test
+    public void BookingRepository_FindIntervalsEndingAfter_PrunesPartitions() {
+        bookingRepository.findIntervalsEndingAfter(start);
+
+        assertPruned(SqlStatementCapture.first("Booking"), BookingRepository.earliestOverlappingStart(start), start);
+    }
+
+    @Test
+    public void BookingSpecification_Filter_PrunesPartitions() {
+        Specification<Booking> spec = Specification
+            .<Booking>where(BookingSpecification.hasRoomId(ROOM_ID))
+            .and(BookingSpecification.hasStartTimeGreaterThanOrEqualTo(start))
+            .and(BookingSpecification.hasEndTimeLessThanOrEqualTo(end));
+
+        bookingRepository.findAll(spec);
+
+        assertPruned(SqlStatementCapture.first("Booking"), ROOM_ID, start, end, end);
+    }
+
+    @Test
+    public void RoomSpecification_IsFreeBetween_PrunesPartitions() {
+        Specification<Room> spec = Specification.where(RoomSpecification.isFreeBetween(start, end));
+
+        roomRepository.findAll(spec);
+
+        assertPruned(SqlStatementCapture.first("Booking"), BookingRepository.earliestOverlappingStart(start), end, start);
+    }
+
+    private void assertPruned(String sql, Object... args) {
+        assertEquals(args.length, sql.chars().filter(c -> c == '?').count(), "unexpected parameters in " + sql);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN PARTITIONS " + sql, args);
+        List<String> scanned = plan.stream()
+            .map(row -> (String) row.get("partitions"))
+            .filter(Objects::nonNull)
+            .flatMap(partitions -> Arrays.stream(partitions.split(",")))
+            .toList();
+        int total = partitionMaintainer.getPartitions().size();
+
+        assertFalse(scanned.isEmpty(), "Booking does not appear in the plan of " + sql);
+        assertTrue(scanned.size() < total, "no partition was pruned from " + sql + ": " + scanned);
+        assertFalse(scanned.contains("p_history"), "history partition scanned by " + sql);
+    }
+}
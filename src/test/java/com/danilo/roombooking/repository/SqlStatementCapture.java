@@ -0,0 +1,34 @@
+package com.danilo.roombooking.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SqlStatementCapture implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    static void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    static String first(String fragment) {
+        synchronized (statements) {
+            return statements.stream()
+                .filter(sql -> sql.contains(fragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no statement containing " + fragment));
+        }
+    }
+}
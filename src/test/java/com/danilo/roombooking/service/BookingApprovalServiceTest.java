@@ -0,0 +1,141 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.BookingBulkApprovalRequestDTO;
+import com.danilo.roombooking.dto.BookingBulkApprovalResponseDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.dto.KeysetPageDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.booking.BookingApprovalService;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingApprovalServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @InjectMocks
+    private BookingApprovalService bookingApprovalService;
+
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingApprovalService, "maxBulkSize", 3);
+        userDetails = new CustomUserDetails(10L, "manager", "password", true, false, List.of());
+    }
+
+    @Test
+    public void BookingApprovalService_GetPending_ReturnsNextAfterId_WhenMorePendingBookingsExist() {
+        when(bookingRepository.findByApprovedFalseAndIdGreaterThanOrderByIdAsc(5L, Limit.of(3)))
+            .thenReturn(List.of(pending(6L), pending(8L), pending(9L)));
+
+        KeysetPageDTO<BookingResponseDTO> page = bookingApprovalService.getPending(5L, 2);
+
+        assertEquals(List.of(6L, 8L), page.content().stream().map(BookingResponseDTO::id).toList());
+        assertEquals(8L, page.nextAfterId());
+        assertNull(page.content().get(0).approvedBy());
+    }
+
+    @Test
+    public void BookingApprovalService_GetPending_ReturnsNullNextAfterId_OnLastPage() {
+        when(bookingRepository.findByApprovedFalseAndIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+            .thenReturn(List.of(pending(6L)));
+
+        KeysetPageDTO<BookingResponseDTO> page = bookingApprovalService.getPending(null, 2);
+
+        assertEquals(1, page.content().size());
+        assertNull(page.nextAfterId());
+    }
+
+    @Test
+    public void BookingApprovalService_GetPending_ThrowsException_WhenSizeIsTooLarge() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingApprovalService.getPending(0L, 101));
+
+        assertEquals("size must be between 1 and 100.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void BookingApprovalService_ApproveAll_IssuesSingleUpdateAndCountsSkipped() {
+        Set<Long> ids = new TreeSet<>(List.of(1L, 2L, 3L));
+        when(bookingJdbcRepository.lockPendingIds(ids)).thenReturn(List.of(1L, 3L));
+        when(bookingJdbcRepository.approveAll(List.of(1L, 3L), 10L)).thenReturn(2);
+
+        BookingBulkApprovalResponseDTO response = bookingApprovalService.approveAll(
+            new BookingBulkApprovalRequestDTO(List.of(3L, 1L, 2L, 1L)), userDetails);
+
+        assertEquals(new BookingBulkApprovalResponseDTO(3, 2, 1), response);
+        verify(bookingJdbcRepository, times(1)).approveAll(List.of(1L, 3L), 10L);
+        verify(outbox).recordChanged(BookingEventType.APPROVED, List.of(1L, 3L));
+    }
+
+    @Test
+    public void BookingApprovalService_ApproveAll_SkipsUpdate_WhenNothingIsPending() {
+        when(bookingJdbcRepository.lockPendingIds(any())).thenReturn(List.of());
+
+        BookingBulkApprovalResponseDTO response = bookingApprovalService.approveAll(
+            new BookingBulkApprovalRequestDTO(List.of(1L, 2L)), userDetails);
+
+        assertEquals(new BookingBulkApprovalResponseDTO(2, 0, 2), response);
+        verify(bookingJdbcRepository, never()).approveAll(any(), any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    public void BookingApprovalService_ApproveAll_ThrowsException_WhenTooManyIds() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingApprovalService.approveAll(new BookingBulkApprovalRequestDTO(List.of(1L, 2L, 3L, 4L)), userDetails));
+
+        assertEquals("cannot approve more than 3 bookings at once.", exception.getMessage());
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    @Test
+    public void BookingApprovalService_ApproveAll_ThrowsException_WhenIdsContainNull() {
+        assertThrows(InvalidBookingException.class, () ->
+            bookingApprovalService.approveAll(new BookingBulkApprovalRequestDTO(Arrays.asList(1L, null)), userDetails));
+
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    private static Booking pending(Long id) {
+        User user = User.builder().id(5L).build();
+        return Booking.builder()
+            .id(id)
+            .room(Room.builder().id(2L).build())
+            .requestedBy(user)
+            .approved(false)
+            .build();
+    }
+}
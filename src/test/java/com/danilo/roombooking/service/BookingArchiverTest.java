@@ -0,0 +1,116 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.dto.BookingArchivalProgressDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.booking.BookingArchiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Timestamp CUTOFF = Timestamp.from(NOW.minus(Duration.ofDays(180)));
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BookingArchiver bookingArchiver;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingArchiver, "enabled", true);
+        ReflectionTestUtils.setField(bookingArchiver, "horizon", Duration.ofDays(180));
+        ReflectionTestUtils.setField(bookingArchiver, "batchSize", 2);
+        ReflectionTestUtils.setField(bookingArchiver, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(bookingArchiver, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void BookingArchiver_Archive_MovesKeysetBatches_UntilBatchIsNotFull() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.lockArchivableIds(0L, CUTOFF, 2)).thenReturn(List.of(3L, 7L));
+        when(bookingJdbcRepository.lockArchivableIds(7L, CUTOFF, 2)).thenReturn(List.of(9L));
+
+        bookingArchiver.archive();
+
+        verify(bookingJdbcRepository).moveToHistory(0L, 7L, CUTOFF, 2);
+        verify(bookingJdbcRepository).moveToHistory(7L, 9L, CUTOFF, 1);
+        verify(bookingJdbcRepository, times(2)).lockArchivableIds(anyLong(), any(), anyInt());
+
+        BookingArchivalProgressDTO progress = bookingArchiver.getProgress();
+        assertFalse(progress.running());
+        assertEquals(CUTOFF, progress.cutoff());
+        assertEquals(3, progress.runArchived());
+        assertEquals(2, progress.runBatches());
+        assertEquals(9L, progress.lastArchivedId());
+        assertEquals(3, progress.totalArchived());
+        assertNull(progress.lastError());
+    }
+
+    @Test
+    public void BookingArchiver_Archive_NeverArchivesBookingsEndedLessThanADayAgo() {
+        ReflectionTestUtils.setField(bookingArchiver, "horizon", Duration.ofHours(1));
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.lockArchivableIds(anyLong(), any(), anyInt())).thenReturn(List.of());
+
+        bookingArchiver.archive();
+
+        verify(bookingJdbcRepository).lockArchivableIds(0L, Timestamp.from(NOW.minus(Duration.ofDays(1))), 2);
+        verify(bookingJdbcRepository, never()).moveToHistory(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    public void BookingArchiver_Archive_RecordsError_WhenBatchFails() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.lockArchivableIds(0L, CUTOFF, 2)).thenReturn(List.of(3L, 7L));
+        when(bookingJdbcRepository.lockArchivableIds(7L, CUTOFF, 2)).thenThrow(new QueryTimeoutException("timeout"));
+
+        bookingArchiver.archive();
+
+        BookingArchivalProgressDTO progress = bookingArchiver.getProgress();
+        assertFalse(progress.running());
+        assertEquals(2, progress.runArchived());
+        assertEquals(7L, progress.lastArchivedId());
+        assertEquals("timeout", progress.lastError());
+        assertNotNull(progress.runFinishedAt());
+    }
+
+    @Test
+    public void BookingArchiver_Archive_DoesNothing_WhenDisabled() {
+        ReflectionTestUtils.setField(bookingArchiver, "enabled", false);
+
+        bookingArchiver.archive();
+
+        verifyNoInteractions(bookingJdbcRepository, transactionTemplate);
+        assertNull(bookingArchiver.getProgress().runStartedAt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+}
@@ -0,0 +1,120 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        base = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_Covers_ReturnsFalse_BeforeRebuild() {
+        assertFalse(availabilityIndex.isReady());
+        assertFalse(availabilityIndex.covers(at(0)));
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_Overlaps_DetectsOverlappingIntervals() {
+        loadIntervals(List.of(interval(1L, 1L, 10, 12), interval(2L, 1L, 14, 15)));
+
+        assertTrue(availabilityIndex.covers(at(0)));
+        assertTrue(availabilityIndex.overlaps(1L, at(11), at(13)));
+        assertTrue(availabilityIndex.overlaps(1L, at(9), at(16)));
+        assertTrue(availabilityIndex.overlaps(1L, at(14), at(15)));
+        assertFalse(availabilityIndex.overlaps(1L, at(12), at(14)));
+        assertFalse(availabilityIndex.overlaps(1L, at(8), at(10)));
+        assertFalse(availabilityIndex.overlaps(2L, at(10), at(12)));
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_Overlaps_FindsLongBookingStartingEarlier() {
+        loadIntervals(List.of(
+            interval(1L, 1L, 0, 48),
+            interval(2L, 1L, 1, 2),
+            interval(3L, 1L, 3, 4)
+        ));
+
+        assertTrue(availabilityIndex.overlaps(1L, at(30), at(31)));
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_Overlaps_IgnoresExcludedBooking() {
+        loadIntervals(List.of(interval(1L, 1L, 10, 12)));
+
+        assertFalse(availabilityIndex.overlaps(1L, 1L, at(11), at(13)));
+        assertTrue(availabilityIndex.overlaps(1L, 2L, at(11), at(13)));
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_RegisterSaved_MovesBooking() {
+        loadIntervals(List.of(interval(1L, 1L, 10, 12)));
+
+        availabilityIndex.registerSaved(1L, 1L, at(20), at(22));
+
+        assertFalse(availabilityIndex.overlaps(1L, at(10), at(12)));
+        assertTrue(availabilityIndex.overlaps(1L, at(21), at(23)));
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_RegisterDeleted_FreesSlot() {
+        loadIntervals(List.of(interval(1L, 1L, 10, 12)));
+
+        availabilityIndex.registerDeleted(1L);
+
+        assertFalse(availabilityIndex.overlaps(1L, at(10), at(12)));
+    }
+
+    @Test
+    public void BookingAvailabilityIndex_Rebuild_ReportsDifferencesWithDatabase() {
+        loadIntervals(List.of(interval(1L, 1L, 10, 12)));
+        availabilityIndex.registerSaved(2L, 1L, at(14), at(15));
+
+        when(bookingRepository.findIntervalsEndingAfter(any(Timestamp.class)))
+            .thenReturn(List.of(interval(1L, 1L, 10, 12), interval(3L, 1L, 16, 17)));
+
+        assertEquals(2, availabilityIndex.rebuild());
+        assertFalse(availabilityIndex.overlaps(1L, at(14), at(15)));
+        assertTrue(availabilityIndex.overlaps(1L, at(16), at(17)));
+    }
+
+    private void loadIntervals(List<BookingIntervalDTO> intervals) {
+        when(bookingRepository.findIntervalsEndingAfter(any(Timestamp.class))).thenReturn(intervals);
+        assertEquals(0, availabilityIndex.rebuild());
+    }
+
+    private BookingIntervalDTO interval(Long id, Long roomId, int startHour, int endHour) {
+        return new BookingIntervalDTO(id, roomId, at(startHour), at(endHour));
+    }
+
+    private Timestamp at(int hour) {
+        return Timestamp.from(base.plus(hour, ChronoUnit.HOURS));
+    }
+}
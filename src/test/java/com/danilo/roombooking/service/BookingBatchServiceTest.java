@@ -0,0 +1,161 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingBatchItemResultDTO;
+import com.danilo.roombooking.dto.BookingBatchRequestDTO;
+import com.danilo.roombooking.dto.BookingBatchResponseDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingBatchService;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingBatchServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @InjectMocks
+    private BookingBatchService bookingBatchService;
+
+    private Instant base;
+    private Room room;
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingBatchService, "maxBatchSize", 100);
+
+        base = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        room = Room.builder().id(1L).status(RoomStatus.AVAILABLE).build();
+        userDetails = new CustomUserDetails(10L, "user", "password", true, false, List.of());
+    }
+
+    @Test
+    public void BookingBatchService_Create_InsertsAllBookings_WhenNoConflicts() {
+        when(roomService.lockAllForBooking(anyCollection())).thenReturn(List.of(room));
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(List.of());
+        when(userService.getById(10L)).thenReturn(User.builder().id(10L).build());
+        when(bookingJdbcRepository.nextIds(2)).thenReturn(List.of(100L, 101L));
+
+        BookingBatchResponseDTO response = bookingBatchService.create(new BookingBatchRequestDTO(
+            List.of(request(1L, 10, 11), request(1L, 11, 12)), null), userDetails);
+
+        assertEquals(2, response.created());
+        assertEquals(0, response.failed());
+        assertEquals(100L, response.results().get(0).bookingId());
+        assertEquals(101L, response.results().get(1).bookingId());
+        verify(bookingJdbcRepository).insertAll(argThat(bookings -> bookings.size() == 2));
+        verify(outbox).recordAll(eq(BookingEventType.CREATED), argThat(bookings -> bookings.size() == 2));
+    }
+
+    @Test
+    public void BookingBatchService_Create_RejectsWholeBatch_WhenItemsOverlapEachOther() {
+        when(roomService.lockAllForBooking(anyCollection())).thenReturn(List.of(room));
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(List.of());
+
+        BookingBatchResponseDTO response = bookingBatchService.create(new BookingBatchRequestDTO(
+            List.of(request(1L, 10, 12), request(1L, 11, 13)),
+            BookingBatchRequestDTO.Mode.ALL_OR_NOTHING), userDetails);
+
+        assertEquals(0, response.created());
+        assertEquals(BookingBatchItemResultDTO.Status.NOT_CREATED, response.results().get(0).status());
+        assertEquals(BookingBatchItemResultDTO.Status.CONFLICT, response.results().get(1).status());
+        verify(bookingJdbcRepository, never()).insertAll(any());
+    }
+
+    @Test
+    public void BookingBatchService_Create_SkipsConflictsWithExistingBookings_WhenBestEffort() {
+        when(roomService.lockAllForBooking(anyCollection())).thenReturn(List.of(room));
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(List.of(
+            new BookingIntervalDTO(50L, 1L, at(10), at(11))));
+        when(userService.getById(10L)).thenReturn(User.builder().id(10L).build());
+        when(bookingJdbcRepository.nextIds(1)).thenReturn(List.of(100L));
+
+        BookingBatchResponseDTO response = bookingBatchService.create(new BookingBatchRequestDTO(
+            List.of(request(1L, 10, 11), request(1L, 12, 13), request(null, 12, 13)),
+            BookingBatchRequestDTO.Mode.BEST_EFFORT), userDetails);
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(BookingBatchItemResultDTO.Status.CONFLICT, response.results().get(0).status());
+        assertEquals(BookingBatchItemResultDTO.Status.CREATED, response.results().get(1).status());
+        assertEquals(BookingBatchItemResultDTO.Status.INVALID, response.results().get(2).status());
+        assertEquals("roomId is required.", response.results().get(2).message());
+    }
+
+    @Test
+    public void BookingBatchService_Create_ReportsMissingRooms() {
+        when(roomService.lockAllForBooking(anyCollection())).thenReturn(List.of());
+
+        BookingBatchResponseDTO response = bookingBatchService.create(new BookingBatchRequestDTO(
+            List.of(request(2L, 10, 11)), BookingBatchRequestDTO.Mode.BEST_EFFORT), userDetails);
+
+        assertEquals(0, response.created());
+        assertEquals("room not found.", response.results().get(0).message());
+    }
+
+    @Test
+    public void BookingBatchService_Create_ThrowsException_WhenBatchIsEmpty() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingBatchService.create(new BookingBatchRequestDTO(List.of(), null), userDetails));
+
+        assertEquals("bookings are required.", exception.getMessage());
+    }
+
+    private BookingRequestDTO request(Long roomId, int startHour, int endHour) {
+        return new BookingRequestDTO(roomId, at(startHour), at(endHour));
+    }
+
+    private Timestamp at(int hour) {
+        return Timestamp.from(base.plus(hour, ChronoUnit.HOURS));
+    }
+}
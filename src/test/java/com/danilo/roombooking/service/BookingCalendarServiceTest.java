@@ -0,0 +1,83 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.booking.BookingCalendarService;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingCalendarServiceTest {
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @InjectMocks
+    private BookingCalendarService bookingCalendarService;
+
+    private final Timestamp from = new Timestamp(1_000_000L);
+    private final Timestamp to = new Timestamp(2_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingCalendarService, "maxRange", Duration.ofDays(366));
+    }
+
+    @Test
+    public void BookingCalendarService_BusyIntervals_MergesAndClipsIntervals() throws Exception {
+        doAnswer(invocation -> {
+            BookingJdbcRepository.IntervalHandler handler = invocation.getArgument(3);
+            handler.handle(900_000L, 1_100_000L);
+            handler.handle(1_050_000L, 1_200_000L);
+            handler.handle(1_200_000L, 1_300_000L);
+            handler.handle(1_500_000L, 1_600_500L);
+            handler.handle(1_900_000L, 2_500_000L);
+            return null;
+        }).when(bookingJdbcRepository).forEachInterval(eq(1L), eq(from), eq(to), any());
+
+        assertEquals("[[1000,1300],[1500,1601],[1900,2000]]", write(1L));
+    }
+
+    @Test
+    public void BookingCalendarService_BusyIntervals_ReturnsEmptyArray_WhenRoomIsFree() throws Exception {
+        assertEquals("[]", write(1L));
+    }
+
+    @Test
+    public void BookingCalendarService_BusyIntervals_ThrowsException_WhenRangeIsTooLong() {
+        Timestamp farAway = new Timestamp(from.getTime() + Duration.ofDays(367).toMillis());
+
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingCalendarService.busyIntervals(1L, from, farAway));
+
+        assertEquals("calendar range cannot be longer than 366 days.", exception.getMessage());
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    @Test
+    public void BookingCalendarService_BusyIntervals_ThrowsException_WhenFromIsNotBeforeTo() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingCalendarService.busyIntervals(1L, to, from));
+
+        assertEquals("from must be before to.", exception.getMessage());
+    }
+
+    private String write(Long roomId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingCalendarService.busyIntervals(roomId, from, to).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.outbox.BookingEventStream;
+import com.danilo.roombooking.service.outbox.BookingStreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingEventStreamTest {
+
+    private BookingEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new BookingEventStream(1, 2, 16, 100, Duration.ofMinutes(1), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    public void BookingEventStream_Subscribe_ThrowsException_WhenRoomCountIsOutOfBounds() {
+        assertThrows(InvalidBookingException.class, () -> stream.subscribe(Set.of(), null));
+        assertThrows(InvalidBookingException.class, () -> stream.subscribe(Set.of(1L, 2L, 3L), null));
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    public void BookingEventStream_Subscribe_ThrowsException_WhenSubscriberLimitIsReached() {
+        assertNotNull(stream.subscribe(Set.of(1L, 2L), null));
+
+        assertThrows(BookingStreamUnavailableException.class, () -> stream.subscribe(Set.of(1L), null));
+        assertEquals(1, stream.subscriberCount());
+    }
+
+    @Test
+    public void BookingEventStream_Publish_SkipsEventsAlreadySent_EvenPastTheRetainedEvents() {
+        List<BookingEventDTO> burst = LongStream.rangeClosed(1, 250).mapToObj(BookingEventStreamTest::event).toList();
+
+        assertEquals(250, stream.publish(burst));
+        assertEquals(0, stream.publish(burst));
+
+        stream.settle(200);
+        assertEquals(0, stream.publish(burst));
+        assertEquals(1, stream.publish(List.of(event(251L))));
+    }
+
+    private static BookingEventDTO event(Long id) {
+        Timestamp start = Timestamp.from(Instant.parse("2026-10-19T12:00:00Z"));
+        return new BookingEventDTO(id, BookingEventType.CREATED, id + 100, 1L, 10L, false,
+            start, Timestamp.from(start.toInstant().plus(Duration.ofHours(1))), start);
+    }
+}
@@ -0,0 +1,81 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.repository.BookingOutboxRepository;
+import com.danilo.roombooking.service.outbox.BookingEventStream;
+import com.danilo.roombooking.service.outbox.BookingEventTail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingEventTailTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    private BookingOutboxRepository outboxRepository;
+
+    @Mock
+    private BookingEventStream stream;
+
+    @InjectMocks
+    private BookingEventTail tail;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tail, "enabled", true);
+        ReflectionTestUtils.setField(tail, "batchSize", 2);
+        ReflectionTestUtils.setField(tail, "lag", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(tail, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void BookingEventTail_Poll_StreamsEveryBatch_AndReadsUnsettledEventsAgain() {
+        List<BookingEventDTO> first = List.of(event(1L, 60), event(2L, 1));
+        List<BookingEventDTO> second = List.of(event(3L, 60));
+        when(outboxRepository.findAfter(0L, 2)).thenReturn(first);
+        when(outboxRepository.findAfter(2L, 2)).thenReturn(second);
+        when(outboxRepository.findAfter(1L, 2)).thenReturn(List.of(event(2L, 1), event(3L, 60)));
+        when(outboxRepository.findAfter(3L, 2)).thenReturn(List.of());
+
+        tail.poll();
+        tail.poll();
+
+        verify(stream).publish(first);
+        verify(stream).publish(second);
+        // event 2 was too young to settle, so the next run starts after event 1
+        verify(outboxRepository).findAfter(1L, 2);
+        verify(stream, times(2)).settle(1L);
+    }
+
+    @Test
+    public void BookingEventTail_Poll_DoesNothing_WhenOutboxIsDisabled() {
+        ReflectionTestUtils.setField(tail, "enabled", false);
+
+        tail.poll();
+
+        verifyNoInteractions(outboxRepository, stream);
+    }
+
+    private static BookingEventDTO event(Long id, long ageSeconds) {
+        Timestamp start = Timestamp.from(NOW.plus(Duration.ofDays(1)));
+        return new BookingEventDTO(id, BookingEventType.CREATED, id + 100, 7L, 10L, false,
+            start, Timestamp.from(start.toInstant().plus(Duration.ofHours(1))),
+            Timestamp.from(NOW.minusSeconds(ageSeconds)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.dto.BookingFilterDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.repository.BookingExportRepository;
+import com.danilo.roombooking.service.booking.BookingExportService;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingExportServiceTest {
+
+    private static final BookingFilterDTO FILTER = new BookingFilterDTO(2L, null, null, null, null);
+
+    @Mock
+    private BookingExportRepository bookingExportRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BookingExportService bookingExportService;
+
+    @Test
+    public void BookingExportService_Export_WritesHeaderAndOneCsvRowPerBooking() throws Exception {
+        streamBookings(booking(7L, 1L), booking(8L, null));
+
+        String csv = write(BookingExportService.Format.CSV);
+
+        assertEquals("""
+            id,roomId,requestedBy,approvedBy,startTime,endTime,createdAt,updatedAt,archived\r
+            7,2,5,1,2026-10-20T09:00:00Z,2026-10-20T10:00:00Z,2026-10-18T11:00:00Z,2026-10-18T11:00:00Z,false\r
+            8,2,5,,2026-10-20T09:00:00Z,2026-10-20T10:00:00Z,2026-10-18T11:00:00Z,2026-10-18T11:00:00Z,false\r
+            """, csv);
+    }
+
+    @Test
+    public void BookingExportService_Export_WritesOneJsonObjectPerLine() throws Exception {
+        streamBookings(booking(7L, 1L), booking(8L, null));
+
+        String[] lines = write(BookingExportService.Format.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(booking(7L, 1L), objectMapper.readValue(lines[0], BookingResponseDTO.class));
+        assertEquals(booking(8L, null), objectMapper.readValue(lines[1], BookingResponseDTO.class));
+    }
+
+    @Test
+    public void BookingExportService_ParseFormat_IgnoresCase_AndRejectsUnknownFormats() {
+        assertEquals(BookingExportService.Format.NDJSON, bookingExportService.parseFormat("NDJson"));
+
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingExportService.parseFormat("xlsx"));
+
+        assertEquals("format must be csv or ndjson.", exception.getMessage());
+    }
+
+    private void streamBookings(BookingResponseDTO... bookings) {
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDTO> handler = invocation.getArgument(2);
+            for (BookingResponseDTO booking : bookings) handler.accept(booking);
+            return null;
+        }).when(bookingExportRepository).forEachMatching(eq(FILTER), eq(false), any());
+    }
+
+    private String write(BookingExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.export(FILTER, false, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static BookingResponseDTO booking(Long id, Long approvedBy) {
+        Timestamp changed = Timestamp.from(Instant.parse("2026-10-18T11:00:00Z"));
+        return new BookingResponseDTO(id, 2L, 5L, approvedBy, Timestamp.from(Instant.parse("2026-10-20T09:00:00Z")),
+            Timestamp.from(Instant.parse("2026-10-20T10:00:00Z")), changed, changed, false);
+    }
+}
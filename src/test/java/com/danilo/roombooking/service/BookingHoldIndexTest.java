@@ -0,0 +1,111 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.BookingHold;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingHoldIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private BookingHoldIndex holdIndex;
+
+    @BeforeEach
+    void setUp() {
+        holdIndex = new BookingHoldIndex();
+        setNow(NOW);
+    }
+
+    @Test
+    public void BookingHoldIndex_TryPlace_RejectsOverlappingHold() {
+        assertTrue(holdIndex.tryPlace(hold(1L, 10L, 10, 12, 60)));
+
+        assertFalse(holdIndex.tryPlace(hold(1L, 11L, 11, 13, 60)));
+        assertTrue(holdIndex.tryPlace(hold(1L, 11L, 12, 13, 60)));
+        assertTrue(holdIndex.tryPlace(hold(2L, 11L, 10, 12, 60)));
+        assertTrue(holdIndex.overlaps(1L, at(9), at(16)));
+        assertFalse(holdIndex.overlaps(1L, at(8), at(10)));
+    }
+
+    @Test
+    public void BookingHoldIndex_Overlaps_IgnoresExpiredHolds_AndSweepRemovesThem() {
+        holdIndex.tryPlace(hold(1L, 10L, 10, 12, 30));
+        holdIndex.tryPlace(hold(1L, 10L, 14, 15, 120));
+
+        setNow(NOW.plusSeconds(60));
+
+        assertFalse(holdIndex.overlaps(1L, at(10), at(12)));
+        assertTrue(holdIndex.overlaps(1L, at(14), at(15)));
+
+        holdIndex.sweep();
+        assertEquals(1, holdIndex.size());
+    }
+
+    @Test
+    public void BookingHoldIndex_FindHeldRoomIds_ReturnsRoomsWithLiveOverlappingHolds() {
+        holdIndex.tryPlace(hold(1L, 10L, 10, 12, 60));
+        holdIndex.tryPlace(hold(2L, 10L, 14, 15, 60));
+        holdIndex.tryPlace(hold(3L, 10L, 10, 12, 30));
+
+        setNow(NOW.plusSeconds(45));
+
+        assertEquals(Set.of(1L), holdIndex.findHeldRoomIds(at(11), at(13)));
+        assertEquals(Set.of(1L, 2L), holdIndex.findHeldRoomIds(at(9), at(16)));
+    }
+
+    @Test
+    public void BookingHoldIndex_Claim_ReturnsHoldOnlyToItsOwner_AndRemovesIt() {
+        BookingHold hold = hold(1L, 10L, 10, 12, 60);
+        holdIndex.tryPlace(hold);
+
+        assertNull(holdIndex.claim(hold.id(), 11L));
+        assertEquals(hold, holdIndex.claim(hold.id(), 10L));
+        assertNull(holdIndex.claim(hold.id(), 10L));
+        assertFalse(holdIndex.overlaps(1L, at(10), at(12)));
+    }
+
+    @Test
+    public void BookingHoldIndex_Claim_ReturnsNull_WhenHoldExpired() {
+        BookingHold hold = hold(1L, 10L, 10, 12, 60);
+        holdIndex.tryPlace(hold);
+
+        setNow(NOW.plusSeconds(60));
+
+        assertNull(holdIndex.claim(hold.id(), 10L));
+    }
+
+    @Test
+    public void BookingHoldIndex_Release_FreesSlot_ForItsOwnerOnly() {
+        BookingHold hold = hold(1L, 10L, 10, 12, 60);
+        holdIndex.tryPlace(hold);
+
+        assertFalse(holdIndex.release(hold.id(), 11L));
+        assertTrue(holdIndex.release(hold.id(), 10L));
+        assertFalse(holdIndex.overlaps(1L, at(10), at(12)));
+        assertEquals(0, holdIndex.size());
+    }
+
+    private void setNow(Instant now) {
+        ReflectionTestUtils.setField(holdIndex, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static BookingHold hold(Long roomId, Long userId, int startHour, int endHour, int ttlSeconds) {
+        return new BookingHold(UUID.randomUUID(), roomId, userId, at(startHour), at(endHour), NOW.plusSeconds(ttlSeconds));
+    }
+
+    private static Timestamp at(int hour) {
+        return Timestamp.from(NOW.plus(1, ChronoUnit.DAYS).plus(hour, ChronoUnit.HOURS));
+    }
+}
@@ -0,0 +1,177 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingHold;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingHoldRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.BookingHoldNotFoundException;
+import com.danilo.roombooking.service.booking.BookingHoldService;
+import com.danilo.roombooking.service.booking.BookingService;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingHoldServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @InjectMocks
+    private BookingHoldService bookingHoldService;
+
+    private Room room;
+    private CustomUserDetails userDetails;
+    private Timestamp start;
+    private Timestamp end;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingHoldService, "defaultTtl", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(bookingHoldService, "maxTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(bookingHoldService, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+
+        room = Room.builder().id(2L).status(RoomStatus.AVAILABLE).build();
+        userDetails = new CustomUserDetails(10L, "user", "password", true, false, List.of());
+        start = Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS));
+        end = Timestamp.from(start.toInstant().plus(1, ChronoUnit.HOURS));
+    }
+
+    @Test
+    public void BookingHoldService_Place_HoldsSlotForDefaultTtl_WhenTtlIsNotGiven() {
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+        when(holdIndex.tryPlace(any(BookingHold.class))).thenReturn(true);
+
+        BookingHold hold = bookingHoldService.place(new BookingHoldRequestDTO(room.getId(), start, end, null), userDetails);
+
+        assertEquals(room.getId(), hold.roomId());
+        assertEquals(10L, hold.userId());
+        assertEquals(NOW.plus(Duration.ofMinutes(2)), hold.expiresAt());
+        verify(holdIndex).tryPlace(hold);
+    }
+
+    @Test
+    public void BookingHoldService_Place_ThrowsConflict_WhenSlotIsAlreadyHeld() {
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+        when(holdIndex.tryPlace(any(BookingHold.class))).thenReturn(false);
+
+        assertThrows(BookingConflictException.class, () ->
+            bookingHoldService.place(new BookingHoldRequestDTO(room.getId(), start, end, 30), userDetails));
+    }
+
+    @Test
+    public void BookingHoldService_Place_ThrowsException_WhenTtlIsTooLong() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingHoldService.place(new BookingHoldRequestDTO(room.getId(), start, end, 901), userDetails));
+
+        assertEquals("ttlSeconds must be between 1 and 900.", exception.getMessage());
+        verifyNoInteractions(roomService, holdIndex);
+    }
+
+    @Test
+    public void BookingHoldService_Confirm_SavesBooking_UnderRoomLock() {
+        BookingHold hold = new BookingHold(UUID.randomUUID(), room.getId(), 10L, start, end, NOW.plusSeconds(60));
+        when(holdIndex.claim(hold.id(), 10L)).thenReturn(hold);
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+        when(bookingRepository.isRoomBookedDuringTimeRange(room.getId(), start, end)).thenReturn(false);
+        when(userService.getById(10L)).thenReturn(User.builder().id(10L).build());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking booking = bookingHoldService.confirm(hold.id(), userDetails);
+
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(saved.capture());
+        assertSame(booking, saved.getValue());
+        assertEquals(start, booking.getStartTime());
+        assertEquals(end, booking.getEndTime());
+        assertFalse(booking.getApproved());
+        verify(availabilityIndex).registerSaved(booking);
+    }
+
+    @Test
+    public void BookingHoldService_Confirm_ThrowsConflict_WhenSlotWasBookedWithoutSeeingTheHold() {
+        BookingHold hold = new BookingHold(UUID.randomUUID(), room.getId(), 10L, start, end, NOW.plusSeconds(60));
+        when(holdIndex.claim(hold.id(), 10L)).thenReturn(hold);
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+        when(bookingRepository.isRoomBookedDuringTimeRange(room.getId(), start, end)).thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> bookingHoldService.confirm(hold.id(), userDetails));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(availabilityIndex, utilizationRollup, outbox);
+    }
+
+    @Test
+    public void BookingHoldService_Confirm_ThrowsConflict_WhenRoomIsNoLongerAvailable() {
+        BookingHold hold = new BookingHold(UUID.randomUUID(), room.getId(), 10L, start, end, NOW.plusSeconds(60));
+        room.setStatus(RoomStatus.MAINTENANCE);
+        when(holdIndex.claim(hold.id(), 10L)).thenReturn(hold);
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+
+        assertThrows(BookingConflictException.class, () -> bookingHoldService.confirm(hold.id(), userDetails));
+
+        verifyNoInteractions(bookingRepository, availabilityIndex, utilizationRollup, outbox);
+    }
+
+    @Test
+    public void BookingHoldService_Confirm_ThrowsException_WhenHoldIsMissingOrExpired() {
+        UUID holdId = UUID.randomUUID();
+        when(holdIndex.claim(holdId, 10L)).thenReturn(null);
+
+        assertThrows(BookingHoldNotFoundException.class, () -> bookingHoldService.confirm(holdId, userDetails));
+
+        verifyNoInteractions(bookingRepository);
+    }
+}
@@ -0,0 +1,127 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.BookingCalendarEventDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.booking.BookingIcsService;
+import com.danilo.roombooking.service.room.RoomNotFoundException;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIcsServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private BookingIcsService bookingIcsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingIcsService, "pastWindow", Duration.ofDays(90));
+        ReflectionTestUtils.setField(bookingIcsService, "lastModifiedLag", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(bookingIcsService, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void BookingIcsService_RoomFeed_WritesBookingsAsEvents_FromWindowStart() throws Exception {
+        when(roomService.getById(2L)).thenReturn(Room.builder().id(2L).identifier("A-101").name("Lab").build());
+        when(bookingJdbcRepository.findRoomLastModified(2L)).thenReturn(Timestamp.from(NOW.minusSeconds(60)));
+        doAnswer(invocation -> {
+            Consumer<BookingCalendarEventDTO> handler = invocation.getArgument(2);
+            handler.accept(event(7L, "A-101", true));
+            handler.accept(event(8L, "A-101", false));
+            return null;
+        }).when(bookingJdbcRepository).forEachRoomCalendarEvent(eq(2L),
+            eq(Timestamp.from(NOW.minus(Duration.ofDays(90)))), any());
+
+        BookingIcsService.Feed feed = bookingIcsService.roomFeed(2L);
+        String ics = write(feed);
+
+        assertEquals(NOW.minusSeconds(60), feed.lastModified());
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.contains("X-WR-CALNAME:Room A-101\r\n"));
+        assertTrue(ics.contains("UID:booking-7@room-booking\r\nDTSTAMP:20261018T110000Z\r\n"));
+        assertTrue(ics.contains("DTSTART:20261020T090000Z\r\nDTEND:20261020T100000Z\r\nSUMMARY:Booked\r\n"));
+        assertTrue(ics.contains("STATUS:CONFIRMED\r\n"));
+        assertTrue(ics.contains("UID:booking-8@room-booking\r\n"));
+        assertTrue(ics.contains("STATUS:TENTATIVE\r\n"));
+        assertTrue(ics.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+    }
+
+    @Test
+    public void BookingIcsService_UserFeed_EscapesAndFoldsLongText() throws Exception {
+        String identifier = "Room, with; a very long identifier that does not fit on one content line";
+        when(userService.getById(5L)).thenReturn(User.builder().id(5L).username("user").build());
+        doAnswer(invocation -> {
+            Consumer<BookingCalendarEventDTO> handler = invocation.getArgument(2);
+            handler.accept(event(7L, identifier, true));
+            return null;
+        }).when(bookingJdbcRepository).forEachUserCalendarEvent(eq(5L), any(), any());
+
+        String ics = write(bookingIcsService.userFeed(5L));
+
+        for (String line : ics.split("\r\n"))
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        assertTrue(ics.replace("\r\n ", "").contains(
+            "LOCATION:Room\\, with\\; a very long identifier that does not fit on one content line\r\n"));
+    }
+
+    @Test
+    public void BookingIcsService_RoomFeed_HasNoLastModified_WhenLatestChangeIsWithinLag() {
+        when(roomService.getById(2L)).thenReturn(Room.builder().id(2L).identifier("A-101").build());
+        when(bookingJdbcRepository.findRoomLastModified(2L)).thenReturn(Timestamp.from(NOW.minusSeconds(2)));
+
+        assertNull(bookingIcsService.roomFeed(2L).lastModified());
+    }
+
+    @Test
+    public void BookingIcsService_RoomFeed_ThrowsException_WhenRoomDoesNotExist() {
+        when(roomService.getById(2L)).thenThrow(new RoomNotFoundException());
+
+        assertThrows(RoomNotFoundException.class, () -> bookingIcsService.roomFeed(2L));
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    private static BookingCalendarEventDTO event(Long id, String roomIdentifier, boolean approved) {
+        return new BookingCalendarEventDTO(id, roomIdentifier, "Lab", approved,
+            Timestamp.from(Instant.parse("2026-10-20T09:00:00Z")), Timestamp.from(Instant.parse("2026-10-20T10:00:00Z")),
+            Timestamp.from(Instant.parse("2026-10-18T11:00:00Z")), 0L);
+    }
+
+    private static String write(BookingIcsService.Feed feed) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        feed.body().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.ImportErrorDTO;
+import com.danilo.roombooking.dto.ImportReportDTO;
+import com.danilo.roombooking.dto.NaturalKeyDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.RoomRepository;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.BookingImportService;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingImportServiceTest {
+
+    private static final String HEADER = "roomIdentifier,requestedBy,approvedBy,startTime,endTime\n";
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BookingImportService bookingImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(bookingImportService, "maxReportedErrors", 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void BookingImportService_ImportCsv_InsertsValidRows_AndReportsTheOthers() throws Exception {
+        runTransactionCallbacks();
+        when(roomRepository.findKeysByIdentifierIn(any())).thenReturn(List.of(new NaturalKeyDTO("A-101", 2L)));
+        when(userRepository.findKeysByUsernameIn(any())).thenReturn(
+            List.of(new NaturalKeyDTO("ana", 5L), new NaturalKeyDTO("admin", 1L)));
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(2L), any(), any())).thenReturn(
+            List.of(new BookingIntervalDTO(9L, 2L, at("2024-01-01T12:00:00Z"), at("2024-01-01T13:00:00Z"))));
+        when(bookingJdbcRepository.nextIds(anyInt())).thenAnswer(invocation ->
+            List.of(100L, 101L).subList(0, invocation.getArgument(0)));
+
+        ImportReportDTO report = importCsv(HEADER
+            + "A-101,ana,admin,2024-01-01T08:00:00Z,2024-01-01T09:00:00Z\n"
+            + "A-101,ana,,2024-01-01T08:30:00Z,2024-01-01T10:00:00Z\n"
+            + "B-202,ana,,2024-01-01T08:00:00Z,2024-01-01T09:00:00Z\n"
+            + "A-101,ana,,yesterday,2024-01-01T09:00:00Z\n"
+            + "a-101,ana,,2024-01-01T12:30:00Z,2024-01-01T14:00:00Z\n"
+            + "A-101,ana,,2024-01-02T08:00:00Z,2024-01-02T09:00:00Z\n");
+
+        assertEquals(2, report.imported());
+        assertEquals(4, report.failed());
+        assertEquals(List.of(3L, 4L, 5L, 6L), report.errors().stream().map(ImportErrorDTO::line).sorted().toList());
+        assertTrue(report.errors().contains(new ImportErrorDTO(4L, "room B-202 not found.")));
+        assertFalse(report.errorsTruncated());
+
+        ArgumentCaptor<List<Booking>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bookingJdbcRepository, times(2)).insertAll(inserted.capture());
+        Booking approved = inserted.getAllValues().get(0).get(0);
+        assertEquals(100L, approved.getId());
+        assertEquals(1L, approved.getApprovedBy().getId());
+        assertTrue(approved.getApproved());
+        assertEquals(at("2024-01-02T08:00:00Z"), inserted.getAllValues().get(1).get(0).getStartTime());
+        // rooms and users looked up once, then served from the cache
+        verify(roomRepository, times(2)).findKeysByIdentifierIn(any());
+        verify(userRepository, times(1)).findKeysByUsernameIn(any());
+    }
+
+    @Test
+    public void BookingImportService_ImportCsv_ReportsChunk_WhenItsInsertFails() throws Exception {
+        runTransactionCallbacks();
+        when(roomRepository.findKeysByIdentifierIn(any())).thenReturn(List.of(new NaturalKeyDTO("A-101", 2L)));
+        when(userRepository.findKeysByUsernameIn(any())).thenReturn(List.of(new NaturalKeyDTO("ana", 5L)));
+        when(bookingJdbcRepository.nextIds(1)).thenReturn(List.of(100L));
+        doThrow(new DuplicateKeyException("duplicate")).when(bookingJdbcRepository).insertAll(any());
+
+        ImportReportDTO report = importCsv(HEADER + "A-101,ana,,2024-01-01T08:00:00Z,2024-01-01T09:00:00Z\n");
+
+        assertEquals(0, report.imported());
+        assertEquals(List.of(new ImportErrorDTO(2L, "not imported: duplicate")), report.errors());
+        verifyNoInteractions(availabilityIndex);
+    }
+
+    @Test
+    public void BookingImportService_ImportCsv_ReportsRow_WhenItsSlotIsHeld() throws Exception {
+        runTransactionCallbacks();
+        when(roomRepository.findKeysByIdentifierIn(any())).thenReturn(List.of(new NaturalKeyDTO("A-101", 2L)));
+        when(userRepository.findKeysByUsernameIn(any())).thenReturn(List.of(new NaturalKeyDTO("ana", 5L)));
+        when(holdIndex.overlaps(2L, at("2024-01-01T08:00:00Z"), at("2024-01-01T09:00:00Z"))).thenReturn(true);
+
+        ImportReportDTO report = importCsv(HEADER + "A-101,ana,,2024-01-01T08:00:00Z,2024-01-01T09:00:00Z\n");
+
+        assertEquals(0, report.imported());
+        assertEquals(List.of(2L), report.errors().stream().map(ImportErrorDTO::line).toList());
+        verify(bookingJdbcRepository, never()).insertAll(any());
+    }
+
+    @Test
+    public void BookingImportService_ImportCsv_ThrowsException_WhenHeaderIsWrong() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            importCsv("room,user,start,end\n"));
+
+        assertEquals("the first line must be the header roomIdentifier,requestedBy,approvedBy,startTime,endTime.",
+            exception.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private ImportReportDTO importCsv(String csv) throws Exception {
+        return bookingImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private static Timestamp at(String instant) {
+        return Timestamp.from(Instant.parse(instant));
+    }
+}
@@ -0,0 +1,162 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.BookingInsertService;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.booking.BookingService;
+import com.danilo.roombooking.service.room.RoomNotFoundException;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingInsertServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BookingInsertService bookingInsertService;
+
+    private BookingRequestDTO bookingRequestDTO;
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingInsertService, "singleStatement", true);
+
+        Timestamp start = Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS));
+        bookingRequestDTO = new BookingRequestDTO(2L, start, Timestamp.from(start.toInstant().plus(1, ChronoUnit.HOURS)));
+        userDetails = new CustomUserDetails(
+            10L, "user", "password", true, false,
+            List.of(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name()))
+        );
+    }
+
+    @Test
+    public void BookingInsertService_Create_InsertsInSingleStatement_WhenRoomIsFree() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.insertIfRoomAvailable(any())).thenAnswer(invocation -> {
+            invocation.<Booking>getArgument(0).setId(7L);
+            return true;
+        });
+
+        Booking booking = bookingInsertService.create(bookingRequestDTO, userDetails);
+
+        assertEquals(7L, booking.getId());
+        assertEquals(2L, booking.getRoom().getId());
+        assertEquals(10L, booking.getRequestedBy().getId());
+        assertEquals(10L, booking.getApprovedBy().getId());
+        assertTrue(booking.getApproved());
+        verify(availabilityIndex).registerSaved(booking);
+        verify(utilizationRollup).recordAdded(booking);
+        verify(outbox).record(BookingEventType.CREATED, booking);
+        verify(transactionTemplate).execute(any());
+        verifyNoInteractions(bookingService, roomService);
+    }
+
+    @Test
+    public void BookingInsertService_Create_ThrowsConflict_WhenNoRowIsInserted() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.insertIfRoomAvailable(any())).thenReturn(false);
+
+        assertThrows(BookingConflictException.class, () -> bookingInsertService.create(bookingRequestDTO, userDetails));
+
+        verify(bookingJdbcRepository, times(1)).insertIfRoomAvailable(any());
+        verify(availabilityIndex, never()).registerSaved(any(Booking.class));
+    }
+
+    @Test
+    public void BookingInsertService_Create_ThrowsNotFound_WhenRoomDoesNotExist() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.insertIfRoomAvailable(any())).thenReturn(false);
+        when(roomService.getById(2L)).thenThrow(new RoomNotFoundException());
+
+        assertThrows(RoomNotFoundException.class, () -> bookingInsertService.create(bookingRequestDTO, userDetails));
+    }
+
+    @Test
+    public void BookingInsertService_Create_Retries_WhenDeadlockIsLost() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.insertIfRoomAvailable(any()))
+            .thenThrow(new CannotAcquireLockException("deadlock"))
+            .thenReturn(true);
+
+        bookingInsertService.create(bookingRequestDTO, userDetails);
+
+        verify(bookingJdbcRepository, times(2)).insertIfRoomAvailable(any());
+    }
+
+    @Test
+    public void BookingInsertService_Create_ThrowsConflict_WhenDeadlocksPersist() {
+        runTransactionCallbacks();
+        when(bookingJdbcRepository.insertIfRoomAvailable(any())).thenThrow(new CannotAcquireLockException("deadlock"));
+
+        assertThrows(BookingConflictException.class, () -> bookingInsertService.create(bookingRequestDTO, userDetails));
+
+        verify(bookingJdbcRepository, times(3)).insertIfRoomAvailable(any());
+    }
+
+    @Test
+    public void BookingInsertService_Create_UsesBookingService_WhenSingleStatementIsDisabled() {
+        ReflectionTestUtils.setField(bookingInsertService, "singleStatement", false);
+
+        bookingInsertService.create(bookingRequestDTO, userDetails);
+
+        verify(bookingService).create(bookingRequestDTO, userDetails);
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+}
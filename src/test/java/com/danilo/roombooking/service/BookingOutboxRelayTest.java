@@ -0,0 +1,130 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.dto.BookingEventDTO;
+import com.danilo.roombooking.repository.BookingOutboxRepository;
+import com.danilo.roombooking.service.outbox.BookingEventSink;
+import com.danilo.roombooking.service.outbox.BookingOutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingOutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    private BookingOutboxRepository outboxRepository;
+
+    @Mock
+    private BookingEventSink sink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BookingOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(relay, "retryBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(relay, "maxRetryBackoff", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(relay, "retention", Duration.ofMinutes(10));
+        setNow(NOW);
+    }
+
+    @Test
+    public void BookingOutboxRelay_Relay_DeliversBatchesInOrder_AndMarksThemDelivered() {
+        runTransactionCallbacks();
+        when(outboxRepository.tryLockRelay()).thenReturn(true);
+        List<BookingEventDTO> first = List.of(event(1L), event(2L));
+        List<BookingEventDTO> second = List.of(event(3L));
+        when(outboxRepository.findOldest(2)).thenReturn(first, second);
+
+        relay.relay();
+
+        InOrder inOrder = inOrder(sink, outboxRepository);
+        inOrder.verify(sink).publish(first);
+        inOrder.verify(outboxRepository).markDelivered(List.of(1L, 2L));
+        inOrder.verify(sink).publish(second);
+        inOrder.verify(outboxRepository).markDelivered(List.of(3L));
+        verify(outboxRepository, times(2)).unlockRelay();
+    }
+
+    @Test
+    public void BookingOutboxRelay_Relay_DoesNothing_WhenAnotherInstanceHoldsTheLock() {
+        runTransactionCallbacks();
+        when(outboxRepository.tryLockRelay()).thenReturn(false);
+
+        relay.relay();
+
+        verify(outboxRepository, never()).findOldest(anyInt());
+        verify(outboxRepository, never()).unlockRelay();
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    public void BookingOutboxRelay_Relay_KeepsBatch_AndBacksOff_WhenSinkFails() {
+        runTransactionCallbacks();
+        when(outboxRepository.tryLockRelay()).thenReturn(true);
+        List<BookingEventDTO> batch = List.of(event(1L));
+        when(outboxRepository.findOldest(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(batch);
+
+        relay.relay();
+        relay.relay();
+
+        verify(sink, times(1)).publish(batch);
+        verify(outboxRepository, never()).markDelivered(any());
+        verify(outboxRepository).unlockRelay();
+
+        setNow(NOW.plusSeconds(1));
+        relay.relay();
+
+        verify(sink, times(2)).publish(batch);
+    }
+
+    @Test
+    public void BookingOutboxRelay_PurgeDelivered_DeletesEventsDeliveredBeforeRetention() {
+        relay.purgeDelivered();
+
+        verify(outboxRepository).deleteDeliveredBefore(Timestamp.from(NOW.minus(Duration.ofMinutes(10))));
+    }
+
+    private void setNow(Instant now) {
+        ReflectionTestUtils.setField(relay, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static BookingEventDTO event(Long id) {
+        Timestamp start = Timestamp.from(NOW.plus(Duration.ofDays(1)));
+        return new BookingEventDTO(id, BookingEventType.CREATED, id + 100, 7L, 10L, false,
+            start, Timestamp.from(start.toInstant().plus(Duration.ofHours(1))), Timestamp.from(NOW));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.service.booking.BookingPartitionMaintainer;
+import com.danilo.roombooking.service.booking.BookingPartitionMaintainer.ExpiredPartitionAction;
+import com.danilo.roombooking.service.booking.BookingPartitionMaintainer.Partition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingPartitionMaintainerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BookingPartitionMaintainer partitionMaintainer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionMaintainer, "enabled", true);
+        ReflectionTestUtils.setField(partitionMaintainer, "monthsAhead", 3);
+        ReflectionTestUtils.setField(partitionMaintainer, "expiredAction", ExpiredPartitionAction.NONE);
+        ReflectionTestUtils.setField(partitionMaintainer, "retentionMonths", 12);
+        ReflectionTestUtils.setField(partitionMaintainer, "timeZone", "UTC");
+        ReflectionTestUtils.setField(partitionMaintainer, "clock",
+            Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    public void BookingPartitionMaintainer_Maintain_SplitsFuturePartition_WhenMonthsAheadAreMissing() {
+        stubPartitions(partition("p202611", "2026-12-01"), partition("p_future", null));
+
+        partitionMaintainer.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE Booking REORGANIZE PARTITION p_future INTO ("
+            + "PARTITION p202612 VALUES LESS THAN (" + epoch("2027-01-01") + "), "
+            + "PARTITION p202701 VALUES LESS THAN (" + epoch("2027-02-01") + "), "
+            + "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+    }
+
+    @Test
+    public void BookingPartitionMaintainer_Maintain_DropsOnlyExpiredPartitions_WhenActionIsDrop() {
+        ReflectionTestUtils.setField(partitionMaintainer, "expiredAction", ExpiredPartitionAction.DROP);
+        stubPartitions(partition("p_history", "2025-03-01"), partition("p202510", "2025-11-01"),
+            partition("p202701", "2027-02-01"), partition("p_future", null));
+
+        partitionMaintainer.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE Booking DROP PARTITION p_history");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE Booking DROP PARTITION p202510");
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE Booking REORGANIZE"));
+    }
+
+    @Test
+    public void BookingPartitionMaintainer_Maintain_ExchangesExpiredPartitions_WhenActionIsExchange() {
+        ReflectionTestUtils.setField(partitionMaintainer, "expiredAction", ExpiredPartitionAction.EXCHANGE);
+        stubPartitions(partition("p_history", "2025-03-01"), partition("p202701", "2027-02-01"),
+            partition("p_future", null));
+
+        partitionMaintainer.maintain();
+
+        verify(jdbcTemplate).execute("CREATE TABLE Booking_Archive_p_history LIKE Booking");
+        verify(jdbcTemplate).execute("ALTER TABLE Booking EXCHANGE PARTITION p_history WITH TABLE Booking_Archive_p_history");
+        verify(jdbcTemplate).execute("ALTER TABLE Booking DROP PARTITION p_history");
+    }
+
+    @Test
+    public void BookingPartitionMaintainer_Maintain_DoesNothing_WhenTableIsNotPartitioned() {
+        stubPartitions();
+
+        partitionMaintainer.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubPartitions(Partition... partitions) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(partitions));
+    }
+
+    private static Partition partition(String name, String lessThan) {
+        return new Partition(name, lessThan == null ? null : epoch(lessThan), 0);
+    }
+
+    private static long epoch(String date) {
+        return LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    }
+}
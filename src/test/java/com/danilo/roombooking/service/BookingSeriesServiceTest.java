@@ -0,0 +1,268 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
+import com.danilo.roombooking.domain.BookingSeries;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.BookingSeriesRequestDTO;
+import com.danilo.roombooking.dto.BookingSeriesResponseDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.BookingSeriesRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.BookingSeriesConflictException;
+import com.danilo.roombooking.service.booking.BookingSeriesService;
+import com.danilo.roombooking.service.booking.BookingSlotFreedEvent;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingSeriesServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingSeriesRepository bookingSeriesRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookingSeriesService bookingSeriesService;
+
+    private static final Set<DayOfWeek> TUESDAY_THURSDAY = EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+    private static final LocalTime ELEVEN_THIRTY = LocalTime.of(11, 30);
+
+    private LocalDate monday;
+    private Room room;
+    private User user;
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingSeriesService, "maxOccurrences", 100);
+        ReflectionTestUtils.setField(bookingSeriesService, "timeZone", "UTC");
+
+        monday = LocalDate.now(ZoneOffset.UTC).plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        room = Room.builder().id(1L).status(RoomStatus.AVAILABLE).build();
+        user = User.builder().id(10L).build();
+        userDetails = new CustomUserDetails(10L, "user", "password", true, false, List.of());
+    }
+
+    @Test
+    public void BookingSeriesService_Create_InsertsEveryOccurrence_WhenNoConflicts() {
+        when(roomService.lockForBooking(1L)).thenReturn(room);
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(List.of());
+        when(userService.getById(10L)).thenReturn(user);
+        when(bookingSeriesRepository.saveAndFlush(any(BookingSeries.class))).thenAnswer(invocation -> {
+            BookingSeries series = invocation.getArgument(0);
+            series.setId(5L);
+            return series;
+        });
+        when(bookingJdbcRepository.nextIds(4)).thenReturn(List.of(100L, 101L, 102L, 103L));
+
+        BookingSeriesResponseDTO response = bookingSeriesService.create(twoWeeks(), userDetails);
+
+        assertEquals(5L, response.id());
+        assertEquals(4, response.occurrences());
+        verify(bookingRepository, times(1)).findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any());
+        verify(bookingJdbcRepository).insertAll(argThat(bookings -> bookings.size() == 4
+            && bookings.stream().allMatch(booking -> booking.getSeriesId() == 5L)
+            && bookings.iterator().next().getStartTime().equals(at(monday.plusDays(1), TEN))
+            && bookings.iterator().next().getEndTime().equals(at(monday.plusDays(1), ELEVEN_THIRTY))));
+        verify(availabilityIndex, times(4)).registerSaved(any(Booking.class));
+        verify(outbox).recordAll(eq(BookingEventType.CREATED), argThat(bookings -> bookings.size() == 4));
+    }
+
+    @Test
+    public void BookingSeriesService_Create_ThrowsException_WhenAnOccurrenceConflicts() {
+        LocalDate thursday = monday.plusDays(3);
+        when(roomService.lockForBooking(1L)).thenReturn(room);
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(List.of(
+            new BookingIntervalDTO(50L, 1L, at(thursday, LocalTime.of(11, 0)), at(thursday, LocalTime.of(12, 0)))));
+
+        BookingSeriesConflictException exception = assertThrows(BookingSeriesConflictException.class, () ->
+            bookingSeriesService.create(twoWeeks(), userDetails));
+
+        assertTrue(exception.getMessage().contains(thursday.toString()));
+        assertFalse(exception.getMessage().contains(monday.plusDays(1).toString()));
+        verify(bookingJdbcRepository, never()).insertAll(any());
+    }
+
+    @Test
+    public void BookingSeriesService_Create_ThrowsException_WhenAnOccurrenceIsHeld() {
+        LocalDate tuesday = monday.plusDays(8);
+        when(roomService.lockForBooking(1L)).thenReturn(room);
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(List.of());
+        when(holdIndex.overlaps(eq(1L), any(), any())).thenAnswer(invocation ->
+            at(tuesday, TEN).equals(invocation.getArgument(1)));
+
+        BookingSeriesConflictException exception = assertThrows(BookingSeriesConflictException.class, () ->
+            bookingSeriesService.create(twoWeeks(), userDetails));
+
+        assertTrue(exception.getMessage().contains(tuesday.toString()));
+        verify(bookingJdbcRepository, never()).insertAll(any());
+    }
+
+    @Test
+    public void BookingSeriesService_Create_ThrowsException_WhenTooManyOccurrences() {
+        ReflectionTestUtils.setField(bookingSeriesService, "maxOccurrences", 3);
+        when(roomService.lockForBooking(1L)).thenReturn(room);
+
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingSeriesService.create(twoWeeks(), userDetails));
+
+        assertEquals("a series cannot have more than 3 occurrences.", exception.getMessage());
+    }
+
+    @Test
+    public void BookingSeriesService_Create_ThrowsException_WhenUntilDateIsBeforeStartDate() {
+        BookingSeriesRequestDTO request = new BookingSeriesRequestDTO(1L, TUESDAY_THURSDAY, TEN, ELEVEN_THIRTY,
+            monday, monday.minusDays(1));
+
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingSeriesService.create(request, userDetails));
+
+        assertEquals("untilDate cannot be before startDate.", exception.getMessage());
+    }
+
+    @Test
+    public void BookingSeriesService_Update_ShiftsAndTruncatesSeries() {
+        when(bookingSeriesRepository.findById(5L)).thenReturn(Optional.of(series()));
+        when(bookingRepository.findIntervalsBySeriesIdStartingFrom(eq(5L), any())).thenReturn(occurrences());
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(1L), any(), any())).thenReturn(occurrences());
+
+        BookingSeriesResponseDTO response = bookingSeriesService.update(5L, new BookingSeriesRequestDTO(
+            null, null, LocalTime.of(14, 0), LocalTime.of(15, 30), null, monday.plusDays(6)));
+
+        assertEquals(2, response.occurrences());
+        assertEquals(LocalTime.of(14, 0), response.startTime());
+        assertEquals(monday.plusDays(6), response.untilDate());
+        verify(roomService).lockForBooking(1L);
+        verify(bookingJdbcRepository).deleteSeriesOccurrences(5L, at(monday.plusDays(7), LocalTime.MIDNIGHT));
+        verify(bookingJdbcRepository).shiftSeriesOccurrences(eq(5L), any(), any(), eq(14_400L), eq(14_400L));
+        verify(availabilityIndex).registerSaved(100L, 1L,
+            at(monday.plusDays(1), LocalTime.of(14, 0)), at(monday.plusDays(1), LocalTime.of(15, 30)));
+        verify(availabilityIndex).registerDeleted(102L);
+        verify(availabilityIndex).registerDeleted(103L);
+        verify(outbox).recordAllDeleted(occurrences().subList(2, 4));
+        verify(outbox).recordChanged(BookingEventType.UPDATED, List.of(100L, 101L));
+        verify(eventPublisher).publishEvent(new BookingSlotFreedEvent(1L,
+            at(monday.plusDays(1), TEN), at(monday.plusDays(10), ELEVEN_THIRTY)));
+    }
+
+    @Test
+    public void BookingSeriesService_Update_ThrowsException_WhenExtendingSeries() {
+        when(bookingSeriesRepository.findById(5L)).thenReturn(Optional.of(series()));
+
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingSeriesService.update(5L, new BookingSeriesRequestDTO(
+                null, null, null, null, null, monday.plusDays(30))));
+
+        assertEquals("untilDate can only be moved earlier, create a new series to extend it.", exception.getMessage());
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    @Test
+    public void BookingSeriesService_Cancel_DeletesUpcomingOccurrences() {
+        BookingSeries series = series();
+        when(bookingSeriesRepository.findById(5L)).thenReturn(Optional.of(series));
+        when(bookingRepository.findIntervalsBySeriesIdStartingFrom(eq(5L), any())).thenReturn(occurrences());
+
+        bookingSeriesService.cancel(5L);
+
+        assertNotNull(series.getCancelledAt());
+        verify(bookingJdbcRepository).deleteSeriesOccurrences(eq(5L), any());
+        verify(availabilityIndex, times(4)).registerDeleted(anyLong());
+        verify(outbox).recordAllDeleted(occurrences());
+        verify(eventPublisher).publishEvent(new BookingSlotFreedEvent(1L,
+            at(monday.plusDays(1), TEN), at(monday.plusDays(10), ELEVEN_THIRTY)));
+    }
+
+    private BookingSeriesRequestDTO twoWeeks() {
+        return new BookingSeriesRequestDTO(1L, TUESDAY_THURSDAY, TEN, ELEVEN_THIRTY, monday, monday.plusDays(13));
+    }
+
+    private BookingSeries series() {
+        return BookingSeries.builder()
+            .id(5L)
+            .room(room)
+            .requestedBy(user)
+            .daysOfWeek(TUESDAY_THURSDAY)
+            .startTimeOfDay(TEN)
+            .endTimeOfDay(ELEVEN_THIRTY)
+            .zoneId("UTC")
+            .startDate(monday)
+            .untilDate(monday.plusDays(13))
+            .build();
+    }
+
+    private List<BookingIntervalDTO> occurrences() {
+        return List.of(
+            occurrence(100L, monday.plusDays(1)),
+            occurrence(101L, monday.plusDays(3)),
+            occurrence(102L, monday.plusDays(8)),
+            occurrence(103L, monday.plusDays(10)));
+    }
+
+    private BookingIntervalDTO occurrence(Long id, LocalDate date) {
+        return new BookingIntervalDTO(id, 1L, at(date, TEN), at(date, ELEVEN_THIRTY));
+    }
+
+    private static Timestamp at(LocalDate date, LocalTime time) {
+        return Timestamp.from(date.atTime(time).toInstant(ZoneOffset.UTC));
+    }
+}
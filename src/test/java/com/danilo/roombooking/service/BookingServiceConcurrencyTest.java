@@ -0,0 +1,128 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.TestcontainersConfiguration;
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.privilege.PrivilegeType;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.UserRepository;
+import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+public class BookingServiceConcurrencyTest {
+
+    private static final long FIRST_ROOM_ID = 2_000_000L;
+    private static final int ROOMS = 4;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+    private static final int SLOT_MINUTES = 15;
+    private static final int SLOTS = 96;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${default-admin-username}")
+    private String adminUsername;
+
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        Long adminId = userRepository.findByUsername(adminUsername).orElseThrow().getId();
+        userDetails = new CustomUserDetails(adminId, adminUsername, "", true, false,
+            List.of(new SimpleGrantedAuthority(PrivilegeType.APPROVE_BOOKING_REQUEST.name())));
+
+        for (int i = 0; i < ROOMS; i++) {
+            long id = FIRST_ROOM_ID + i;
+            jdbcTemplate.update("""
+                INSERT INTO Room (Id, Identifier, Name, Capacity, Status, Type)
+                VALUES (?, ?, ?, 30, 'AVAILABLE', 'STANDARD_CLASSROOM')
+                """, id, "STRESS-" + id, "Stress room " + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM Booking WHERE RoomId >= ?", FIRST_ROOM_ID);
+        jdbcTemplate.update("DELETE FROM Room WHERE Id >= ?", FIRST_ROOM_ID);
+    }
+
+    @Test
+    public void BookingService_ConcurrentCreate_NeverDoubleBooksRoom() throws Exception {
+        Instant day = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long roomId = FIRST_ROOM_ID + random.nextInt(ROOMS);
+                    int startSlot = random.nextInt(SLOTS - 6);
+                    int length = 1 + random.nextInt(6);
+                    Instant start = day.plus((long) startSlot * SLOT_MINUTES, ChronoUnit.MINUTES);
+                    Instant end = start.plus((long) length * SLOT_MINUTES, ChronoUnit.MINUTES);
+
+                    try {
+                        bookingService.create(new BookingRequestDTO(roomId,
+                            Timestamp.from(start), Timestamp.from(end)), userDetails);
+                        created.incrementAndGet();
+                    } catch (BookingConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+
+        Integer overlapping = jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM Booking a
+            JOIN Booking b ON a.RoomId = b.RoomId AND a.Id < b.Id
+            WHERE a.RoomId >= ? AND a.StartTime < b.EndTime AND a.EndTime > b.StartTime
+            """, Integer.class, FIRST_ROOM_ID);
+
+        assertEquals(attempts, created.get() + conflicts.get());
+        assertTrue(created.get() > 0);
+        assertEquals(0, overlapping);
+    }
+}
@@ -2,24 +2,37 @@ package com.danilo.roombooking.service;
 
 import com.danilo.roombooking.config.security.CustomUserDetails;
 import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingEventType;
 import com.danilo.roombooking.domain.User;
 import com.danilo.roombooking.domain.privilege.PrivilegeType;
 import com.danilo.roombooking.domain.room.Room;
 import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
 import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.dto.BookingResponseDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
 import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.BookingResponseRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
 import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
 import com.danilo.roombooking.service.booking.BookingNotFoundException;
 import com.danilo.roombooking.service.booking.BookingService;
+import com.danilo.roombooking.service.booking.BookingSlotFreedEvent;
 import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.locking.StaleVersionException;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
 import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
 import com.danilo.roombooking.service.user.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -33,7 +46,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,12 +59,33 @@ public class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingResponseRepository bookingResponseRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
     @Mock
     private RoomService roomService;
 
     @Mock
     private UserService userService;
 
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingOutbox outbox;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -75,7 +113,7 @@ public class BookingServiceTest {
             .build();
 
         bookingRequestDTO = new BookingRequestDTO(1L, now, plusOneHour);
-        booking = new Booking(1L, room, true, user, user, now, plusOneHour, null, null);
+        booking = new Booking(1L, room, true, user, user, now, plusOneHour, null, null, null, 0L);
 
         userDetails = new CustomUserDetails(
             10L, "user", "password", true, false,
@@ -103,6 +141,8 @@ public class BookingServiceTest {
         verify(roomService).getById(any());
         verify(userService).getById(any());
         verify(bookingRepository).save(any(Booking.class));
+        verify(outbox).record(BookingEventType.CREATED, actualBooking);
+        verify(utilizationRollup).recordAdded(actualBooking);
     }
 
     @Test
@@ -184,18 +224,33 @@ public class BookingServiceTest {
 
         verify(roomService).getById(bookingRequestDTO.roomId());
         assertEquals("Room is unavailable or occupied during the requested time slot.", exception.getMessage());
+        assertEquals(bookingRequestDTO.roomId(), exception.getRoomId());
+        assertEquals(bookingRequestDTO.startTime(), exception.getStartTime());
+        assertEquals(bookingRequestDTO.endTime(), exception.getEndTime());
+    }
+
+    @Test
+    public void BookingService_Create_ThrowsException_WhenSlotIsHeld() {
+        when(holdIndex.overlaps(bookingRequestDTO.roomId(), bookingRequestDTO.startTime(), bookingRequestDTO.endTime()))
+            .thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.create(bookingRequestDTO, userDetails));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     public void BookingService_GetAll_ReturnsAllBookings() {
-        when(bookingRepository.findAll(Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(booking)));
+        List<BookingResponseDTO> bookings = List.of(new BookingResponseDTO(booking));
+        when(bookingResponseRepository.findAll(any(), eq(Pageable.unpaged()))).thenReturn(new PageImpl<>(bookings));
 
-        Page<Booking> response = bookingService.getAll(Pageable.unpaged());
+        Page<BookingResponseDTO> response = bookingService.getAll(Pageable.unpaged());
 
         assertNotNull(response);
-        assertEquals(response.getContent(), List.of(booking));
+        assertEquals(response.getContent(), bookings);
 
-        verify(bookingRepository).findAll(Pageable.unpaged());
+        verify(bookingResponseRepository).findAll(any(), eq(Pageable.unpaged()));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -218,24 +273,26 @@ public class BookingServiceTest {
 
     @Test
     public void BookingService_GetByRequestedBy_ReturnsBookings() {
-        when(bookingRepository.findByRequestedById(user.getId(), Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(booking)));
+        List<BookingResponseDTO> bookings = List.of(new BookingResponseDTO(booking));
+        when(bookingResponseRepository.findAll(any(), eq(Pageable.unpaged()))).thenReturn(new PageImpl<>(bookings));
 
-        Page<Booking> response = bookingService.getByUserId(user.getId(), Pageable.unpaged());
+        Page<BookingResponseDTO> response = bookingService.getByUserId(user.getId(), Pageable.unpaged());
 
         assertNotNull(response);
-        assertEquals(List.of(booking), response.getContent());
-        verify(bookingRepository).findByRequestedById(user.getId(), Pageable.unpaged());
+        assertEquals(bookings, response.getContent());
+        verify(bookingResponseRepository).findAll(any(), eq(Pageable.unpaged()));
     }
 
     @Test
     public void BookingService_GetByRoomId_ReturnsBookings() {
-        when(bookingRepository.findByRoomId(room.getId(), Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(booking)));
+        List<BookingResponseDTO> bookings = List.of(new BookingResponseDTO(booking));
+        when(bookingResponseRepository.findAll(any(), eq(Pageable.unpaged()))).thenReturn(new PageImpl<>(bookings));
 
-        Page<Booking> response = bookingService.getByRoomId(room.getId(), Pageable.unpaged());
+        Page<BookingResponseDTO> response = bookingService.getByRoomId(room.getId(), Pageable.unpaged());
 
         assertNotNull(response);
-        assertEquals(List.of(booking), response.getContent());
-        verify(bookingRepository).findByRoomId(room.getId(), Pageable.unpaged());
+        assertEquals(bookings, response.getContent());
+        verify(bookingResponseRepository).findAll(any(), eq(Pageable.unpaged()));
     }
 
     @Test
@@ -245,7 +302,7 @@ public class BookingServiceTest {
 
         BookingRequestDTO updateRequest = new BookingRequestDTO(booking.getRoom().getId(), new Timestamp(System.currentTimeMillis()), new Timestamp(System.currentTimeMillis() + 3600000));
 
-        Booking response = bookingService.update(booking.getId(), updateRequest);
+        Booking response = bookingService.update(booking.getId(), updateRequest, null);
 
         assertNotNull(response);
         assertEquals(updateRequest.startTime(), response.getStartTime());
@@ -257,7 +314,7 @@ public class BookingServiceTest {
     public void BookingService_Update_ThrowsException_WhenBookingNotFound() {
         when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(BookingNotFoundException.class, () -> bookingService.update(1L, bookingRequestDTO));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.update(1L, bookingRequestDTO, null));
     }
 
     @Test
@@ -265,7 +322,17 @@ public class BookingServiceTest {
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
         when(bookingRepository.isRoomBookedDuringTimeRangeExcludingCurrentBooking(any(), any(), any(), any())).thenReturn(true);
 
-        assertThrows(BookingConflictException.class, () -> bookingService.update(booking.getId(), bookingRequestDTO));
+        assertThrows(BookingConflictException.class, () -> bookingService.update(booking.getId(), bookingRequestDTO, null));
+    }
+
+    @Test
+    public void BookingService_Update_ThrowsException_WhenVersionIsStale() {
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+
+        assertThrows(StaleVersionException.class, () -> bookingService.update(booking.getId(), bookingRequestDTO, 1L));
+
+        verify(roomService, never()).lockForBooking(any());
+        verifyNoInteractions(availabilityIndex);
     }
 
     @Test
@@ -286,4 +353,79 @@ public class BookingServiceTest {
 
         verify(bookingRepository).existsById(booking.getId());
     }
+
+    @Test
+    public void BookingService_Delete_PublishesSlotFreedEvent_WhenExists() {
+        when(bookingRepository.existsById(booking.getId())).thenReturn(true);
+        when(bookingRepository.findIntervalById(booking.getId())).thenReturn(Optional.of(new BookingIntervalDTO(
+            booking.getId(), room.getId(), booking.getStartTime(), booking.getEndTime())));
+
+        bookingService.delete(booking.getId());
+
+        verify(eventPublisher).publishEvent(
+            new BookingSlotFreedEvent(room.getId(), booking.getStartTime(), booking.getEndTime()));
+    }
+
+    @Test
+    public void BookingService_Delete_RecordsTombstoneAndDeletedEvent_WhenExists() {
+        BookingIntervalDTO interval = new BookingIntervalDTO(
+            booking.getId(), room.getId(), booking.getStartTime(), booking.getEndTime());
+        when(bookingRepository.existsById(booking.getId())).thenReturn(true);
+        when(bookingRepository.findIntervalById(booking.getId())).thenReturn(Optional.of(interval));
+
+        bookingService.delete(booking.getId());
+
+        verify(bookingJdbcRepository).insertTombstone(interval);
+        verify(outbox).recordDeleted(interval);
+        InOrder inOrder = inOrder(roomService, utilizationRollup);
+        inOrder.verify(roomService).lockForBooking(room.getId());
+        inOrder.verify(utilizationRollup).recordRemoved(interval);
+    }
+
+    @Test
+    public void BookingService_ApproveBooking_RecordsApprovedEvent() {
+        booking.setApproved(false);
+        booking.setApprovedBy(null);
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(userService.getById(userDetails.getUserId())).thenReturn(user);
+
+        Booking approved = bookingService.approveBooking(booking.getId(), userDetails, null);
+
+        assertTrue(approved.getApproved());
+        assertEquals(user, approved.getApprovedBy());
+        verify(outbox).record(BookingEventType.APPROVED, booking);
+    }
+
+    @Test
+    public void BookingService_Update_PublishesSlotFreedEvent_WhenBookingIsShortened() {
+        Timestamp oldStart = booking.getStartTime();
+        Timestamp oldEnd = booking.getEndTime();
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+
+        bookingService.update(booking.getId(), new BookingRequestDTO(null, null, new Timestamp(oldEnd.getTime() - 60_000)), null);
+
+        verify(eventPublisher).publishEvent(new BookingSlotFreedEvent(room.getId(), oldStart, oldEnd));
+    }
+
+    @Test
+    public void BookingService_Update_MovesBookedTimeInUtilizationRollup() {
+        Timestamp oldStart = booking.getStartTime();
+        Timestamp oldEnd = booking.getEndTime();
+        Timestamp newEnd = new Timestamp(oldEnd.getTime() + 60_000);
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+
+        bookingService.update(booking.getId(), new BookingRequestDTO(null, null, newEnd), null);
+
+        verify(utilizationRollup).recordMoved(room.getId(), oldStart, oldEnd, oldStart, newEnd);
+    }
+
+    @Test
+    public void BookingService_Update_DoesNotPublishSlotFreedEvent_WhenBookingIsExtended() {
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+
+        bookingService.update(booking.getId(),
+            new BookingRequestDTO(null, null, new Timestamp(booking.getEndTime().getTime() + 60_000)), null);
+
+        verifyNoInteractions(eventPublisher);
+    }
 }
@@ -0,0 +1,117 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.BookingHold;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.domain.room.RoomType;
+import com.danilo.roombooking.dto.BookingConflictDTO;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.BookingRoomSuggestionDTO;
+import com.danilo.roombooking.dto.BookingSlotDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.RoomRepository;
+import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.BookingSuggestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingSuggestionServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @InjectMocks
+    private BookingSuggestionService bookingSuggestionService;
+
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingSuggestionService, "searchWindow", Duration.ofHours(4));
+        ReflectionTestUtils.setField(bookingSuggestionService, "maxSlots", 3);
+        ReflectionTestUtils.setField(bookingSuggestionService, "maxRooms", 5);
+        ReflectionTestUtils.setField(bookingSuggestionService, "clock",
+            Clock.fixed(Instant.parse("2026-10-18T06:00:00Z"), ZoneOffset.UTC));
+
+        room = Room.builder().id(2L).capacity(20).type(RoomType.STANDARD_CLASSROOM).status(RoomStatus.AVAILABLE).build();
+    }
+
+    @Test
+    public void BookingSuggestionService_Suggest_ListsNearestFreeSlotsAndFreeRooms() {
+        when(roomRepository.findById(2L)).thenReturn(Optional.of(room));
+        when(bookingRepository.findIntervalsByRoomIdDuringTimeRange(eq(2L), any(), any())).thenReturn(List.of(
+            new BookingIntervalDTO(1L, 2L, at("2026-10-18T09:00:00Z"), at("2026-10-18T10:30:00Z")),
+            new BookingIntervalDTO(2L, 2L, at("2026-10-18T11:00:00Z"), at("2026-10-18T12:00:00Z")),
+            new BookingIntervalDTO(3L, 2L, at("2026-10-18T12:30:00Z"), at("2026-10-18T14:00:00Z"))));
+        when(holdIndex.findLive(eq(2L), any(), any())).thenReturn(List.of(new BookingHold(UUID.randomUUID(), 2L, 10L,
+            at("2026-10-18T08:30:00Z"), at("2026-10-18T09:00:00Z"), Instant.parse("2026-10-18T06:05:00Z"))));
+        Room free = Room.builder().id(3L).identifier("R3").capacity(20).type(RoomType.STANDARD_CLASSROOM).build();
+        Room held = Room.builder().id(4L).identifier("R4").capacity(30).type(RoomType.STANDARD_CLASSROOM).build();
+        doReturn(List.of(free, held)).when(roomRepository).findBy(any(Specification.class), any());
+        when(holdIndex.overlaps(any(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0).equals(4L));
+
+        BookingConflictDTO suggestions = bookingSuggestionService.suggest(
+            new BookingConflictException(2L, at("2026-10-18T10:00:00Z"), at("2026-10-18T11:00:00Z")));
+
+        assertEquals("Room is unavailable or occupied during the requested time slot.", suggestions.message());
+        assertEquals(List.of(
+            new BookingSlotDTO(at("2026-10-18T07:30:00Z"), at("2026-10-18T08:30:00Z")),
+            new BookingSlotDTO(at("2026-10-18T14:00:00Z"), at("2026-10-18T15:00:00Z"))), suggestions.freeSlots());
+        assertEquals(List.of(new BookingRoomSuggestionDTO(free)), suggestions.freeRooms());
+    }
+
+    @Test
+    public void BookingSuggestionService_Suggest_ListsOnlyOtherRooms_WhenRoomIsNotAvailable() {
+        room.setStatus(RoomStatus.MAINTENANCE);
+        when(roomRepository.findById(2L)).thenReturn(Optional.of(room));
+        doReturn(List.of()).when(roomRepository).findBy(any(Specification.class), any());
+
+        BookingConflictDTO suggestions = bookingSuggestionService.suggest(
+            new BookingConflictException(2L, at("2026-10-18T10:00:00Z"), at("2026-10-18T11:00:00Z")));
+
+        assertTrue(suggestions.freeSlots().isEmpty());
+        assertTrue(suggestions.freeRooms().isEmpty());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void BookingSuggestionService_Suggest_ReturnsOnlyMessage_WhenConflictHasNoSlot() {
+        BookingConflictDTO suggestions = bookingSuggestionService.suggest(new BookingConflictException());
+
+        assertEquals(new BookingConflictDTO(
+            "Room is unavailable or occupied during the requested time slot.", List.of(), List.of()), suggestions);
+        verifyNoInteractions(roomRepository, bookingRepository, holdIndex);
+    }
+
+    private static Timestamp at(String instant) {
+        return Timestamp.from(Instant.parse(instant));
+    }
+}
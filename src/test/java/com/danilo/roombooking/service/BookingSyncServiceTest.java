@@ -0,0 +1,122 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.dto.BookingChangeDTO;
+import com.danilo.roombooking.dto.BookingChangesDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.booking.BookingSyncService;
+import com.danilo.roombooking.service.booking.BookingSyncTokenExpiredException;
+import com.danilo.roombooking.service.booking.InvalidBookingException;
+import com.danilo.roombooking.service.room.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingSyncServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Timestamp UNTIL = Timestamp.from(NOW.minusSeconds(5));
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @InjectMocks
+    private BookingSyncService bookingSyncService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingSyncService, "maxPageSize", 2);
+        ReflectionTestUtils.setField(bookingSyncService, "lag", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(bookingSyncService, "tombstoneRetention", Duration.ofDays(30));
+        setNow(NOW);
+    }
+
+    @Test
+    public void BookingSyncService_GetChanges_ReturnsAllChanges_AndTokenForNextSync_WhenNoTokenIsGiven() {
+        List<BookingChangeDTO> changes = List.of(change(1L, 60, false), change(2L, 30, true));
+        when(bookingJdbcRepository.findChanges(2L, Timestamp.from(Instant.EPOCH), 0, UNTIL, 3)).thenReturn(changes);
+
+        BookingChangesDTO result = bookingSyncService.getChanges(2L, null, null);
+
+        assertEquals(changes, result.changes());
+        assertFalse(result.hasMore());
+
+        setNow(NOW.plusSeconds(60));
+        bookingSyncService.getChanges(2L, result.nextToken(), null);
+
+        verify(bookingJdbcRepository).findChanges(2L, UNTIL, 0, Timestamp.from(NOW.plusSeconds(55)), 3);
+    }
+
+    @Test
+    public void BookingSyncService_GetChanges_PagesThroughSameWindow_WhenThereAreMoreChangesThanLimit() {
+        BookingChangeDTO last = change(4L, 40, false);
+        when(bookingJdbcRepository.findChanges(eq(2L), any(), eq(0L), eq(UNTIL), eq(3)))
+            .thenReturn(List.of(change(3L, 50, false), last, change(5L, 20, false)));
+
+        BookingChangesDTO first = bookingSyncService.getChanges(2L, null, 2);
+
+        assertEquals(2, first.changes().size());
+        assertTrue(first.hasMore());
+
+        // later pages keep the window's upper bound even though the clock moved on
+        setNow(NOW.plusSeconds(60));
+        bookingSyncService.getChanges(2L, first.nextToken(), 2);
+
+        verify(bookingJdbcRepository).findChanges(2L, last.changedAt(), 4L, UNTIL, 3);
+    }
+
+    @Test
+    public void BookingSyncService_GetChanges_ThrowsException_WhenTokenIsOlderThanTombstoneRetention() {
+        when(bookingJdbcRepository.findChanges(anyLong(), any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        String token = bookingSyncService.getChanges(2L, null, null).nextToken();
+
+        setNow(NOW.plus(Duration.ofDays(31)));
+
+        assertThrows(BookingSyncTokenExpiredException.class, () -> bookingSyncService.getChanges(2L, token, null));
+    }
+
+    @Test
+    public void BookingSyncService_GetChanges_ThrowsException_WhenTokenIsMalformed() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingSyncService.getChanges(2L, "not-a-token", null));
+
+        assertEquals("Invalid sync token.", exception.getMessage());
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    @Test
+    public void BookingSyncService_GetChanges_ThrowsException_WhenLimitIsOutOfBounds() {
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class, () ->
+            bookingSyncService.getChanges(2L, null, 3));
+
+        assertEquals("limit must be between 1 and 2.", exception.getMessage());
+        verifyNoInteractions(roomService, bookingJdbcRepository);
+    }
+
+    private void setNow(Instant now) {
+        ReflectionTestUtils.setField(bookingSyncService, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static BookingChangeDTO change(Long id, int secondsAgo, boolean deleted) {
+        Timestamp changedAt = Timestamp.from(NOW.minusSeconds(secondsAgo));
+        return new BookingChangeDTO(id, 2L, 10L, false, changedAt, changedAt, deleted, changedAt);
+    }
+}
@@ -0,0 +1,192 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.BookingWaitlistEntry;
+import com.danilo.roombooking.domain.BookingWaitlistStatus;
+import com.danilo.roombooking.domain.User;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.domain.room.RoomStatus;
+import com.danilo.roombooking.dto.BookingRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
+import com.danilo.roombooking.repository.BookingWaitlistRepository;
+import com.danilo.roombooking.service.booking.BookingAvailabilityIndex;
+import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.booking.BookingInsertService;
+import com.danilo.roombooking.service.booking.BookingSlotFreedEvent;
+import com.danilo.roombooking.service.booking.BookingWaitlistService;
+import com.danilo.roombooking.service.outbox.BookingOutbox;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import com.danilo.roombooking.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingWaitlistServiceTest {
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingWaitlistRepository waitlistRepository;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomUtilizationRollup utilizationRollup;
+
+    @Mock
+    private BookingHoldIndex holdIndex;
+
+    @Mock
+    private BookingInsertService bookingInsertService;
+
+    @Mock
+    private BookingOutbox outbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BookingWaitlistService bookingWaitlistService;
+
+    private Room room;
+    private CustomUserDetails userDetails;
+    private Timestamp start;
+    private Timestamp end;
+    private final List<BookingWaitlistEntry> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        room = Room.builder().id(2L).status(RoomStatus.AVAILABLE).build();
+        userDetails = new CustomUserDetails(10L, "user", "password", true, false, List.of());
+        start = Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS));
+        end = Timestamp.from(start.toInstant().plus(1, ChronoUnit.HOURS));
+    }
+
+    @Test
+    public void BookingWaitlistService_CreateOrEnqueue_QueuesRequest_WhenCreateConflicts() {
+        BookingRequestDTO request = new BookingRequestDTO(room.getId(), start, end);
+        when(bookingInsertService.create(request, userDetails)).thenThrow(new BookingConflictException());
+        stubEnqueue();
+
+        BookingWaitlistService.Outcome outcome = bookingWaitlistService.createOrEnqueue(request, userDetails);
+
+        assertNull(outcome.booking());
+        assertEquals(BookingWaitlistStatus.WAITING, outcome.entry().getStatus());
+        assertFalse(outcome.entry().getAutoApprove());
+    }
+
+    @Test
+    public void BookingWaitlistService_OnSlotFreed_PromotesWaitingRequestsThatFit_InPriorityOrder() {
+        stubEnqueue();
+        BookingWaitlistEntry first = bookingWaitlistService.enqueue(new BookingRequestDTO(room.getId(), start, end), userDetails);
+        Timestamp laterEnd = Timestamp.from(end.toInstant().plus(1, ChronoUnit.HOURS));
+        BookingWaitlistEntry second = bookingWaitlistService.enqueue(new BookingRequestDTO(room.getId(), end, laterEnd), userDetails);
+
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+        when(waitlistRepository.findAllById(List.of(first.getId(), second.getId()))).thenReturn(List.of(first, second));
+        when(bookingRepository.isRoomBookedDuringTimeRange(room.getId(), start, end)).thenReturn(true);
+        when(bookingRepository.isRoomBookedDuringTimeRange(room.getId(), end, laterEnd)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(99L);
+            return booking;
+        });
+
+        bookingWaitlistService.onSlotFreed(new BookingSlotFreedEvent(room.getId(), start, laterEnd));
+
+        assertEquals(BookingWaitlistStatus.WAITING, first.getStatus());
+        assertEquals(BookingWaitlistStatus.PROMOTED, second.getStatus());
+        assertEquals(99L, second.getBookingId());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(availabilityIndex).registerSaved(any(Booking.class));
+    }
+
+    @Test
+    public void BookingWaitlistService_OnSlotFreed_DoesNothing_WhenNobodyWaitsForTheSlot() {
+        stubEnqueue();
+        bookingWaitlistService.enqueue(new BookingRequestDTO(room.getId(), start, end), userDetails);
+
+        bookingWaitlistService.onSlotFreed(new BookingSlotFreedEvent(room.getId(), end,
+            Timestamp.from(end.toInstant().plus(1, ChronoUnit.HOURS))));
+        bookingWaitlistService.onSlotFreed(new BookingSlotFreedEvent(3L, start, end));
+
+        verify(roomService, never()).lockForBooking(any());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void BookingWaitlistService_Enqueue_PromotesRequest_WhenSlotWasFreedBeforeItWasQueued() {
+        stubEnqueue();
+        when(bookingRepository.isRoomBookedDuringTimeRange(room.getId(), start, end)).thenReturn(false);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(roomService.lockForBooking(room.getId())).thenReturn(room);
+        when(waitlistRepository.findAllById(List.of(1L))).thenAnswer(invocation -> List.copyOf(saved));
+        when(waitlistRepository.findById(1L)).thenAnswer(invocation -> Optional.of(saved.get(0)));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(99L);
+            return booking;
+        });
+
+        BookingWaitlistEntry entry = bookingWaitlistService.enqueue(new BookingRequestDTO(room.getId(), start, end), userDetails);
+
+        assertEquals(BookingWaitlistStatus.PROMOTED, entry.getStatus());
+        assertEquals(99L, entry.getBookingId());
+        verify(outbox).record(any(), any(Booking.class));
+    }
+
+    @Test
+    public void BookingWaitlistService_Cancel_RemovesRequestFromQueue() {
+        stubEnqueue();
+        BookingWaitlistEntry entry = bookingWaitlistService.enqueue(new BookingRequestDTO(room.getId(), start, end), userDetails);
+        when(waitlistRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+
+        bookingWaitlistService.cancel(entry.getId());
+        bookingWaitlistService.onSlotFreed(new BookingSlotFreedEvent(room.getId(), start, end));
+
+        assertEquals(BookingWaitlistStatus.CANCELLED, entry.getStatus());
+        verify(roomService, never()).lockForBooking(any());
+    }
+
+    private void stubEnqueue() {
+        when(roomService.getById(room.getId())).thenReturn(room);
+        when(userService.getById(userDetails.getUserId())).thenReturn(User.builder().id(userDetails.getUserId()).build());
+        when(waitlistRepository.save(any(BookingWaitlistEntry.class))).thenAnswer(invocation -> {
+            BookingWaitlistEntry entry = invocation.getArgument(0);
+            entry.setId(saved.size() + 1L);
+            saved.add(entry);
+            return entry;
+        });
+        // still taken when the request is queued
+        when(bookingRepository.isRoomBookedDuringTimeRange(eq(room.getId()), any(), any())).thenReturn(true);
+    }
+}
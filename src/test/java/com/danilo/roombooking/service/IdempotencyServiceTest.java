@@ -0,0 +1,204 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.config.security.CustomUserDetails;
+import com.danilo.roombooking.dto.BookingBulkApprovalRequestDTO;
+import com.danilo.roombooking.dto.BookingBulkApprovalResponseDTO;
+import com.danilo.roombooking.dto.IdempotentResponseDTO;
+import com.danilo.roombooking.repository.IdempotencyRecordRepository;
+import com.danilo.roombooking.service.booking.BookingConflictException;
+import com.danilo.roombooking.service.idempotency.IdempotencyKeyInProgressException;
+import com.danilo.roombooking.service.idempotency.IdempotencyKeyReusedException;
+import com.danilo.roombooking.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    private static final String SCOPE = "booking.create";
+    private static final String KEY = "key-1";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private CustomUserDetails caller;
+    private BookingBulkApprovalRequestDTO request;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofDays(1));
+        ReflectionTestUtils.setField(idempotencyService, "cacheSize", 100);
+        ReflectionTestUtils.setField(idempotencyService, "abandonAfter", Duration.ofMinutes(1));
+
+        caller = new CustomUserDetails(10L, "user", "password", true, false, List.of());
+        request = new BookingBulkApprovalRequestDTO(List.of(1L, 2L));
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void IdempotencyService_Execute_RunsAction_WhenNoKeyIsGiven() {
+        ResponseEntity<BookingBulkApprovalResponseDTO> response = execute(null, request, this::created);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, calls.get());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    public void IdempotencyService_Execute_StoresFirstResponse_AndReplaysItWithoutRunningActionAgain() {
+        when(idempotencyRecordRepository.claim(eq(SCOPE), eq("10"), eq(KEY), anyString(), any(), any(), any()))
+            .thenReturn(true);
+
+        ResponseEntity<BookingBulkApprovalResponseDTO> first = execute(KEY, request, this::created);
+        ResponseEntity<BookingBulkApprovalResponseDTO> replayed = execute(KEY, request, this::created);
+
+        assertEquals(1, calls.get());
+        assertEquals(first.getBody(), replayed.getBody());
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals(first.getHeaders().getLocation(), replayed.getHeaders().getLocation());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verify(idempotencyRecordRepository).complete(eq(SCOPE), eq("10"), eq(KEY), eq(201),
+            eq("http://localhost/api/booking/id/7"), anyString());
+        verify(idempotencyRecordRepository, times(1)).claim(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_ReplaysStoredResponse_WhenKeyWasUsedBefore() throws Exception {
+        String requestHash = hashOf(request);
+        String storedBody = objectMapper.writeValueAsString(new BookingBulkApprovalResponseDTO(2, 2, 0));
+        when(idempotencyRecordRepository.claim(eq(SCOPE), eq("10"), eq(KEY), anyString(), any(), any(), any()))
+            .thenReturn(false);
+        when(idempotencyRecordRepository.find(SCOPE, "10", KEY)).thenReturn(Optional.of(new IdempotentResponseDTO(
+            requestHash, 201, null, storedBody, Timestamp.from(Instant.now().plusSeconds(60)))));
+
+        ResponseEntity<BookingBulkApprovalResponseDTO> response = execute(KEY, request, this::created);
+
+        assertEquals(0, calls.get());
+        assertEquals(new BookingBulkApprovalResponseDTO(2, 2, 0), response.getBody());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_ThrowsException_WhenKeyIsReusedWithDifferentRequest() {
+        when(idempotencyRecordRepository.claim(eq(SCOPE), eq("10"), eq(KEY), anyString(), any(), any(), any()))
+            .thenReturn(true);
+        execute(KEY, request, this::created);
+
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+            execute(KEY, new BookingBulkApprovalRequestDTO(List.of(3L)), this::created));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_ThrowsException_WhenKeyIsInProgressElsewhere() {
+        when(idempotencyRecordRepository.claim(eq(SCOPE), eq("10"), eq(KEY), anyString(), any(), any(), any()))
+            .thenReturn(false);
+        when(idempotencyRecordRepository.find(SCOPE, "10", KEY)).thenReturn(Optional.of(new IdempotentResponseDTO(
+            "hash", null, null, null, Timestamp.from(Instant.now().plusSeconds(60)))));
+
+        assertThrows(IdempotencyKeyInProgressException.class, () -> execute(KEY, request, this::created));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_ReleasesKey_WhenActionFails() {
+        when(idempotencyRecordRepository.claim(eq(SCOPE), eq("10"), eq(KEY), anyString(), any(), any(), any()))
+            .thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> execute(KEY, request, () -> {
+            throw new BookingConflictException();
+        }));
+
+        verify(idempotencyRecordRepository).release(SCOPE, "10", KEY);
+        verify(idempotencyRecordRepository, never()).complete(any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_CollapsesConcurrentRequestsWithSameKey() throws Exception {
+        when(idempotencyRecordRepository.claim(eq(SCOPE), eq("10"), eq(KEY), anyString(), any(), any(), any()))
+            .thenReturn(true);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<BookingBulkApprovalResponseDTO>> first = executor.submit(() ->
+                execute(KEY, request, () -> {
+                    running.countDown();
+                    await(finish);
+                    return created();
+                }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            Future<ResponseEntity<BookingBulkApprovalResponseDTO>> second = executor.submit(() ->
+                execute(KEY, request, this::created));
+            Thread.sleep(100);
+            finish.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS).getBody(), second.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, calls.get());
+            verify(idempotencyRecordRepository, times(1)).claim(any(), any(), any(), any(), any(), any(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<BookingBulkApprovalResponseDTO> execute(
+        String key, BookingBulkApprovalRequestDTO request, Supplier<ResponseEntity<BookingBulkApprovalResponseDTO>> action) {
+        return idempotencyService.execute(SCOPE, key, caller, request, BookingBulkApprovalResponseDTO.class, action);
+    }
+
+    private ResponseEntity<BookingBulkApprovalResponseDTO> created() {
+        calls.incrementAndGet();
+        return ResponseEntity.created(URI.create("http://localhost/api/booking/id/7"))
+            .body(new BookingBulkApprovalResponseDTO(2, 2, 0));
+    }
+
+    private String hashOf(Object request) throws Exception {
+        return HexFormat.of().formatHex(
+            MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.dto.ScrollPageDTO;
+import com.danilo.roombooking.service.scroll.InvalidScrollRequestException;
+import com.danilo.roombooking.service.scroll.KeysetScroll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KeysetScrollTest {
+
+    private final KeysetScroll<Booking> keysetScroll =
+        new KeysetScroll<>("startTime", Map.of("startTime", Timestamp.class));
+
+    private final Specification<Booking> specification = (root, query, builder) -> null;
+
+    @Mock
+    private JpaSpecificationExecutor<Booking> repository;
+
+    @Mock
+    private FluentQuery.FetchableFluentQuery<Booking> query;
+
+    @Test
+    public void KeysetScroll_Scroll_SeeksPastLastRowOfPreviousPage_WithItsSort() {
+        Booking first = Booking.builder().id(7L).startTime(at("2026-10-20T10:00:00Z")).build();
+        Booking second = Booking.builder().id(3L).startTime(at("2026-10-20T09:00:00Z")).build();
+        runQueriesOn(Window.from(List.of(first, second), index -> {
+            Booking booking = index == 0 ? first : second;
+            return ScrollPosition.forward(Map.of("startTime", booking.getStartTime(), "id", booking.getId()));
+        }, true));
+
+        ScrollPageDTO<Booking> page = keysetScroll.scroll(repository, specification, "startTime,desc", null, 2);
+
+        assertEquals(List.of(first, second), page.content());
+        assertNotNull(page.nextCursor());
+        verify(query).sortBy(Sort.by(Sort.Direction.DESC, "startTime", "id"));
+        verify(query).limit(2);
+        verify(query).scroll(ScrollPosition.keyset());
+
+        keysetScroll.scroll(repository, specification, "id", page.nextCursor(), 2);
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("startTime", at("2026-10-20T09:00:00Z"));
+        keys.put("id", 3L);
+        verify(query, times(2)).sortBy(Sort.by(Sort.Direction.DESC, "startTime", "id"));
+        verify(query).scroll(ScrollPosition.forward(keys));
+    }
+
+    @Test
+    public void KeysetScroll_Scroll_ReturnsNoCursor_OnLastPage() {
+        runQueriesOn(Window.from(List.of(Booking.builder().id(1L).build()), index -> ScrollPosition.keyset(), false));
+
+        ScrollPageDTO<Booking> page = keysetScroll.scroll(repository, specification, null, null, 20);
+
+        assertNull(page.nextCursor());
+        verify(query).sortBy(Sort.by(Sort.Direction.ASC, "startTime", "id"));
+    }
+
+    @Test
+    public void KeysetScroll_Scroll_ThrowsInvalidScrollRequestException_WhenSortIsNotIndexed() {
+        InvalidScrollRequestException exception = assertThrows(InvalidScrollRequestException.class, () ->
+            keysetScroll.scroll(repository, specification, "endTime", null, 20));
+
+        assertEquals("sort must be one of [id, startTime], optionally followed by ,asc or ,desc.",
+            exception.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void KeysetScroll_Scroll_ThrowsInvalidScrollRequestException_WhenCursorIsInvalid() {
+        assertThrows(InvalidScrollRequestException.class, () ->
+            keysetScroll.scroll(repository, specification, null, "not a cursor", 20));
+        assertThrows(InvalidScrollRequestException.class, () ->
+            keysetScroll.scroll(repository, specification, null, "ZW5kVGltZTpBU0M6MTox", 20));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void KeysetScroll_Scroll_ThrowsInvalidScrollRequestException_WhenSizeIsOutOfRange() {
+        assertThrows(InvalidScrollRequestException.class, () ->
+            keysetScroll.scroll(repository, specification, null, null, KeysetScroll.MAX_PAGE_SIZE + 1));
+
+        verifyNoInteractions(repository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runQueriesOn(Window<Booking> window) {
+        when(repository.findBy(any(), any())).thenAnswer(invocation ->
+            invocation.<Function<FluentQuery.FetchableFluentQuery<Booking>, Object>>getArgument(1).apply(query));
+        when(query.sortBy(any())).thenReturn(query);
+        when(query.limit(anyInt())).thenReturn(query);
+        when(query.scroll(any())).thenReturn(window);
+    }
+
+    private static Timestamp at(String instant) {
+        return Timestamp.from(Instant.parse(instant));
+    }
+}
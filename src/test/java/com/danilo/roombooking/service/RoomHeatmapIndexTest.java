@@ -0,0 +1,118 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.repository.BookingJdbcRepository;
+import com.danilo.roombooking.service.room.RoomHeatmapIndex;
+import com.danilo.roombooking.service.room.RoomHeatmapUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomHeatmapIndexTest {
+
+    private static final int MONDAY = 0;
+    private static final int TUESDAY = 1;
+    private static final int SUNDAY = 6;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @InjectMocks
+    private RoomHeatmapIndex heatmapIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(heatmapIndex, "enabled", true);
+        ReflectionTestUtils.setField(heatmapIndex, "window", Duration.ofDays(7));
+        ReflectionTestUtils.setField(heatmapIndex, "lookahead", Duration.ofDays(7));
+        ReflectionTestUtils.setField(heatmapIndex, "timeZone", "UTC");
+        setNow("2026-10-18T12:00:00Z");
+    }
+
+    @Test
+    public void RoomHeatmapIndex_Reload_SplitsBookingsIntoHours_AndClipsThemToTheWindow() {
+        scanReturns(
+            new BookingIntervalDTO(null, 2L, at("2026-10-12T09:30:00Z"), at("2026-10-12T11:00:00Z")),
+            new BookingIntervalDTO(null, 3L, at("2026-10-11T11:00:00Z"), at("2026-10-11T13:00:00Z")));
+
+        heatmapIndex.reload();
+        RoomHeatmapIndex.Heatmap heatmap = heatmapIndex.merge(List.of(2L, 3L, 4L));
+
+        assertEquals(3, heatmap.rooms());
+        assertEquals(Instant.parse("2026-10-11T12:00:00Z"), heatmap.from());
+        assertEquals(Instant.parse("2026-10-25T12:00:00Z"), heatmap.to());
+        assertEquals(1_800, heatmap.bookedSeconds()[MONDAY][9]);
+        assertEquals(3_600, heatmap.bookedSeconds()[MONDAY][10]);
+        assertEquals(0, heatmap.bookedSeconds()[SUNDAY][11]);
+        assertEquals(3_600, heatmap.bookedSeconds()[SUNDAY][12]);
+        assertEquals(7_200, heatmap.windowSeconds()[SUNDAY][12]);
+        assertEquals(7_200, heatmap.windowSeconds()[TUESDAY][5]);
+    }
+
+    @Test
+    public void RoomHeatmapIndex_RecordChanged_MovesBookedTime_WhenNoTransactionIsActive() {
+        scanReturns(new BookingIntervalDTO(null, 2L, at("2026-10-20T08:00:00Z"), at("2026-10-20T09:00:00Z")));
+        heatmapIndex.reload();
+
+        heatmapIndex.recordChanged(
+            List.of(new BookingIntervalDTO(1L, 2L, at("2026-10-20T08:00:00Z"), at("2026-10-20T09:00:00Z"))),
+            List.of(new BookingIntervalDTO(1L, 2L, at("2026-10-20T10:00:00Z"), at("2026-10-20T10:30:00Z"))));
+        RoomHeatmapIndex.Heatmap heatmap = heatmapIndex.merge(List.of(2L));
+
+        assertEquals(0, heatmap.bookedSeconds()[TUESDAY][8]);
+        assertEquals(1_800, heatmap.bookedSeconds()[TUESDAY][10]);
+    }
+
+    @Test
+    public void RoomHeatmapIndex_Reload_CountsRepeatedHourTwice_WhenClocksGoBack() {
+        ReflectionTestUtils.setField(heatmapIndex, "timeZone", "America/New_York");
+        setNow("2026-11-01T12:00:00Z");
+        // 01:00 EDT to 01:00 EST, then the second 01:00 hour
+        scanReturns(new BookingIntervalDTO(null, 2L, at("2026-11-01T05:00:00Z"), at("2026-11-01T07:00:00Z")));
+
+        heatmapIndex.reload();
+        RoomHeatmapIndex.Heatmap heatmap = heatmapIndex.merge(List.of(2L));
+
+        assertEquals(7_200, heatmap.bookedSeconds()[SUNDAY][1]);
+        assertEquals(0, heatmap.bookedSeconds()[SUNDAY][2]);
+        assertEquals(10_800, heatmap.windowSeconds()[SUNDAY][1]);
+    }
+
+    @Test
+    public void RoomHeatmapIndex_Merge_ThrowsRoomHeatmapUnavailableException_WhenNotLoaded() {
+        assertThrows(RoomHeatmapUnavailableException.class, () -> heatmapIndex.merge(List.of(2L)));
+    }
+
+    private void scanReturns(BookingIntervalDTO... intervals) {
+        doAnswer(invocation -> {
+            BookingJdbcRepository.RoomIntervalHandler handler = invocation.getArgument(2);
+            for (BookingIntervalDTO interval : intervals)
+                handler.handle(interval.roomId(), interval.startTime().getTime(), interval.endTime().getTime());
+            return null;
+        }).when(bookingJdbcRepository).forEachRoomIntervalBetween(any(), any(), any());
+    }
+
+    private void setNow(String instant) {
+        ReflectionTestUtils.setField(heatmapIndex, "clock", Clock.fixed(Instant.parse(instant), ZoneOffset.UTC));
+    }
+
+    private static Timestamp at(String instant) {
+        return Timestamp.from(Instant.parse(instant));
+    }
+}
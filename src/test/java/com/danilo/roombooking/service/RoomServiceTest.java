@@ -3,9 +3,15 @@ package com.danilo.roombooking.service;
 import com.danilo.roombooking.domain.room.Room;
 import com.danilo.roombooking.domain.room.RoomStatus;
 import com.danilo.roombooking.domain.room.RoomType;
+import com.danilo.roombooking.dto.RoomFilterDTO;
 import com.danilo.roombooking.dto.RoomRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
 import com.danilo.roombooking.repository.RoomRepository;
 import com.danilo.roombooking.service.amenity.AmenityService;
+import com.danilo.roombooking.service.booking.BookingHoldIndex;
+import com.danilo.roombooking.service.locking.StaleVersionException;
+import com.danilo.roombooking.service.room.InvalidRoomException;
+import com.danilo.roombooking.service.room.RoomInUseException;
 import com.danilo.roombooking.service.room.RoomNotFoundException;
 import com.danilo.roombooking.service.room.RoomService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -29,9 +42,15 @@ public class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
     @Mock
     private AmenityService amenityService;
 
+    @Mock
+    private BookingHoldIndex holdIndex;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -94,7 +113,7 @@ public class RoomServiceTest {
 
         when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
 
-        Room response = roomService.update(roomId, requestDTO);
+        Room response = roomService.update(roomId, requestDTO, null);
 
         assertNotNull(response);
         assertEquals(60, response.getCapacity());
@@ -102,35 +121,83 @@ public class RoomServiceTest {
         verify(roomRepository).findById(roomId);
     }
 
+    @Test
+    public void RoomService_Update_ThrowsException_WhenVersionIsStale() {
+        room.setVersion(3L);
+        when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
+
+        assertThrows(StaleVersionException.class, () -> roomService.update(roomId, requestDTO, 2L));
+
+        verifyNoInteractions(amenityService);
+    }
+
     @Test
     public void RoomService_Update_ThrowsException_WhenRoomNotFound() {
         when(roomRepository.findById(roomId)).thenReturn(Optional.empty());
 
-        assertThrows(RoomNotFoundException.class, () -> roomService.update(roomId, requestDTO));
+        assertThrows(RoomNotFoundException.class, () -> roomService.update(roomId, requestDTO, null));
 
         verify(roomRepository).findById(roomId);
     }
 
     @Test
     public void RoomService_Delete_DeletesRoom() {
-        when(roomRepository.existsById(roomId)).thenReturn(true);
+        when(roomRepository.findByIdForUpdate(roomId)).thenReturn(Optional.of(room));
 
         roomService.delete(roomId);
 
-        verify(roomRepository).existsById(roomId);
+        verify(roomRepository).findByIdForUpdate(roomId);
+        verify(bookingRepository).existsByRoomId(roomId);
         verify(roomRepository).deleteById(roomId);
     }
 
+    @Test
+    public void RoomService_Delete_ThrowsException_WhenRoomHasBookings() {
+        when(roomRepository.findByIdForUpdate(roomId)).thenReturn(Optional.of(room));
+        when(bookingRepository.existsByRoomId(roomId)).thenReturn(true);
+
+        assertThrows(RoomInUseException.class, () -> roomService.delete(roomId));
+
+        verify(roomRepository, never()).deleteById(roomId);
+    }
+
     @Test
     public void RoomService_Delete_ThrowsException_WhenRoomNotFound() {
-        when(roomRepository.existsById(roomId)).thenReturn(false);
+        when(roomRepository.findByIdForUpdate(roomId)).thenReturn(Optional.empty());
 
         assertThrows(RoomNotFoundException.class, () -> roomService.delete(roomId));
 
-        verify(roomRepository).existsById(roomId);
+        verify(roomRepository).findByIdForUpdate(roomId);
         verify(roomRepository, never()).deleteById(roomId);
     }
 
+    @Test
+    public void RoomService_GetAvailable_ReturnsRooms() {
+        Timestamp start = Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS));
+        Timestamp end = Timestamp.from(start.toInstant().plus(1, ChronoUnit.HOURS));
+        RoomFilterDTO filterDTO = new RoomFilterDTO(null, 10, null, null, null, null);
+        when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(room)));
+
+        Page<Room> response = roomService.getAvailable(filterDTO, start, end, Pageable.unpaged());
+
+        assertEquals(1, response.getTotalElements());
+        verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(holdIndex).findHeldRoomIds(start, end);
+    }
+
+    @Test
+    public void RoomService_GetAvailable_ThrowsException_WhenStartIsNotBeforeEnd() {
+        Timestamp start = Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS));
+        RoomFilterDTO filterDTO = new RoomFilterDTO(null, null, null, null, null, null);
+
+        InvalidRoomException exception = assertThrows(InvalidRoomException.class, () ->
+            roomService.getAvailable(filterDTO, start, start, Pageable.unpaged()));
+
+        assertEquals("startTime must be before endTime.", exception.getMessage());
+        verifyNoInteractions(roomRepository);
+    }
+
     private Room createRoom(Long roomId, String identifier, String name, int capacity) {
         Room room = new Room();
         room.setId(roomId);
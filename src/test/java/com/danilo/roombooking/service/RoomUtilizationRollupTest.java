@@ -0,0 +1,104 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.domain.Booking;
+import com.danilo.roombooking.domain.room.Room;
+import com.danilo.roombooking.dto.BookingIntervalDTO;
+import com.danilo.roombooking.dto.RoomUtilizationDayDTO;
+import com.danilo.roombooking.repository.RoomUtilizationRepository;
+import com.danilo.roombooking.service.room.RoomHeatmapIndex;
+import com.danilo.roombooking.service.room.RoomUtilizationRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomUtilizationRollupTest {
+
+    @Mock
+    private RoomUtilizationRepository utilizationRepository;
+
+    @Mock
+    private RoomHeatmapIndex heatmapIndex;
+
+    @InjectMocks
+    private RoomUtilizationRollup utilizationRollup;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(utilizationRollup, "enabled", true);
+        ReflectionTestUtils.setField(utilizationRollup, "timeZone", "UTC");
+    }
+
+    @Test
+    public void RoomUtilizationRollup_RecordAdded_SplitsBookingAtMidnight_AndCountsItOnItsFirstDay() {
+        utilizationRollup.recordAdded(Booking.builder()
+            .id(1L)
+            .room(Room.builder().id(2L).build())
+            .startTime(at("2026-10-18T23:00:00Z"))
+            .endTime(at("2026-10-19T01:30:00Z"))
+            .build());
+
+        verify(utilizationRepository).addAll(List.of(
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-18"), 3_600, 1),
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-19"), 5_400, 0)));
+    }
+
+    @Test
+    public void RoomUtilizationRollup_RecordMoved_WritesOnlyTheNetChange() {
+        utilizationRollup.recordMoved(2L,
+            at("2026-10-18T10:00:00Z"), at("2026-10-18T11:00:00Z"),
+            at("2026-10-18T14:00:00Z"), at("2026-10-19T00:30:00Z"));
+
+        verify(utilizationRepository).addAll(List.of(
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-18"), 32_400, 0),
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-19"), 1_800, 0)));
+    }
+
+    @Test
+    public void RoomUtilizationRollup_RecordMoved_WritesNothing_WhenDayTotalsDoNotChange() {
+        utilizationRollup.recordMoved(2L,
+            at("2026-10-18T10:00:00Z"), at("2026-10-18T11:00:00Z"),
+            at("2026-10-18T15:00:00Z"), at("2026-10-18T16:00:00Z"));
+
+        verifyNoInteractions(utilizationRepository);
+    }
+
+    @Test
+    public void RoomUtilizationRollup_RecordRemoved_SubtractsFromDaysInBookingTimeZone() {
+        ReflectionTestUtils.setField(utilizationRollup, "timeZone", "America/Sao_Paulo");
+
+        utilizationRollup.recordRemoved(List.of(
+            new BookingIntervalDTO(1L, 3L, at("2026-10-19T02:00:00Z"), at("2026-10-19T04:00:00Z")),
+            new BookingIntervalDTO(2L, 2L, at("2026-10-19T12:00:00Z"), at("2026-10-19T13:00:00Z"))));
+
+        verify(utilizationRepository).addAll(List.of(
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-19"), -3_600, -1),
+            new RoomUtilizationDayDTO(3L, LocalDate.parse("2026-10-18"), -3_600, -1),
+            new RoomUtilizationDayDTO(3L, LocalDate.parse("2026-10-19"), -3_600, 0)));
+    }
+
+    @Test
+    public void RoomUtilizationRollup_RecordAdded_DoesNothing_WhenDisabled() {
+        ReflectionTestUtils.setField(utilizationRollup, "enabled", false);
+
+        utilizationRollup.recordRemoved(
+            new BookingIntervalDTO(1L, 2L, at("2026-10-18T10:00:00Z"), at("2026-10-18T11:00:00Z")));
+
+        verifyNoInteractions(utilizationRepository);
+    }
+
+    private static Timestamp at(String instant) {
+        return Timestamp.from(Instant.parse(instant));
+    }
+}
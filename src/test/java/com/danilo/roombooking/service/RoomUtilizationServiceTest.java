@@ -0,0 +1,105 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.dto.RoomUtilizationDTO;
+import com.danilo.roombooking.dto.RoomUtilizationDayDTO;
+import com.danilo.roombooking.repository.RoomUtilizationRepository;
+import com.danilo.roombooking.service.room.InvalidRoomException;
+import com.danilo.roombooking.service.room.RoomNotFoundException;
+import com.danilo.roombooking.service.room.RoomService;
+import com.danilo.roombooking.service.room.RoomUtilizationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomUtilizationServiceTest {
+
+    private static final LocalDate WEDNESDAY = LocalDate.parse("2026-10-14");
+    private static final LocalDate NEXT_TUESDAY = LocalDate.parse("2026-10-20");
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private RoomUtilizationRepository utilizationRepository;
+
+    @InjectMocks
+    private RoomUtilizationService roomUtilizationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomUtilizationService, "maxRange", Duration.ofDays(366));
+        ReflectionTestUtils.setField(roomUtilizationService, "timeZone", "UTC");
+    }
+
+    @Test
+    public void RoomUtilizationService_GetByRoom_SumsDaysIntoWeeksClippedToTheRange() {
+        when(utilizationRepository.findDays(2L, WEDNESDAY, NEXT_TUESDAY)).thenReturn(List.of(
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-15"), 43_200, 2),
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-18"), 43_200, 1),
+            new RoomUtilizationDayDTO(2L, LocalDate.parse("2026-10-19"), 86_400, 1)));
+
+        List<RoomUtilizationDTO> weeks = roomUtilizationService.getByRoom(2L, WEDNESDAY, NEXT_TUESDAY,
+            RoomUtilizationService.Granularity.WEEK);
+
+        assertEquals(List.of(
+            new RoomUtilizationDTO(2L, WEDNESDAY, LocalDate.parse("2026-10-18"), 86_400, 3, 0.2),
+            new RoomUtilizationDTO(2L, LocalDate.parse("2026-10-19"), NEXT_TUESDAY, 86_400, 1, 0.5)), weeks);
+        verify(roomService).getById(2L);
+    }
+
+    @Test
+    public void RoomUtilizationService_GetByRoom_ReturnsEveryDay_IncludingDaysWithoutBookings() {
+        when(utilizationRepository.findDays(2L, WEDNESDAY, WEDNESDAY.plusDays(1))).thenReturn(List.of(
+            new RoomUtilizationDayDTO(2L, WEDNESDAY.plusDays(1), 21_600, 1)));
+
+        List<RoomUtilizationDTO> days = roomUtilizationService.getByRoom(2L, WEDNESDAY, WEDNESDAY.plusDays(1),
+            RoomUtilizationService.Granularity.DAY);
+
+        assertEquals(List.of(
+            new RoomUtilizationDTO(2L, WEDNESDAY, WEDNESDAY, 0, 0, 0.0),
+            new RoomUtilizationDTO(2L, WEDNESDAY.plusDays(1), WEDNESDAY.plusDays(1), 21_600, 1, 0.25)), days);
+    }
+
+    @Test
+    public void RoomUtilizationService_GetByRoom_ThrowsException_WhenRoomDoesNotExist() {
+        when(roomService.getById(2L)).thenThrow(new RoomNotFoundException());
+
+        assertThrows(RoomNotFoundException.class, () ->
+            roomUtilizationService.getByRoom(2L, WEDNESDAY, NEXT_TUESDAY, RoomUtilizationService.Granularity.DAY));
+        verifyNoInteractions(utilizationRepository);
+    }
+
+    @Test
+    public void RoomUtilizationService_GetAll_ComputesUtilizationOverTheWholeRange() {
+        when(utilizationRepository.findTotals(WEDNESDAY, NEXT_TUESDAY)).thenReturn(List.of(
+            new RoomUtilizationDayDTO(1L, WEDNESDAY, 0, 0),
+            new RoomUtilizationDayDTO(2L, WEDNESDAY, 302_400, 9)));
+
+        List<RoomUtilizationDTO> rooms = roomUtilizationService.getAll(WEDNESDAY, NEXT_TUESDAY);
+
+        assertEquals(List.of(
+            new RoomUtilizationDTO(1L, WEDNESDAY, NEXT_TUESDAY, 0, 0, 0.0),
+            new RoomUtilizationDTO(2L, WEDNESDAY, NEXT_TUESDAY, 302_400, 9, 0.5)), rooms);
+    }
+
+    @Test
+    public void RoomUtilizationService_GetAll_ThrowsException_WhenRangeIsTooLong() {
+        InvalidRoomException exception = assertThrows(InvalidRoomException.class, () ->
+            roomUtilizationService.getAll(WEDNESDAY, WEDNESDAY.plusDays(366)));
+
+        assertEquals("utilization range cannot be longer than 366 days.", exception.getMessage());
+        verifyNoInteractions(utilizationRepository);
+    }
+}
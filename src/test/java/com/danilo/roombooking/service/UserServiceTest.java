@@ -5,9 +5,11 @@ import com.danilo.roombooking.domain.User;
 import com.danilo.roombooking.domain.role.Role;
 import com.danilo.roombooking.domain.role.RoleType;
 import com.danilo.roombooking.dto.UserRequestDTO;
+import com.danilo.roombooking.repository.BookingRepository;
 import com.danilo.roombooking.repository.UserRepository;
 import com.danilo.roombooking.service.role.RoleService;
 import com.danilo.roombooking.service.user.InvalidUserException;
+import com.danilo.roombooking.service.user.UserInUseException;
 import com.danilo.roombooking.service.user.UserNotFoundException;
 import com.danilo.roombooking.service.user.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +39,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
     @Mock
     private RoleService roleService;
 
@@ -183,6 +188,16 @@ public class UserServiceTest {
         verify(userRepository).deleteById(user.getId());
     }
 
+    @Test
+    public void UserService_Delete_ThrowsException_WhenUserHasBookings() {
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.existsByUserId(user.getId())).thenReturn(true);
+
+        assertThrows(UserInUseException.class, () -> userService.delete(user.getId()));
+
+        verify(userRepository, never()).deleteById(any());
+    }
+
     @Test
     public void UserService_Delete_ThrowsException_WhenUserNotFound() {
         when(userRepository.existsById(any())).thenReturn(false);
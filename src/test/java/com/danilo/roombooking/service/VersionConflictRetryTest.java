@@ -0,0 +1,58 @@
+package com.danilo.roombooking.service;
+
+import com.danilo.roombooking.service.locking.StaleVersionException;
+import com.danilo.roombooking.service.locking.VersionConflictRetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionConflictRetryTest {
+
+    private VersionConflictRetry versionConflictRetry;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        versionConflictRetry = new VersionConflictRetry();
+        ReflectionTestUtils.setField(versionConflictRetry, "maxAttempts", 3);
+        ReflectionTestUtils.setField(versionConflictRetry, "backoff", Duration.ZERO);
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    public void VersionConflictRetry_Run_RetriesUntilActionSucceeds() {
+        String result = versionConflictRetry.run(() -> {
+            if (attempts.incrementAndGet() < 3) throw new OptimisticLockingFailureException("conflict");
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void VersionConflictRetry_Run_GivesUp_AfterMaxAttempts() {
+        assertThrows(OptimisticLockingFailureException.class, () -> versionConflictRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void VersionConflictRetry_Run_DoesNotRetry_WhenVersionIsStale() {
+        assertThrows(StaleVersionException.class, () -> versionConflictRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new StaleVersionException();
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}